@@ -0,0 +1,145 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.data;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.spongepowered.api.CatalogType;
+import org.spongepowered.api.data.key.Key;
+
+import java.lang.reflect.Proxy;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares cache lookups with the string keys {@link ImmutableDataCachingUtil}
+ * used to build, with the typed keys it uses now. Both caches are set up
+ * the same way and already hold every entry, so only the key building,
+ * hashing and comparing is measured.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ImmutableDataCachingBenchmark {
+
+    private static final Callable<Object> LOADER = Object::new;
+
+    @Param({"1000"})
+    private int entries;
+
+    private Cache<String, Object> stringCache;
+    private Cache<Object, Object> typedCache;
+    private Key<?> key;
+    private String query;
+    private Object[][] args;
+    private int index;
+
+    @Setup
+    public void setup() throws ExecutionException {
+        this.stringCache = CacheBuilder.newBuilder()
+                .maximumSize(ImmutableDataCachingUtil.MANIPULATOR_CACHE_LIMIT)
+                .concurrencyLevel(4)
+                .recordStats()
+                .build();
+        this.typedCache = CacheBuilder.newBuilder()
+                .maximumSize(ImmutableDataCachingUtil.MANIPULATOR_CACHE_LIMIT)
+                .concurrencyLevel(4)
+                .recordStats()
+                .build();
+        // Only the identity of the key is used by the typed cache
+        this.key = (Key<?>) Proxy.newProxyInstance(Key.class.getClassLoader(), new Class<?>[] {Key.class}, (proxy, method, methodArgs) -> {
+            throw new UnsupportedOperationException();
+        });
+        // The old cache built the query string for every lookup as well
+        this.query = "Health";
+
+        final Random random = new Random(42);
+        this.args = new Object[this.entries][];
+        for (int i = 0; i < this.entries; i++) {
+            this.args[i] = new Object[] {random.nextInt(100), random.nextBoolean(), random.nextDouble() * 20};
+            this.stringCache.get(stringKey(Object.class, this.args[i]), LOADER);
+            this.stringCache.get(stringKey(Object.class, this.query, this.args[i][2].getClass(), this.args[i][2]), LOADER);
+            this.typedCache.get(new ImmutableDataCachingUtil.ManipulatorKey(Object.class, this.args[i]), LOADER);
+            this.typedCache.get(new ImmutableDataCachingUtil.ValueKey(Object.class, this.key, this.args[i][2]), LOADER);
+        }
+    }
+
+    private Object[] nextArgs() {
+        final Object[] next = this.args[this.index];
+        this.index = (this.index + 1) % this.entries;
+        return next;
+    }
+
+    @Benchmark
+    public Object stringKeyedManipulator() throws ExecutionException {
+        return this.stringCache.get(stringKey(Object.class, nextArgs()), LOADER);
+    }
+
+    @Benchmark
+    public Object typedKeyManipulator() throws ExecutionException {
+        return this.typedCache.get(new ImmutableDataCachingUtil.ManipulatorKey(Object.class, nextArgs()), LOADER);
+    }
+
+    @Benchmark
+    public Object stringKeyedValue() throws ExecutionException {
+        final Object arg = nextArgs()[2];
+        return this.stringCache.get(stringKey(Object.class, this.query, arg.getClass(), arg), LOADER);
+    }
+
+    @Benchmark
+    public Object typedKeyValue() throws ExecutionException {
+        return this.typedCache.get(new ImmutableDataCachingUtil.ValueKey(Object.class, this.key, nextArgs()[2]), LOADER);
+    }
+
+    // The key ImmutableDataCachingUtil used to build for every lookup
+    private static String stringKey(final Class<?> immutableClass, final Object... args) {
+        final StringBuilder builder = new StringBuilder(immutableClass.getCanonicalName() + ":");
+        for (Object object : args) {
+            if (object instanceof CatalogType) {
+                builder.append("{").append(((CatalogType) object).getId()).append("}");
+            } else {
+                builder.append("{").append(object.toString()).append("}");
+            }
+        }
+        return builder.toString();
+    }
+
+}
@@ -0,0 +1,143 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.event;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.spongepowered.api.event.CauseStackManager;
+import org.spongepowered.api.event.cause.Cause;
+import org.spongepowered.api.event.cause.EventContextKeys;
+import org.spongepowered.api.event.cause.entity.spawn.SpawnTypes;
+import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.test.BenchmarkBootstrap;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures pushing and popping cause frames with the
+ * {@link SpongeCauseStackManager}, with and without context keys, and the
+ * cost of materializing the current cause.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CauseStackBenchmark {
+
+    private Workload workload;
+
+    @Setup
+    public void setup() {
+        this.workload = BenchmarkBootstrap.launch(Workload.class, CauseStackBenchmark.class.getName() + "$GameWorkload");
+    }
+
+    @Benchmark
+    public void pushPopFrame() {
+        this.workload.pushPopFrame();
+    }
+
+    @Benchmark
+    public void pushPopFrameWithContext() {
+        this.workload.pushPopFrameWithContext();
+    }
+
+    @Benchmark
+    public void nestedFrames() {
+        this.workload.nestedFrames();
+    }
+
+    @Benchmark
+    public Object pushPopFrameWithCause() {
+        return this.workload.pushPopFrameWithCause();
+    }
+
+    public interface Workload {
+
+        void pushPopFrame();
+
+        void pushPopFrameWithContext();
+
+        void nestedFrames();
+
+        Object pushPopFrameWithCause();
+
+    }
+
+    public static final class GameWorkload implements Workload {
+
+        private final SpongeCauseStackManager causeStackManager = SpongeImpl.getCauseStackManager();
+        private final Object rootCause = new Object();
+        private final Object secondCause = new Object();
+
+        @Override
+        public void pushPopFrame() {
+            try (CauseStackManager.StackFrame frame = this.causeStackManager.pushCauseFrame()) {
+                frame.pushCause(this.rootCause);
+            }
+        }
+
+        @Override
+        public void pushPopFrameWithContext() {
+            try (CauseStackManager.StackFrame frame = this.causeStackManager.pushCauseFrame()) {
+                frame.pushCause(this.rootCause);
+                frame.addContext(EventContextKeys.SPAWN_TYPE, SpawnTypes.PLUGIN);
+                frame.addContext(EventContextKeys.PLUGIN, SpongeImpl.getPlugin());
+            }
+        }
+
+        @Override
+        public void nestedFrames() {
+            try (CauseStackManager.StackFrame frame = this.causeStackManager.pushCauseFrame()) {
+                frame.pushCause(this.rootCause);
+                frame.addContext(EventContextKeys.SPAWN_TYPE, SpawnTypes.PLUGIN);
+                try (CauseStackManager.StackFrame inner = this.causeStackManager.pushCauseFrame()) {
+                    inner.pushCause(this.secondCause);
+                    inner.addContext(EventContextKeys.SPAWN_TYPE, SpawnTypes.PASSIVE);
+                }
+            }
+        }
+
+        @Override
+        public Cause pushPopFrameWithCause() {
+            try (CauseStackManager.StackFrame frame = this.causeStackManager.pushCauseFrame()) {
+                frame.pushCause(this.rootCause);
+                frame.addContext(EventContextKeys.SPAWN_TYPE, SpawnTypes.PLUGIN);
+                return frame.getCurrentCause();
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,122 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.event;
+
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.spongepowered.api.event.Order;
+import org.spongepowered.api.plugin.PluginContainer;
+import org.spongepowered.common.event.filter.FilterFactory;
+import org.spongepowered.common.event.gen.DefineableClassLoader;
+import org.spongepowered.common.event.listener.IncludeExcludeListener;
+import org.spongepowered.common.event.listener.SimpleListener;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the default {@link EventDispatcher}, which calls every listener
+ * through its {@link RegisteredListener}, with the dispatchers generated by
+ * the {@link EventDispatcherFactory}. Half of the listeners have a filter.
+ * The asynchronous path is measured through {@link EventDispatcher#dispatch},
+ * the main thread path through {@link EventDispatcher#post}, which requires
+ * the game, is measured by the {@link EventPostBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EventDispatcherBenchmark {
+
+    @Param({"1", "10", "100"})
+    private int listeners;
+
+    private EventDispatcher defaultDispatcher;
+    private EventDispatcher generatedDispatcher;
+    private EventFilterTest.SubEvent event;
+
+    @Setup
+    public void setup() throws Exception {
+        final DefineableClassLoader classLoader = new DefineableClassLoader(getClass().getClassLoader());
+        final ClassEventListenerFactory factory = new ClassEventListenerFactory("org.spongepowered.common.event.listener",
+                new FilterFactory("org.spongepowered.common.event.filters", classLoader), classLoader);
+        final PluginContainer plugin = Mockito.mock(PluginContainer.class);
+        final EventType<EventFilterTest.SubEvent> eventType = new EventType<>(EventFilterTest.SubEvent.class);
+
+        final Method simple = SimpleListener.class.getMethod("onEvent", EventFilterTest.SubEvent.class);
+        final Method include = IncludeExcludeListener.class.getMethod("includeListener", EventFilterTest.TestEvent.class);
+
+        final List<RegisteredListener<?>> handlers = new ArrayList<>();
+        for (int i = 0; i < this.listeners; i++) {
+            final AnnotatedEventListener listener = i % 2 == 0
+                    ? factory.create(new SimpleListener(), simple)
+                    : factory.create(new IncludeExcludeListener(), include);
+            handlers.add(new RegisteredListener<>(plugin, eventType, Order.DEFAULT, listener, false));
+        }
+
+        this.defaultDispatcher = new EventDispatcher(handlers);
+        this.generatedDispatcher = new EventDispatcherFactory("org.spongepowered.common.event.dispatcher").create(eventType, handlers);
+        this.event = new EventFilterTest.SubEvent(EventFilterTest.TEST_CAUSE);
+    }
+
+    @Benchmark
+    public void dispatchDefault() {
+        this.defaultDispatcher.dispatch(this.event);
+    }
+
+    @Benchmark
+    public void dispatchGenerated() {
+        this.generatedDispatcher.dispatch(this.event);
+    }
+
+    @Benchmark
+    public void invokeDefault() throws Exception {
+        for (int i = 0; i < this.defaultDispatcher.size(); i++) {
+            this.defaultDispatcher.invoke(i, this.event);
+        }
+    }
+
+    @Benchmark
+    public void invokeGenerated() throws Exception {
+        for (int i = 0; i < this.generatedDispatcher.size(); i++) {
+            this.generatedDispatcher.invoke(i, this.event);
+        }
+    }
+
+}
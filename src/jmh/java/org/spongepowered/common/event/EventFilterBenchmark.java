@@ -0,0 +1,121 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.event;
+
+import static org.mockito.Mockito.mock;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.spongepowered.api.entity.living.player.Player;
+import org.spongepowered.api.event.cause.Cause;
+import org.spongepowered.api.event.cause.EventContext;
+import org.spongepowered.common.event.filter.FilterFactory;
+import org.spongepowered.common.event.gen.DefineableClassLoader;
+import org.spongepowered.common.event.listener.FirstLastCauseListener;
+import org.spongepowered.common.event.listener.GetterListener;
+import org.spongepowered.common.event.listener.IncludeExcludeListener;
+import org.spongepowered.common.event.listener.RootListener;
+import org.spongepowered.common.event.listener.SimpleListener;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the listeners generated by the {@link ClassEventListenerFactory}
+ * for each of the filter delegates, the unfiltered listener is the baseline.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EventFilterBenchmark {
+
+    private AnnotatedEventListener unfiltered;
+    private AnnotatedEventListener getter;
+    private AnnotatedEventListener first;
+    private AnnotatedEventListener root;
+    private AnnotatedEventListener include;
+
+    private EventFilterTest.SubEvent event;
+    private EventFilterTest.GetterEvent getterEvent;
+
+    @Setup
+    public void setup() throws Exception {
+        final DefineableClassLoader classLoader = new DefineableClassLoader(getClass().getClassLoader());
+        final AnnotatedEventListener.Factory factory = new ClassEventListenerFactory("org.spongepowered.common.event.listener",
+                new FilterFactory("org.spongepowered.common.event.filters", classLoader), classLoader);
+
+        this.unfiltered = factory.create(new SimpleListener(),
+                SimpleListener.class.getMethod("onEvent", EventFilterTest.SubEvent.class));
+        this.getter = factory.create(new GetterListener(),
+                GetterListener.class.getMethod("normalListener", EventFilterTest.GetterEvent.class, EventFilterTest.TestObject.class));
+        this.first = factory.create(new FirstLastCauseListener(),
+                FirstLastCauseListener.class.getMethod("firstCauseListener", EventFilterTest.SubEvent.class, Player.class));
+        this.root = factory.create(new RootListener(),
+                RootListener.class.getMethod("rootListener", EventFilterTest.SubEvent.class, Player.class));
+        this.include = factory.create(new IncludeExcludeListener(),
+                IncludeExcludeListener.class.getMethod("includeListener", EventFilterTest.TestEvent.class));
+
+        // The player is neither the root nor the last cause, so the cause filters have to search for it
+        final Cause cause = Cause.of(EventContext.empty(), "Foo", mock(Player.class), 7);
+        this.event = new EventFilterTest.SubEvent(cause);
+        this.getterEvent = new EventFilterTest.GetterEvent(cause, new EventFilterTest.TestObject());
+    }
+
+    @Benchmark
+    public void unfiltered() throws Exception {
+        this.unfiltered.handle(this.event);
+    }
+
+    @Benchmark
+    public void getter() throws Exception {
+        this.getter.handle(this.getterEvent);
+    }
+
+    @Benchmark
+    public void first() throws Exception {
+        this.first.handle(this.event);
+    }
+
+    @Benchmark
+    public void root() throws Exception {
+        this.root.handle(this.event);
+    }
+
+    @Benchmark
+    public void include() throws Exception {
+        this.include.handle(this.event);
+    }
+
+}
@@ -0,0 +1,148 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.event;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.apache.logging.log4j.LogManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.spongepowered.api.plugin.PluginContainer;
+import org.spongepowered.api.plugin.PluginManager;
+import org.spongepowered.common.event.listener.SimpleListener;
+import org.spongepowered.common.test.BenchmarkBootstrap;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link SpongeEventManager#post} on the main thread, including the
+ * cause frame, phase context and timings around every listener.
+ *
+ * <p>{@link #postMixed()} posts three event types in turn, so that the post
+ * path sees several dispatcher classes like it does on a server.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EventPostBenchmark {
+
+    @Param({"0", "1", "10", "100"})
+    private int listeners;
+
+    @Param({"false", "true"})
+    private boolean generatedDispatchers;
+
+    private Workload workload;
+
+    @Setup
+    public void setup() {
+        this.workload = BenchmarkBootstrap.launch(Workload.class, EventPostBenchmark.class.getName() + "$GameWorkload");
+        this.workload.setup(this.listeners, this.generatedDispatchers);
+    }
+
+    @Benchmark
+    public boolean post() {
+        return this.workload.post();
+    }
+
+    @Benchmark
+    public boolean postMixed() {
+        return this.workload.postMixed();
+    }
+
+    public interface Workload {
+
+        void setup(int listeners, boolean generatedDispatchers);
+
+        boolean post();
+
+        boolean postMixed();
+
+    }
+
+    public static final class GameWorkload implements Workload {
+
+        private SpongeEventManager eventManager;
+        private EventFilterTest.SubEvent event;
+        private EventFilterTest.TestEvent[] mixedEvents;
+        private int next;
+
+        @Override
+        public void setup(int listeners, boolean generatedDispatchers) {
+            final Object plugin = new Object();
+            final PluginContainer container = mock(PluginContainer.class);
+            when(container.getId()).thenReturn("benchmark");
+            final PluginManager pluginManager = mock(PluginManager.class);
+            when(pluginManager.fromInstance(plugin)).thenReturn(Optional.of(container));
+
+            this.eventManager = new SpongeEventManager(LogManager.getLogger("sponge"), pluginManager) {
+
+                @Override
+                protected boolean useGeneratedDispatchers() {
+                    return generatedDispatchers;
+                }
+            };
+            for (int i = 0; i < listeners; i++) {
+                this.eventManager.registerListeners(plugin, new SimpleListener());
+                this.eventManager.registerListener(plugin, EventFilterTest.OtherSubEvent.class, event -> { });
+                this.eventManager.registerListener(plugin, EventFilterTest.GetterEvent.class, event -> { });
+            }
+            this.event = new EventFilterTest.SubEvent(EventFilterTest.TEST_CAUSE);
+            this.mixedEvents = new EventFilterTest.TestEvent[] {
+                    this.event,
+                    new EventFilterTest.OtherSubEvent(EventFilterTest.TEST_CAUSE),
+                    new EventFilterTest.GetterEvent(EventFilterTest.TEST_CAUSE, new EventFilterTest.TestObject())
+            };
+        }
+
+        @Override
+        public boolean post() {
+            return this.eventManager.post(this.event);
+        }
+
+        @Override
+        public boolean postMixed() {
+            final EventFilterTest.TestEvent event = this.mixedEvents[this.next];
+            this.next = (this.next + 1) % this.mixedEvents.length;
+            return this.eventManager.post(event);
+        }
+
+    }
+
+}
@@ -0,0 +1,141 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.event.tracking;
+
+import com.flowpowered.math.vector.Vector3i;
+import net.minecraft.block.BlockEventData;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.init.Blocks;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.spongepowered.common.block.SpongeBlockSnapshot;
+import org.spongepowered.common.block.SpongeBlockSnapshotBuilder;
+import org.spongepowered.common.event.tracking.context.MultiBlockCaptureSupplier;
+import org.spongepowered.common.test.BenchmarkBootstrap;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures capturing block changes with the {@link MultiBlockCaptureSupplier}
+ * and unwinding them again, for phases with a large number of changes. With
+ * {@code duplicates} every position is changed twice, which switches the
+ * supplier over to its multimap.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BlockCaptureBenchmark {
+
+    @Param({"10000", "100000"})
+    private int changes;
+
+    @Param({"false", "true"})
+    private boolean duplicates;
+
+    private Workload workload;
+
+    @Setup
+    public void setup() {
+        this.workload = BenchmarkBootstrap.launch(Workload.class, BlockCaptureBenchmark.class.getName() + "$GameWorkload");
+        this.workload.setup(this.changes, this.duplicates);
+    }
+
+    @Benchmark
+    public void captureAndUnwind(final Blackhole blackhole) {
+        this.workload.captureAndUnwind(blackhole);
+    }
+
+    public interface Workload {
+
+        void setup(int changes, boolean duplicates);
+
+        void captureAndUnwind(Blackhole blackhole);
+
+    }
+
+    public static final class GameWorkload implements Workload {
+
+        private final MultiBlockCaptureSupplier supplier = new MultiBlockCaptureSupplier();
+        private SpongeBlockSnapshot[] snapshots;
+        private BlockEventData[] events;
+        private IBlockState newState;
+
+        @Override
+        public void setup(final int changes, final boolean duplicates) {
+            final UUID worldId = UUID.randomUUID();
+            final IBlockState original = Blocks.STONE.getDefaultState();
+            this.newState = Blocks.AIR.getDefaultState();
+            this.snapshots = new SpongeBlockSnapshot[changes];
+            for (int i = 0; i < changes; i++) {
+                final int index = duplicates ? i / 2 : i;
+                this.snapshots[i] = SpongeBlockSnapshotBuilder.unpooled()
+                    .worldId(worldId)
+                    .position(new Vector3i(index & 255, 64 + (index >> 16), (index >> 8) & 255))
+                    .blockState(original)
+                    .build();
+            }
+            // Schedule a block event for every 16th change, like pistons or note blocks would
+            this.events = new BlockEventData[changes / 16];
+            for (int i = 0; i < this.events.length; i++) {
+                this.events[i] = new BlockEventData(this.snapshots[i * 16].getBlockPos(), Blocks.PISTON, 0, 0);
+            }
+        }
+
+        @Override
+        public void captureAndUnwind(final Blackhole blackhole) {
+            final MultiBlockCaptureSupplier supplier = this.supplier;
+            for (final SpongeBlockSnapshot snapshot : this.snapshots) {
+                supplier.put(snapshot, this.newState);
+            }
+            for (final BlockEventData event : this.events) {
+                supplier.trackEvent(event.getPosition(), event);
+            }
+            blackhole.consume(supplier.getScheduledEvents());
+            blackhole.consume(supplier.get());
+            supplier.acceptAndClearIfNotEmpty((list, map) -> {
+                blackhole.consume(list);
+                blackhole.consume(map);
+            });
+            // Like the phase context, the supplier is reset once the phase is unwound
+            supplier.reset();
+        }
+
+    }
+
+}
@@ -0,0 +1,203 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.mixin.plugin.entityactivation;
+
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongIterator;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the entity activation pass that sweeps the chunks around every
+ * player, as it was done before, with the pass over the chunks collected
+ * from an {@link ActivationGrid}. The players are spread over a few
+ * clusters, like at a spawn or a shop area, and the entities have the
+ * default ranges of their activation types.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ActivationGridBenchmark {
+
+    private static final int[] TYPE_RANGES = {32, 32, 16, 16, 16};
+    private static final int MAX_RANGE = 32;
+    private static final double HALF_WIDTH = 0.3;
+
+    @Param({"200"})
+    private int players;
+
+    @Param({"50000"})
+    private int entities;
+
+    @Param({"4", "50"})
+    private int clusters;
+
+    private double[] playerX;
+    private double[] playerY;
+    private double[] playerZ;
+    private double[] entityX;
+    private double[] entityY;
+    private double[] entityZ;
+    private int[] entityRange;
+    private long[] activatedTick;
+    private long tick;
+
+    private final Long2ObjectOpenHashMap<IntArrayList> entitiesByChunk = new Long2ObjectOpenHashMap<>();
+    private final ActivationGrid grid = new ActivationGrid();
+    private final LongOpenHashSet chunks = new LongOpenHashSet();
+
+    @Setup
+    public void setup() {
+        final Random random = new Random(1);
+        this.playerX = new double[this.players];
+        this.playerY = new double[this.players];
+        this.playerZ = new double[this.players];
+        final double[] clusterX = new double[this.clusters];
+        final double[] clusterZ = new double[this.clusters];
+        for (int i = 0; i < this.clusters; i++) {
+            clusterX[i] = random.nextDouble() * 2048 - 1024;
+            clusterZ[i] = random.nextDouble() * 2048 - 1024;
+        }
+        for (int i = 0; i < this.players; i++) {
+            final int cluster = i % this.clusters;
+            this.playerX[i] = clusterX[cluster] + random.nextGaussian() * 24;
+            this.playerY[i] = 64 + random.nextDouble() * 16;
+            this.playerZ[i] = clusterZ[cluster] + random.nextGaussian() * 24;
+        }
+
+        this.entityX = new double[this.entities];
+        this.entityY = new double[this.entities];
+        this.entityZ = new double[this.entities];
+        this.entityRange = new int[this.entities];
+        this.activatedTick = new long[this.entities];
+        for (int i = 0; i < this.entities; i++) {
+            this.entityX[i] = random.nextDouble() * 2560 - 1280;
+            this.entityY[i] = random.nextDouble() * 128;
+            this.entityZ[i] = random.nextDouble() * 2560 - 1280;
+            this.entityRange[i] = TYPE_RANGES[random.nextInt(TYPE_RANGES.length)];
+            final long key = key(floor(this.entityX[i]) >> 4, floor(this.entityZ[i]) >> 4);
+            IntArrayList chunk = this.entitiesByChunk.get(key);
+            if (chunk == null) {
+                chunk = new IntArrayList();
+                this.entitiesByChunk.put(key, chunk);
+            }
+            chunk.add(i);
+        }
+    }
+
+    @Benchmark
+    public int perPlayerSweep() {
+        final long tick = ++this.tick;
+        int activated = 0;
+        for (int p = 0; p < this.players; p++) {
+            final int minX = floor((this.playerX[p] - HALF_WIDTH - MAX_RANGE) / 16.0D);
+            final int maxX = floor((this.playerX[p] + HALF_WIDTH + MAX_RANGE) / 16.0D);
+            final int minZ = floor((this.playerZ[p] - HALF_WIDTH - MAX_RANGE) / 16.0D);
+            final int maxZ = floor((this.playerZ[p] + HALF_WIDTH + MAX_RANGE) / 16.0D);
+            for (int x = minX; x <= maxX; x++) {
+                for (int z = minZ; z <= maxZ; z++) {
+                    final IntArrayList chunk = this.entitiesByChunk.get(key(x, z));
+                    if (chunk == null) {
+                        continue;
+                    }
+                    for (int i = 0; i < chunk.size(); i++) {
+                        final int e = chunk.getInt(i);
+                        if (tick > this.activatedTick[e] && isInRange(p, e)) {
+                            this.activatedTick[e] = tick;
+                            activated++;
+                        }
+                    }
+                }
+            }
+        }
+        return activated;
+    }
+
+    @Benchmark
+    public int grid() {
+        final long tick = ++this.tick;
+        int activated = 0;
+        this.grid.clear();
+        for (int p = 0; p < this.players; p++) {
+            this.grid.add(this.playerX[p] - HALF_WIDTH, this.playerY[p], this.playerZ[p] - HALF_WIDTH,
+                    this.playerX[p] + HALF_WIDTH, this.playerY[p] + 1.8, this.playerZ[p] + HALF_WIDTH);
+        }
+        this.chunks.clear();
+        this.grid.collectChunks(MAX_RANGE, this.chunks);
+        final LongIterator iterator = this.chunks.iterator();
+        while (iterator.hasNext()) {
+            final IntArrayList chunk = this.entitiesByChunk.get(iterator.nextLong());
+            if (chunk == null) {
+                continue;
+            }
+            for (int i = 0; i < chunk.size(); i++) {
+                final int e = chunk.getInt(i);
+                if (tick > this.activatedTick[e] && this.grid.isInRange(this.entityX[e] - HALF_WIDTH, this.entityY[e], this.entityZ[e] - HALF_WIDTH,
+                        this.entityX[e] + HALF_WIDTH, this.entityY[e] + 1.8, this.entityZ[e] + HALF_WIDTH, this.entityRange[e], 256)) {
+                    this.activatedTick[e] = tick;
+                    activated++;
+                }
+            }
+        }
+        return activated;
+    }
+
+    private boolean isInRange(final int p, final int e) {
+        final int range = this.entityRange[e];
+        return this.playerX[p] - HALF_WIDTH - range < this.entityX[e] + HALF_WIDTH
+                && this.playerX[p] + HALF_WIDTH + range > this.entityX[e] - HALF_WIDTH
+                && this.playerY[p] - 256 < this.entityY[e] + 1.8
+                && this.playerY[p] + 1.8 + 256 > this.entityY[e]
+                && this.playerZ[p] - HALF_WIDTH - range < this.entityZ[e] + HALF_WIDTH
+                && this.playerZ[p] + HALF_WIDTH + range > this.entityZ[e] - HALF_WIDTH;
+    }
+
+    private static int floor(final double value) {
+        final int i = (int) value;
+        return value < i ? i - 1 : i;
+    }
+
+    private static long key(final int x, final int z) {
+        return (long) x & 4294967295L | ((long) z & 4294967295L) << 32;
+    }
+
+}
@@ -0,0 +1,76 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.test;
+
+import net.minecraft.launchwrapper.Launch;
+
+/**
+ * Launches the same test game as the tests which run with the
+ * {@code LaunchWrapperTestRunner}, through the {@code TestTweaker}, so the
+ * benchmarks that need the game run against the classes with the mixins
+ * applied.
+ *
+ * <p>JMH loads the benchmark classes with the application class loader, so
+ * they can't use game classes directly, those would be loaded a second time
+ * without any mixins. Instead a benchmark calls a workload interface, which
+ * is implemented by a class that is loaded by the launch class loader.</p>
+ */
+public final class BenchmarkBootstrap {
+
+    private static final String TWEAKER_PROPERTY = "lwts.tweaker";
+    private static final String DEFAULT_TWEAKER = "org.spongepowered.common.launch.TestTweaker";
+
+    private static boolean launched;
+
+    private BenchmarkBootstrap() {
+    }
+
+    /**
+     * Creates the implementation of a workload within the launched game.
+     *
+     * @param workload The workload interface, which may only refer to
+     *     classes that aren't transformed, such as the JDK or JMH
+     * @param implementation The name of the implementation class, which must
+     *     have a public no-args constructor
+     * @param <T> The type of the workload
+     * @return The workload
+     */
+    public static synchronized <T> T launch(Class<T> workload, String implementation) {
+        if (!launched) {
+            Launch.main(new String[] {"--tweakClass", System.getProperty(TWEAKER_PROPERTY, DEFAULT_TWEAKER)});
+            // Workloads may be handed a blackhole
+            Launch.classLoader.addClassLoaderExclusion("org.openjdk.jmh.");
+            launched = true;
+        }
+        // Shared with the benchmark, which has to see the same interface
+        Launch.classLoader.addClassLoaderExclusion(workload.getName());
+        try {
+            return Class.forName(implementation, true, Launch.classLoader).asSubclass(workload).newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Could not create the benchmark workload " + implementation, e);
+        }
+    }
+
+}
@@ -30,12 +30,14 @@
 import org.spongepowered.api.Sponge;
 import org.spongepowered.api.event.Listener;
 import org.spongepowered.api.event.game.state.GameStartingServerEvent;
+import org.spongepowered.api.event.game.state.GameStoppingServerEvent;
 import org.spongepowered.api.event.service.ChangeServiceProviderEvent;
 import org.spongepowered.api.event.world.SaveWorldEvent;
 import org.spongepowered.common.bridge.server.management.PlayerProfileCacheBridge;
 import org.spongepowered.api.service.user.UserStorageService;
 import org.spongepowered.common.service.user.SpongeUserStorageService;
 import org.spongepowered.common.util.SpongeUsernameCache;
+import org.spongepowered.common.util.metric.TickMetrics;
 
 import java.util.Iterator;
 import java.util.function.Consumer;
@@ -67,6 +69,12 @@ public void onServerStarting(GameStartingServerEvent event) {
         Sponge.getServiceManager().provide(UserStorageService.class)
                 .filter(x -> x instanceof SpongeUserStorageService)
                 .ifPresent(x -> ((SpongeUserStorageService) x).init());
+        TickMetrics.start();
+    }
+
+    @Listener
+    public void onServerStopping(GameStoppingServerEvent event) {
+        TickMetrics.stop();
     }
 
     @Listener
@@ -298,7 +298,7 @@ public DataContainer toContainer() {
             container.set(Constants.Block.BLOCK_EXTENDED_STATE, this.extendedState);
         }
         if (this.compound != null) {
-            container.set(Constants.Sponge.UNSAFE_NBT, NbtTranslator.getInstance().translateFrom(this.compound));
+            container.set(Constants.Sponge.UNSAFE_NBT, NbtTranslator.getInstance().translateLazily(this.compound));
         }
         final List<DataView> dataList = DataUtil.getSerializedImmutableManipulatorList(this.extraData);
         if (!dataList.isEmpty()) {
@@ -25,6 +25,8 @@
 package org.spongepowered.common.bridge.world.chunk;
 
 import com.flowpowered.math.vector.Vector3d;
+import it.unimi.dsi.fastutil.ints.Int2LongMap;
+import it.unimi.dsi.fastutil.shorts.Short2LongMap;
 import net.minecraft.block.Block;
 import net.minecraft.block.state.IBlockState;
 import net.minecraft.tileentity.TileEntity;
@@ -43,7 +45,6 @@
 
 import javax.annotation.Nullable;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
@@ -51,9 +52,9 @@
 
 public interface ChunkBridge {
 
-    Map<Short, PlayerTracker> bridge$getTrackedShortPlayerPositions();
+    Short2LongMap bridge$getTrackedShortPlayerPositions();
 
-    Map<Integer, PlayerTracker> bridge$getTrackedIntPlayerPositions();
+    Int2LongMap bridge$getTrackedIntPlayerPositions();
 
     Optional<User> bridge$getBlockOwner(BlockPos pos);
 
@@ -72,9 +73,9 @@ public interface ChunkBridge {
 
     void bridge$addTrackedBlockPosition(Block block, BlockPos pos, User user, PlayerTracker.Type trackerType);
 
-    void bridge$setTrackedIntPlayerPositions(Map<Integer, PlayerTracker> trackedPlayerPositions);
+    void bridge$setTrackedIntPlayerPositions(Int2LongMap trackedPlayerPositions);
 
-    void bridge$setTrackedShortPlayerPositions(Map<Short, PlayerTracker> trackedPlayerPositions);
+    void bridge$setTrackedShortPlayerPositions(Short2LongMap trackedPlayerPositions);
 
     void bridge$setNeighbor(Direction direction, Chunk neighbor);
 
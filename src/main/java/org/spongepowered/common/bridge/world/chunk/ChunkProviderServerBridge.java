@@ -35,6 +35,7 @@
 import net.minecraft.world.gen.IChunkGenerator;
 import org.spongepowered.common.world.gen.SpongeChunkGenerator;
 
+import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 
@@ -48,6 +49,20 @@ public interface ChunkProviderServerBridge {
 
     CompletableFuture<Boolean> bridge$doesChunkExistSync(Vector3i chunkCoords);
 
+    IChunkLoader bridge$getChunkLoader();
+
+    /**
+     * Loads a chunk without blocking the main thread on reading it from
+     * disk. Requests for a chunk that is already being loaded share the
+     * same future.
+     *
+     * @param x The chunk x
+     * @param z The chunk z
+     * @param generate Whether to generate the chunk if it doesn't exist
+     * @return The future of the chunk, completed on the main thread
+     */
+    CompletableFuture<Optional<Chunk>> bridge$loadChunkAsync(int x, int z, boolean generate);
+
     boolean bridge$getForceChunkRequests();
 
     void bridge$setDenyChunkRequests(boolean flag);
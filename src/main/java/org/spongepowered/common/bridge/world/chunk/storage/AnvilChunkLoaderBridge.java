@@ -34,4 +34,27 @@ public interface AnvilChunkLoaderBridge {
     boolean bridge$chunkExists(World world, int x, int z);
 
     Path bridge$getWorldDir();
+
+    /**
+     * Gets the number of saves of the chunk at the given position that
+     * were queued or written so far, used to detect whether chunk data read
+     * off the main thread is outdated. The count is shared by the chunks at
+     * the same position of every region file, so it may also change when a
+     * chunk of another region is saved.
+     *
+     * @param x The chunk x
+     * @param z The chunk z
+     * @return The number of queued and written saves
+     */
+    long bridge$getSaveCount(int x, int z);
+
+    /**
+     * Gets whether the chunk at the given position is queued for saving or
+     * is being written right now.
+     *
+     * @param x The chunk x
+     * @param z The chunk z
+     * @return Whether a save of the chunk is pending
+     */
+    boolean bridge$isSavePending(int x, int z);
 }
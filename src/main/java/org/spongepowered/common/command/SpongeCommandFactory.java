@@ -30,6 +30,7 @@
 import static org.spongepowered.api.command.args.GenericArguments.dimension;
 import static org.spongepowered.api.command.args.GenericArguments.firstParsing;
 import static org.spongepowered.api.command.args.GenericArguments.flags;
+import static org.spongepowered.api.command.args.GenericArguments.integer;
 import static org.spongepowered.api.command.args.GenericArguments.literal;
 import static org.spongepowered.api.command.args.GenericArguments.onlyOne;
 import static org.spongepowered.api.command.args.GenericArguments.optional;
@@ -44,6 +45,8 @@
 import org.spongepowered.api.text.format.TextColor;
 import org.spongepowered.common.command.args.FilteredPluginsCommandElement;
 import org.spongepowered.common.relocate.co.aikar.timings.SpongeTimingsFactory;
+import org.spongepowered.common.relocate.co.aikar.timings.TimingsManager;
+import org.spongepowered.common.relocate.co.aikar.timings.WorldTimingsHandler;
 import co.aikar.timings.Timings;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
@@ -51,6 +54,7 @@
 import net.minecraft.block.state.IBlockState;
 import net.minecraft.entity.Entity;
 import net.minecraft.entity.player.EntityPlayerMP;
+import net.minecraft.server.MinecraftServer;
 import net.minecraft.util.math.RayTraceResult;
 import net.minecraft.world.WorldServer;
 import net.minecraft.world.chunk.Chunk;
@@ -106,8 +110,15 @@
 import org.spongepowered.common.config.type.WorldConfig;
 import org.spongepowered.common.entity.EntityUtil;
 import org.spongepowered.common.event.SpongeEventManager;
+import org.spongepowered.common.event.tracking.PhaseTimings;
+import org.spongepowered.common.event.tracking.PhaseTracker;
+import org.spongepowered.common.mixin.core.server.MinecraftServerAccessor;
 import org.spongepowered.common.mixin.core.world.WorldAccessor;
+import org.spongepowered.common.scheduler.PluginExecutionStats;
+import org.spongepowered.common.scheduler.PluginFairExecutor;
 import org.spongepowered.common.util.SpongeHooks;
+import org.spongepowered.common.util.metric.LatencyHistogram;
+import org.spongepowered.common.util.metric.SamplingProfiler;
 
 import java.io.File;
 import java.net.MalformedURLException;
@@ -125,6 +136,7 @@
 import java.util.Optional;
 import java.util.TreeSet;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -224,6 +236,9 @@ public static CommandSpec createSpongeCommand() {
         nonFlagChildren.register(createSpongeTimingsCommand(), "timings");
         nonFlagChildren.register(createSpongeWhichCommand(), "which");
         nonFlagChildren.register(createSpongeMetricsCommand(), "metrics");
+        nonFlagChildren.register(createSpongeSchedulerCommand(), "scheduler");
+        nonFlagChildren.register(createSpongeProfilerCommand(), "profiler");
+        nonFlagChildren.register(createSpongeMsptCommand(), "mspt");
         flagChildren.register(createSpongeChunksCommand(), "chunks");
         flagChildren.register(createSpongeTPSCommand(), "tps");
         trackerFlagChildren.register(createSpongeConfigCommand(), "config");
@@ -246,6 +261,9 @@ INDENT, title("plugins"), LONG_INDENT, "List currently installed plugins\n",
                 INDENT, title("which"), LONG_INDENT, "List plugins that own a specific command\n",
                 INDENT, title("tps"), LONG_INDENT, "Provides TPS (ticks per second) data for loaded worlds\n",
                 INDENT, title("metrics"), LONG_INDENT, "Gets or sets permission for metric plugins to operate\n",
+                INDENT, title("scheduler"), LONG_INDENT, "Provides statistics about asynchronous plugin tasks\n",
+                INDENT, title("profiler"), LONG_INDENT, "Samples the server thread into a flame graph compatible file\n",
+                INDENT, title("mspt"), LONG_INDENT, "Provides tick duration percentiles and the phases of slow ticks\n",
                 SpongeImplHooks.getAdditionalCommandDescriptions()))
             .arguments(firstParsing(nonFlagChildren,
                 flags().flag("-global", "g")
@@ -750,6 +768,16 @@ private static CommandCallable createSpongeTimingsCommand() {
                     return CommandResult.success();
                 })
                 .build(), "report", "paste")
+            .child(CommandSpec.builder()
+                .executor((src, args) -> {
+                    if (!Timings.isTimingsEnabled()) {
+                        src.sendMessage(Text.of("Please enable timings by typing /sponge timings on"));
+                        return CommandResult.empty();
+                    }
+                    SpongeTimingsFactory.generateExport(src);
+                    return CommandResult.success();
+                })
+                .build(), "export")
             .child(CommandSpec.builder()
                 .executor((src, args) -> {
                     Timings.setTimingsEnabled(true);
@@ -856,6 +884,156 @@ private static CommandSpec createSpongeTPSCommand() {
             .build();
     }
 
+    private static CommandSpec createSpongeSchedulerCommand() {
+        return CommandSpec.builder()
+            .permission("sponge.command.scheduler")
+            .description(Text.of("Provides statistics about the asynchronous tasks of plugins."))
+            .child(CommandSpec.builder()
+                .executor((src, args) -> {
+                    SpongeImpl.getScheduler().getAsyncExecutor().getStats().forEach(PluginExecutionStats::reset);
+                    src.sendMessage(Text.of("Scheduler statistics reset"));
+                    return CommandResult.success();
+                })
+                .build(), "reset")
+            .executor((src, args) -> {
+                final PluginFairExecutor executor = SpongeImpl.getScheduler().getAsyncExecutor();
+                final int maxThreads = executor.getMaxThreads();
+                src.sendMessage(Text.of(title(executor.usesVirtualThreads() ? "Async virtual threads: " : "Async threads: "),
+                    hl(String.valueOf(executor.getActiveThreads())), " active, ",
+                    hl(String.valueOf(executor.getPoolSize())), " alive, ",
+                    hl(maxThreads == Integer.MAX_VALUE ? "unbounded" : String.valueOf(maxThreads)), " max, ",
+                    hl(String.valueOf(executor.getQueuedTasks())), " queued tasks"));
+                executor.getStats().stream()
+                    .sorted(Comparator.comparingLong(PluginExecutionStats::getCompletedTasks).reversed())
+                    .forEach(stats -> src.sendMessage(Text.of(LIST_ITEM_TEXT, TextColors.LIGHT_PURPLE, stats.getPlugin().getId(), TextColors.RESET,
+                        ": ", stats.getQueuedTasks(), " queued, ", stats.getRunningTasks(), " running, ", stats.getCompletedTasks(), " completed, ",
+                        stats.getRejectedTasks(), " rejected", NEWLINE_TEXT, INDENT_TEXT,
+                        "Wait p50/p99/max: ", formatLatency(stats.getQueueLatency()), NEWLINE_TEXT, INDENT_TEXT,
+                        "Run p50/p99/max: ", formatLatency(stats.getExecutionTime()))));
+                return CommandResult.success();
+            })
+            .build();
+    }
+
+    private static CommandSpec createSpongeProfilerCommand() {
+        return CommandSpec.builder()
+            .permission("sponge.command.profiler")
+            .description(Text.of("Samples the server thread and writes the samples as collapsed stacks for flame graphs."))
+            .extendedDescription(Text.of("Use 'start <seconds> [interval ms] [slow tick ms]' to start profiling. If a slow tick "
+                + "duration is given, only the samples of ticks that took at least that long are kept."))
+            .child(CommandSpec.builder()
+                .arguments(integer(Text.of("seconds")), optional(integer(Text.of("interval"))), optional(integer(Text.of("slow-tick"))))
+                .executor((src, args) -> {
+                    final int seconds = args.<Integer>getOne("seconds").get();
+                    final int interval = args.<Integer>getOne("interval").orElse(10);
+                    final int slowTick = args.<Integer>getOne("slow-tick").orElse(0);
+                    if (seconds < 1 || seconds > 3600) {
+                        throw new CommandException(Text.of("The duration must be between 1 and 3600 seconds"));
+                    }
+                    if (interval < 1 || slowTick < 0) {
+                        throw new CommandException(Text.of("The interval must be positive and the slow tick duration cannot be negative"));
+                    }
+                    final File file = new File(new File(new File("."), "profiler"),
+                        "profile-" + DateTimeFormatter.ofPattern("yyyy-MM-dd_HH.mm.ss").format(LocalDateTime.now()) + ".collapsed");
+                    final MinecraftServer server = SpongeImpl.getServer();
+                    try {
+                        SamplingProfiler.start(((MinecraftServerAccessor) server).accessor$getServerThread(), seconds * 1000L, interval, slowTick,
+                            TimeUnit.MILLISECONDS, file.toPath(),
+                            profiler -> Task.builder().execute(() -> sendProfilerResult(src, profiler)).submit(SpongeImpl.getPlugin()));
+                    } catch (IllegalStateException e) {
+                        throw new CommandException(Text.of("A profiler is already running, use /sponge profiler stop to stop it"));
+                    }
+                    src.sendMessage(Text.of("Profiling the server thread for ", hl(String.valueOf(seconds)), " seconds, writing to: ", file));
+                    return CommandResult.success();
+                })
+                .build(), "start")
+            .child(CommandSpec.builder()
+                .executor((src, args) -> {
+                    final SamplingProfiler profiler = SamplingProfiler.getActive()
+                        .orElseThrow(() -> new CommandException(Text.of("No profiler is running")));
+                    profiler.stop();
+                    src.sendMessage(Text.of("Stopping the profiler"));
+                    return CommandResult.success();
+                })
+                .build(), "stop")
+            .executor((src, args) -> {
+                final Optional<SamplingProfiler> profiler = SamplingProfiler.getActive();
+                if (!profiler.isPresent()) {
+                    src.sendMessage(Text.of("No profiler is running, use /sponge profiler start <seconds> to start one"));
+                    return CommandResult.empty();
+                }
+                src.sendMessage(Text.of(title("Profiler: "), hl(String.valueOf(profiler.get().getElapsedMillis() / 1000)), "/",
+                    hl(String.valueOf(profiler.get().getDurationMillis() / 1000)), " seconds, ",
+                    hl(String.valueOf(profiler.get().getSamples())), " samples in ", hl(String.valueOf(profiler.get().getTicks())), " ticks"));
+                return CommandResult.success();
+            })
+            .build();
+    }
+
+    private static CommandSpec createSpongeMsptCommand() {
+        return CommandSpec.builder()
+            .permission("sponge.command.mspt")
+            .description(Text.of("Provides tick duration percentiles and the phases of slow ticks."))
+            .child(CommandSpec.builder()
+                .executor((src, args) -> {
+                    TimingsManager.FULL_SERVER_TICK.tickDuration.reset();
+                    WorldTimingsHandler.getActive().forEach(handler -> handler.tickDuration.reset());
+                    src.sendMessage(Text.of("Tick durations reset"));
+                    return CommandResult.success();
+                })
+                .build(), "reset")
+            .executor((src, args) -> {
+                src.sendMessage(Text.of("Tick durations (p50/p99/p99.9/max):"));
+                for (final WorldTimingsHandler handler : WorldTimingsHandler.getActive()) {
+                    src.sendMessage(Text.of(LIST_ITEM_TEXT, "World [", TextColors.DARK_GREEN, handler.worldName, TextColors.RESET, "]: ",
+                        formatTickDuration(handler.tickDuration)));
+                }
+                src.sendMessage(Text.of(LIST_ITEM_TEXT, "Server: ", formatTickDuration(TimingsManager.FULL_SERVER_TICK.tickDuration)));
+                final PhaseTimings phaseTimings = PhaseTracker.getInstance().getPhaseTimings();
+                if (!phaseTimings.isEnabled()) {
+                    return CommandResult.success();
+                }
+                final List<PhaseTimings.SlowTick> slowTicks = phaseTimings.getSlowTicks();
+                src.sendMessage(Text.of(title("Slow ticks: "), hl(String.valueOf(phaseTimings.getSlowTickCount())), " total, most recent:"));
+                for (final PhaseTimings.SlowTick slowTick : slowTicks.subList(Math.max(0, slowTicks.size() - 5), slowTicks.size())) {
+                    src.sendMessage(Text.of(LIST_ITEM_TEXT, "Tick ", hl(String.valueOf(slowTick.getTick())), ": ", TextColors.RED,
+                        THREE_DECIMAL_DIGITS_FORMATTER.format(slowTick.getDuration() * 1.0e-6d), "ms"));
+                    for (final PhaseTimings.PhaseTime phase : slowTick.getPhases()) {
+                        src.sendMessage(Text.of(LONG_INDENT, phase.getName(), " x", phase.getCount(), ": ", TextColors.RED,
+                            THREE_DECIMAL_DIGITS_FORMATTER.format(phase.getNanos() * 1.0e-6d), "ms"));
+                    }
+                }
+                return CommandResult.success();
+            })
+            .build();
+    }
+
+    private static Text formatTickDuration(final LatencyHistogram histogram) {
+        return Text.of(TextColors.RED,
+            THREE_DECIMAL_DIGITS_FORMATTER.format(histogram.getValueAtPercentile(50) * 1.0e-6d), "/",
+            THREE_DECIMAL_DIGITS_FORMATTER.format(histogram.getValueAtPercentile(99) * 1.0e-6d), "/",
+            THREE_DECIMAL_DIGITS_FORMATTER.format(histogram.getValueAtPercentile(99.9) * 1.0e-6d), "/",
+            THREE_DECIMAL_DIGITS_FORMATTER.format(histogram.getMax() * 1.0e-6d), "ms");
+    }
+
+    private static void sendProfilerResult(final CommandSource src, final SamplingProfiler profiler) {
+        if (profiler.getError().isPresent()) {
+            SpongeImpl.getLogger().error("Could not write the profile to {}", profiler.getOutput(), profiler.getError().get());
+            src.sendMessage(Text.of(TextColors.RED, "Could not write the profile to ", profiler.getOutput(), ", see the log for details"));
+            return;
+        }
+        src.sendMessage(Text.of("Profile complete, kept ", hl(String.valueOf(profiler.getKeptSamples())), " of ",
+            hl(String.valueOf(profiler.getSamples())), " samples from ", hl(String.valueOf(profiler.getKeptTicks())), " of ",
+            hl(String.valueOf(profiler.getTicks())), " ticks: ", profiler.getOutput()));
+    }
+
+    private static Text formatLatency(final LatencyHistogram histogram) {
+        return Text.of(TextColors.RED,
+            THREE_DECIMAL_DIGITS_FORMATTER.format(histogram.getValueAtPercentile(50) * 1.0e-6d), "/",
+            THREE_DECIMAL_DIGITS_FORMATTER.format(histogram.getValueAtPercentile(99) * 1.0e-6d), "/",
+            THREE_DECIMAL_DIGITS_FORMATTER.format(histogram.getMax() * 1.0e-6d), "ms");
+    }
+
     private static void printWorldTickTime(final CommandSource src, final World world) {
         final long[] worldTickTimes = ((MinecraftServerBridge) SpongeImpl.getServer()).bridge$getWorldTickTimes(((WorldServerBridge) world).bridge$getDimensionId());
         final double worldMeanTickTime = mean(worldTickTimes) * 1.0e-6d;
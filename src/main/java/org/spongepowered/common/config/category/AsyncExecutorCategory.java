@@ -0,0 +1,93 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.config.category;
+
+import ninja.leaping.configurate.objectmapping.Setting;
+import ninja.leaping.configurate.objectmapping.serialize.ConfigSerializable;
+
+@ConfigSerializable
+public class AsyncExecutorCategory extends ConfigCategory {
+
+    @Setting(value = "bounded", comment = ""
+            + "If 'true', asynchronous plugin tasks are run on a bounded pool of threads,\n"
+            + "where every plugin has its own queue of pending tasks that are served in\n"
+            + "a round-robin fashion, so a single plugin cannot starve the others.\n"
+            + "If 'false', a new thread is created whenever all threads are busy.")
+    private boolean bounded = false;
+
+    @Setting(value = "max-threads", comment = "The maximum amount of threads of the bounded pool.")
+    private int maxThreads = 16;
+
+    @Setting(value = "keep-alive-seconds", comment = "The amount of seconds an idle thread of the bounded pool is kept alive.")
+    private int keepAliveSeconds = 60;
+
+    @Setting(value = "plugin-queue-capacity", comment = ""
+            + "The maximum amount of pending tasks per plugin in the bounded pool,\n"
+            + "once reached, the rejection policy is applied to new tasks.")
+    private int pluginQueueCapacity = 10000;
+
+    @Setting(value = "rejection-policy", comment = ""
+            + "What to do with tasks that exceed the plugin queue capacity. One of:\n"
+            + " DISCARD - drops the task\n"
+            + " ABORT - drops the task and reports an error\n"
+            + "Either way a warning is logged when the queue of a plugin fills up.")
+    private RejectionPolicy rejectionPolicy = RejectionPolicy.ABORT;
+
+    @Setting(value = "virtual-threads", comment = ""
+            + "If 'true' and the JVM supports virtual threads (Java 21 or newer), every asynchronous\n"
+            + "task runs on its own virtual thread, which is much cheaper for tasks that block on\n"
+            + "I/O such as database queries. If 'bounded' is also enabled, 'max-threads' limits the\n"
+            + "amount of tasks running at once. Platform threads are used on older JVMs.")
+    private boolean virtualThreads = false;
+
+    public boolean isBounded() {
+        return this.bounded;
+    }
+
+    public int getMaxThreads() {
+        return this.maxThreads;
+    }
+
+    public int getKeepAliveSeconds() {
+        return this.keepAliveSeconds;
+    }
+
+    public int getPluginQueueCapacity() {
+        return this.pluginQueueCapacity;
+    }
+
+    public boolean useVirtualThreads() {
+        return this.virtualThreads;
+    }
+
+    public RejectionPolicy getRejectionPolicy() {
+        return this.rejectionPolicy;
+    }
+
+    public enum RejectionPolicy {
+        DISCARD,
+        ABORT
+    }
+}
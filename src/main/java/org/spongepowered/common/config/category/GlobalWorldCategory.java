@@ -54,6 +54,66 @@ public class GlobalWorldCategory extends WorldCategory {
             + "Note: If you are using SpongeForge, make sure to enter any mod fake player's UUID to this list.")
     private List<UUID> invalidLookupUuids = new ArrayList<>();
 
+    @Setting(value = "parallel-world-loading", comment = ""
+            + "If 'true', the I/O bound parts of loading the worlds at startup are performed for all\n"
+            + "worlds in parallel. This includes reading and parsing their level data and pre-reading\n"
+            + "the region files of their spawn area. World configs are still read, and the worlds are\n"
+            + "still created one after another, on the main thread. (Default: false)")
+    private boolean parallelWorldLoading = false;
+
+    @Setting(value = "world-loading-threads", comment = ""
+            + "The number of threads used when 'parallel-world-loading' is enabled. (Default: 0)\n"
+            + "Note: If set to 0 or less, the number of available processors will be used.")
+    private int worldLoadingThreads = 0;
+
+    @Setting(value = "pipelined-chunk-pregeneration", comment = ""
+            + "If 'true', chunk pre-generation tasks look up which chunks already exist by reading the\n"
+            + "region file headers ahead of the generator on an async thread. Areas that are already\n"
+            + "generated are then skipped in bulk, and the main thread only spends its time budget on\n"
+            + "generating and populating missing chunks. (Default: false)")
+    private boolean pipelinedChunkPreGeneration = false;
+
+    @Setting(value = "chunk-pregeneration-prefetch-batches", comment = ""
+            + "The number of batches of spiral positions that are looked up ahead of the generator\n"
+            + "when 'pipelined-chunk-pregeneration' is enabled. (Default: 8)")
+    private int chunkPreGenerationPrefetchBatches = 8;
+
+    @Setting(value = "mapped-chunk-data-stream", comment = ""
+            + "If 'true', streams of all generated chunks of a world, as used by world analysis plugins,\n"
+            + "memory map the region files and decompress the chunks on a pool of threads instead of\n"
+            + "reading them one by one. (Default: false)")
+    private boolean mappedChunkDataStream = false;
+
+    @Setting(value = "chunk-data-stream-threads", comment = ""
+            + "The number of threads used when 'mapped-chunk-data-stream' is enabled. (Default: 0)\n"
+            + "Note: If set to 0 or less, the number of available processors will be used.")
+    private int chunkDataStreamThreads = 0;
+
+    @Setting(value = "chunk-save-threads", comment = ""
+            + "The number of threads that compress chunks while they are saved. If greater than 0, the\n"
+            + "file I/O thread takes queued chunks in batches, compresses them in parallel and writes\n"
+            + "them grouped by region file. If set to 0, chunks are saved one by one. (Default: 0)")
+    private int chunkSaveThreads = 0;
+
+    @Setting(value = "chunk-save-batch-size", comment = ""
+            + "The maximum number of chunks that are taken from the save queue of a world at once\n"
+            + "when 'chunk-save-threads' is greater than 0. (Default: 64)")
+    private int chunkSaveBatchSize = 64;
+
+    @Setting(value = "max-queued-chunk-saves", comment = ""
+            + "The number of chunks that may wait to be saved in a world before the thread that\n"
+            + "queues more chunks of that world waits for the file io thread to save them, when\n"
+            + "'chunk-save-threads' is greater than 0. This keeps the save queue from growing without\n"
+            + "bounds during large saves.\n"
+            + "Note: If set to 0 or less, the save queue isn't bounded. (Default: 4096)")
+    private int maxQueuedChunkSaves = 4096;
+
+    @Setting(value = "async-player-chunk-loading", comment = ""
+            + "If 'true', chunks that players need are read from disk off the main thread. The players\n"
+            + "receive them once they are loaded, a tick or more later. Chunks that don't exist yet are\n"
+            + "still generated on the main thread. (Default: false)")
+    private boolean asyncPlayerChunkLoading = false;
+
     public GlobalWorldCategory() {
         this.invalidLookupUuids.add(UUID.fromString("00000000-0000-0000-0000-000000000000"));
         this.invalidLookupUuids.add(UUID.fromString("0d0c4ca0-4ff1-11e4-916c-0800200c9a66")); // ComputerCraft FakePlayer
@@ -83,4 +143,50 @@ public List<UUID> getInvalidLookupUuids() {
         return this.invalidLookupUuids;
     }
 
+    public boolean isParallelWorldLoading() {
+        return this.parallelWorldLoading;
+    }
+
+    public int getWorldLoadingThreads() {
+        if (this.worldLoadingThreads <= 0) {
+            return Runtime.getRuntime().availableProcessors();
+        }
+        return this.worldLoadingThreads;
+    }
+
+    public boolean isPipelinedChunkPreGeneration() {
+        return this.pipelinedChunkPreGeneration;
+    }
+
+    public int getChunkPreGenerationPrefetchBatches() {
+        return Math.max(1, this.chunkPreGenerationPrefetchBatches);
+    }
+
+    public boolean isMappedChunkDataStream() {
+        return this.mappedChunkDataStream;
+    }
+
+    public int getChunkDataStreamThreads() {
+        if (this.chunkDataStreamThreads <= 0) {
+            return Runtime.getRuntime().availableProcessors();
+        }
+        return this.chunkDataStreamThreads;
+    }
+
+    public int getChunkSaveThreads() {
+        return this.chunkSaveThreads;
+    }
+
+    public int getChunkSaveBatchSize() {
+        return Math.max(1, this.chunkSaveBatchSize);
+    }
+
+    public int getMaxQueuedChunkSaves() {
+        return this.maxQueuedChunkSaves;
+    }
+
+    public boolean isAsyncPlayerChunkLoading() {
+        return this.asyncPlayerChunkLoading;
+    }
+
 }
@@ -136,6 +136,18 @@ public class OptimizationCategory extends ConfigCategory {
     )
     private boolean disableRayTracingChunkLoads = false;
 
+    @Setting(value = "generated-event-dispatchers", comment = ""
+            + "If 'true', a dispatcher class is generated for every event type that is posted,\n"
+            + "which calls all of its listeners directly instead of through the generic listener\n"
+            + "wrappers. This allows the JVM to inline the listeners and their filters for\n"
+            + "frequently posted events, at the cost of generating a class every time the\n"
+            + "listeners of an event type change.")
+    private boolean generatedEventDispatchers = false;
+
+    @Setting(value = "parallel-volume-workers", comment = ""
+            + "Processes large block and biome volume workers over detached buffers in parallel.")
+    private ParallelVolumeWorkerCategory parallelVolumeWorkerCategory = new ParallelVolumeWorkerCategory();
+
     public OptimizationCategory() {
         try {
             // Enabled by default on SpongeVanilla, disabled by default on SpongeForge.
@@ -230,4 +242,11 @@ public boolean isDisableRayTracingChunkLoads() {
         return this.disableRayTracingChunkLoads;
     }
 
+    public boolean useGeneratedEventDispatchers() {
+        return this.generatedEventDispatchers;
+    }
+
+    public ParallelVolumeWorkerCategory getParallelVolumeWorkerCategory() {
+        return this.parallelVolumeWorkerCategory;
+    }
 }
@@ -0,0 +1,52 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.config.category;
+
+import ninja.leaping.configurate.objectmapping.Setting;
+import ninja.leaping.configurate.objectmapping.serialize.ConfigSerializable;
+
+@ConfigSerializable
+public class ParallelVolumeWorkerCategory extends ConfigCategory {
+
+    @Setting(value = "enabled", comment = ""
+            + "If 'true', block and biome volume workers that only read from and write to\n"
+            + "detached buffers, such as schematics, split the volume into chunk sections\n"
+            + "that are processed in parallel on the common fork join pool. Volumes of\n"
+            + "worlds are always processed on the calling thread.\n"
+            + "Only enable this if the plugins using volume workers can handle their\n"
+            + "functions being called from multiple threads at once.")
+    private boolean enabled = false;
+
+    @Setting(value = "minimum-volume", comment = "The amount of positions a volume needs before it's processed in parallel. (Default: 65536)")
+    private int minimumVolume = 65536;
+
+    public boolean isEnabled() {
+        return this.enabled;
+    }
+
+    public int getMinimumVolume() {
+        return this.minimumVolume;
+    }
+}
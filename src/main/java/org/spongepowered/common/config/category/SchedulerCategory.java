@@ -0,0 +1,51 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.config.category;
+
+import ninja.leaping.configurate.objectmapping.Setting;
+import ninja.leaping.configurate.objectmapping.serialize.ConfigSerializable;
+
+@ConfigSerializable
+public class SchedulerCategory extends ConfigCategory {
+
+    @Setting(value = "timing-wheel", comment = ""
+            + "If 'true', the plugin task schedulers keep pending tasks in a hierarchical\n"
+            + "timing wheel so that each tick only touches tasks that are actually due,\n"
+            + "instead of scanning every scheduled task. Set this to 'false' to fall back\n"
+            + "to the legacy scanning scheduler. Requires a server restart.")
+    private boolean timingWheel = true;
+
+    @Setting(value = "async-executor", comment = "Configuration options related to the threads running asynchronous tasks.")
+    private AsyncExecutorCategory asyncExecutor = new AsyncExecutorCategory();
+
+    public boolean useTimingWheel() {
+        return this.timingWheel;
+    }
+
+    public AsyncExecutorCategory getAsyncExecutor() {
+        return this.asyncExecutor;
+    }
+
+}
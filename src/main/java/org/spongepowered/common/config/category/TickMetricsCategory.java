@@ -0,0 +1,77 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.config.category;
+
+import ninja.leaping.configurate.objectmapping.Setting;
+import ninja.leaping.configurate.objectmapping.serialize.ConfigSerializable;
+
+@ConfigSerializable
+public class TickMetricsCategory extends ConfigCategory {
+
+    @Setting(value = "slow-tick-threshold", comment = ""
+            + "The duration of a server tick, in milliseconds, from which on it is\n"
+            + "considered a slow tick.")
+    private int slowTickThreshold = 50;
+
+    @Setting(value = "slow-tick-phases", comment = ""
+            + "The amount of cause tracker phases to remember for every slow tick,\n"
+            + "ordered by the time that was spent in them. Measuring the phases adds\n"
+            + "a small overhead to every phase, set this to 0 to disable it.")
+    private int slowTickPhases = 0;
+
+    @Setting(value = "prometheus-file", comment = ""
+            + "If not empty, the tick duration metrics are periodically written to this\n"
+            + "file in the Prometheus text format, e.g. for the node exporter textfile collector.")
+    private String prometheusFile = "";
+
+    @Setting(value = "prometheus-file-interval", comment = "The interval, in seconds, in which the Prometheus file is written.")
+    private int prometheusFileInterval = 15;
+
+    @Setting(value = "prometheus-port", comment = ""
+            + "If not 0, the tick duration metrics are served in the Prometheus text format\n"
+            + "on 'http://127.0.0.1:<port>/metrics'. The endpoint only listens on the loopback address.")
+    private int prometheusPort = 0;
+
+    public int getSlowTickThreshold() {
+        return this.slowTickThreshold;
+    }
+
+    public int getSlowTickPhases() {
+        return this.slowTickPhases;
+    }
+
+    public String getPrometheusFile() {
+        return this.prometheusFile;
+    }
+
+    public int getPrometheusFileInterval() {
+        return this.prometheusFileInterval;
+    }
+
+    public int getPrometheusPort() {
+        return this.prometheusPort;
+    }
+
+}
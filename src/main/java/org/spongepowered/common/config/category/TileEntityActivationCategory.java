@@ -41,6 +41,11 @@ public class TileEntityActivationCategory extends ConfigCategory {
     private int defaultBlockRange = 64;
     @Setting(value = "default-tick-rate", comment = "Default tick rate used for all tileentities unless overridden.")
     private int defaultTickRate = 1;
+    @Setting(value = "tick-budget",
+            comment = "The time, in milliseconds, that ticking tileentities may take in a world each tick. Once it is used up,\n"
+                    + "the remaining tileentities are deferred and tick first on the next tick, so no tileentity is deferred\n"
+                    + "twice in a row. Set to 0 to disable.")
+    private int tickBudget = 0;
     @Setting(value = "mods", comment = "Per-mod overrides. Refer to the minecraft default mod for example.")
     private Map<String, TileEntityActivationModCategory> modList = new HashMap<>();
 
@@ -59,6 +64,10 @@ public int getDefaultTickRate() {
         return this.defaultTickRate;
     }
 
+    public int getTickBudget() {
+        return this.tickBudget;
+    }
+
     public Map<String, TileEntityActivationModCategory> getModList() {
         return this.modList;
     }
@@ -50,6 +50,17 @@ public class TimingsCategory extends ConfigCategory {
             + "and thus is never sent to the webviewer regardless of this config.")
     private List<String> hiddenConfigEntries = Lists.newArrayList("sponge.sql");
 
+    @Setting(value = "local-export", comment = ""
+            + "If enabled, '/sponge timings report' writes the report to the 'timings' directory\n"
+            + "of the server as compressed JSON instead of uploading it to the Aikar webviewer.\n"
+            + "'/sponge timings export' always writes the report locally.")
+    private boolean localExport = false;
+
+    @Setting(value = "export-viewer", comment = ""
+            + "If enabled, a self-contained HTML viewer is written next to every locally\n"
+            + "exported report, which can be opened in a browser without network access.")
+    private boolean exportViewer = true;
+
     @Setting(value = "history-interval",
             comment = "Modulo value how often a tick should be pushed to the timings history")
     private int historyInterval = 300;
@@ -81,6 +92,14 @@ public List<String> getHiddenConfigEntries() {
         return this.hiddenConfigEntries;
     }
 
+    public boolean isLocalExport() {
+        return this.localExport;
+    }
+
+    public boolean isExportViewer() {
+        return this.exportViewer;
+    }
+
     public int getHistoryInterval() {
         return this.historyInterval;
     }
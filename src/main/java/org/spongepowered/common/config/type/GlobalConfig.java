@@ -42,8 +42,10 @@
 import org.spongepowered.common.config.category.OptimizationCategory;
 import org.spongepowered.common.config.category.PermissionCategory;
 import org.spongepowered.common.config.category.PhaseTrackerCategory;
+import org.spongepowered.common.config.category.SchedulerCategory;
 import org.spongepowered.common.config.category.SqlCategory;
 import org.spongepowered.common.config.category.TeleportHelperCategory;
+import org.spongepowered.common.config.category.TickMetricsCategory;
 import org.spongepowered.common.util.IpSet;
 
 import java.net.InetAddress;
@@ -110,6 +112,12 @@ public class GlobalConfig extends GeneralConfigBase {
     @Setting(value = "metrics", comment = "Configuration options related to metric collection.")
     private MetricsCategory metricsCategory = new MetricsCategory();
 
+    @Setting(value = "scheduler", comment = "Configuration options related to the plugin task schedulers.")
+    private SchedulerCategory scheduler = new SchedulerCategory();
+
+    @Setting(value = "tick-metrics", comment = "Configuration options related to the tick duration metrics of the server and its worlds.")
+    private TickMetricsCategory tickMetrics = new TickMetricsCategory();
+
     public GlobalConfig() {
         super();
     }
@@ -186,4 +194,12 @@ public MetricsCategory getMetricsCategory() {
         return this.metricsCategory;
     }
 
+    public SchedulerCategory getScheduler() {
+        return this.scheduler;
+    }
+
+    public TickMetricsCategory getTickMetrics() {
+        return this.tickMetrics;
+    }
+
 }
@@ -55,6 +55,21 @@
 
     boolean supports(DataHolder dataHolder);
 
+    /**
+     * Gets whether data holders of the given class may be supported by this
+     * processor. Only {@code false} is definite, it means
+     * {@link #supports(DataHolder)} is {@code false} for every instance of
+     * the class, so the processor can be skipped for it. Processors whose
+     * support depends on the holder instance keep the default, and are
+     * asked for every holder.
+     *
+     * @param holderClass The class of the data holder
+     * @return False if no instance of the class is supported
+     */
+    default boolean canSupport(Class<?> holderClass) {
+        return true;
+    }
+
     boolean supports(EntityType entityType);
 
     /**
@@ -28,7 +28,7 @@
 
 import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
-import org.spongepowered.api.CatalogType;
+import com.google.common.cache.CacheStats;
 import org.spongepowered.api.data.key.Key;
 import org.spongepowered.api.data.manipulator.ImmutableDataManipulator;
 import org.spongepowered.api.data.value.BaseValue;
@@ -37,6 +37,7 @@
 
 import java.lang.reflect.InvocationTargetException;
 import java.util.Arrays;
+import java.util.Objects;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
 
@@ -48,16 +49,34 @@ private ImmutableDataCachingUtil() {}
     public static final int MANIPULATOR_CACHE_LIMIT = 100000;
     public static final int VALUE_CACHE_LIMIT = 100000;
 
-    private static final Cache<String, ImmutableDataManipulator<?, ?>> manipulatorCache = CacheBuilder.newBuilder()
+    private static final Cache<ManipulatorKey, ImmutableDataManipulator<?, ?>> manipulatorCache = CacheBuilder.newBuilder()
         .maximumSize(MANIPULATOR_CACHE_LIMIT)
         .concurrencyLevel(4)
+        .recordStats()
         .build();
 
-    private static final Cache<String, ImmutableValue<?>> valueCache = CacheBuilder.newBuilder()
+    private static final Cache<ValueKey, ImmutableValue<?>> valueCache = CacheBuilder.newBuilder()
         .concurrencyLevel(4)
         .maximumSize(VALUE_CACHE_LIMIT)
+        .recordStats()
         .build();
 
+    public static CacheStats getManipulatorCacheStats() {
+        return ImmutableDataCachingUtil.manipulatorCache.stats();
+    }
+
+    public static long getManipulatorCacheSize() {
+        return ImmutableDataCachingUtil.manipulatorCache.size();
+    }
+
+    public static CacheStats getValueCacheStats() {
+        return ImmutableDataCachingUtil.valueCache.stats();
+    }
+
+    public static long getValueCacheSize() {
+        return ImmutableDataCachingUtil.valueCache.size();
+    }
+
     /**
      * Retrieves a basic manipulator from {@link Cache}. If the {@link Cache}
      * does not have the desired {@link ImmutableDataManipulator} with relative
@@ -75,7 +94,7 @@ private ImmutableDataCachingUtil() {}
      */
     @SuppressWarnings("unchecked")
     public static <T extends ImmutableDataManipulator<?, ?>> T getManipulator(final Class<T> immutableClass, final Object... args) {
-        final String key = getKey(immutableClass, args);
+        final ManipulatorKey key = new ManipulatorKey(immutableClass, args);
         // We can't really use the generic typing here because it's complicated...
         try {
             // Let's get the key
@@ -97,7 +116,7 @@ private ImmutableDataCachingUtil() {}
     @SuppressWarnings("unchecked")
     public static <E, V extends ImmutableValue<?>, T extends ImmutableValue<E>> T getValue(final Class<V> valueClass,
             final Key<? extends BaseValue<E>> usedKey, final E defaultArg, final E arg, final Object... extraArgs) {
-        final String key = getKey(valueClass, usedKey.getQuery().asString('.'), arg.getClass(), arg);
+        final ValueKey key = new ValueKey(valueClass, usedKey, arg);
         try {
             return (T) ImmutableDataCachingUtil.valueCache.get(key, (Callable<ImmutableValue<?>>) () -> {
                     try {
@@ -115,15 +134,80 @@ public static <E, V extends ImmutableValue<?>, T extends ImmutableValue<E>> T ge
         }
     }
 
-    private static String getKey(final Class<?> immutableClass, final Object... args) {
-        final StringBuilder builder = new StringBuilder(immutableClass.getCanonicalName() + ":");
-        for (Object object : args) {
-            if (object instanceof CatalogType) {
-                builder.append("{").append(((CatalogType) object).getId()).append("}");
-            } else {
-                builder.append("{").append(object.toString()).append("}");
+    /**
+     * The cache key of a manipulator, the class and the constructor
+     * arguments. The arguments are compared with their own equality, so
+     * they should be immutable, as they are for the manipulators cached
+     * here.
+     */
+    static final class ManipulatorKey {
+
+        private final Class<?> immutableClass;
+        private final Object[] args;
+        private final int hash;
+
+        ManipulatorKey(final Class<?> immutableClass, final Object... args) {
+            this.immutableClass = immutableClass;
+            this.args = args;
+            this.hash = 31 * immutableClass.hashCode() + Arrays.hashCode(args);
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof ManipulatorKey)) {
+                return false;
+            }
+            final ManipulatorKey other = (ManipulatorKey) o;
+            return this.hash == other.hash && this.immutableClass == other.immutableClass && Arrays.equals(this.args, other.args);
+        }
+
+        @Override
+        public int hashCode() {
+            return this.hash;
+        }
+
+    }
+
+    /**
+     * The cache key of a value, the class, the key it is for and the
+     * actual value. Keys are registered once, so they are compared by
+     * identity. The default and extra arguments are not part of the key.
+     */
+    static final class ValueKey {
+
+        private final Class<?> valueClass;
+        private final Key<?> key;
+        private final Object arg;
+        private final int hash;
+
+        ValueKey(final Class<?> valueClass, final Key<?> key, final Object arg) {
+            this.valueClass = valueClass;
+            this.key = key;
+            this.arg = arg;
+            this.hash = 31 * (31 * valueClass.hashCode() + System.identityHashCode(key)) + arg.hashCode();
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) {
+                return true;
             }
+            if (!(o instanceof ValueKey)) {
+                return false;
+            }
+            final ValueKey other = (ValueKey) o;
+            return this.hash == other.hash && this.valueClass == other.valueClass && this.key == other.key
+                    // Equal values of different classes, like 1 and 1L, don't share a cached value
+                    && this.arg.getClass() == other.arg.getClass() && Objects.equals(this.arg, other.arg);
+        }
+
+        @Override
+        public int hashCode() {
+            return this.hash;
         }
-        return builder.toString();
+
     }
 }
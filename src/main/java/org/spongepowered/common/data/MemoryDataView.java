@@ -81,7 +81,7 @@ public class MemoryDataView implements DataView {
         this.safety = checkNotNull(safety, "Safety mode");
     }
 
-    private MemoryDataView(DataView parent, DataQuery path, DataView.SafetyMode safety) {
+    MemoryDataView(DataView parent, DataQuery path, DataView.SafetyMode safety) {
         checkArgument(path.getParts().size() >= 1, "Path must have at least one part");
         this.parent = parent;
         this.container = parent.getContainer();
@@ -89,6 +89,29 @@ private MemoryDataView(DataView parent, DataQuery path, DataView.SafetyMode safe
         this.safety = checkNotNull(safety, "Safety mode");
     }
 
+    /**
+     * Gets the values of this view. Views that are filled lazily fill
+     * themselves here, so the map is never used directly.
+     *
+     * @return The values
+     */
+    Map<String, Object> getValuesMap() {
+        return this.map;
+    }
+
+    /**
+     * Copies this view to the given path of a parent view without filling
+     * either of them, if this view supports it.
+     *
+     * @param parent The parent view
+     * @param path The path of the copy in the parent
+     * @return The copy, or null to copy the values
+     */
+    @Nullable
+    MemoryDataView copyLazily(MemoryDataView parent, DataQuery path) {
+        return null;
+    }
+
     @Override
     public DataContainer getContainer() {
         return this.container;
@@ -114,11 +137,11 @@ public Optional<DataView> getParent() {
     public Set<DataQuery> getKeys(boolean deep) {
         ImmutableSet.Builder<DataQuery> builder = ImmutableSet.builder();
 
-        for (Map.Entry<String, Object> entry : this.map.entrySet()) {
+        for (Map.Entry<String, Object> entry : this.getValuesMap().entrySet()) {
             builder.add(of(entry.getKey()));
         }
         if (deep) {
-            for (Map.Entry<String, Object> entry : this.map.entrySet()) {
+            for (Map.Entry<String, Object> entry : this.getValuesMap().entrySet()) {
                 if (entry.getValue() instanceof DataView) {
                     for (DataQuery query : ((DataView) entry.getValue()).getKeys(true)) {
                         builder.add(of(entry.getKey()).then(query));
@@ -150,7 +173,7 @@ public final boolean contains(DataQuery path) {
 
         String key = queryParts.get(0);
         if (queryParts.size() == 1) {
-            return this.map.containsKey(key);
+            return this.getValuesMap().containsKey(key);
         }
         Optional<DataView> subViewOptional = this.getUnsafeView(key);
         return subViewOptional.isPresent() && subViewOptional.get().contains(path.popFirst());
@@ -189,7 +212,7 @@ public Optional<Object> get(DataQuery path) {
 
         String key = queryParts.get(0);
         if (sz == 1) {
-            final Object object = this.map.get(key);
+            final Object object = this.getValuesMap().get(key);
             if (object == null) {
                 return Optional.empty();
             }
@@ -250,7 +273,7 @@ public DataView set(DataQuery path, Object value) {
             DataView subView;
             if (!subViewOptional.isPresent()) {
                 this.createView(subQuery);
-                subView = (DataView) this.map.get(key);
+                subView = (DataView) this.getValuesMap().get(key);
             } else {
                 subView = subViewOptional.get();
             }
@@ -259,6 +282,13 @@ public DataView set(DataQuery path, Object value) {
         }
         if (value instanceof DataView) {
             checkArgument(value != this, "Cannot set a DataView to itself.");
+            if (value instanceof MemoryDataView) {
+                final MemoryDataView copy = ((MemoryDataView) value).copyLazily(this, path);
+                if (copy != null) {
+                    this.getValuesMap().put(key, copy);
+                    return this;
+                }
+            }
             // always have to copy a data view to avoid overwriting existing
             // views and to set the interior path correctly.
             copyDataView(path, (DataView) value);
@@ -282,27 +312,27 @@ public DataView set(DataQuery path, Object value) {
         } else if (value.getClass().isArray()) {
             if (this.safety == SafetyMode.ALL_DATA_CLONED || this.safety == SafetyMode.CLONED_ON_SET) {
                 if (value instanceof byte[]) {
-                    this.map.put(key, ArrayUtils.clone((byte[]) value));
+                    this.getValuesMap().put(key, ArrayUtils.clone((byte[]) value));
                 } else if (value instanceof short[]) {
-                    this.map.put(key, ArrayUtils.clone((short[]) value));
+                    this.getValuesMap().put(key, ArrayUtils.clone((short[]) value));
                 } else if (value instanceof int[]) {
-                    this.map.put(key, ArrayUtils.clone((int[]) value));
+                    this.getValuesMap().put(key, ArrayUtils.clone((int[]) value));
                 } else if (value instanceof long[]) {
-                    this.map.put(key, ArrayUtils.clone((long[]) value));
+                    this.getValuesMap().put(key, ArrayUtils.clone((long[]) value));
                 } else if (value instanceof float[]) {
-                    this.map.put(key, ArrayUtils.clone((float[]) value));
+                    this.getValuesMap().put(key, ArrayUtils.clone((float[]) value));
                 } else if (value instanceof double[]) {
-                    this.map.put(key, ArrayUtils.clone((double[]) value));
+                    this.getValuesMap().put(key, ArrayUtils.clone((double[]) value));
                 } else if (value instanceof boolean[]) {
-                    this.map.put(key, ArrayUtils.clone((boolean[]) value));
+                    this.getValuesMap().put(key, ArrayUtils.clone((boolean[]) value));
                 } else {
-                    this.map.put(key, ArrayUtils.clone((Object[]) value));
+                    this.getValuesMap().put(key, ArrayUtils.clone((Object[]) value));
                 }
             } else {
-                this.map.put(key, value);
+                this.getValuesMap().put(key, value);
             }
         } else {
-            this.map.put(key, value);
+            this.getValuesMap().put(key, value);
         }
         return this;
     }
@@ -360,7 +390,7 @@ private void setCollection(String key, Collection<?> value) {
 
             }
         }
-        this.map.put(key, builder.build());
+        this.getValuesMap().put(key, builder.build());
     }
 
     @SuppressWarnings("rawtypes")
@@ -424,7 +454,7 @@ public DataView remove(DataQuery path) {
             DataView subView = subViewOptional.get();
             subView.remove(path.popFirst());
         } else {
-            this.map.remove(parts.get(0));
+            this.getValuesMap().remove(parts.get(0));
         }
         return this;
     }
@@ -443,14 +473,14 @@ public DataView createView(DataQuery path) {
 
         if (sz == 1) {
             DataView result = new MemoryDataView(this, keyQuery, this.safety);
-            this.map.put(key, result);
+            this.getValuesMap().put(key, result);
             return result;
         }
         DataQuery subQuery = path.popFirst();
-        DataView subView = (DataView) this.map.get(key);
+        DataView subView = (DataView) this.getValuesMap().get(key);
         if (subView == null) {
             subView = new MemoryDataView(this.parent, keyQuery, this.safety);
-            this.map.put(key, subView);
+            this.getValuesMap().put(key, subView);
         }
         return subView.createView(subQuery);
     }
@@ -522,7 +552,7 @@ private Optional<DataView> getUnsafeView(DataQuery path) {
     }
 
     private Optional<DataView> getUnsafeView(String path) {
-        final Object object = this.map.get(path);
+        final Object object = this.getValuesMap().get(path);
         if (!(object instanceof DataView)) {
             return Optional.empty();
         }
@@ -825,7 +855,7 @@ public DataContainer copy(SafetyMode safety) {
 
     @Override
     public boolean isEmpty() {
-        return this.map.isEmpty();
+        return this.getValuesMap().isEmpty();
     }
 
     @Override
@@ -835,7 +865,7 @@ public SafetyMode getSafetyMode() {
 
     @Override
     public int hashCode() {
-        return Objects.hashCode(this.map, this.path);
+        return Objects.hashCode(this.getValuesMap(), this.path);
     }
 
     @Override
@@ -843,12 +873,13 @@ public boolean equals(@Nullable Object obj) {
         if (this == obj) {
             return true;
         }
-        if (obj == null || getClass() != obj.getClass()) {
+        // Lazily filled views are equal to the memory views with the same values
+        if (!(obj instanceof MemoryDataView)) {
             return false;
         }
         final MemoryDataView other = (MemoryDataView) obj;
 
-        return Objects.equal(this.map.entrySet(), other.map.entrySet())
+        return Objects.equal(this.getValuesMap().entrySet(), other.getValuesMap().entrySet())
                && Objects.equal(this.path, other.path);
     }
 
@@ -859,6 +890,6 @@ public String toString() {
             helper.add("path", this.path);
         }
         helper.add("safety", this.safety.name());
-        return helper.add("map", this.map).toString();
+        return helper.add("map", this.getValuesMap()).toString();
     }
 }
@@ -0,0 +1,95 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.data;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import net.minecraft.nbt.NBTTagCompound;
+import org.spongepowered.api.data.DataContainer;
+import org.spongepowered.api.data.DataQuery;
+import org.spongepowered.api.data.DataView;
+
+import java.util.Map;
+
+import javax.annotation.Nullable;
+
+/**
+ * A {@link DataContainer} of an {@link NBTTagCompound} that converts the
+ * tags to values when it's first used, instead of when it's created.
+ * Nested compounds are only converted when their views are used, so
+ * reading a few values of a large compound doesn't convert all of it.
+ *
+ * <p>The compound is shared rather than copied. It's only ever read, the
+ * values written to the container replace the converted ones, and copies
+ * that are made before the container is used share the compound as well.
+ * This means the compound must not be modified once it's wrapped.</p>
+ *
+ * <p>The conversion is guarded, so the container and its views may be
+ * read by several threads at once, just like an eagerly converted one.
+ * Writes still need to be synchronized by the caller.</p>
+ */
+public final class NbtDataContainer extends MemoryDataContainer {
+
+    @Nullable private volatile NBTTagCompound compound;
+
+    public NbtDataContainer(NBTTagCompound compound, DataView.SafetyMode safety) {
+        super(safety);
+        this.compound = checkNotNull(compound, "compound");
+    }
+
+    @Override
+    Map<String, Object> getValuesMap() {
+        final Map<String, Object> map = super.getValuesMap();
+        if (this.compound != null) {
+            synchronized (this) {
+                final NBTTagCompound compound = this.compound;
+                if (compound != null) {
+                    NbtDataView.fill(this, compound, map);
+                    this.compound = null;
+                }
+            }
+        }
+        return map;
+    }
+
+    @Nullable
+    @Override
+    MemoryDataView copyLazily(MemoryDataView parent, DataQuery path) {
+        final NBTTagCompound compound = this.compound;
+        return compound == null ? null : new NbtDataView(parent, path, parent.getSafetyMode(), compound);
+    }
+
+    @Override
+    public DataContainer copy() {
+        return copy(getSafetyMode());
+    }
+
+    @Override
+    public DataContainer copy(DataView.SafetyMode safety) {
+        final NBTTagCompound compound = this.compound;
+        return compound == null ? super.copy(safety) : new NbtDataContainer(compound, safety);
+    }
+
+}
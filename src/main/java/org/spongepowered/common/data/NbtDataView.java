@@ -0,0 +1,158 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.data;
+
+import static org.spongepowered.api.data.DataQuery.of;
+
+import com.google.common.collect.ImmutableList;
+import net.minecraft.nbt.NBTBase;
+import net.minecraft.nbt.NBTTagByte;
+import net.minecraft.nbt.NBTTagByteArray;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.nbt.NBTTagDouble;
+import net.minecraft.nbt.NBTTagFloat;
+import net.minecraft.nbt.NBTTagInt;
+import net.minecraft.nbt.NBTTagIntArray;
+import net.minecraft.nbt.NBTTagList;
+import net.minecraft.nbt.NBTTagLong;
+import net.minecraft.nbt.NBTTagShort;
+import net.minecraft.nbt.NBTTagString;
+import org.spongepowered.api.data.DataContainer;
+import org.spongepowered.api.data.DataQuery;
+import org.spongepowered.api.data.DataView;
+import org.spongepowered.common.data.persistence.NbtTranslator;
+import org.spongepowered.common.mixin.core.nbt.NBTTagLongArrayAccessor;
+import org.spongepowered.common.util.Constants;
+
+import java.util.Map;
+
+import javax.annotation.Nullable;
+
+/**
+ * A {@link DataView} of a nested {@link NBTTagCompound} of a
+ * {@link NbtDataContainer}. Like the container, the tags are only
+ * converted to values once the view is first used.
+ */
+public final class NbtDataView extends MemoryDataView {
+
+    @Nullable private volatile NBTTagCompound compound;
+
+    NbtDataView(DataView parent, DataQuery path, DataView.SafetyMode safety, NBTTagCompound compound) {
+        super(parent, path, safety);
+        this.compound = compound;
+    }
+
+    @Override
+    Map<String, Object> getValuesMap() {
+        final Map<String, Object> map = super.getValuesMap();
+        if (this.compound != null) {
+            synchronized (this) {
+                final NBTTagCompound compound = this.compound;
+                if (compound != null) {
+                    fill(this, compound, map);
+                    this.compound = null;
+                }
+            }
+        }
+        return map;
+    }
+
+    @Nullable
+    @Override
+    MemoryDataView copyLazily(MemoryDataView parent, DataQuery path) {
+        final NBTTagCompound compound = this.compound;
+        return compound == null ? null : new NbtDataView(parent, path, parent.getSafetyMode(), compound);
+    }
+
+    @Override
+    public DataContainer copy() {
+        return copy(getSafetyMode());
+    }
+
+    @Override
+    public DataContainer copy(DataView.SafetyMode safety) {
+        final NBTTagCompound compound = this.compound;
+        return compound == null ? super.copy(safety) : new NbtDataContainer(compound, safety);
+    }
+
+    /**
+     * Converts the tags of a compound to the values of a view. Nested
+     * compounds become lazy views themselves, and arrays are only shared
+     * with the compound if no data is cloned by the view.
+     */
+    static void fill(MemoryDataView view, NBTTagCompound compound, Map<String, Object> map) {
+        for (String key : compound.getKeySet()) {
+            final NBTBase base = compound.getTag(key);
+            if (base.getId() == Constants.NBT.TAG_COMPOUND) {
+                map.put(key, new NbtDataView(view, of(key), view.getSafetyMode(), (NBTTagCompound) base));
+            } else if (base.getId() == Constants.NBT.TAG_BYTE && key.contains(NbtTranslator.BOOLEAN_IDENTIFIER)) {
+                map.put(key.replace(NbtTranslator.BOOLEAN_IDENTIFIER, ""), ((NBTTagByte) base).getByte() != 0);
+            } else {
+                map.put(key, fromTag(base, view.getSafetyMode()));
+            }
+        }
+    }
+
+    private static Object fromTag(NBTBase base, DataView.SafetyMode safety) {
+        final boolean clone = safety != DataView.SafetyMode.NO_DATA_CLONED;
+        switch (base.getId()) {
+            case Constants.NBT.TAG_BYTE:
+                return ((NBTTagByte) base).getByte();
+            case Constants.NBT.TAG_SHORT:
+                return ((NBTTagShort) base).getShort();
+            case Constants.NBT.TAG_INT:
+                return ((NBTTagInt) base).getInt();
+            case Constants.NBT.TAG_LONG:
+                return ((NBTTagLong) base).getLong();
+            case Constants.NBT.TAG_FLOAT:
+                return ((NBTTagFloat) base).getFloat();
+            case Constants.NBT.TAG_DOUBLE:
+                return ((NBTTagDouble) base).getDouble();
+            case Constants.NBT.TAG_BYTE_ARRAY:
+                final byte[] bytes = ((NBTTagByteArray) base).getByteArray();
+                return clone ? bytes.clone() : bytes;
+            case Constants.NBT.TAG_STRING:
+                return ((NBTTagString) base).getString();
+            case Constants.NBT.TAG_LIST:
+                final NBTTagList list = (NBTTagList) base;
+                final ImmutableList.Builder<Object> builder = ImmutableList.builder();
+                for (int i = 0; i < list.tagCount(); i++) {
+                    builder.add(fromTag(list.get(i), safety));
+                }
+                return builder.build();
+            case Constants.NBT.TAG_COMPOUND:
+                return new NbtDataContainer((NBTTagCompound) base, safety);
+            case Constants.NBT.TAG_INT_ARRAY:
+                final int[] ints = ((NBTTagIntArray) base).getIntArray();
+                return clone ? ints.clone() : ints;
+            case Constants.NBT.TAG_LONG_ARRAY:
+                final long[] longs = ((NBTTagLongArrayAccessor) base).accessor$getLongArray();
+                return clone ? longs.clone() : longs;
+            default:
+                throw new IllegalArgumentException("Unknown NBT type " + base.getId());
+        }
+    }
+
+}
@@ -139,6 +139,20 @@
      */
     boolean supports(ValueContainer<?> container);
 
+    /**
+     * Gets whether value containers of the given class may be supported by
+     * this processor. Only {@code false} is definite, it means
+     * {@link #supports(ValueContainer)} is {@code false} for every instance
+     * of the class. Processors whose support depends on the container
+     * instance keep the default, and are asked for every container.
+     *
+     * @param containerClass The class of the value container
+     * @return False if no instance of the class is supported
+     */
+    default boolean canSupport(Class<?> containerClass) {
+        return true;
+    }
+
     /**
      * Offers the provided {@link BaseValue} containing a value of the
      * appropriate value type of this {@link ValueProcessor} to offer
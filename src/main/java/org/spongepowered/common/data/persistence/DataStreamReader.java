@@ -0,0 +1,169 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.data.persistence;
+
+import static org.spongepowered.api.data.DataQuery.of;
+
+import org.spongepowered.api.data.DataContainer;
+import org.spongepowered.api.data.DataView;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.annotation.Nullable;
+
+/**
+ * Reads a document one event at a time, so callers only have to hold on
+ * to the parts of it they actually need. Every document is a single view.
+ *
+ * <p>Names are the raw keys of the format, so they are always a single
+ * part of a {@link org.spongepowered.api.data.DataQuery}, like the keys the
+ * tree based readers produce.</p>
+ */
+public interface DataStreamReader extends Closeable {
+
+    /**
+     * Gets the next event without consuming it.
+     *
+     * @return The next event
+     * @throws IOException If the input couldn't be read
+     */
+    DataStreamToken peek() throws IOException;
+
+    void beginView() throws IOException;
+
+    void endView() throws IOException;
+
+    void beginList() throws IOException;
+
+    void endList() throws IOException;
+
+    /**
+     * Gets whether the current view or list has any more entries.
+     *
+     * @return Whether there are more entries
+     * @throws IOException If the input couldn't be read
+     */
+    default boolean hasNext() throws IOException {
+        final DataStreamToken token = peek();
+        return token != DataStreamToken.END_VIEW && token != DataStreamToken.END_LIST && token != DataStreamToken.END_DOCUMENT;
+    }
+
+    String nextName() throws IOException;
+
+    /**
+     * Consumes the next value, which must not be a view or a list.
+     *
+     * @return The value, a boxed primitive, a string, or a primitive array
+     * @throws IOException If the input couldn't be read
+     */
+    @Nullable
+    Object nextValue() throws IOException;
+
+    /**
+     * Consumes the next value, reading views and lists into memory.
+     *
+     * @return The value
+     * @throws IOException If the input couldn't be read
+     */
+    @Nullable
+    default Object next() throws IOException {
+        final DataStreamToken token = peek();
+        switch (token) {
+            case BEGIN_VIEW:
+                return nextView();
+            case BEGIN_LIST:
+                return nextList();
+            case VALUE:
+                return nextValue();
+            default:
+                throw new IllegalStateException("Expected a value but was " + token);
+        }
+    }
+
+    /**
+     * Consumes the next view, reading all of it into a new container.
+     *
+     * @return The container
+     * @throws IOException If the input couldn't be read
+     */
+    default DataContainer nextView() throws IOException {
+        final DataContainer container = DataContainer.createNew(DataView.SafetyMode.NO_DATA_CLONED);
+        readView(this, container);
+        return container;
+    }
+
+    default List<Object> nextList() throws IOException {
+        beginList();
+        final List<Object> list = new ArrayList<>();
+        while (hasNext()) {
+            list.add(next());
+        }
+        endList();
+        return list;
+    }
+
+    /**
+     * Consumes the next value without keeping any of it.
+     *
+     * @throws IOException If the input couldn't be read
+     */
+    default void skipValue() throws IOException {
+        final DataStreamToken token = peek();
+        if (token == DataStreamToken.BEGIN_VIEW) {
+            beginView();
+            while (hasNext()) {
+                nextName();
+                skipValue();
+            }
+            endView();
+        } else if (token == DataStreamToken.BEGIN_LIST) {
+            beginList();
+            while (hasNext()) {
+                skipValue();
+            }
+            endList();
+        } else {
+            nextValue();
+        }
+    }
+
+    static void readView(final DataStreamReader reader, final DataView view) throws IOException {
+        reader.beginView();
+        while (reader.hasNext()) {
+            final String key = reader.nextName();
+            if (reader.peek() == DataStreamToken.BEGIN_VIEW) {
+                // Fill the child view directly so it doesn't need to be copied
+                readView(reader, view.createView(of(key)));
+            } else {
+                view.set(of(key), reader.next());
+            }
+        }
+        reader.endView();
+    }
+
+}
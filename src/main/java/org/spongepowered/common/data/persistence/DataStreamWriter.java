@@ -0,0 +1,120 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.data.persistence;
+
+import com.google.common.collect.Lists;
+import org.spongepowered.api.data.DataQuery;
+import org.spongepowered.api.data.DataSerializable;
+import org.spongepowered.api.data.DataView;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Map;
+
+import javax.annotation.Nullable;
+
+/**
+ * Writes a document one event at a time, so callers don't have to build
+ * the whole tree before it can be written. Every document is a single
+ * view, and every value in a view has to be preceded by its name.
+ */
+public interface DataStreamWriter extends Closeable, Flushable {
+
+    DataStreamWriter beginView() throws IOException;
+
+    DataStreamWriter endView() throws IOException;
+
+    /**
+     * Begins a list. The size has to be known up front because NBT
+     * prefixes lists with their length, and exactly that many values have
+     * to be written before the list is ended.
+     *
+     * @param size The amount of values in the list
+     * @return This writer, for chaining
+     * @throws IOException If the output couldn't be written to
+     */
+    DataStreamWriter beginList(int size) throws IOException;
+
+    DataStreamWriter endList() throws IOException;
+
+    DataStreamWriter name(String name) throws IOException;
+
+    default DataStreamWriter name(final DataQuery name) throws IOException {
+        return name(name.asString('.'));
+    }
+
+    /**
+     * Writes a value that isn't a view or a list.
+     *
+     * @param value The value, a boxed primitive, a string, or an array
+     * @return This writer, for chaining
+     * @throws IOException If the output couldn't be written to
+     */
+    DataStreamWriter value(@Nullable Object value) throws IOException;
+
+    /**
+     * Writes any value that can be stored in a {@link DataView}, including
+     * whole views and lists.
+     *
+     * @param value The value
+     * @return This writer, for chaining
+     * @throws IOException If the output couldn't be written to
+     */
+    default DataStreamWriter write(@Nullable final Object value) throws IOException {
+        if (value instanceof DataView) {
+            return writeView((DataView) value);
+        } else if (value instanceof DataSerializable) {
+            return writeView(((DataSerializable) value).toContainer());
+        } else if (value instanceof Map) {
+            beginView();
+            for (final Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                final Object key = entry.getKey();
+                name(key instanceof DataQuery ? ((DataQuery) key).asString('.') : key.toString());
+                write(entry.getValue());
+            }
+            return endView();
+        } else if (value instanceof Iterable) {
+            final Collection<?> collection = value instanceof Collection ? (Collection<?>) value : Lists.newArrayList((Iterable<?>) value);
+            beginList(collection.size());
+            for (final Object element : collection) {
+                write(element);
+            }
+            return endList();
+        }
+        return value(value);
+    }
+
+    default DataStreamWriter writeView(final DataView view) throws IOException {
+        beginView();
+        for (final Map.Entry<DataQuery, Object> entry : view.getValues(false).entrySet()) {
+            name(entry.getKey());
+            write(entry.getValue());
+        }
+        return endView();
+    }
+
+}
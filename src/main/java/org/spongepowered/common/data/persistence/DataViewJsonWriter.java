@@ -24,19 +24,12 @@
  */
 package org.spongepowered.common.data.persistence;
 
-import static com.google.common.base.Preconditions.checkState;
-
 import com.google.gson.stream.JsonWriter;
 import org.spongepowered.api.data.DataContainer;
-import org.spongepowered.api.data.DataQuery;
 import org.spongepowered.api.data.DataView;
 
 import java.io.IOException;
 import java.io.Writer;
-import java.util.ArrayList;
-import java.util.List;
-
-import javax.annotation.Nullable;
 
 /**
  * A {@link JsonWriter} that serializes to a {@link DataContainer}
@@ -58,9 +51,8 @@ public final class DataViewJsonWriter extends JsonWriter {
         }
     };
 
-    private final List<Object> stack = new ArrayList<>();
-    @Nullable private DataQuery pendingKey;
-    private DataContainer result = DataContainer.createNew(DataView.SafetyMode.NO_DATA_CLONED);
+    private final DataContainer result = DataContainer.createNew(DataView.SafetyMode.NO_DATA_CLONED);
+    private final DataViewStreamWriter writer = new DataViewStreamWriter(this.result);
 
     public DataViewJsonWriter() {
         super(UNWRITABLE_WRITER);
@@ -71,103 +63,70 @@ public DataContainer getResult() throws IOException {
         return this.result;
     }
 
-    private Object peek() {
-        return this.stack.get(this.stack.size() - 1);
-    }
-
-    private Object pop() {
-        return this.stack.remove(this.stack.size() - 1);
-    }
-
-    @SuppressWarnings("unchecked")
-    private void put(@Nullable Object value) {
-        if (this.pendingKey != null) {
-            ((DataView) peek()).set(this.pendingKey, value);
-            this.pendingKey = null;
-        } else {
-            ((List<Object>) peek()).add(value);
-        }
-    }
-
     @Override
     public JsonWriter beginArray() {
-        List<Object> list = new ArrayList<>();
-        put(list);
-        this.stack.add(list);
+        // The size is only used as a capacity hint by the view writer
+        this.writer.beginList(0);
         return this;
     }
 
     @Override
     public JsonWriter endArray() {
-        checkState(!this.stack.isEmpty() && this.pendingKey == null && pop() instanceof List);
+        this.writer.endList();
         return this;
     }
 
     @Override
     public JsonWriter beginObject() {
-        if (this.stack.isEmpty()) {
-            this.stack.add(this.result);
-            return this;
-        }
-
-        Object parent = peek();
-        if (parent instanceof DataView) {
-            checkState(this.pendingKey != null);
-            ((DataView) parent).createView(this.pendingKey);
-            this.pendingKey = null;
-            return this;
-        }
-
-        put(DataContainer.createNew(DataView.SafetyMode.NO_DATA_CLONED));
+        this.writer.beginView();
         return this;
     }
 
     @Override
     public JsonWriter endObject() {
-        checkState(!this.stack.isEmpty() && this.pendingKey == null && pop() instanceof DataView);
+        this.writer.endView();
         return this;
     }
 
     @Override
     public JsonWriter name(String name) {
-        checkState(!this.stack.isEmpty() && this.pendingKey == null && peek() instanceof DataView);
-        this.pendingKey = DataQuery.of(name);
+        this.writer.name(name);
         return this;
     }
 
     @Override
     public JsonWriter value(String value) {
-        put(value);
+        this.writer.value(value);
         return this;
     }
 
     @Override
     public JsonWriter nullValue() {
-        put(null);
+        this.writer.value(null);
         return this;
     }
 
     @Override
     public JsonWriter value(boolean value) {
-        put(value);
+        this.writer.value(value);
         return this;
     }
 
     @Override
     public JsonWriter value(double value) {
-        put(value);
+        this.writer.value(value);
         return this;
     }
 
     @Override
     public JsonWriter value(long value) {
-        put(value);
+        this.writer.value(value);
         return this;
     }
 
     @Override
     public JsonWriter value(Number value) {
-        put(value);
+        this.writer.value(value);
         return this;
     }
 
@@ -177,9 +136,7 @@ public void flush() {
 
     @Override
     public void close() throws IOException {
-        if (!this.stack.isEmpty()) {
-            throw new IOException("Incomplete document");
-        }
+        this.writer.close();
     }
 
 }
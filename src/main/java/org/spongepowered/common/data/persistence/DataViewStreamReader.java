@@ -0,0 +1,177 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.data.persistence;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
+
+import org.spongepowered.api.data.DataQuery;
+import org.spongepowered.api.data.DataSerializable;
+import org.spongepowered.api.data.DataView;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import javax.annotation.Nullable;
+
+/**
+ * A {@link DataStreamReader} that walks a {@link DataView} that is already
+ * in memory, for formats that can only be parsed into a tree, and for
+ * handing existing views to code that consumes streams.
+ */
+public final class DataViewStreamReader implements DataStreamReader {
+
+    private final List<Frame> stack = new ArrayList<>();
+    @Nullable private Object current;
+    private boolean hasCurrent = true;
+    @Nullable private Map.Entry<?, ?> pendingEntry;
+
+    public DataViewStreamReader(final DataView view) {
+        this.current = checkNotNull(view, "view");
+    }
+
+    @Override
+    public DataStreamToken peek() {
+        if (this.hasCurrent) {
+            if (this.current instanceof DataView || this.current instanceof DataSerializable || this.current instanceof Map) {
+                return DataStreamToken.BEGIN_VIEW;
+            }
+            return this.current instanceof Iterable ? DataStreamToken.BEGIN_LIST : DataStreamToken.VALUE;
+        }
+        if (this.pendingEntry != null) {
+            return DataStreamToken.NAME;
+        }
+        if (this.stack.isEmpty()) {
+            return DataStreamToken.END_DOCUMENT;
+        }
+        final Frame frame = this.stack.get(this.stack.size() - 1);
+        final Iterator<?> iterator = frame.iterator;
+        if (frame.view) {
+            if (!iterator.hasNext()) {
+                return DataStreamToken.END_VIEW;
+            }
+            this.pendingEntry = (Map.Entry<?, ?>) iterator.next();
+            return DataStreamToken.NAME;
+        }
+        if (!iterator.hasNext()) {
+            return DataStreamToken.END_LIST;
+        }
+        this.current = iterator.next();
+        this.hasCurrent = true;
+        return peek();
+    }
+
+    @Override
+    public void beginView() {
+        expect(DataStreamToken.BEGIN_VIEW);
+        final Object value = this.current;
+        final Map<?, ?> map;
+        if (value instanceof DataView) {
+            map = ((DataView) value).getValues(false);
+        } else if (value instanceof DataSerializable) {
+            map = ((DataSerializable) value).toContainer().getValues(false);
+        } else {
+            map = (Map<?, ?>) value;
+        }
+        this.stack.add(new Frame(map.entrySet().iterator(), true));
+        this.current = null;
+        this.hasCurrent = false;
+    }
+
+    @Override
+    public void endView() {
+        expect(DataStreamToken.END_VIEW);
+        this.stack.remove(this.stack.size() - 1);
+    }
+
+    @Override
+    public void beginList() {
+        expect(DataStreamToken.BEGIN_LIST);
+        this.stack.add(new Frame(((Iterable<?>) this.current).iterator(), false));
+        this.current = null;
+        this.hasCurrent = false;
+    }
+
+    @Override
+    public void endList() {
+        expect(DataStreamToken.END_LIST);
+        this.stack.remove(this.stack.size() - 1);
+    }
+
+    @Override
+    public String nextName() {
+        expect(DataStreamToken.NAME);
+        final Object key = this.pendingEntry.getKey();
+        this.current = this.pendingEntry.getValue();
+        this.hasCurrent = true;
+        this.pendingEntry = null;
+        return key instanceof DataQuery ? ((DataQuery) key).asString('.') : key.toString();
+    }
+
+    @Nullable
+    @Override
+    public Object nextValue() {
+        expect(DataStreamToken.VALUE);
+        final Object value = this.current;
+        this.current = null;
+        this.hasCurrent = false;
+        return value;
+    }
+
+    @Override
+    public void skipValue() {
+        final DataStreamToken token = peek();
+        checkState(this.hasCurrent, "Expected a value but was %s", token);
+        this.current = null;
+        this.hasCurrent = false;
+    }
+
+    private void expect(final DataStreamToken expected) {
+        final DataStreamToken token = peek();
+        checkState(token == expected, "Expected %s but was %s", expected, token);
+    }
+
+    @Override
+    public void close() {
+        this.stack.clear();
+        this.current = null;
+        this.hasCurrent = false;
+    }
+
+    private static final class Frame {
+
+        final Iterator<?> iterator;
+        final boolean view;
+
+        Frame(final Iterator<?> iterator, final boolean view) {
+            this.iterator = iterator;
+            this.view = view;
+        }
+
+    }
+
+}
@@ -0,0 +1,171 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.data.persistence;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
+import static org.spongepowered.api.data.DataQuery.of;
+
+import org.spongepowered.api.data.DataContainer;
+import org.spongepowered.api.data.DataView;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.annotation.Nullable;
+
+/**
+ * A {@link DataStreamWriter} that writes into a {@link DataView}, for
+ * formats that can only be written from a tree, and for reusing code that
+ * produces streams where a view is needed. List sizes are only used as
+ * capacity hints.
+ */
+public class DataViewStreamWriter implements DataStreamWriter {
+
+    private final DataView root;
+    private final List<Frame> stack = new ArrayList<>();
+    @Nullable private String pendingName;
+    private boolean started;
+
+    /**
+     * Creates a writer whose document is written into the given view.
+     * Entries already in the view are kept unless they are overwritten.
+     *
+     * @param root The view to write the document into
+     */
+    public DataViewStreamWriter(final DataView root) {
+        this.root = checkNotNull(root, "root");
+    }
+
+    public DataView getRoot() {
+        return this.root;
+    }
+
+    @Override
+    public DataStreamWriter beginView() {
+        if (this.stack.isEmpty()) {
+            checkState(!this.started, "The document was already written");
+            this.started = true;
+            this.stack.add(new Frame(this.root, null));
+            return this;
+        }
+        final Frame parent = peek();
+        if (parent.view != null) {
+            this.stack.add(new Frame(parent.view.createView(of(takeName())), null));
+        } else {
+            final DataView view = DataContainer.createNew(DataView.SafetyMode.NO_DATA_CLONED);
+            parent.list.add(view);
+            this.stack.add(new Frame(view, null));
+        }
+        return this;
+    }
+
+    @Override
+    public DataStreamWriter endView() {
+        checkState(!this.stack.isEmpty() && this.pendingName == null && peek().view != null, "Not in a view");
+        this.stack.remove(this.stack.size() - 1);
+        return this;
+    }
+
+    @Override
+    public DataStreamWriter beginList(final int size) {
+        checkState(!this.stack.isEmpty(), "Lists have to be written in a view or a list");
+        final Frame frame = new Frame(null, new ArrayList<>(size));
+        // Set once the list is complete, as views copy collections when they are set
+        if (peek().view != null) {
+            frame.name = takeName();
+        }
+        this.stack.add(frame);
+        return this;
+    }
+
+    @Override
+    public DataStreamWriter endList() {
+        checkState(!this.stack.isEmpty() && peek().list != null, "Not in a list");
+        final Frame frame = this.stack.remove(this.stack.size() - 1);
+        put(frame.name, frame.list);
+        return this;
+    }
+
+    @Override
+    public DataStreamWriter name(final String name) {
+        checkState(!this.stack.isEmpty() && peek().view != null && this.pendingName == null, "Names can only be written in a view");
+        this.pendingName = checkNotNull(name, "name");
+        return this;
+    }
+
+    @Override
+    public DataStreamWriter value(@Nullable final Object value) {
+        checkState(!this.stack.isEmpty(), "Values have to be written in a view or a list");
+        put(peek().view != null ? takeName() : null, value);
+        return this;
+    }
+
+    private void put(@Nullable final String name, @Nullable final Object value) {
+        final Frame frame = peek();
+        if (frame.view != null) {
+            frame.view.set(of(name), value);
+        } else {
+            frame.list.add(value);
+        }
+    }
+
+    private String takeName() {
+        checkState(this.pendingName != null, "Values in a view have to be named");
+        final String name = this.pendingName;
+        this.pendingName = null;
+        return name;
+    }
+
+    private Frame peek() {
+        return this.stack.get(this.stack.size() - 1);
+    }
+
+    @Override
+    public void flush() {
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (!this.stack.isEmpty()) {
+            throw new IOException("Incomplete document");
+        }
+    }
+
+    private static final class Frame {
+
+        @Nullable final DataView view;
+        @Nullable final List<Object> list;
+        @Nullable String name;
+
+        Frame(@Nullable final DataView view, @Nullable final List<Object> list) {
+            this.view = view;
+            this.list = list;
+        }
+
+    }
+
+}
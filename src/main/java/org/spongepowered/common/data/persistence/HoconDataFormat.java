@@ -47,7 +47,11 @@
 import java.nio.charset.StandardCharsets;
 import java.util.concurrent.Callable;
 
-public class HoconDataFormat extends SpongeCatalogType implements StringDataFormat {
+/**
+ * HOCON can only be parsed into and rendered from a whole node tree, so
+ * the streams of this format are backed by a container in memory.
+ */
+public class HoconDataFormat extends SpongeCatalogType implements StringDataFormat, StreamingDataFormat {
 
     public HoconDataFormat(String id) {
         super(id);
@@ -102,6 +106,36 @@ private static void writeTo(Callable<BufferedWriter> sink, DataView data) throws
         loader.save(ret);
     }
 
+    @Override
+    public DataStreamReader createReader(InputStream input) throws IOException {
+        return new DataViewStreamReader(readFrom(input));
+    }
+
+    public DataStreamReader createReader(Reader input) throws IOException {
+        return new DataViewStreamReader(readFrom(input));
+    }
+
+    @Override
+    public DataStreamWriter createWriter(OutputStream output) {
+        return new DataViewStreamWriter(DataContainer.createNew(DataView.SafetyMode.NO_DATA_CLONED)) {
+            @Override
+            public void close() throws IOException {
+                super.close();
+                HoconDataFormat.this.writeTo(output, getRoot());
+            }
+        };
+    }
+
+    public DataStreamWriter createWriter(Writer output) {
+        return new DataViewStreamWriter(DataContainer.createNew(DataView.SafetyMode.NO_DATA_CLONED)) {
+            @Override
+            public void close() throws IOException {
+                super.close();
+                HoconDataFormat.this.writeTo(output, getRoot());
+            }
+        };
+    }
+
     private static BufferedReader createBufferedReader(Reader reader) {
         if (reader instanceof BufferedReader) {
             return (BufferedReader) reader;
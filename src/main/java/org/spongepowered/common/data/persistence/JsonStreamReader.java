@@ -0,0 +1,143 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.data.persistence;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+import java.io.IOException;
+
+import javax.annotation.Nullable;
+
+/**
+ * A {@link DataStreamReader} over a {@link JsonReader}.
+ */
+public final class JsonStreamReader implements DataStreamReader {
+
+    private final JsonReader reader;
+
+    public JsonStreamReader(final JsonReader reader) {
+        this.reader = checkNotNull(reader, "reader");
+    }
+
+    @Override
+    public DataStreamToken peek() throws IOException {
+        final JsonToken token = this.reader.peek();
+        switch (token) {
+            case BEGIN_OBJECT:
+                return DataStreamToken.BEGIN_VIEW;
+            case END_OBJECT:
+                return DataStreamToken.END_VIEW;
+            case BEGIN_ARRAY:
+                return DataStreamToken.BEGIN_LIST;
+            case END_ARRAY:
+                return DataStreamToken.END_LIST;
+            case NAME:
+                return DataStreamToken.NAME;
+            case END_DOCUMENT:
+                return DataStreamToken.END_DOCUMENT;
+            default:
+                return DataStreamToken.VALUE;
+        }
+    }
+
+    @Override
+    public void beginView() throws IOException {
+        this.reader.beginObject();
+    }
+
+    @Override
+    public void endView() throws IOException {
+        this.reader.endObject();
+    }
+
+    @Override
+    public void beginList() throws IOException {
+        this.reader.beginArray();
+    }
+
+    @Override
+    public void endList() throws IOException {
+        this.reader.endArray();
+    }
+
+    @Override
+    public boolean hasNext() throws IOException {
+        return this.reader.hasNext();
+    }
+
+    @Override
+    public String nextName() throws IOException {
+        return this.reader.nextName();
+    }
+
+    @Nullable
+    @Override
+    public Object nextValue() throws IOException {
+        final JsonToken token = this.reader.peek();
+        switch (token) {
+            case BOOLEAN:
+                return this.reader.nextBoolean();
+            case NULL:
+                this.reader.nextNull();
+                return null;
+            case STRING:
+                return this.reader.nextString();
+            case NUMBER:
+                return readNumber(this.reader);
+            default:
+                throw new IllegalStateException("Expected a value but was " + token);
+        }
+    }
+
+    @Override
+    public void skipValue() throws IOException {
+        this.reader.skipValue();
+    }
+
+    private static Number readNumber(final JsonReader reader) throws IOException {
+        // Similar to https://github.com/zml2008/configurate/blob/master/configurate-gson/src/main/java/ninja/leaping/configurate/gson/GsonConfigurationLoader.java#L113
+        // Not sure what's the best way to detect the type of number
+
+        final String number = reader.nextString();
+        if (number.contains(".")) {
+            return Double.parseDouble(number);
+        }
+        final long nextLong = Long.parseLong(number);
+        final int nextInt = (int) nextLong;
+        if (nextInt == nextLong) {
+            return nextInt;
+        }
+        return nextLong;
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.reader.close();
+    }
+
+}
@@ -24,11 +24,11 @@
  */
 package org.spongepowered.common.data.persistence;
 
+import com.google.common.io.ByteStreams;
 import net.minecraft.nbt.CompressedStreamTools;
 import net.minecraft.nbt.NBTTagCompound;
 import org.spongepowered.api.data.DataContainer;
 import org.spongepowered.api.data.DataView;
-import org.spongepowered.api.data.persistence.DataFormat;
 import org.spongepowered.api.data.persistence.InvalidDataFormatException;
 import org.spongepowered.common.SpongeCatalogType;
 
@@ -38,7 +38,7 @@
 import java.io.InputStream;
 import java.io.OutputStream;
 
-public class NbtDataFormat extends SpongeCatalogType implements DataFormat {
+public class NbtDataFormat extends SpongeCatalogType implements StreamingDataFormat {
 
     public NbtDataFormat(String id) {
         super(id);
@@ -55,27 +55,33 @@ public DataContainer readFrom(InputStream input) throws InvalidDataFormatExcepti
         }
         try {
             NBTTagCompound tag = CompressedStreamTools.read(dis);
-            return NbtTranslator.getInstance().translateFrom(tag);
+            return NbtTranslator.getInstance().translateLazily(tag);
         } finally {
             dis.close();
         }
     }
 
     @Override
-    @SuppressWarnings("resource")
     public void writeTo(OutputStream output, DataView data) throws IOException {
-        NBTTagCompound tag = NbtTranslator.getInstance().translateData(data);
-        DataOutputStream dos;
-        if (output instanceof DataOutputStream) {
-            dos = (DataOutputStream) output;
-        } else {
-            dos = new DataOutputStream(output);
+        // Values that NBT can't store are only found while writing, so the
+        // view is written to nowhere first rather than leaving a truncated
+        // document behind in the output
+        try (DataStreamWriter validator = createWriter(ByteStreams.nullOutputStream())) {
+            validator.writeView(data);
         }
-        try {
-            CompressedStreamTools.write(tag, dos);
-        } finally {
-            dos.close();
+        try (DataStreamWriter writer = createWriter(output)) {
+            writer.writeView(data);
         }
     }
 
+    @Override
+    public DataStreamReader createReader(InputStream input) {
+        return new NbtStreamReader(input instanceof DataInputStream ? (DataInputStream) input : new DataInputStream(input));
+    }
+
+    @Override
+    public DataStreamWriter createWriter(OutputStream output) {
+        return new NbtStreamWriter(output instanceof DataOutputStream ? (DataOutputStream) output : new DataOutputStream(output));
+    }
+
 }
@@ -0,0 +1,217 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.data.persistence;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
+
+import org.spongepowered.common.util.Constants;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.annotation.Nullable;
+
+/**
+ * Reads NBT directly from a stream, producing the same values as
+ * {@link NbtTranslator}, without reading the whole compound first.
+ */
+public final class NbtStreamReader implements DataStreamReader {
+
+    // Same limit as NBTSizeTracker enforces on vanilla reads
+    private static final int MAX_DEPTH = 512;
+    private static final byte NONE = -1;
+
+    private final DataInputStream input;
+    private final List<Frame> stack = new ArrayList<>();
+    private boolean started;
+    // The type of the value the reader is positioned at, if any
+    private byte valueType = NONE;
+    private boolean booleanValue;
+
+    public NbtStreamReader(final DataInputStream input) {
+        this.input = checkNotNull(input, "input");
+    }
+
+    @Override
+    public DataStreamToken peek() throws IOException {
+        if (!this.started) {
+            this.started = true;
+            final byte type = this.input.readByte();
+            if (type != Constants.NBT.TAG_COMPOUND) {
+                throw new IOException("Root tag must be a named compound tag");
+            }
+            this.input.readUTF();
+            this.valueType = type;
+        }
+        if (this.valueType != NONE) {
+            return this.valueType == Constants.NBT.TAG_COMPOUND ? DataStreamToken.BEGIN_VIEW
+                    : this.valueType == Constants.NBT.TAG_LIST ? DataStreamToken.BEGIN_LIST : DataStreamToken.VALUE;
+        }
+        if (this.stack.isEmpty()) {
+            return DataStreamToken.END_DOCUMENT;
+        }
+        final Frame frame = this.stack.get(this.stack.size() - 1);
+        if (frame.list) {
+            if (frame.remaining == 0) {
+                return DataStreamToken.END_LIST;
+            }
+            frame.remaining--;
+            this.valueType = frame.type;
+            return peek();
+        }
+        if (frame.type == NONE) {
+            frame.type = this.input.readByte();
+        }
+        return frame.type == Constants.NBT.TAG_END ? DataStreamToken.END_VIEW : DataStreamToken.NAME;
+    }
+
+    @Override
+    public void beginView() throws IOException {
+        expect(DataStreamToken.BEGIN_VIEW);
+        this.valueType = NONE;
+        push(new Frame(false, NONE, 0));
+    }
+
+    @Override
+    public void endView() throws IOException {
+        expect(DataStreamToken.END_VIEW);
+        this.stack.remove(this.stack.size() - 1);
+    }
+
+    @Override
+    public void beginList() throws IOException {
+        expect(DataStreamToken.BEGIN_LIST);
+        this.valueType = NONE;
+        final byte type = this.input.readByte();
+        final int size = this.input.readInt();
+        if (size < 0) {
+            throw new IOException("Negative list size " + size);
+        }
+        push(new Frame(true, type, size));
+    }
+
+    @Override
+    public void endList() throws IOException {
+        expect(DataStreamToken.END_LIST);
+        this.stack.remove(this.stack.size() - 1);
+    }
+
+    @Override
+    public String nextName() throws IOException {
+        expect(DataStreamToken.NAME);
+        final Frame frame = this.stack.get(this.stack.size() - 1);
+        String name = this.input.readUTF();
+        this.valueType = frame.type;
+        frame.type = NONE;
+        if (this.valueType == Constants.NBT.TAG_BYTE && name.contains(NbtTranslator.BOOLEAN_IDENTIFIER)) {
+            name = name.replace(NbtTranslator.BOOLEAN_IDENTIFIER, "");
+            this.booleanValue = true;
+        }
+        return name;
+    }
+
+    @Nullable
+    @Override
+    public Object nextValue() throws IOException {
+        expect(DataStreamToken.VALUE);
+        final byte type = this.valueType;
+        this.valueType = NONE;
+        switch (type) {
+            case Constants.NBT.TAG_BYTE:
+                final byte value = this.input.readByte();
+                if (this.booleanValue) {
+                    this.booleanValue = false;
+                    return value != 0;
+                }
+                return value;
+            case Constants.NBT.TAG_SHORT:
+                return this.input.readShort();
+            case Constants.NBT.TAG_INT:
+                return this.input.readInt();
+            case Constants.NBT.TAG_LONG:
+                return this.input.readLong();
+            case Constants.NBT.TAG_FLOAT:
+                return this.input.readFloat();
+            case Constants.NBT.TAG_DOUBLE:
+                return this.input.readDouble();
+            case Constants.NBT.TAG_BYTE_ARRAY:
+                final byte[] bytes = new byte[this.input.readInt()];
+                this.input.readFully(bytes);
+                return bytes;
+            case Constants.NBT.TAG_STRING:
+                return this.input.readUTF();
+            case Constants.NBT.TAG_INT_ARRAY:
+                final int[] ints = new int[this.input.readInt()];
+                for (int i = 0; i < ints.length; i++) {
+                    ints[i] = this.input.readInt();
+                }
+                return ints;
+            case Constants.NBT.TAG_LONG_ARRAY:
+                final long[] longs = new long[this.input.readInt()];
+                for (int i = 0; i < longs.length; i++) {
+                    longs[i] = this.input.readLong();
+                }
+                return longs;
+            default:
+                throw new IOException("Unknown NBT type " + type);
+        }
+    }
+
+    private void expect(final DataStreamToken expected) throws IOException {
+        final DataStreamToken token = peek();
+        checkState(token == expected, "Expected %s but was %s", expected, token);
+    }
+
+    private void push(final Frame frame) throws IOException {
+        if (this.stack.size() >= MAX_DEPTH) {
+            throw new IOException("Tried to read NBT tag with too high complexity, depth > " + MAX_DEPTH);
+        }
+        this.stack.add(frame);
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.input.close();
+    }
+
+    private static final class Frame {
+
+        final boolean list;
+        // The element type of a list, or the type of the next entry of a compound
+        byte type;
+        int remaining;
+
+        Frame(final boolean list, final byte type, final int remaining) {
+            this.list = list;
+            this.type = type;
+            this.remaining = remaining;
+        }
+
+    }
+
+}
@@ -0,0 +1,235 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.data.persistence;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
+
+import org.spongepowered.common.util.Constants;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.annotation.Nullable;
+
+/**
+ * Writes NBT directly to a stream, in the same layout as
+ * {@link NbtTranslator} and {@link net.minecraft.nbt.CompressedStreamTools}
+ * would, without building the compound first.
+ */
+public final class NbtStreamWriter implements DataStreamWriter {
+
+    private final DataOutputStream output;
+    // A null entry is a compound, lists track their own element type
+    private final List<ListFrame> stack = new ArrayList<>();
+    @Nullable private String pendingName;
+    private boolean started;
+
+    public NbtStreamWriter(final DataOutputStream output) {
+        this.output = checkNotNull(output, "output");
+    }
+
+    @Override
+    public DataStreamWriter beginView() throws IOException {
+        if (this.stack.isEmpty()) {
+            checkState(!this.started, "The document was already written");
+            this.started = true;
+            this.output.writeByte(Constants.NBT.TAG_COMPOUND);
+            this.output.writeUTF("");
+        } else {
+            writeHeader(Constants.NBT.TAG_COMPOUND);
+        }
+        this.stack.add(null);
+        return this;
+    }
+
+    @Override
+    public DataStreamWriter endView() throws IOException {
+        checkState(!this.stack.isEmpty() && this.pendingName == null && peek() == null, "Not in a view");
+        this.output.writeByte(Constants.NBT.TAG_END);
+        pop();
+        return this;
+    }
+
+    @Override
+    public DataStreamWriter beginList(final int size) throws IOException {
+        checkArgument(size >= 0, "Negative list size");
+        writeHeader(Constants.NBT.TAG_LIST);
+        this.stack.add(new ListFrame(size));
+        return this;
+    }
+
+    @Override
+    public DataStreamWriter endList() throws IOException {
+        final ListFrame frame = this.stack.isEmpty() ? null : peek();
+        checkState(frame != null, "Not in a list");
+        checkState(frame.written == frame.size, "Expected %s values in the list but got %s", frame.size, frame.written);
+        if (frame.elementType == Constants.NBT.TAG_END) {
+            this.output.writeByte(Constants.NBT.TAG_END);
+            this.output.writeInt(0);
+        }
+        pop();
+        return this;
+    }
+
+    @Override
+    public DataStreamWriter name(final String name) {
+        checkState(!this.stack.isEmpty() && peek() == null && this.pendingName == null, "Names can only be written in a view");
+        this.pendingName = checkNotNull(name, "name");
+        return this;
+    }
+
+    @Override
+    public DataStreamWriter value(@Nullable final Object value) throws IOException {
+        checkNotNull(value, "NBT can't store null values");
+        if (value instanceof Boolean) {
+            if (!this.stack.isEmpty() && peek() == null && this.pendingName != null) {
+                this.pendingName = this.pendingName + NbtTranslator.BOOLEAN_IDENTIFIER;
+            }
+            writeHeader(Constants.NBT.TAG_BYTE);
+            this.output.writeByte((Boolean) value ? 1 : 0);
+        } else if (value instanceof Byte) {
+            writeHeader(Constants.NBT.TAG_BYTE);
+            this.output.writeByte((Byte) value);
+        } else if (value instanceof Short) {
+            writeHeader(Constants.NBT.TAG_SHORT);
+            this.output.writeShort((Short) value);
+        } else if (value instanceof Integer) {
+            writeHeader(Constants.NBT.TAG_INT);
+            this.output.writeInt((Integer) value);
+        } else if (value instanceof Long) {
+            writeHeader(Constants.NBT.TAG_LONG);
+            this.output.writeLong((Long) value);
+        } else if (value instanceof Float) {
+            writeHeader(Constants.NBT.TAG_FLOAT);
+            this.output.writeFloat((Float) value);
+        } else if (value instanceof Double) {
+            writeHeader(Constants.NBT.TAG_DOUBLE);
+            this.output.writeDouble((Double) value);
+        } else if (value instanceof String) {
+            writeHeader(Constants.NBT.TAG_STRING);
+            this.output.writeUTF((String) value);
+        } else if (value instanceof byte[] || value instanceof Byte[]) {
+            writeHeader(Constants.NBT.TAG_BYTE_ARRAY);
+            if (value instanceof byte[]) {
+                this.output.writeInt(((byte[]) value).length);
+                this.output.write((byte[]) value);
+            } else {
+                this.output.writeInt(((Byte[]) value).length);
+                for (final Byte element : (Byte[]) value) {
+                    this.output.writeByte(element);
+                }
+            }
+        } else if (value instanceof int[] || value instanceof Integer[]) {
+            writeHeader(Constants.NBT.TAG_INT_ARRAY);
+            if (value instanceof int[]) {
+                this.output.writeInt(((int[]) value).length);
+                for (final int element : (int[]) value) {
+                    this.output.writeInt(element);
+                }
+            } else {
+                this.output.writeInt(((Integer[]) value).length);
+                for (final Integer element : (Integer[]) value) {
+                    this.output.writeInt(element);
+                }
+            }
+        } else if (value instanceof long[] || value instanceof Long[]) {
+            writeHeader(Constants.NBT.TAG_LONG_ARRAY);
+            if (value instanceof long[]) {
+                this.output.writeInt(((long[]) value).length);
+                for (final long element : (long[]) value) {
+                    this.output.writeLong(element);
+                }
+            } else {
+                this.output.writeInt(((Long[]) value).length);
+                for (final Long element : (Long[]) value) {
+                    this.output.writeLong(element);
+                }
+            }
+        } else {
+            throw new IllegalArgumentException("Unable to translate object to NBT: " + value);
+        }
+        return this;
+    }
+
+    private void writeHeader(final byte type) throws IOException {
+        checkState(!this.stack.isEmpty(), "Values have to be written in a view or a list");
+        final ListFrame frame = peek();
+        if (frame == null) {
+            checkState(this.pendingName != null, "Values in a view have to be named");
+            this.output.writeByte(type);
+            this.output.writeUTF(this.pendingName);
+            this.pendingName = null;
+            return;
+        }
+        checkState(frame.written < frame.size, "The list only has room for %s values", frame.size);
+        if (frame.elementType == Constants.NBT.TAG_END) {
+            frame.elementType = type;
+            this.output.writeByte(type);
+            this.output.writeInt(frame.size);
+        } else {
+            checkArgument(frame.elementType == type, "NBT lists can't mix types %s and %s", frame.elementType, type);
+        }
+        frame.written++;
+    }
+
+    @Nullable
+    private ListFrame peek() {
+        return this.stack.get(this.stack.size() - 1);
+    }
+
+    private void pop() {
+        this.stack.remove(this.stack.size() - 1);
+    }
+
+    @Override
+    public void flush() throws IOException {
+        this.output.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.output.close();
+        if (!this.stack.isEmpty()) {
+            throw new IOException("Incomplete document");
+        }
+    }
+
+    private static final class ListFrame {
+
+        final int size;
+        int written;
+        byte elementType = Constants.NBT.TAG_END;
+
+        ListFrame(final int size) {
+            this.size = size;
+        }
+
+    }
+
+}
@@ -50,6 +50,7 @@
 import org.spongepowered.api.data.DataView;
 import org.spongepowered.api.data.persistence.DataTranslator;
 import org.spongepowered.api.data.persistence.InvalidDataException;
+import org.spongepowered.common.data.NbtDataContainer;
 import org.spongepowered.common.mixin.core.nbt.NBTTagLongArrayAccessor;
 import org.spongepowered.common.util.Constants;
 
@@ -303,6 +304,19 @@ public DataContainer translateFrom(NBTTagCompound node) {
         return NbtTranslator.getViewFromCompound(node);
     }
 
+    /**
+     * Translates the compound to a container that only converts the parts
+     * of it that are used. The compound is shared with the container, so
+     * it must not be modified afterwards.
+     *
+     * @param node The compound
+     * @return The container
+     * @see NbtDataContainer
+     */
+    public DataContainer translateLazily(NBTTagCompound node) {
+        return new NbtDataContainer(node, DataView.SafetyMode.NO_DATA_CLONED);
+    }
+
     @Override
     public TypeToken<NBTTagCompound> getToken() {
         return TOKEN;
@@ -25,7 +25,6 @@
 package org.spongepowered.common.data.persistence;
 
 import com.flowpowered.math.vector.Vector3i;
-import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import com.google.common.reflect.TypeToken;
 import net.minecraft.nbt.NBTTagCompound;
@@ -70,6 +69,7 @@
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -366,6 +366,25 @@ public DataContainer translate(final Schematic schematic) throws InvalidDataExce
 
     @Override
     public DataView addTo(final Schematic schematic, final DataView data) {
+        try (final DataViewStreamWriter writer = new DataViewStreamWriter(data)) {
+            writeTo(schematic, writer);
+        } catch (IOException e) {
+            // should never reach here, views aren't written to a stream
+            throw new IllegalStateException(e);
+        }
+        return data;
+    }
+
+    /**
+     * Writes the schematic as a single document, one tile entity and entity
+     * at a time, so exporters don't need to hold a tree of the whole
+     * schematic.
+     *
+     * @param schematic The schematic
+     * @param writer The writer, positioned where the document should start
+     * @throws IOException If the writer failed
+     */
+    public void writeTo(final Schematic schematic, final DataStreamWriter writer) throws IOException {
         final int xMin = schematic.getBlockMin().getX();
         final int yMin = schematic.getBlockMin().getY();
         final int zMin = schematic.getBlockMin().getZ();
@@ -376,91 +395,56 @@ public DataView addTo(final Schematic schematic, final DataView data) {
             throw new IllegalArgumentException(String.format(
                     "Schematic is larger than maximum allowable size (found: (%d, %d, %d) max: (%d, %<d, %<d)", width, height, length, Constants.Sponge.Schematic.MAX_SIZE));
         }
-        data.set(Constants.Sponge.Schematic.WIDTH, (short) width);
-        data.set(Constants.Sponge.Schematic.HEIGHT, (short) height);
-        data.set(Constants.Sponge.Schematic.LENGTH, (short) length);
-
-        data.set(Constants.Sponge.Schematic.VERSION, Constants.Sponge.Schematic.CURRENT_VERSION);
-        data.set(Constants.Sponge.Schematic.DATA_VERSION, Constants.MINECRAFT_DATA_VERSION);
-        for (final DataQuery metaKey : schematic.getMetadata().getKeys(false)) {
-            data.set(Constants.Sponge.Schematic.METADATA.then(metaKey), schematic.getMetadata().get(metaKey).get());
-        }
-        final Set<String> requiredMods = new HashSet<>();
-
-        final int[] offset = new int[] {-xMin, -yMin, -zMin};
-        data.set(Constants.Sponge.Schematic.OFFSET, offset);
 
+        // The local palettes are filled while the volumes are encoded, and the
+        // required mods have to be known before the metadata is written
         final Palette<BlockState> palette = schematic.getPalette();
-        try (final ByteArrayOutputStream buffer = new ByteArrayOutputStream(width * height * length)) {
-            for (int y = 0; y < height; y++) {
-                final int y0 = yMin + y;
-                for (int z = 0; z < length; z++) {
-                    final int z0 = zMin + z;
-                    for (int x = 0; x < width; x++) {
-                        final int x0 = xMin + x;
-                        final BlockState state = schematic.getBlock(x0, y0, z0);
-                        writeIdToBuffer(buffer, palette.getOrAssign(state));
-                    }
+        final ByteArrayOutputStream blocks = new ByteArrayOutputStream(width * height * length);
+        for (int y = 0; y < height; y++) {
+            final int y0 = yMin + y;
+            for (int z = 0; z < length; z++) {
+                final int z0 = zMin + z;
+                for (int x = 0; x < width; x++) {
+                    final int x0 = xMin + x;
+                    final BlockState state = schematic.getBlock(x0, y0, z0);
+                    writeIdToBuffer(blocks, palette.getOrAssign(state));
                 }
             }
-
-            data.set(Constants.Sponge.Schematic.BLOCK_DATA, buffer.toByteArray());
-        } catch (IOException e) {
-            // should never reach here
         }
 
         final Palette<BiomeType> biomePalette = schematic.getBiomePalette();
-        schematic.getBiomes().ifPresent(biomes -> {
-            try (final ByteArrayOutputStream buffer = new ByteArrayOutputStream(width * length)) {
-                for (int z = 0; z < length; z++) {
-                    final int z0 = zMin + z;
-                    for (int x = 0; x < width; x++) {
-                        final int x0 = xMin + x;
-                        final BiomeType state = biomes.getBiome(x0, 0, z0);
-                        writeIdToBuffer(buffer, biomePalette.getOrAssign(state));
-                    }
-
+        final Optional<byte[]> biomeData = schematic.getBiomes().map(biomes -> {
+            final ByteArrayOutputStream buffer = new ByteArrayOutputStream(width * length);
+            for (int z = 0; z < length; z++) {
+                final int z0 = zMin + z;
+                for (int x = 0; x < width; x++) {
+                    final int x0 = xMin + x;
+                    final BiomeType state = biomes.getBiome(x0, 0, z0);
+                    writeIdToBuffer(buffer, biomePalette.getOrAssign(state));
                 }
-
-                data.set(Constants.Sponge.Schematic.BLOCK_DATA, buffer.toByteArray());
-            } catch (IOException e) {
-                // Should never reach here.
             }
-
+            return buffer.toByteArray();
         });
 
+        final Set<String> requiredMods = new HashSet<>();
         if (palette.getType() == PaletteTypes.LOCAL_BLOCKS) {
-            final DataQuery paletteQuery = Constants.Sponge.Schematic.PALETTE;
             for (final BlockState state : palette.getEntries()) {
-                // getOrAssign to skip the optional, it will never assign
-                data.set(paletteQuery.then(state.getId()), palette.getOrAssign(state));
                 final String modId = state.getType().getId().split(":")[0];
                 if (!"minecraft".equals(modId) && modId != null && !modId.isEmpty()) {
                     requiredMods.add(modId);
                 }
             }
-            data.set(Constants.Sponge.Schematic.PALETTE_MAX, palette.getHighestId());
         }
         if (biomePalette.getType() == PaletteTypes.LOCAL_BIOMES) {
-            final DataQuery paletteQuery = Constants.Sponge.Schematic.BIOME_PALETTE;
             for (final BiomeType biomeType : biomePalette.getEntries()) {
-                data.set(paletteQuery.then(biomeType.getId()), biomePalette.getOrAssign(biomeType));
                 final String modId = biomeType.getId().split(":")[0];
                 if (!"minecraft".equals(modId) && modId != null && !modId.isEmpty()) {
                     requiredMods.add(modId);
                 }
             }
-            data.set(Constants.Sponge.Schematic.BIOME_PALETTE_MAX, biomePalette.getHighestId());
         }
-
-        final List<DataView> tileEntities = Lists.newArrayList();
-        for (final Map.Entry<Vector3i, TileEntityArchetype> entry : schematic.getTileEntityArchetypes().entrySet()) {
-            final Vector3i pos = entry.getKey();
-            final DataContainer tiledata = entry.getValue().getTileData();
-            final int[] apos = new int[] {pos.getX() - xMin, pos.getY() - yMin, pos.getZ() - zMin};
-            tiledata.set(Constants.Sponge.Schematic.BLOCKENTITY_POS, apos);
-            final SpongeTileEntityType tileEntityType = (SpongeTileEntityType) entry.getValue().getTileEntityType();
-
+        for (final TileEntityArchetype archetype : schematic.getTileEntityArchetypes().values()) {
+            final SpongeTileEntityType tileEntityType = (SpongeTileEntityType) archetype.getTileEntityType();
             final String modId = tileEntityType.getId().split(":")[0];
             if ("minecraft".equalsIgnoreCase(modId) && !"minecraft".equalsIgnoreCase(tileEntityType.getModId())) {
                 if (!"sponge".equalsIgnoreCase(tileEntityType.getModId())) {
@@ -470,14 +454,8 @@ public DataView addTo(final Schematic schematic, final DataView data) {
             if (!"minecraft".equalsIgnoreCase(modId) && modId != null && !modId.isEmpty()) {
                 requiredMods.add(modId);
             }
-            tileEntities.add(tiledata);
         }
-        data.set(Constants.Sponge.Schematic.BLOCKENTITY_DATA, tileEntities);
-
-        final List<DataView> entities = Lists.newArrayList();
         for (final EntityArchetype entityArchetype : schematic.getEntityArchetypes()) {
-            final DataContainer entityData = entityArchetype.getEntityData();
-            entities.add(entityData);
             final SpongeEntityType type = (SpongeEntityType) entityArchetype.getType();
             final String modId = type.getId().split(":")[0];
             if ("minecraft".equalsIgnoreCase(modId) && !"minecraft".equalsIgnoreCase(type.getModId())) {
@@ -489,13 +467,71 @@ public DataView addTo(final Schematic schematic, final DataView data) {
                 requiredMods.add(modId);
             }
         }
-        data.set(Constants.Sponge.Schematic.ENTITIES, entities);
 
-        if (!requiredMods.isEmpty()) {
-            data.set(Constants.Sponge.Schematic.METADATA.then(Constants.Sponge.Schematic.REQUIRED_MODS), requiredMods);
+        writer.beginView();
+        writer.name(Constants.Sponge.Schematic.WIDTH).value((short) width);
+        writer.name(Constants.Sponge.Schematic.HEIGHT).value((short) height);
+        writer.name(Constants.Sponge.Schematic.LENGTH).value((short) length);
+
+        writer.name(Constants.Sponge.Schematic.VERSION).value(Constants.Sponge.Schematic.CURRENT_VERSION);
+        writer.name(Constants.Sponge.Schematic.DATA_VERSION).value(Constants.MINECRAFT_DATA_VERSION);
+        final DataView metadata = schematic.getMetadata();
+        final Set<DataQuery> metadataKeys = metadata.getKeys(false);
+        if (!metadataKeys.isEmpty() || !requiredMods.isEmpty()) {
+            writer.name(Constants.Sponge.Schematic.METADATA).beginView();
+            for (final DataQuery metaKey : metadataKeys) {
+                if (requiredMods.isEmpty() || !metaKey.equals(Constants.Sponge.Schematic.REQUIRED_MODS)) {
+                    writer.name(metaKey).write(metadata.get(metaKey).get());
+                }
+            }
+            if (!requiredMods.isEmpty()) {
+                writer.name(Constants.Sponge.Schematic.REQUIRED_MODS).write(requiredMods);
+            }
+            writer.endView();
         }
 
-        return data;
+        writer.name(Constants.Sponge.Schematic.OFFSET).value(new int[] {-xMin, -yMin, -zMin});
+        writer.name(Constants.Sponge.Schematic.BLOCK_DATA).value(blocks.toByteArray());
+        if (biomeData.isPresent()) {
+            writer.name(Constants.Sponge.Schematic.BIOME_DATA).value(biomeData.get());
+        }
+
+        if (palette.getType() == PaletteTypes.LOCAL_BLOCKS) {
+            writer.name(Constants.Sponge.Schematic.PALETTE).beginView();
+            for (final BlockState state : palette.getEntries()) {
+                // getOrAssign to skip the optional, it will never assign
+                writer.name(state.getId()).value(palette.getOrAssign(state));
+            }
+            writer.endView();
+            writer.name(Constants.Sponge.Schematic.PALETTE_MAX).value(palette.getHighestId());
+        }
+        if (biomePalette.getType() == PaletteTypes.LOCAL_BIOMES) {
+            writer.name(Constants.Sponge.Schematic.BIOME_PALETTE).beginView();
+            for (final BiomeType biomeType : biomePalette.getEntries()) {
+                writer.name(biomeType.getId()).value(biomePalette.getOrAssign(biomeType));
+            }
+            writer.endView();
+            writer.name(Constants.Sponge.Schematic.BIOME_PALETTE_MAX).value(biomePalette.getHighestId());
+        }
+
+        final Map<Vector3i, TileEntityArchetype> tileEntities = schematic.getTileEntityArchetypes();
+        writer.name(Constants.Sponge.Schematic.BLOCKENTITY_DATA).beginList(tileEntities.size());
+        for (final Map.Entry<Vector3i, TileEntityArchetype> entry : tileEntities.entrySet()) {
+            final Vector3i pos = entry.getKey();
+            final DataContainer tiledata = entry.getValue().getTileData();
+            final int[] apos = new int[] {pos.getX() - xMin, pos.getY() - yMin, pos.getZ() - zMin};
+            tiledata.set(Constants.Sponge.Schematic.BLOCKENTITY_POS, apos);
+            writer.writeView(tiledata);
+        }
+        writer.endList();
+
+        final Collection<EntityArchetype> entities = schematic.getEntityArchetypes();
+        writer.name(Constants.Sponge.Schematic.ENTITIES).beginList(entities.size());
+        for (final EntityArchetype entityArchetype : entities) {
+            writer.writeView(entityArchetype.getEntityData());
+        }
+        writer.endList();
+        writer.endView();
     }
 
      private void writeIdToBuffer(final ByteArrayOutputStream buffer, final int orAssign) {
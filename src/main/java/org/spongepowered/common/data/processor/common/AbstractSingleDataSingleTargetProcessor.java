@@ -70,6 +70,11 @@ public boolean supports(DataHolder dataHolder) {
         return this.holderClass.isInstance(dataHolder) && supports((Holder) dataHolder);
     }
 
+    @Override
+    public boolean canSupport(Class<?> holderClass) {
+        return this.holderClass.isAssignableFrom(holderClass);
+    }
+
     @Override
     public boolean supports(EntityType entityType) {
         return this.holderClass.isAssignableFrom(entityType.getEntityClass());
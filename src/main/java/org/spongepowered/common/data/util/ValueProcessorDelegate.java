@@ -33,7 +33,9 @@
 import org.spongepowered.api.data.value.mutable.Value;
 import org.spongepowered.common.data.ValueProcessor;
 
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * This is really just a lazy class to handle processing on multiple
@@ -46,6 +48,8 @@
 
     private final Key<V> key;
     private final ImmutableList<ValueProcessor<E, V>> processors;
+    // The processors that may support each container class, so the others aren't asked
+    private final Map<Class<?>, ImmutableList<ValueProcessor<E, V>>> containerProcessors = new ConcurrentHashMap<>();
 
     public ValueProcessorDelegate(Key<V> key, ImmutableList<ValueProcessor<E, V>> processors) {
         this.key = key;
@@ -62,9 +66,25 @@ public int getPriority() {
         return Integer.MAX_VALUE;
     }
 
+    private ImmutableList<ValueProcessor<E, V>> getProcessors(ValueContainer<?> container) {
+        final ImmutableList<ValueProcessor<E, V>> processors = this.containerProcessors.get(container.getClass());
+        if (processors != null) {
+            return processors;
+        }
+        return this.containerProcessors.computeIfAbsent(container.getClass(), containerClass -> {
+            final ImmutableList.Builder<ValueProcessor<E, V>> builder = ImmutableList.builder();
+            for (ValueProcessor<E, V> processor : this.processors) {
+                if (processor.canSupport(containerClass)) {
+                    builder.add(processor);
+                }
+            }
+            return builder.build();
+        });
+    }
+
     @Override
     public Optional<E> getValueFromContainer(ValueContainer<?> container) {
-        for (ValueProcessor<E, V> processor : this.processors) {
+        for (ValueProcessor<E, V> processor : getProcessors(container)) {
             if (processor.supports(container)) {
                 final Optional<E> optional = processor.getValueFromContainer(container);
                 if (optional.isPresent()) {
@@ -77,7 +97,7 @@ public Optional<E> getValueFromContainer(ValueContainer<?> container) {
 
     @Override
     public Optional<V> getApiValueFromContainer(ValueContainer<?> container) {
-        for (ValueProcessor<E, V> processor : this.processors) {
+        for (ValueProcessor<E, V> processor : getProcessors(container)) {
             if (processor.supports(container)) {
                 final Optional<V> optional = processor.getApiValueFromContainer(container);
                 if (optional.isPresent()) {
@@ -90,7 +110,7 @@ public Optional<V> getApiValueFromContainer(ValueContainer<?> container) {
 
     @Override
     public boolean supports(ValueContainer<?> container) {
-        for (ValueProcessor<E, V> processor : this.processors) {
+        for (ValueProcessor<E, V> processor : getProcessors(container)) {
             if (processor.supports(container)) {
                 return true;
             }
@@ -101,7 +121,7 @@ public boolean supports(ValueContainer<?> container) {
     @SuppressWarnings("unchecked")
     @Override
     public DataTransactionResult offerToStore(ValueContainer<?> container, E value) {
-        for (ValueProcessor<E, V> processor : this.processors) {
+        for (ValueProcessor<E, V> processor : getProcessors(container)) {
             if (processor.supports(container)) {
                 final DataTransactionResult result = processor.offerToStore(container, value);
                 if (!result.getType().equals(DataTransactionResult.Type.FAILURE)) {
@@ -109,7 +129,7 @@ public DataTransactionResult offerToStore(ValueContainer<?> container, E value)
                 }
             }
         }
-        for (ValueProcessor<E, V> processor : this.processors) {
+        for (ValueProcessor<E, V> processor : getProcessors(container)) {
             if (processor.supports(container)) {
                 final Optional<V> currentValueOptional = processor.getApiValueFromContainer(container);
                 if (currentValueOptional.isPresent()) {
@@ -132,7 +152,7 @@ public DataTransactionResult offerToStore(ValueContainer<?> container, E value)
 
     @Override
     public DataTransactionResult removeFrom(ValueContainer<?> container) {
-        for (ValueProcessor<E, V> processor : this.processors) {
+        for (ValueProcessor<E, V> processor : getProcessors(container)) {
             if (processor.supports(container)) {
                 final DataTransactionResult result = processor.removeFrom(container);
                 if (!result.getType().equals(DataTransactionResult.Type.FAILURE)) {
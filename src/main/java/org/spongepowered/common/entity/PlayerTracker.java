@@ -24,9 +24,20 @@
  */
 package org.spongepowered.common.entity;
 
+import it.unimi.dsi.fastutil.ints.Int2LongMap;
+import it.unimi.dsi.fastutil.ints.Int2LongMaps;
+import it.unimi.dsi.fastutil.ints.Int2LongOpenHashMap;
+import it.unimi.dsi.fastutil.shorts.Short2LongMap;
+import it.unimi.dsi.fastutil.shorts.Short2LongMaps;
+import it.unimi.dsi.fastutil.shorts.Short2LongOpenHashMap;
 import org.spongepowered.common.util.Constants;
 
-public class PlayerTracker {
+/**
+ * Owner and notifier tracking of block positions. A tracked position stores
+ * both its owner and notifier unique id index packed into a single
+ * {@code long}, so chunks can keep them in primitive maps.
+ */
+public final class PlayerTracker {
 
     public enum Type {
         OWNER(Constants.Sponge.SPONGE_ENTITY_CREATOR),
@@ -39,25 +50,52 @@ public enum Type {
         }
     }
 
-    public int ownerIndex;
-    public int notifierIndex;
+    /**
+     * The packed value for a position without an owner or notifier, this is
+     * also used as the default return value of the tracking maps.
+     */
+    public static final long NONE = pack(-1, -1);
+
+    /**
+     * Empty, unmodifiable tracking maps that return {@link #NONE} for every
+     * position, for chunks that don't track positions.
+     */
+    public static final Int2LongMap EMPTY_INT_POSITIONS;
+    public static final Short2LongMap EMPTY_SHORT_POSITIONS;
 
-    public PlayerTracker() {
-        this.ownerIndex = -1;
-        this.notifierIndex = -1;
+    static {
+        final Int2LongOpenHashMap intPositions = new Int2LongOpenHashMap(0);
+        intPositions.defaultReturnValue(NONE);
+        EMPTY_INT_POSITIONS = Int2LongMaps.unmodifiable(intPositions);
+        final Short2LongOpenHashMap shortPositions = new Short2LongOpenHashMap(0);
+        shortPositions.defaultReturnValue(NONE);
+        EMPTY_SHORT_POSITIONS = Short2LongMaps.unmodifiable(shortPositions);
     }
 
-    public PlayerTracker(int index, Type type) {
-        if (type == Type.OWNER) {
-            this.ownerIndex = index;
-            this.notifierIndex = -1;
-        } else {
-            this.notifierIndex = index;
-            this.ownerIndex = -1;
-        }
+    public static long pack(int ownerIndex, int notifierIndex) {
+        return ((long) ownerIndex << 32) | (notifierIndex & 0xFFFFFFFFL);
+    }
+
+    public static int getOwnerIndex(long tracked) {
+        return (int) (tracked >> 32);
+    }
+
+    public static int getNotifierIndex(long tracked) {
+        return (int) tracked;
+    }
+
+    public static int getIndex(long tracked, Type type) {
+        return type == Type.OWNER ? getOwnerIndex(tracked) : getNotifierIndex(tracked);
+    }
+
+    public static long withOwner(long tracked, int ownerIndex) {
+        return pack(ownerIndex, getNotifierIndex(tracked));
+    }
+
+    public static long withNotifier(long tracked, int notifierIndex) {
+        return pack(getOwnerIndex(tracked), notifierIndex);
     }
 
-    public void setNotifier(int notifierIndex) {
-        this.notifierIndex = notifierIndex;
+    private PlayerTracker() {
     }
 }
@@ -0,0 +1,224 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.event;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import co.aikar.timings.Timing;
+import org.spongepowered.api.Sponge;
+import org.spongepowered.api.event.CauseStackManager;
+import org.spongepowered.api.event.Event;
+import org.spongepowered.api.event.impl.AbstractEvent;
+import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.event.tracking.PhaseContext;
+import org.spongepowered.common.event.tracking.PhaseTracker;
+import org.spongepowered.common.event.tracking.phase.plugin.PluginPhase;
+
+import java.util.List;
+
+import javax.annotation.Nullable;
+
+/**
+ * Invokes the baked listeners of an event type. This base implementation
+ * calls every listener through its {@link RegisteredListener}, generated
+ * subclasses (see {@link EventDispatcherFactory}) call the listeners
+ * directly through their concrete types.
+ */
+public class EventDispatcher {
+
+    protected final RegisteredListener<?>[] listeners;
+
+    public EventDispatcher(List<RegisteredListener<?>> listeners) {
+        this(listeners.toArray(new RegisteredListener<?>[0]));
+    }
+
+    public EventDispatcher(RegisteredListener<?>[] listeners) {
+        this.listeners = checkNotNull(listeners, "listeners");
+    }
+
+    public final int size() {
+        return this.listeners.length;
+    }
+
+    public final RegisteredListener<?> getListener(int index) {
+        return this.listeners[index];
+    }
+
+    /**
+     * Invokes the listener at the given index without any error handling.
+     *
+     * @param index The index of the listener
+     * @param event The event
+     * @throws Exception If the listener throws an exception
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public void invoke(int index, Event event) throws Exception {
+        ((RegisteredListener) this.listeners[index]).handle(event);
+    }
+
+    /**
+     * Invokes all the listeners in order, exceptions thrown by a listener
+     * are logged and do not prevent the following listeners from being
+     * called.
+     *
+     * @param event The event
+     */
+    public final void dispatch(Event event) {
+        this.dispatchAll(event);
+        if (event instanceof AbstractEvent) {
+            ((AbstractEvent) event).currentOrder = null;
+        }
+    }
+
+    /**
+     * Posts the event on the main thread. Every listener is called in its
+     * own cause frame and plugin phase context, and is timed. Exceptions
+     * thrown by a listener are logged and do not prevent the following
+     * listeners from being called.
+     *
+     * @param event The event
+     */
+    public final void post(Event event) {
+        this.postAll(event);
+        if (event instanceof AbstractEvent) {
+            ((AbstractEvent) event).currentOrder = null;
+        }
+    }
+
+    protected void postAll(Event event) {
+        for (int i = 0; i < this.listeners.length; i++) {
+            ListenerFrame frame = null;
+            try {
+                frame = this.enter(i, event);
+                this.invoke(i, event);
+            } catch (Throwable e) {
+                this.exit(i, event, frame);
+                this.handleError(i, event, e);
+                continue;
+            }
+            this.exit(i, event, frame);
+        }
+    }
+
+    /**
+     * Enters the cause frame, phase context and timing of the listener at
+     * the given index, before it is called on the main thread.
+     *
+     * @param index The index of the listener
+     * @param event The event
+     * @return The frame to exit once the listener was called
+     */
+    protected final ListenerFrame enter(int index, Event event) {
+        final ListenerFrame frame = new ListenerFrame(this.listeners[index]);
+        this.prepare(index, event);
+        return frame;
+    }
+
+    /**
+     * Exits the frame that was entered for the listener at the given index,
+     * errors are logged like the errors of the listener itself.
+     *
+     * @param index The index of the listener
+     * @param event The event
+     * @param frame The frame, or null if entering it failed
+     */
+    protected final void exit(int index, Event event, @Nullable ListenerFrame frame) {
+        if (frame != null) {
+            try {
+                frame.close();
+            } catch (Throwable e) {
+                this.handleError(index, event, e);
+            }
+        }
+    }
+
+    protected void dispatchAll(Event event) {
+        for (int i = 0; i < this.listeners.length; i++) {
+            try {
+                this.prepare(i, event);
+                this.invoke(i, event);
+            } catch (Throwable e) {
+                this.handleError(i, event, e);
+            }
+        }
+    }
+
+    protected final void prepare(int index, Event event) {
+        if (event instanceof AbstractEvent) {
+            ((AbstractEvent) event).currentOrder = this.listeners[index].getOrder();
+        }
+    }
+
+    protected final void handleError(int index, Event event, Throwable e) {
+        SpongeImpl.getLogger().error("Could not pass {} to {}", event.getClass().getSimpleName(), this.listeners[index].getPlugin(), e);
+    }
+
+    /**
+     * The cause frame, plugin phase context and timing a listener is called
+     * in on the main thread.
+     */
+    public static final class ListenerFrame implements AutoCloseable {
+
+        private final CauseStackManager.StackFrame frame;
+        @Nullable private PhaseContext<?> context;
+        @Nullable private Timing timings;
+
+        ListenerFrame(RegisteredListener<?> listener) {
+            this.frame = Sponge.getCauseStackManager().pushCauseFrame();
+            try {
+                this.frame.pushCause(listener.getPlugin());
+                if (PhaseTracker.getInstance().getCurrentState().allowsEventListener()) {
+                    this.context = PluginPhase.Listener.GENERAL_LISTENER.createPhaseContext()
+                            .source(listener.getPlugin());
+                    this.context.buildAndSwitch();
+                }
+                this.timings = listener.getTimingsHandler();
+                this.timings.startTimingIfSync();
+            } catch (Throwable e) {
+                this.close();
+                throw e;
+            }
+        }
+
+        @Override
+        public void close() {
+            // Closed in the reverse order, like the resources of a try-with-resources statement
+            try {
+                if (this.timings != null) {
+                    this.timings.close();
+                }
+            } finally {
+                try {
+                    if (this.context != null) {
+                        this.context.close();
+                    }
+                } finally {
+                    this.frame.close();
+                }
+            }
+        }
+    }
+
+}
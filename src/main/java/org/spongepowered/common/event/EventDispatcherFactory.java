@@ -0,0 +1,313 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.event;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static org.objectweb.asm.Opcodes.AALOAD;
+import static org.objectweb.asm.Opcodes.ACONST_NULL;
+import static org.objectweb.asm.Opcodes.ACC_FINAL;
+import static org.objectweb.asm.Opcodes.ACC_PRIVATE;
+import static org.objectweb.asm.Opcodes.ACC_PROTECTED;
+import static org.objectweb.asm.Opcodes.ACC_PUBLIC;
+import static org.objectweb.asm.Opcodes.ACC_SUPER;
+import static org.objectweb.asm.Opcodes.ALOAD;
+import static org.objectweb.asm.Opcodes.ASTORE;
+import static org.objectweb.asm.Opcodes.CHECKCAST;
+import static org.objectweb.asm.Opcodes.GETFIELD;
+import static org.objectweb.asm.Opcodes.GOTO;
+import static org.objectweb.asm.Opcodes.ILOAD;
+import static org.objectweb.asm.Opcodes.INVOKEINTERFACE;
+import static org.objectweb.asm.Opcodes.INVOKESPECIAL;
+import static org.objectweb.asm.Opcodes.INVOKEVIRTUAL;
+import static org.objectweb.asm.Opcodes.PUTFIELD;
+import static org.objectweb.asm.Opcodes.RETURN;
+import static org.objectweb.asm.Opcodes.V1_6;
+
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Label;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Type;
+import org.spongepowered.api.event.Event;
+import org.spongepowered.api.event.EventListener;
+import org.spongepowered.common.event.gen.DefineableClassLoader;
+
+import java.lang.reflect.Modifier;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.annotation.Nullable;
+
+/**
+ * Generates an {@link EventDispatcher} per baked event type which calls all
+ * of the listeners in straight-line code. Every listener is stored in a field
+ * of its concrete type when possible, which allows the JIT to devirtualize and
+ * inline the generated listeners and their filters into the dispatcher.
+ *
+ * <p>Both the asynchronous and the main thread paths are generated. On the
+ * main thread, the cause frame, phase context and timing of every listener
+ * are entered and exited around its own call site.</p>
+ */
+public final class EventDispatcherFactory {
+
+    /**
+     * The maximum amount of listeners a dispatcher will be generated for, the
+     * generated methods would otherwise grow too large to be compiled.
+     */
+    static final int MAX_LISTENERS = 512;
+
+    private static final String DISPATCHER = Type.getInternalName(EventDispatcher.class);
+    private static final String REGISTERED_LISTENER = Type.getInternalName(RegisteredListener.class);
+    private static final String EVENT_LISTENER = Type.getInternalName(EventListener.class);
+    private static final String EVENT_DESCRIPTOR = Type.getDescriptor(Event.class);
+    private static final String CONSTRUCTOR_DESCRIPTOR = "([" + Type.getDescriptor(RegisteredListener.class) + ")V";
+    private static final String HANDLE_DESCRIPTOR = '(' + EVENT_DESCRIPTOR + ")V";
+    private static final String INVOKE_DESCRIPTOR = "(I" + EVENT_DESCRIPTOR + ")V";
+    private static final String ERROR_DESCRIPTOR = "(I" + EVENT_DESCRIPTOR + Type.getDescriptor(Throwable.class) + ")V";
+    private static final String LISTENER_FRAME_DESCRIPTOR = Type.getDescriptor(EventDispatcher.ListenerFrame.class);
+    private static final String ENTER_DESCRIPTOR = "(I" + EVENT_DESCRIPTOR + ")" + LISTENER_FRAME_DESCRIPTOR;
+    private static final String EXIT_DESCRIPTOR = "(I" + EVENT_DESCRIPTOR + LISTENER_FRAME_DESCRIPTOR + ")V";
+
+    private final AtomicInteger id = new AtomicInteger();
+    private final String targetPackage;
+
+    public EventDispatcherFactory(String targetPackage) {
+        checkNotNull(targetPackage, "targetPackage");
+        checkArgument(!targetPackage.isEmpty(), "targetPackage cannot be empty");
+        this.targetPackage = targetPackage + '.';
+    }
+
+    /**
+     * Creates a generated dispatcher for the given listeners, or returns
+     * {@code null} if the default dispatcher should be used instead.
+     *
+     * @param eventType The event type the listeners are baked for
+     * @param listeners The sorted listeners
+     * @return The generated dispatcher, or null
+     * @throws Exception If the class could not be generated
+     */
+    @Nullable
+    public EventDispatcher create(EventType<?> eventType, List<RegisteredListener<?>> listeners) throws Exception {
+        if (listeners.isEmpty() || listeners.size() > MAX_LISTENERS) {
+            return null;
+        }
+        final RegisteredListener<?>[] array = listeners.toArray(new RegisteredListener<?>[0]);
+        final Class<?>[] fieldTypes = new Class<?>[array.length];
+        final Map<String, Class<?>> visibleClasses = new HashMap<>();
+        for (int i = 0; i < array.length; i++) {
+            final Class<?> listenerClass = array[i].getListener().getClass();
+            if (isDirectlyAccessible(listenerClass)) {
+                final Class<?> existing = visibleClasses.putIfAbsent(listenerClass.getName(), listenerClass);
+                // Two different classes with the same name, only one of them can be linked
+                fieldTypes[i] = existing == null || existing == listenerClass ? listenerClass : EventListener.class;
+            } else {
+                fieldTypes[i] = EventListener.class;
+            }
+        }
+
+        final String name = this.targetPackage + eventType.getType().getSimpleName() + "Dispatcher_" + this.id.incrementAndGet();
+        final DispatcherClassLoader classLoader = new DispatcherClassLoader(EventDispatcher.class.getClassLoader(), visibleClasses);
+        final Class<? extends EventDispatcher> dispatcherClass = classLoader.defineClass(name, generateClass(name, fieldTypes));
+        return dispatcherClass.getConstructor(RegisteredListener[].class).newInstance((Object) array);
+    }
+
+    private static boolean isDirectlyAccessible(Class<?> type) {
+        return Modifier.isPublic(type.getModifiers()) && !type.isSynthetic() && !type.isInterface()
+                && type.getName().indexOf('/') == -1;
+    }
+
+    private static byte[] generateClass(String name, Class<?>[] fieldTypes) {
+        name = name.replace('.', '/');
+
+        final ClassWriter cw = new ClassWriter(ClassWriter.COMPUTE_FRAMES | ClassWriter.COMPUTE_MAXS);
+        MethodVisitor mv;
+
+        cw.visit(V1_6, ACC_PUBLIC + ACC_FINAL + ACC_SUPER, name, null, DISPATCHER, null);
+
+        for (int i = 0; i < fieldTypes.length; i++) {
+            cw.visitField(ACC_PRIVATE + ACC_FINAL, "listener" + i, Type.getDescriptor(fieldTypes[i]), null, null).visitEnd();
+        }
+        {
+            mv = cw.visitMethod(ACC_PUBLIC, "<init>", CONSTRUCTOR_DESCRIPTOR, null, null);
+            mv.visitCode();
+            mv.visitVarInsn(ALOAD, 0);
+            mv.visitVarInsn(ALOAD, 1);
+            mv.visitMethodInsn(INVOKESPECIAL, DISPATCHER, "<init>", CONSTRUCTOR_DESCRIPTOR, false);
+            for (int i = 0; i < fieldTypes.length; i++) {
+                mv.visitVarInsn(ALOAD, 0);
+                mv.visitVarInsn(ALOAD, 1);
+                mv.visitLdcInsn(i);
+                mv.visitInsn(AALOAD);
+                mv.visitMethodInsn(INVOKEVIRTUAL, REGISTERED_LISTENER, "getListener", "()" + Type.getDescriptor(EventListener.class), false);
+                if (fieldTypes[i] != EventListener.class) {
+                    mv.visitTypeInsn(CHECKCAST, Type.getInternalName(fieldTypes[i]));
+                }
+                mv.visitFieldInsn(PUTFIELD, name, "listener" + i, Type.getDescriptor(fieldTypes[i]));
+            }
+            mv.visitInsn(RETURN);
+            mv.visitMaxs(0, 0);
+            mv.visitEnd();
+        }
+        {
+            mv = cw.visitMethod(ACC_PUBLIC, "invoke", INVOKE_DESCRIPTOR, null, new String[] { "java/lang/Exception" });
+            mv.visitCode();
+            final Label fallback = new Label();
+            final Label[] cases = new Label[fieldTypes.length];
+            for (int i = 0; i < cases.length; i++) {
+                cases[i] = new Label();
+            }
+            mv.visitVarInsn(ILOAD, 1);
+            mv.visitTableSwitchInsn(0, cases.length - 1, fallback, cases);
+            for (int i = 0; i < cases.length; i++) {
+                mv.visitLabel(cases[i]);
+                visitHandle(mv, name, i, fieldTypes[i], 2);
+                mv.visitInsn(RETURN);
+            }
+            mv.visitLabel(fallback);
+            mv.visitVarInsn(ALOAD, 0);
+            mv.visitVarInsn(ILOAD, 1);
+            mv.visitVarInsn(ALOAD, 2);
+            mv.visitMethodInsn(INVOKESPECIAL, DISPATCHER, "invoke", INVOKE_DESCRIPTOR, false);
+            mv.visitInsn(RETURN);
+            mv.visitMaxs(0, 0);
+            mv.visitEnd();
+        }
+        {
+            mv = cw.visitMethod(ACC_PROTECTED, "dispatchAll", HANDLE_DESCRIPTOR, null, null);
+            mv.visitCode();
+            for (int i = 0; i < fieldTypes.length; i++) {
+                final Label start = new Label();
+                final Label end = new Label();
+                final Label handler = new Label();
+                final Label next = new Label();
+                mv.visitTryCatchBlock(start, end, handler, "java/lang/Throwable");
+                mv.visitLabel(start);
+                mv.visitVarInsn(ALOAD, 0);
+                mv.visitLdcInsn(i);
+                mv.visitVarInsn(ALOAD, 1);
+                mv.visitMethodInsn(INVOKEVIRTUAL, DISPATCHER, "prepare", INVOKE_DESCRIPTOR, false);
+                visitHandle(mv, name, i, fieldTypes[i], 1);
+                mv.visitLabel(end);
+                mv.visitJumpInsn(GOTO, next);
+                mv.visitLabel(handler);
+                mv.visitVarInsn(ASTORE, 2);
+                mv.visitVarInsn(ALOAD, 0);
+                mv.visitLdcInsn(i);
+                mv.visitVarInsn(ALOAD, 1);
+                mv.visitVarInsn(ALOAD, 2);
+                mv.visitMethodInsn(INVOKEVIRTUAL, DISPATCHER, "handleError", ERROR_DESCRIPTOR, false);
+                mv.visitLabel(next);
+            }
+            mv.visitInsn(RETURN);
+            mv.visitMaxs(0, 0);
+            mv.visitEnd();
+        }
+        {
+            // The main thread path, every listener is called within its own frame
+            mv = cw.visitMethod(ACC_PROTECTED, "postAll", HANDLE_DESCRIPTOR, null, null);
+            mv.visitCode();
+            for (int i = 0; i < fieldTypes.length; i++) {
+                final Label start = new Label();
+                final Label end = new Label();
+                final Label handler = new Label();
+                final Label next = new Label();
+                mv.visitTryCatchBlock(start, end, handler, "java/lang/Throwable");
+                mv.visitInsn(ACONST_NULL);
+                mv.visitVarInsn(ASTORE, 2);
+                mv.visitLabel(start);
+                mv.visitVarInsn(ALOAD, 0);
+                mv.visitLdcInsn(i);
+                mv.visitVarInsn(ALOAD, 1);
+                mv.visitMethodInsn(INVOKEVIRTUAL, DISPATCHER, "enter", ENTER_DESCRIPTOR, false);
+                mv.visitVarInsn(ASTORE, 2);
+                visitHandle(mv, name, i, fieldTypes[i], 1);
+                mv.visitLabel(end);
+                visitExit(mv, i);
+                mv.visitJumpInsn(GOTO, next);
+                mv.visitLabel(handler);
+                mv.visitVarInsn(ASTORE, 3);
+                visitExit(mv, i);
+                mv.visitVarInsn(ALOAD, 0);
+                mv.visitLdcInsn(i);
+                mv.visitVarInsn(ALOAD, 1);
+                mv.visitVarInsn(ALOAD, 3);
+                mv.visitMethodInsn(INVOKEVIRTUAL, DISPATCHER, "handleError", ERROR_DESCRIPTOR, false);
+                mv.visitLabel(next);
+            }
+            mv.visitInsn(RETURN);
+            mv.visitMaxs(0, 0);
+            mv.visitEnd();
+        }
+        cw.visitEnd();
+
+        return cw.toByteArray();
+    }
+
+    private static void visitExit(MethodVisitor mv, int index) {
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitLdcInsn(index);
+        mv.visitVarInsn(ALOAD, 1);
+        mv.visitVarInsn(ALOAD, 2);
+        mv.visitMethodInsn(INVOKEVIRTUAL, DISPATCHER, "exit", EXIT_DESCRIPTOR, false);
+    }
+
+    private static void visitHandle(MethodVisitor mv, String name, int index, Class<?> fieldType, int eventIndex) {
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitFieldInsn(GETFIELD, name, "listener" + index, Type.getDescriptor(fieldType));
+        mv.visitVarInsn(ALOAD, eventIndex);
+        if (fieldType == EventListener.class) {
+            mv.visitMethodInsn(INVOKEINTERFACE, EVENT_LISTENER, "handle", HANDLE_DESCRIPTOR, true);
+        } else {
+            mv.visitMethodInsn(INVOKEVIRTUAL, Type.getInternalName(fieldType), "handle", HANDLE_DESCRIPTOR, false);
+        }
+    }
+
+    /**
+     * Makes the concrete listener classes, which may have been defined by
+     * different class loaders, visible to a single generated dispatcher.
+     */
+    private static final class DispatcherClassLoader extends DefineableClassLoader {
+
+        private final Map<String, Class<?>> visibleClasses;
+
+        DispatcherClassLoader(ClassLoader parent, Map<String, Class<?>> visibleClasses) {
+            super(parent);
+            this.visibleClasses = visibleClasses;
+        }
+
+        @Override
+        protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+            final Class<?> visibleClass = this.visibleClasses.get(name);
+            if (visibleClass != null) {
+                return visibleClass;
+            }
+            return super.loadClass(name, resolve);
+        }
+
+    }
+
+}
@@ -40,6 +40,8 @@
 import java.util.EnumMap;
 import java.util.List;
 
+import javax.annotation.Nullable;
+
 public final class RegisteredListener<T extends Event> implements SpongeEventListener<T>, Comparable<RegisteredListener<?>> {
 
     private final PluginContainer plugin;
@@ -72,6 +74,10 @@ public Order getOrder() {
         return this.order;
     }
 
+    public EventListener<? super T> getListener() {
+        return this.listener;
+    }
+
     public boolean isBeforeModifications() {
         return this.beforeModifications;
     }
@@ -106,9 +112,15 @@ public static final class Cache {
 
         private final List<RegisteredListener<?>> listeners;
         private final EnumMap<Order, List<RegisteredListener<?>>> listenersByOrder;
+        private final EventDispatcher dispatcher;
 
         Cache(List<RegisteredListener<?>> listeners) {
+            this(listeners, null);
+        }
+
+        Cache(List<RegisteredListener<?>> listeners, @Nullable EventDispatcher dispatcher) {
             this.listeners = listeners;
+            this.dispatcher = dispatcher == null ? new EventDispatcher(listeners) : dispatcher;
 
             this.listenersByOrder = new EnumMap<>(Order.class);
             for (RegisteredListener<?> handler : listeners) {
@@ -121,6 +133,10 @@ public List<RegisteredListener<?>> getListeners() {
             return this.listeners;
         }
 
+        public EventDispatcher getDispatcher() {
+            return this.dispatcher;
+        }
+
         public List<RegisteredListener<?>> getListenersByOrder(Order order) {
             final List<RegisteredListener<?>> list = this.listenersByOrder.get(checkNotNull(order, "order"));
             if (list == null) {
@@ -26,7 +26,6 @@
 
 import static com.google.common.base.Preconditions.checkNotNull;
 
-import com.google.common.collect.Maps;
 import com.google.common.collect.Queues;
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
@@ -50,7 +49,6 @@
 import java.util.Iterator;
 import java.util.Map;
 import java.util.Optional;
-import java.util.Set;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.BiConsumer;
 
@@ -95,7 +93,28 @@ public final class SpongeCauseStackManager implements CauseStackManager {
     // Frames not currently in use
     private final Deque<CauseStackFrameImpl> framePool = new ArrayDeque<>(MAX_POOL_SIZE);
 
-    private Map<EventContextKey<?>, Object> ctx = Maps.newHashMap();
+    /*
+     * The current context, stored by the ordinal of the context keys (see
+     * SpongeEventContextKey#getOrdinal). Both arrays grow like the duplicate
+     * causes array.
+     */
+    private EventContextKey<?>[] ctxKeys = new EventContextKey<?>[64];
+    private Object[] ctxValues = new Object[64];
+    private int ctxSize = 0;
+    // The serial of the last frame that stored the original value of each context key
+    private long[] ctxStoredFrames = new long[64];
+    /*
+     * The original values of the context keys that were changed while frames
+     * were pushed. Frames remember the size of this log when they are pushed
+     * and restore everything above it when popped, so frames don't need a map
+     * of their own.
+     */
+    private int[] ctxDeltaOrdinals = new int[64];
+    private EventContextKey<?>[] ctxDeltaKeys = new EventContextKey<?>[64];
+    private Object[] ctxDeltaValues = new Object[64];
+    private int ctxDeltaSize = 0;
+    private long frameSerial = 0;
+
     private int min_depth = 0;
     private int[] duplicateCauses = new int[100];
     @Nullable private Cause cached_cause;
@@ -170,7 +189,17 @@ private void checkProviders() {
     public EventContext getCurrentContext() {
         enforceMainThread();
         if (this.cached_ctx == null) {
-            this.cached_ctx = EventContext.of(this.ctx);
+            if (this.ctxSize == 0) {
+                this.cached_ctx = EventContext.empty();
+            } else {
+                final Map<EventContextKey<?>, Object> ctx = new HashMap<>(this.ctxSize * 2);
+                for (int i = 0; i < this.ctxValues.length; i++) {
+                    if (this.ctxValues[i] != null) {
+                        ctx.put(this.ctxKeys[i], this.ctxValues[i]);
+                    }
+                }
+                this.cached_ctx = EventContext.of(ctx);
+            }
         }
         return this.cached_ctx;
     }
@@ -256,6 +285,11 @@ public StackFrame pushCauseFrame() {
             frame.old_min_depth = min_depth;
             frame.lastCauseSize = this.duplicateCauses[size];
         }
+        frame.serial = ++this.frameSerial;
+        frame.ctxDeltaStart = this.ctxDeltaSize;
+        // Remember the current cause and context, they are valid again once this frame is popped
+        frame.cached_cause = this.cached_cause;
+        frame.cached_ctx = this.cached_ctx;
 
         this.frames.push(frame);
         this.min_depth = size;
@@ -330,15 +364,17 @@ public void popCauseFrame(final StackFrame oldFrame) {
         }
         this.frames.pop();
 
-        // Remove new values
-        for (Map.Entry<EventContextKey<?>, Object> entry : frame.getOriginalContextDelta().entrySet()) {
+        // Restore the original context values, newest first
+        for (int i = this.ctxDeltaSize - 1; i >= frame.ctxDeltaStart; i--) {
             this.cached_ctx = null;
-            if (entry.getValue() == null) { // wasn't present before, remove
-                this.ctx.remove(entry.getKey());
-            } else { // was there, replace
-                this.ctx.put(entry.getKey(), entry.getValue());
-            }
+            this.cached_cause = null;
+            final int ordinal = this.ctxDeltaOrdinals[i];
+            this.setContext(ordinal, this.ctxDeltaKeys[i], this.ctxDeltaValues[i]);
+            this.ctxStoredFrames[ordinal] = 0;
+            this.ctxDeltaKeys[i] = null;
+            this.ctxDeltaValues[i] = null;
         }
+        this.ctxDeltaSize = frame.ctxDeltaStart;
 
         // If there were any objects left on the stack then we pop them off
         while (this.cause.size() > this.min_depth) {
@@ -364,6 +400,17 @@ public void popCauseFrame(final StackFrame oldFrame) {
             this.duplicateCauses[size] = frame.lastCauseSize;
         }
 
+        // The stack is now in the same state as when the frame was pushed, so the
+        // cause and context from back then can be reused instead of rebuilding them
+        if (!this.pendingProviders.get()) {
+            if (this.cached_ctx == null) {
+                this.cached_ctx = frame.cached_ctx;
+            }
+            if (this.cached_cause == null) {
+                this.cached_cause = frame.cached_cause;
+            }
+        }
+
         // finally, return the frame to the pool
         if (this.framePool.size() < MAX_POOL_SIZE) {
             // cache it, but also call clear so we remove references to
@@ -378,11 +425,17 @@ public <T> CauseStackManager addContext(final EventContextKey<T> key, final T va
         enforceMainThread();
         checkNotNull(key, "key");
         checkNotNull(value, "value");
-        this.cached_ctx = null;
-        final Object existing = this.ctx.put(key, value);
-        if (!this.frames.isEmpty()) {
-            this.frames.peek().storeOriginalContext(key, existing);
+        final int ordinal = SpongeEventContextKey.getOrdinal(key);
+        this.ensureContextCapacity(ordinal);
+        if (this.ctxValues[ordinal] == value) {
+            // Nothing changes, keep the cached context
+            return this;
         }
+        // The cached cause holds the context as well
+        this.cached_ctx = null;
+        this.cached_cause = null;
+        this.storeOriginalContext(ordinal);
+        this.setContext(ordinal, key, value);
         return this;
     }
 
@@ -391,7 +444,8 @@ public <T> CauseStackManager addContext(final EventContextKey<T> key, final T va
     public <T> Optional<T> getContext(final EventContextKey<T> key) {
         enforceMainThread();
         checkNotNull(key, "key");
-        return Optional.ofNullable((T) this.ctx.get(key));
+        final int ordinal = SpongeEventContextKey.getOrdinal(key);
+        return ordinal < this.ctxValues.length ? Optional.ofNullable((T) this.ctxValues[ordinal]) : Optional.empty();
     }
 
     @Override
@@ -399,12 +453,64 @@ public <T> Optional<T> getContext(final EventContextKey<T> key) {
     public <T> Optional<T> removeContext(final EventContextKey<T> key) {
         enforceMainThread();
         checkNotNull(key, "key");
+        final int ordinal = SpongeEventContextKey.getOrdinal(key);
+        if (ordinal >= this.ctxValues.length || this.ctxValues[ordinal] == null) {
+            return Optional.empty();
+        }
         this.cached_ctx = null;
-        Object existing = this.ctx.remove(key);
-        if (!this.frames.isEmpty()) {
-            this.frames.peek().storeOriginalContext(key, existing);
+        this.cached_cause = null;
+        final Object existing = this.ctxValues[ordinal];
+        this.storeOriginalContext(ordinal);
+        this.setContext(ordinal, null, null);
+        return Optional.of((T) existing);
+    }
+
+    private void ensureContextCapacity(final int ordinal) {
+        if (this.ctxValues.length <= ordinal) {
+            // Make sure that we have enough space. If not, increase by 50%
+            final int length = Math.max(ordinal + 1, (int) (this.ctxValues.length * 1.5));
+            this.ctxKeys = Arrays.copyOf(this.ctxKeys, length);
+            this.ctxValues = Arrays.copyOf(this.ctxValues, length);
+            this.ctxStoredFrames = Arrays.copyOf(this.ctxStoredFrames, length);
+        }
+    }
+
+    private void setContext(final int ordinal, @Nullable final EventContextKey<?> key, @Nullable final Object value) {
+        if (this.ctxValues[ordinal] == null) {
+            if (value != null) {
+                this.ctxSize++;
+            }
+        } else if (value == null) {
+            this.ctxSize--;
         }
-        return Optional.ofNullable((T) existing);
+        this.ctxKeys[ordinal] = value == null ? null : key;
+        this.ctxValues[ordinal] = value;
+    }
+
+    /**
+     * Stores the current value of the context key in the delta of the top
+     * frame, unless that frame already stored the original value.
+     */
+    private void storeOriginalContext(final int ordinal) {
+        final CauseStackFrameImpl frame = this.frames.peek();
+        if (frame == null) {
+            return;
+        }
+        if (this.ctxStoredFrames[ordinal] == frame.serial) {
+            return;
+        }
+        final int index = this.ctxDeltaSize;
+        if (this.ctxDeltaOrdinals.length <= index) {
+            final int length = (int) (index * 1.5);
+            this.ctxDeltaOrdinals = Arrays.copyOf(this.ctxDeltaOrdinals, length);
+            this.ctxDeltaKeys = Arrays.copyOf(this.ctxDeltaKeys, length);
+            this.ctxDeltaValues = Arrays.copyOf(this.ctxDeltaValues, length);
+        }
+        this.ctxDeltaOrdinals[index] = ordinal;
+        this.ctxDeltaKeys[index] = this.ctxKeys[ordinal];
+        this.ctxDeltaValues[index] = this.ctxValues[ordinal];
+        this.ctxDeltaSize = index + 1;
+        this.ctxStoredFrames[ordinal] = frame.serial;
     }
 
     public int registerPhaseContextProvider(final PhaseContext<?> context) {
@@ -439,10 +545,13 @@ public void popFrameMutator(final PhaseContext<?> context) {
 
     public static class CauseStackFrameImpl implements StackFrame {
 
-        private final Map<EventContextKey<?>, Object> stored_ctx_values = new HashMap<>();
         int old_min_depth;
         int lastCauseSize;
-        private final Map<EventContextKey<?>, Object> storedContext = new HashMap<>();
+        long serial;
+        // The size of the context delta when this frame was pushed
+        int ctxDeltaStart;
+        @Nullable Cause cached_cause;
+        @Nullable EventContext cached_ctx;
 
         @Nullable Exception stack_debug = null;
 
@@ -450,10 +559,12 @@ public static class CauseStackFrameImpl implements StackFrame {
         CauseStackFrameImpl() {}
 
         public void clear() {
-            this.stored_ctx_values.clear();
-            this.storedContext.clear();
             this.lastCauseSize = -1;
             this.old_min_depth = -1;
+            this.serial = 0;
+            this.ctxDeltaStart = 0;
+            this.cached_cause = null;
+            this.cached_ctx = null;
             this.stack_debug = null;
         }
 
@@ -464,33 +575,6 @@ public CauseStackFrameImpl set(int old_depth, int size) {
             return this;
         }
 
-        public boolean isStored(final EventContextKey<?> key) {
-            return this.stored_ctx_values != null && this.stored_ctx_values.containsKey(key);
-        }
-
-        public Set<Map.Entry<EventContextKey<?>, Object>> getStoredValues() {
-            return this.stored_ctx_values.entrySet();
-        }
-
-        public boolean hasStoredValues() {
-            return !this.stored_ctx_values.isEmpty();
-        }
-
-        public void store(EventContextKey<?> key, Object existing) {
-            this.stored_ctx_values.put(key, existing);
-        }
-
-        // Note that a null object indicates that the context should be removed
-        void storeOriginalContext(EventContextKey<?> key, @Nullable Object object) {
-            if (!this.storedContext.containsKey(key)) {
-                this.storedContext.put(key, object);
-            }
-        }
-
-        Map<EventContextKey<?>, Object> getOriginalContextDelta() {
-            return this.storedContext;
-        }
-
         @Override
         public Cause getCurrentCause() {
             return Sponge.getCauseStackManager().getCurrentCause();
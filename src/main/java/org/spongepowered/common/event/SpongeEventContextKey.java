@@ -29,22 +29,51 @@
 import com.google.common.base.MoreObjects;
 import org.spongepowered.api.event.cause.EventContextKey;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
 public final class SpongeEventContextKey<T> implements EventContextKey<T> {
 
+    private static final Map<String, Integer> ordinals = new ConcurrentHashMap<>();
+    private static final AtomicInteger nextOrdinal = new AtomicInteger();
+
+    /**
+     * Gets the ordinal of the given key, keys with the same id share the same
+     * ordinal. Ordinals are assigned in order starting at 0, so they can be
+     * used as indices into compact arrays.
+     *
+     * @param key The key
+     * @return The ordinal
+     */
+    public static int getOrdinal(EventContextKey<?> key) {
+        if (key instanceof SpongeEventContextKey) {
+            return ((SpongeEventContextKey<?>) key).ordinal;
+        }
+        return getOrdinal(key.getId());
+    }
+
+    private static int getOrdinal(String id) {
+        return ordinals.computeIfAbsent(id, k -> nextOrdinal.getAndIncrement());
+    }
+
     private final String id;
     private final Class<T> allowed;
     private final String name;
+    private final int ordinal;
 
     SpongeEventContextKey(SpongeEventContextKeyBuilder<T> builder) {
         this.id = builder.id;
         this.allowed = builder.typeClass;
         this.name = builder.name;
+        this.ordinal = getOrdinal(this.id);
     }
 
     public SpongeEventContextKey(String id, String name, Class<T> allowed) {
         this.id = checkNotNull(id, "Id");
         this.allowed = checkNotNull(allowed, "Allowed");
         this.name = checkNotNull(name, "Name");
+        this.ordinal = getOrdinal(this.id);
     }
 
     @Override
@@ -27,45 +27,32 @@
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 
-import co.aikar.timings.Timing;
 import it.unimi.dsi.fastutil.objects.ReferenceOpenHashSet;
-import org.spongepowered.common.event.tracking.phase.plugin.EventListenerPhaseContext;
 import org.spongepowered.common.relocate.co.aikar.timings.TimingsManager;
-import com.github.benmanes.caffeine.cache.Caffeine;
-import com.github.benmanes.caffeine.cache.LoadingCache;
-import com.google.common.collect.HashMultimap;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Lists;
-import com.google.common.collect.Maps;
-import com.google.common.collect.Multimap;
-import com.google.common.collect.Sets;
 import com.google.common.reflect.TypeToken;
 import org.apache.logging.log4j.Logger;
 import org.spongepowered.api.Sponge;
 import org.spongepowered.api.event.Cancellable;
-import org.spongepowered.api.event.CauseStackManager;
 import org.spongepowered.api.event.Event;
 import org.spongepowered.api.event.EventListener;
 import org.spongepowered.api.event.EventManager;
 import org.spongepowered.api.event.GenericEvent;
 import org.spongepowered.api.event.Listener;
 import org.spongepowered.api.event.Order;
-import org.spongepowered.api.event.impl.AbstractEvent;
 import org.spongepowered.api.event.item.inventory.InteractInventoryEvent;
 import org.spongepowered.api.plugin.PluginContainer;
 import org.spongepowered.api.plugin.PluginManager;
-import org.spongepowered.asm.util.PrettyPrinter;
 import org.spongepowered.common.SpongeImpl;
 import org.spongepowered.common.event.filter.FilterFactory;
 import org.spongepowered.common.event.gen.DefineableClassLoader;
-import org.spongepowered.common.event.tracking.PhaseContext;
-import org.spongepowered.common.event.tracking.PhaseTracker;
-import org.spongepowered.common.event.tracking.phase.plugin.PluginPhase;
 import org.spongepowered.common.bridge.inventory.ContainerBridge;
 import org.spongepowered.common.item.inventory.custom.CustomInventory;
 import org.spongepowered.common.item.inventory.custom.CustomInventoryListener;
 import org.spongepowered.common.util.TypeTokenHelper;
 
-import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.lang.reflect.TypeVariable;
@@ -74,7 +61,6 @@
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.IdentityHashMap;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -92,10 +78,15 @@ public class SpongeEventManager implements EventManager {
 
     private static final TypeVariable<?> GENERIC_EVENT_TYPE = GenericEvent.class.getTypeParameters()[0];
 
+    // Only serialises changes to the registered listeners, posting and baking never lock
     private final Object lock = new Object();
     protected final Logger logger;
     private final PluginManager pluginManager;
-    private final Multimap<Class<?>, RegisteredListener<?>> handlersByEvent = HashMultimap.create();
+    /**
+     * An immutable snapshot of all the registered handlers by their raw event
+     * class. Changes build a new snapshot that replaces this one as a whole.
+     */
+    private volatile ImmutableMap<Class<?>, ImmutableList<RegisteredListener<?>>> handlersByEvent = ImmutableMap.of();
     private final Map<ClassLoader, AnnotatedEventListener.Factory> classLoaders = new IdentityHashMap<>();
     private final Set<Object> registeredListeners = new ReferenceOpenHashSet<>();
 
@@ -103,68 +94,121 @@ public class SpongeEventManager implements EventManager {
 
     /**
      * A cache of all the handlers for an event type for quick event posting.
-     * <p>The cache is currently entirely invalidated if handlers are added or
-     * removed.</p>
+     * <p>If handlers are added or removed, only the cached event types that
+     * are a subtype of the event types of those handlers are invalidated.</p>
      */
-    protected final LoadingCache<EventType<?>, RegisteredListener.Cache> handlersCache =
-            Caffeine.newBuilder().initialCapacity(150).build(this::bakeHandlers);
+    protected final Map<EventType<?>, RegisteredListener.Cache> handlersCache = new ConcurrentHashMap<>(150, 0.75f, 1);
+
+    private final EventDispatcherFactory dispatcherFactory = new EventDispatcherFactory("org.spongepowered.common.event.dispatcher");
 
     @Inject
     public SpongeEventManager(Logger logger, PluginManager pluginManager) {
         this.logger = logger;
         this.pluginManager = checkNotNull(pluginManager, "pluginManager");
-
-        // Caffeine offers no control over the concurrency level of the
-        // ConcurrentHashMap which backs the cache. By default this concurrency
-        // level is 16. We replace the backing map before any use can occur
-        // a new ConcurrentHashMap with a concurrency level of 1
-        try {
-            // Cache impl class is UnboundedLocalLoadingCache which extends
-            // UnboundedLocalManualCache
-
-            // UnboundedLocalManualCache has a field 'cache' with an
-            // UnboundedLocalCache which contains the actual backing map
-            Field innerCache = this.handlersCache.getClass().getSuperclass().getDeclaredField("cache");
-            innerCache.setAccessible(true);
-            Object innerCacheValue = innerCache.get(this.handlersCache);
-            Class<?> innerCacheClass = innerCacheValue.getClass(); // UnboundedLocalCache
-            Field cacheData = innerCacheClass.getDeclaredField("data");
-            cacheData.setAccessible(true);
-            ConcurrentHashMap<Class<? extends Event>, RegisteredListener.Cache> newBackingData = new ConcurrentHashMap<>(150, 0.75f, 1);
-            cacheData.set(innerCacheValue, newBackingData);
-        } catch (NoSuchFieldException | SecurityException | IllegalArgumentException | IllegalAccessException e) {
-            this.logger.warn("Failed to set event cache backing array, type was " + this.handlersCache.getClass().getName());
-            this.logger.warn("  Caused by: " + e.getClass().getName() + ": " + e.getMessage());
-        }
     }
 
     <T extends Event> RegisteredListener.Cache bakeHandlers(EventType<T> eventType) {
+        return this.bakeHandlers(eventType, this.handlersByEvent);
+    }
+
+    private <T extends Event> RegisteredListener.Cache bakeHandlers(EventType<T> eventType,
+            Map<Class<?>, ImmutableList<RegisteredListener<?>>> handlersByEvent) {
         final List<RegisteredListener<?>> handlers = new ArrayList<>();
         final Set<Class<? super T>> types = TypeToken.of(eventType.getType()).getTypes().rawTypes();
 
-        synchronized (this.lock) {
-            for (Class<? super T> type : types) {
-                if (Event.class.isAssignableFrom(type)) {
-                    final Collection<RegisteredListener<?>> listeners = this.handlersByEvent.get(type);
-                    if (GenericEvent.class.isAssignableFrom(type)) {
-                        final TypeToken<?> genericType = eventType.getGenericType();
-                        checkNotNull(genericType);
-                        for (RegisteredListener<?> listener : listeners) {
-                            final TypeToken<?> genericType1 = listener.getEventType().getGenericType();
-                            checkNotNull(genericType1);
-                            if (TypeTokenHelper.isAssignable(genericType, genericType1)) {
-                                handlers.add(listener);
-                            }
+        for (Class<? super T> type : types) {
+            if (Event.class.isAssignableFrom(type)) {
+                final Collection<RegisteredListener<?>> listeners = handlersByEvent.getOrDefault(type, ImmutableList.of());
+                if (GenericEvent.class.isAssignableFrom(type)) {
+                    final TypeToken<?> genericType = eventType.getGenericType();
+                    checkNotNull(genericType);
+                    for (RegisteredListener<?> listener : listeners) {
+                        final TypeToken<?> genericType1 = listener.getEventType().getGenericType();
+                        checkNotNull(genericType1);
+                        if (TypeTokenHelper.isAssignable(genericType, genericType1)) {
+                            handlers.add(listener);
                         }
-                    } else {
-                        handlers.addAll(listeners);
                     }
+                } else {
+                    handlers.addAll(listeners);
                 }
             }
         }
 
         Collections.sort(handlers);
-        return new RegisteredListener.Cache(handlers);
+        return new RegisteredListener.Cache(handlers, this.createDispatcher(eventType, handlers));
+    }
+
+    /**
+     * Gets whether a dispatcher class should be generated for every baked
+     * event type.
+     *
+     * @return True to generate dispatchers
+     */
+    protected boolean useGeneratedDispatchers() {
+        return SpongeImpl.isInitialized() && SpongeImpl.getGlobalConfigAdapter().getConfig().getOptimizations().useGeneratedEventDispatchers();
+    }
+
+    @Nullable
+    private EventDispatcher createDispatcher(EventType<?> eventType, List<RegisteredListener<?>> handlers) {
+        if (!this.useGeneratedDispatchers()) {
+            return null;
+        }
+        try {
+            return this.dispatcherFactory.create(eventType, handlers);
+        } catch (Exception e) {
+            this.logger.error("Failed to generate the event dispatcher for {}, falling back to the default dispatcher", eventType, e);
+            return null;
+        }
+    }
+
+    private RegisteredListener.Cache bakeAndCacheHandlers(EventType<?> eventType) {
+        while (true) {
+            final ImmutableMap<Class<?>, ImmutableList<RegisteredListener<?>>> handlersByEvent = this.handlersByEvent;
+            final RegisteredListener.Cache cache = this.bakeHandlers(eventType, handlersByEvent);
+            final RegisteredListener.Cache existing = this.handlersCache.putIfAbsent(eventType, cache);
+            if (existing != null) {
+                return existing;
+            }
+            if (this.handlersByEvent == handlersByEvent) {
+                return cache;
+            }
+            // The handlers changed while baking, the invalidation may
+            // have happened before this cache was added, so bake again.
+            this.handlersCache.remove(eventType, cache);
+        }
+    }
+
+    /**
+     * Replaces the handlers of the given raw event classes and invalidates
+     * the cached handlers of all the affected event types. Must be called
+     * while holding the lock.
+     *
+     * @param changes The new handlers per raw event class
+     */
+    private void updateHandlers(Map<Class<?>, List<RegisteredListener<?>>> changes) {
+        final ImmutableMap.Builder<Class<?>, ImmutableList<RegisteredListener<?>>> builder = ImmutableMap.builder();
+        for (Map.Entry<Class<?>, ImmutableList<RegisteredListener<?>>> entry : this.handlersByEvent.entrySet()) {
+            if (!changes.containsKey(entry.getKey())) {
+                builder.put(entry);
+            }
+        }
+        for (Map.Entry<Class<?>, List<RegisteredListener<?>>> entry : changes.entrySet()) {
+            if (!entry.getValue().isEmpty()) {
+                builder.put(entry.getKey(), ImmutableList.copyOf(entry.getValue()));
+            }
+        }
+        this.handlersByEvent = builder.build();
+
+        final Set<Class<?>> changedTypes = changes.keySet();
+        this.handlersCache.keySet().removeIf(eventType -> {
+            for (Class<?> changedType : changedTypes) {
+                if (changedType.isAssignableFrom(eventType.getType())) {
+                    return true;
+                }
+            }
+            return false;
+        });
     }
 
     @Nullable
@@ -202,20 +246,20 @@ private void register(RegisteredListener<? extends Event> handler) {
     }
 
     private void register(List<RegisteredListener<? extends Event>> handlers) {
-        boolean changed = false;
-
         synchronized (this.lock) {
+            final Map<Class<?>, List<RegisteredListener<?>>> changes = new HashMap<>();
             for (RegisteredListener<?> handler : handlers) {
                 final Class<?> raw = handler.getEventType().getType();
-                if (this.handlersByEvent.put(raw, handler)) {
-                    changed = true;
+                final List<RegisteredListener<?>> listeners = changes.computeIfAbsent(raw,
+                        type -> new ArrayList<>(this.handlersByEvent.getOrDefault(type, ImmutableList.of())));
+                if (!listeners.contains(handler)) {
+                    listeners.add(handler);
                     this.checker.registerListenerFor(raw);
                 }
             }
-        }
-
-        if (changed) {
-            this.handlersCache.invalidateAll();
+            if (!changes.isEmpty()) {
+                this.updateHandlers(changes);
+            }
         }
     }
 
@@ -224,11 +268,13 @@ private void registerListener(PluginContainer plugin, Object listenerObject) {
         checkNotNull(plugin, "plugin");
         checkNotNull(listenerObject, "listener");
 
-        if (this.registeredListeners.contains(listenerObject)) {
-            this.logger.warn("Plugin {} attempted to register an already registered listener ({})", plugin.getId(),
-                    listenerObject.getClass().getName());
-            Thread.dumpStack();
-            return;
+        synchronized (this.lock) {
+            if (!this.registeredListeners.add(listenerObject)) {
+                this.logger.warn("Plugin {} attempted to register an already registered listener ({})", plugin.getId(),
+                        listenerObject.getClass().getName());
+                Thread.dumpStack();
+                return;
+            }
         }
 
         List<RegisteredListener<? extends Event>> handlers = Lists.newArrayList();
@@ -237,12 +283,15 @@ private void registerListener(PluginContainer plugin, Object listenerObject) {
         Class<?> handle = listenerObject.getClass();
         ClassLoader handleLoader = handle.getClassLoader();
 
-        AnnotatedEventListener.Factory handlerFactory = classLoaders.get(handleLoader);
-        if (handlerFactory == null) {
-            final DefineableClassLoader classLoader = new DefineableClassLoader(handleLoader);
-            handlerFactory = new ClassEventListenerFactory("org.spongepowered.common.event.listener",
-                    new FilterFactory("org.spongepowered.common.event.filters", classLoader), classLoader);
-            classLoaders.put(handleLoader, handlerFactory);
+        AnnotatedEventListener.Factory handlerFactory;
+        synchronized (this.lock) {
+            handlerFactory = this.classLoaders.get(handleLoader);
+            if (handlerFactory == null) {
+                final DefineableClassLoader classLoader = new DefineableClassLoader(handleLoader);
+                handlerFactory = new ClassEventListenerFactory("org.spongepowered.common.event.listener",
+                        new FilterFactory("org.spongepowered.common.event.filters", classLoader), classLoader);
+                this.classLoaders.put(handleLoader, handlerFactory);
+            }
         }
 
         for (Method method : handle.getMethods()) {
@@ -285,7 +334,6 @@ private void registerListener(PluginContainer plugin, Object listenerObject) {
                     method.getKey().getDeclaringClass().getName(), method.getValue());
         }
 
-        this.registeredListeners.add(listenerObject);
         register(handlers);
     }
 
@@ -348,24 +396,26 @@ public <T extends Event> void registerListener(Object plugin, TypeToken<T> event
     }
 
     private void unregister(Predicate<RegisteredListener<?>> unregister) {
-        boolean changed = false;
-
         synchronized (this.lock) {
-            Iterator<RegisteredListener<?>> itr = this.handlersByEvent.values().iterator();
-            while (itr.hasNext()) {
-                RegisteredListener<?> handler = itr.next();
-                if (unregister.test(handler)) {
-                    itr.remove();
-                    changed = true;
-                    // TODO: This doesn't seem right, even as it was before
-                    this.checker.unregisterListenerFor(handler.getEventType().getType());
-                    this.registeredListeners.remove(handler.getHandle());
+            final Map<Class<?>, List<RegisteredListener<?>>> changes = new HashMap<>();
+            for (Map.Entry<Class<?>, ImmutableList<RegisteredListener<?>>> entry : this.handlersByEvent.entrySet()) {
+                List<RegisteredListener<?>> remaining = null;
+                for (RegisteredListener<?> handler : entry.getValue()) {
+                    if (unregister.test(handler)) {
+                        if (remaining == null) {
+                            remaining = new ArrayList<>(entry.getValue());
+                            changes.put(entry.getKey(), remaining);
+                        }
+                        remaining.remove(handler);
+                        // TODO: This doesn't seem right, even as it was before
+                        this.checker.unregisterListenerFor(handler.getEventType().getType());
+                        this.registeredListeners.remove(handler.getHandle());
+                    }
                 }
             }
-        }
-
-        if (changed) {
-            this.handlersCache.invalidateAll();
+            if (!changes.isEmpty()) {
+                this.updateHandlers(changes);
+            }
         }
     }
 
@@ -396,65 +446,25 @@ protected RegisteredListener.Cache getHandlerCache(Event event) {
         } else {
             eventType = new EventType(eventClass, null);
         }
-        return this.handlersCache.get(eventType);
+        final RegisteredListener.Cache cache = this.handlersCache.get(eventType);
+        if (cache != null) {
+            return cache;
+        }
+        return this.bakeAndCacheHandlers(eventType);
     }
 
-    @SuppressWarnings("unchecked")
-    private boolean post(Event event, List<RegisteredListener<?>> handlers) {
+    private boolean post(Event event, EventDispatcher dispatcher) {
         if (!Sponge.getServer().isMainThread()) {
             // If this event is being posted asynchronously then we don't want
             // to do any timing or cause stack changes
-            for (@SuppressWarnings("rawtypes") RegisteredListener handler : handlers) {
-                try {
-                    if (event instanceof AbstractEvent) {
-                        ((AbstractEvent) event).currentOrder = handler.getOrder();
-                    }
-                    handler.handle(event);
-                } catch (Throwable e) {
-                    SpongeImpl.getLogger().error("Could not pass {} to {}", event.getClass().getSimpleName(), handler.getPlugin(), e);
-                }
-            }
-            if (event instanceof AbstractEvent) {
-                ((AbstractEvent) event).currentOrder = null;
-            }
+            dispatcher.dispatch(event);
             return event instanceof Cancellable && ((Cancellable) event).isCancelled();
         }
         TimingsManager.PLUGIN_EVENT_HANDLER.startTimingIfSync();
-        for (@SuppressWarnings("rawtypes") RegisteredListener handler : handlers) {
-            try (CauseStackManager.StackFrame frame = Sponge.getCauseStackManager().pushCauseFrame();
-                 final PhaseContext<?> context = createPluginContext(handler);
-                 final Timing timings = handler.getTimingsHandler()) {
-                frame.pushCause(handler.getPlugin());
-                if (context != null) {
-                    context.buildAndSwitch();
-                }
-                timings.startTimingIfSync();
-                if (event instanceof AbstractEvent) {
-                    ((AbstractEvent) event).currentOrder = handler.getOrder();
-                }
-                handler.handle(event);
-            } catch (Throwable e) {
-                // TODO - add some better handling, especially since we have the stakc frame and phase context to boot
-                final PrettyPrinter printer = new PrettyPrinter(60).add("Error with event listener handling").centre().hr();
-                printer.add("A listener threw an exception while being handled, this is usually not a sponge bug.");
-                this.logger.error("Could not pass {} to {}", event.getClass().getSimpleName(), handler.getPlugin(), e);
-            }
-        }
-        if (event instanceof AbstractEvent) {
-            ((AbstractEvent) event).currentOrder = null;
-        }
+        dispatcher.post(event);
         return event instanceof Cancellable && ((Cancellable) event).isCancelled();
     }
 
-    @Nullable
-    private EventListenerPhaseContext createPluginContext(RegisteredListener<?> handler) {
-        if (PhaseTracker.getInstance().getCurrentState().allowsEventListener()) {
-            return PluginPhase.Listener.GENERAL_LISTENER.createPhaseContext()
-                .source(handler.getPlugin());
-        }
-        return null;
-    }
-
     @Override
     public boolean post(Event event) {
         try {
@@ -477,12 +487,12 @@ public boolean postServer(Event event) {
     }
 
     public boolean post(Event event, boolean allowClientThread) {
-        return post(event, getHandlerCache(event).getListeners());
+        return post(event, getHandlerCache(event).getDispatcher());
     }
 
     public boolean post(Event event, PluginContainer plugin) {
-        return post(event, getHandlerCache(event).getListeners().stream()
+        return post(event, new EventDispatcher(getHandlerCache(event).getListeners().stream()
                 .filter(l -> l.getPlugin().equals(plugin))
-                .collect(Collectors.toList()));
+                .collect(Collectors.toList())));
     }
 }
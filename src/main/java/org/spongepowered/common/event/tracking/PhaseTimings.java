@@ -0,0 +1,236 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.event.tracking;
+
+import com.google.common.collect.ImmutableList;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Measures the time the {@link PhaseTracker} spends in each
+ * {@link IPhaseState} during a tick, to find out which phases a slow tick
+ * spent its time in. The times are exclusive, time spent in a nested phase
+ * only counts towards the nested phase.
+ *
+ * <p>Measuring happens on the main thread only, the recorded slow ticks
+ * can be read from any thread.</p>
+ */
+public final class PhaseTimings {
+
+    private static final int MAX_SLOW_TICKS = 20;
+
+    private boolean enabled;
+    private int phaseCount;
+    private long slowTickThreshold;
+
+    private long[] starts = new long[16];
+    private long[] nestedTimes = new long[16];
+    private final Map<IPhaseState<?>, PhaseTime> times = new IdentityHashMap<>();
+    private final List<PhaseTime> touched = new ArrayList<>();
+
+    // Guarded by this
+    private final Deque<SlowTick> slowTicks = new ArrayDeque<>();
+    private final Map<String, long[]> slowTickTotals = new HashMap<>();
+    private long slowTickCount;
+
+    PhaseTimings() {
+    }
+
+    /**
+     * Configures the phase timings, a phase count of 0 disables them.
+     *
+     * @param phaseCount The amount of phases to keep per slow tick
+     * @param slowTickThreshold The tick duration in nanoseconds from which on a tick is slow
+     */
+    public void configure(int phaseCount, long slowTickThreshold) {
+        this.phaseCount = phaseCount;
+        this.slowTickThreshold = slowTickThreshold;
+        this.enabled = phaseCount > 0;
+    }
+
+    public boolean isEnabled() {
+        return this.enabled;
+    }
+
+    void enter(int depth) {
+        if (!this.enabled) {
+            return;
+        }
+        if (depth >= this.starts.length) {
+            this.starts = Arrays.copyOf(this.starts, Math.max(depth + 1, this.starts.length * 2));
+            this.nestedTimes = Arrays.copyOf(this.nestedTimes, this.starts.length);
+        }
+        this.starts[depth] = System.nanoTime();
+        this.nestedTimes[depth] = 0;
+    }
+
+    void exit(IPhaseState<?> state, int depth) {
+        // Phases that were entered before the timings were enabled have no start
+        if (depth < 0 || depth >= this.starts.length || this.starts[depth] == 0) {
+            return;
+        }
+        final long total = System.nanoTime() - this.starts[depth];
+        this.starts[depth] = 0;
+        if (depth > 0) {
+            this.nestedTimes[depth - 1] += total;
+        }
+        PhaseTime time = this.times.get(state);
+        if (time == null) {
+            time = new PhaseTime(state.toString());
+            this.times.put(state, time);
+        }
+        if (time.count++ == 0) {
+            this.touched.add(time);
+        }
+        time.nanos += total - this.nestedTimes[depth];
+    }
+
+    /**
+     * Completes the current tick, keeping the slowest phases if the tick took
+     * longer than the slow tick threshold.
+     *
+     * @param tick The tick number
+     * @param tickDuration The duration of the tick in nanoseconds
+     */
+    public void completeTick(int tick, long tickDuration) {
+        if (this.touched.isEmpty()) {
+            return;
+        }
+        if (this.enabled && tickDuration >= this.slowTickThreshold) {
+            this.touched.sort((a, b) -> Long.compare(b.nanos, a.nanos));
+            final int count = Math.min(this.phaseCount, this.touched.size());
+            final ImmutableList.Builder<PhaseTime> phases = ImmutableList.builder();
+            for (int i = 0; i < count; i++) {
+                phases.add(this.touched.get(i).copy());
+            }
+            final SlowTick slowTick = new SlowTick(tick, tickDuration, phases.build());
+            synchronized (this) {
+                if (this.slowTicks.size() >= MAX_SLOW_TICKS) {
+                    this.slowTicks.removeFirst();
+                }
+                this.slowTicks.addLast(slowTick);
+                this.slowTickCount++;
+                for (PhaseTime time : this.touched) {
+                    final long[] totals = this.slowTickTotals.computeIfAbsent(time.name, name -> new long[2]);
+                    totals[0] += time.nanos;
+                    totals[1] += time.count;
+                }
+            }
+        }
+        for (PhaseTime time : this.touched) {
+            time.nanos = 0;
+            time.count = 0;
+        }
+        this.touched.clear();
+    }
+
+    /**
+     * Gets the most recent slow ticks, oldest first.
+     *
+     * @return The slow ticks
+     */
+    public synchronized List<SlowTick> getSlowTicks() {
+        return ImmutableList.copyOf(this.slowTicks);
+    }
+
+    public synchronized long getSlowTickCount() {
+        return this.slowTickCount;
+    }
+
+    /**
+     * Gets the total time and the amount of times each phase was entered
+     * over all slow ticks, keyed by the name of the phase.
+     *
+     * @return The totals of every phase
+     */
+    public synchronized Map<String, long[]> getSlowTickTotals() {
+        final Map<String, long[]> copy = new HashMap<>();
+        this.slowTickTotals.forEach((name, totals) -> copy.put(name, totals.clone()));
+        return Collections.unmodifiableMap(copy);
+    }
+
+    public static final class PhaseTime {
+
+        final String name;
+        long nanos;
+        int count;
+
+        PhaseTime(String name) {
+            this.name = name;
+        }
+
+        PhaseTime copy() {
+            final PhaseTime copy = new PhaseTime(this.name);
+            copy.nanos = this.nanos;
+            copy.count = this.count;
+            return copy;
+        }
+
+        public String getName() {
+            return this.name;
+        }
+
+        public long getNanos() {
+            return this.nanos;
+        }
+
+        public int getCount() {
+            return this.count;
+        }
+    }
+
+    public static final class SlowTick {
+
+        private final int tick;
+        private final long duration;
+        private final List<PhaseTime> phases;
+
+        SlowTick(int tick, long duration, List<PhaseTime> phases) {
+            this.tick = tick;
+            this.duration = duration;
+            this.phases = phases;
+        }
+
+        public int getTick() {
+            return this.tick;
+        }
+
+        public long getDuration() {
+            return this.duration;
+        }
+
+        public List<PhaseTime> getPhases() {
+            return this.phases;
+        }
+    }
+}
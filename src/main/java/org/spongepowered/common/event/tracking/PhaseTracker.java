@@ -216,6 +216,7 @@ public static PhaseTracker getInstance() {
     };
 
     private final PhaseStack stack = new PhaseStack();
+    private final PhaseTimings timings = new PhaseTimings();
 
     private boolean hasPrintedEmptyOnce = false;
     private boolean hasPrintedAboutRunnawayPhases = false;
@@ -231,6 +232,10 @@ public static PhaseTracker getInstance() {
 
     // ----------------- STATE ACCESS ----------------------------------
 
+    public PhaseTimings getPhaseTimings() {
+        return this.timings;
+    }
+
     public <C extends PhaseContext<C>> ArrayDeque<C> createContextPool(final IPhaseState<C> state) {
         final ArrayDeque<C> pool = new ArrayDeque<>();
         this.stateContextPool.put(state, pool);
@@ -265,6 +270,7 @@ void switchToPhase(final IPhaseState<?> state, final PhaseContext<?> phaseContex
             SpongeImpl.getCauseStackManager().registerPhaseContextProvider(phaseContext);
         }
         this.stack.push(state, phaseContext);
+        this.timings.enter(this.stack.size() - 1);
     }
 
     @SuppressWarnings({"rawtypes", "unused", "try"})
@@ -294,6 +300,7 @@ void completePhase(final IPhaseState<?> prevState) {
             // The phase on the top of the stack was most likely never completed.
             // Since we don't know when and where completePhase was intended to be called for it,
             // we simply pop it to allow processing to continue (somewhat) as normal
+            this.timings.exit(state, this.stack.size() - 1);
             this.stack.pop();
             return;
         }
@@ -328,6 +335,7 @@ void completePhase(final IPhaseState<?> prevState) {
         this.checkPhaseContextProcessed(state, currentContext);
         // If pop is called, the Deque will already throw an exception if there is no element
         // so it's an error properly handled.
+        this.timings.exit(state, this.stack.size() - 1);
         this.stack.pop();
 
         if (this.stack.isEmpty()) {
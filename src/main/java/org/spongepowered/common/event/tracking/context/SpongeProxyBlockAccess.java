@@ -24,9 +24,11 @@
  */
 package org.spongepowered.common.event.tracking.context;
 
-import com.google.common.collect.LinkedListMultimap;
-import com.google.common.collect.ListMultimap;
 import com.google.common.collect.Queues;
+import it.unimi.dsi.fastutil.longs.Long2ObjectLinkedOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.LongIterator;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
 import net.minecraft.block.state.IBlockState;
 import net.minecraft.tileentity.TileEntity;
 import net.minecraft.util.EnumFacing;
@@ -48,24 +50,31 @@
 import org.spongepowered.common.world.BlockChange;
 
 import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Deque;
-import java.util.HashSet;
-import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Map;
-import java.util.Set;
 
 import javax.annotation.Nullable;
 
 public final class SpongeProxyBlockAccess implements IBlockAccess, AutoCloseable {
     private static final boolean DEBUG_PROXY = Boolean.valueOf(System.getProperty("sponge.debugProxyChanges", "false"));
 
-    private final LinkedHashMap<BlockPos, IBlockState> processed = new LinkedHashMap<>();
-    private final LinkedHashMap<BlockPos, TileEntity> affectedTileEntities = new LinkedHashMap<>();
-    private final ListMultimap<BlockPos, TileEntity> queuedTiles = LinkedListMultimap.create();
-    private final ListMultimap<BlockPos, TileEntity> queuedRemovals = LinkedListMultimap.create();
-    private final Set<BlockPos> markedRemoved = new HashSet<>();
+    // Storage released by popped proxies is trimmed back to this capacity before it's reused.
+    private static final int RETAINED_CAPACITY = 256;
+
+    // All positions are keyed by their packed BlockPos#toLong value. The linked maps keep
+    // the insertion order of the previous LinkedHashMaps without allocating a node per position.
+    private final Long2ObjectLinkedOpenHashMap<IBlockState> processed = new Long2ObjectLinkedOpenHashMap<>();
+    private final Long2ObjectLinkedOpenHashMap<TileEntity> affectedTileEntities = new Long2ObjectLinkedOpenHashMap<>();
+    private final Long2ObjectLinkedOpenHashMap<List<TileEntity>> queuedTiles = new Long2ObjectLinkedOpenHashMap<>();
+    private final Long2ObjectLinkedOpenHashMap<List<TileEntity>> queuedRemovals = new Long2ObjectLinkedOpenHashMap<>();
+    private final LongOpenHashSet markedRemoved = new LongOpenHashSet();
     private final Deque<Proxy> proxies = Queues.newArrayDeque();
+    // Cascading transactions push and pop a proxy per block change, so the storage
+    // of popped proxies is handed to the next ones instead of being reallocated.
+    private final Deque<Long2ObjectLinkedOpenHashMap<IBlockState>> freeStates = new ArrayDeque<>();
+    private final Deque<LongOpenHashSet> freePositions = new ArrayDeque<>();
     private WorldServer processingWorld;
     @Nullable private BlockTransaction processingTransaction;
     @Nullable private Deque<BlockTransaction> processingStack;
@@ -88,14 +97,15 @@ SpongeProxyBlockAccess proceed(final BlockPos pos, final IBlockState state, fina
         if (this.proxies.isEmpty()) {
             throw new IllegalStateException("Cannot push a new block change without having proxies!");
         }
-        final IBlockState existing = this.processed.put(pos, state);
+        final long key = pos.toLong();
+        final IBlockState existing = this.processed.put(key, state);
 
         if (!this.proxies.isEmpty()) {
             final Proxy proxy = this.proxies.peek();
             if (existing == null) {
-                proxy.markNew(pos);
-            } else if ((this.processingTransaction != null || !proxy.isStored(pos)) && !proxy.isNew(pos)) {
-                proxy.store(pos, state);
+                proxy.markNew(key);
+            } else if ((this.processingTransaction != null || !proxy.isStored(key)) && !proxy.isNew(key)) {
+                proxy.store(key, state);
             }
         }
         if (b && this.processingTransaction != null) {
@@ -160,33 +170,35 @@ private void popProxy(final Proxy oldProxy) {
         }
         this.proxies.pop();
         if (proxy.hasNew()) {
-            for (final BlockPos pos : proxy.newBlocks) {
-                this.processed.remove(pos);
+            for (final LongIterator iterator = proxy.newBlocks.iterator(); iterator.hasNext(); ) {
+                this.processed.remove(iterator.nextLong());
             }
         }
         if (proxy.hasStored()) {
             if (!this.proxies.isEmpty()) {
-                for (final Map.Entry<BlockPos, IBlockState> entry : proxy.processed.entrySet()) {
-                    this.processed.put(entry.getKey(), entry.getValue());
+                for (final Long2ObjectMap.Entry<IBlockState> entry : proxy.processed.long2ObjectEntrySet()) {
+                    this.processed.put(entry.getLongKey(), entry.getValue());
                 }
             } else {
-                for (final BlockPos blockPos : proxy.processed.keySet()) {
-                    this.processed.remove(blockPos);
+                for (final LongIterator iterator = proxy.processed.keySet().iterator(); iterator.hasNext(); ) {
+                    this.processed.remove(iterator.nextLong());
                 }
             }
         }
         if (proxy.hasRemovals()) {
-            for (final BlockPos removedTile : proxy.markedRemovedTiles) {
-                this.markedRemoved.remove(removedTile);
+            for (final LongIterator iterator = proxy.markedRemovedTiles.iterator(); iterator.hasNext(); ) {
+                this.markedRemoved.remove(iterator.nextLong());
             }
         }
+        proxy.release();
         if (this.proxies.isEmpty()) {
             PrettyPrinter pretty = null;
             if (!this.processed.isEmpty()) {
                 pretty = new PrettyPrinter(60)
                     .add("%s : %s", "Remaining", this.processed.size());
-                final PrettyPrinter printer = pretty;
-                this.processed.forEach(((pos, state) -> printer.add("- %s : %s", "Pos", pos).addWrapped(60, "  %s : %s", "State", state)));
+                for (final Long2ObjectMap.Entry<IBlockState> entry : this.processed.long2ObjectEntrySet()) {
+                    pretty.add("- %s : %s", "Pos", BlockPos.fromLong(entry.getLongKey())).addWrapped(60, "  %s : %s", "State", entry.getValue());
+                }
                 this.processed.clear();
             }
             if (!this.markedRemoved.isEmpty()) {
@@ -194,8 +206,9 @@ private void popProxy(final Proxy oldProxy) {
                     pretty = new PrettyPrinter(60);
                 }
                 pretty.add("Unclaimed Removed Tile Positions");
-                final PrettyPrinter printer = pretty;
-                this.markedRemoved.forEach(pos -> printer.add("  -%s", pos));
+                for (final LongIterator iterator = this.markedRemoved.iterator(); iterator.hasNext(); ) {
+                    pretty.add("  -%s", BlockPos.fromLong(iterator.nextLong()));
+                }
                 pretty.add();
                 this.markedRemoved.clear();
             }
@@ -204,8 +217,7 @@ private void popProxy(final Proxy oldProxy) {
                     pretty = new PrettyPrinter(60);
                 }
                 pretty.add("Unadded TileEntities queued for addition");
-                final PrettyPrinter printer = pretty;
-                this.queuedTiles.forEach((pos, tile) -> printer.add(" - %s : %s", pos, tile == null ? "null" : ((TileEntityBridge) tile).bridge$getPrettyPrinterString()));
+                addTiles(pretty, this.queuedTiles, " - %s : %s");
                 this.queuedTiles.clear();
             }
             if (!this.queuedRemovals.isEmpty()) {
@@ -213,25 +225,24 @@ private void popProxy(final Proxy oldProxy) {
                     pretty = new PrettyPrinter(60);
                 }
                 pretty.add("Unremoved TileEntities queued for removal!");
-                final PrettyPrinter printer = pretty;
-                this.queuedRemovals.forEach((pos, tile) -> printer.add(" - %s : %s", pos, tile == null ? "null" : ((TileEntityBridge) tile).bridge$getPrettyPrinterString()));
+                addTiles(pretty, this.queuedRemovals, " - %s : %s");
                 this.queuedRemovals.clear();
             }
             if (!this.affectedTileEntities.isEmpty()) {
                 if (pretty == null) {
                     pretty = new PrettyPrinter(60);
                 }
-                final PrettyPrinter printer = pretty;
-                this.affectedTileEntities.forEach(((pos, tileEntity) -> {
+                for (final Long2ObjectMap.Entry<TileEntity> entry : this.affectedTileEntities.long2ObjectEntrySet()) {
+                    final TileEntity tileEntity = entry.getValue();
                     if (tileEntity == null) {
-                        return;
+                        continue;
                     }
                     if (!this.hasTile) {
-                        printer.add("Unremoved TileEntities affected by the proxy, likely will cause issues if these are meant to be added to the world!");
+                        pretty.add("Unremoved TileEntities affected by the proxy, likely will cause issues if these are meant to be added to the world!");
                     }
                     this.hasTile = true;
-                    printer.add(" - %s : %s", pos, ((TileEntityBridge) tileEntity).bridge$getPrettyPrinterString());
-                }));
+                    pretty.add(" - %s : %s", BlockPos.fromLong(entry.getLongKey()), ((TileEntityBridge) tileEntity).bridge$getPrettyPrinterString());
+                }
                 this.affectedTileEntities.clear();
             }
 
@@ -245,26 +256,82 @@ private void popProxy(final Proxy oldProxy) {
         }
     }
 
+    private static void addTiles(final PrettyPrinter printer, final Long2ObjectLinkedOpenHashMap<List<TileEntity>> tiles, final String format) {
+        for (final Long2ObjectMap.Entry<List<TileEntity>> entry : tiles.long2ObjectEntrySet()) {
+            final BlockPos pos = BlockPos.fromLong(entry.getLongKey());
+            for (final TileEntity tile : entry.getValue()) {
+                printer.add(format, pos, tile == null ? "null" : ((TileEntityBridge) tile).bridge$getPrettyPrinterString());
+            }
+        }
+    }
+
+    private static void putTile(final Long2ObjectLinkedOpenHashMap<List<TileEntity>> tiles, final long pos, @Nullable final TileEntity tile) {
+        List<TileEntity> list = tiles.get(pos);
+        if (list == null) {
+            list = new ArrayList<>(1);
+            tiles.put(pos, list);
+        }
+        list.add(tile);
+    }
+
+    private static boolean removeTile(final Long2ObjectLinkedOpenHashMap<List<TileEntity>> tiles, final long pos, @Nullable final TileEntity tile) {
+        final List<TileEntity> list = tiles.get(pos);
+        if (list == null || !list.remove(tile)) {
+            return false;
+        }
+        if (list.isEmpty()) {
+            tiles.remove(pos);
+        }
+        return true;
+    }
+
+    private static boolean containsTile(final Long2ObjectLinkedOpenHashMap<List<TileEntity>> tiles, final long pos, @Nullable final TileEntity tile) {
+        final List<TileEntity> list = tiles.get(pos);
+        return list != null && list.contains(tile);
+    }
+
+    Long2ObjectLinkedOpenHashMap<IBlockState> takeStates() {
+        final Long2ObjectLinkedOpenHashMap<IBlockState> states = this.freeStates.poll();
+        return states == null ? new Long2ObjectLinkedOpenHashMap<>() : states;
+    }
+
+    LongOpenHashSet takePositions() {
+        final LongOpenHashSet positions = this.freePositions.poll();
+        return positions == null ? new LongOpenHashSet() : positions;
+    }
+
+    void releaseStates(final Long2ObjectLinkedOpenHashMap<IBlockState> states) {
+        states.clear();
+        states.trim(RETAINED_CAPACITY);
+        this.freeStates.push(states);
+    }
+
+    void releasePositions(final LongOpenHashSet positions) {
+        positions.clear();
+        positions.trim(RETAINED_CAPACITY);
+        this.freePositions.push(positions);
+    }
+
     @Override
     public TileEntity getTileEntity(final BlockPos pos) {
-        return this.affectedTileEntities.get(pos);
+        return this.affectedTileEntities.get(pos.toLong());
     }
 
     public boolean hasTileEntity(final BlockPos pos) {
-        return this.affectedTileEntities.containsKey(pos);
+        return this.affectedTileEntities.containsKey(pos.toLong());
     }
 
     public boolean hasTileEntity(final BlockPos pos, final TileEntity tileEntity) {
-        return this.affectedTileEntities.get(pos) == tileEntity;
+        return this.affectedTileEntities.get(pos.toLong()) == tileEntity;
     }
 
     public boolean isTileEntityRemoved(final BlockPos pos) {
-        return this.markedRemoved.contains(pos);
+        return this.markedRemoved.contains(pos.toLong());
     }
 
     @Override
     public IBlockState getBlockState(final BlockPos pos) {
-        return this.processed.get(pos);
+        return this.processed.get(pos.toLong());
     }
 
     @Override
@@ -297,7 +364,7 @@ public void onChunkChanged(final BlockPos pos, final IBlockState newState) {
         proceed(pos, newState, false);
     }
 
-    private void unmarkRemoval(final BlockPos pos) {
+    private void unmarkRemoval(final long pos) {
         this.markedRemoved.remove(pos);
         if (!this.proxies.isEmpty()) {
             final Proxy proxy = this.proxies.peek();
@@ -308,25 +375,27 @@ private void unmarkRemoval(final BlockPos pos) {
     }
 
     void unmarkRemoval(final BlockPos pos, final TileEntity tileEntity) {
-        unmarkRemoval(pos);
+        final long key = pos.toLong();
+        unmarkRemoval(key);
         if (tileEntity != null) {
-            this.queuedRemovals.remove(pos, tileEntity);
-            final TileEntity removed = this.affectedTileEntities.remove(pos);
+            removeTile(this.queuedRemovals, key, tileEntity);
+            final TileEntity removed = this.affectedTileEntities.remove(key);
             if (removed != null) {
-                this.affectedTileEntities.put(pos, tileEntity);
+                this.affectedTileEntities.put(key, tileEntity);
             }
         }
     }
 
     void proceedWithRemoval(final BlockPos targetPosition, final TileEntity removed) {
-        this.markedRemoved.remove(targetPosition);
-        final TileEntity existing = this.affectedTileEntities.remove(targetPosition);
+        final long key = targetPosition.toLong();
+        this.markedRemoved.remove(key);
+        final TileEntity existing = this.affectedTileEntities.remove(key);
         // existing should be removed
         // Always remove the tile entity from various lists.
         if (removed != null) {
-            this.queuedRemovals.remove(targetPosition, removed);
-            if (this.queuedTiles.containsEntry(targetPosition, removed)) {
-                markRemovedTile(targetPosition);
+            removeTile(this.queuedRemovals, key, removed);
+            if (containsTile(this.queuedTiles, key, removed)) {
+                markRemovedTile(key);
             } else {
                 removeTileEntityFromWorldAndChunk(removed);
             }
@@ -351,13 +420,13 @@ private void removeTileEntityFromWorldAndChunk(final TileEntity removed) {
     }
 
     void proceedWithAdd(final BlockPos targetPos, final TileEntity added) {
-        final boolean removed = this.queuedTiles.remove(targetPos, added);
+        final boolean removed = removeTile(this.queuedTiles, targetPos.toLong(), added);
         if (!removed) {
             // someone else popped for us?
             System.err.println("Unknown removal for: " + targetPos + " with tile entity: " + added);
         }
         unmarkRemoval(targetPos, added);
-        final TileEntity existing = this.affectedTileEntities.remove(targetPos);
+        final TileEntity existing = this.affectedTileEntities.remove(targetPos.toLong());
         if (existing != null && existing != added) {
             ((TileEntityBridge) existing).bridge$setCaptured(false);
             existing.invalidate();
@@ -379,46 +448,49 @@ void proceedWithAdd(final BlockPos targetPos, final TileEntity added) {
     }
 
     public List<TileEntity> getQueuedTiles(final BlockPos pos) {
-        return this.queuedTiles.get(pos);
+        final List<TileEntity> tiles = this.queuedTiles.get(pos.toLong());
+        return tiles == null ? Collections.emptyList() : tiles;
     }
 
     public boolean isTileQueued(final BlockPos pos, final TileEntity tileEntity) {
-        return this.queuedTiles.containsEntry(pos, tileEntity);
+        return containsTile(this.queuedTiles, pos.toLong(), tileEntity);
     }
 
     public boolean isTileQueuedForRemoval(final BlockPos pos, final TileEntity tileEntity) {
-        return this.queuedRemovals.containsEntry(pos, tileEntity);
+        return containsTile(this.queuedRemovals, pos.toLong(), tileEntity);
     }
 
     void queueTileAddition(final BlockPos pos, final TileEntity added) {
+        final long key = pos.toLong();
         // We want to provide the "added tile entity" to the proxy so any requests for this
         // new tile entity will succeed in returning the appropriate one.
-        this.affectedTileEntities.put(pos, added);
+        this.affectedTileEntities.put(key, added);
         // Also, remove the position from being marked as removed.
-        this.markedRemoved.remove(pos);
+        this.markedRemoved.remove(key);
         if (added != null && added.getWorld() != this.processingWorld) {
             added.setWorld(this.processingWorld);
         }
-        this.queuedTiles.put(pos, added);
+        putTile(this.queuedTiles, key, added);
     }
 
     void unQueueTileAddition(final BlockPos pos, final TileEntity added) {
-        final TileEntity remove = this.affectedTileEntities.remove(pos);
+        final long key = pos.toLong();
+        final TileEntity remove = this.affectedTileEntities.remove(key);
         if (remove != added) {
-            this.affectedTileEntities.put(pos, remove);
+            this.affectedTileEntities.put(key, remove);
         }
-        this.queuedTiles.remove(pos, added);
+        removeTile(this.queuedTiles, key, added);
     }
 
     void queueRemoval(final TileEntity removed) {
         if (removed != null) {
             // Set the tile entity to the affected tile entities so it is retrieved
             // by the hooks in WorldServerMixin for getting tiles for removal.
-            final BlockPos pos = removed.getPos();
+            final long pos = removed.getPos().toLong();
             this.affectedTileEntities.put(pos, null);
             markRemovedTile(pos);
-            if (!this.queuedRemovals.containsEntry(pos, removed)) {
-                this.queuedRemovals.put(pos, removed);
+            if (!containsTile(this.queuedRemovals, pos, removed)) {
+                putTile(this.queuedRemovals, pos, removed);
             }
         }
     }
@@ -430,17 +502,18 @@ void queueReplacement(final TileEntity added, final TileEntity removed) {
         // retrieved by the target world will return the new added tile entity
         // without it actually being added yet to the world/chunk. Likewise, it will
         // not be removed from the world/chunk until the BlockTransaction is processed.
-        final TileEntity existing = this.affectedTileEntities.put(removed.getPos(), added);
-        this.markedRemoved.remove(removed.getPos());
+        final long removedPos = removed.getPos().toLong();
+        final TileEntity existing = this.affectedTileEntities.put(removedPos, added);
+        this.markedRemoved.remove(removedPos);
         if (existing != null && existing != removed) {
             // Someone went and changed? Maybe it's already removed?
-            this.queuedRemovals.put(existing.getPos(), existing);
+            putTile(this.queuedRemovals, existing.getPos().toLong(), existing);
         }
-        this.queuedTiles.put(added.getPos(), added);
+        putTile(this.queuedTiles, added.getPos().toLong(), added);
     }
 
     public boolean succeededInAdding(final BlockPos pos, final TileEntity tileEntity) {
-        final TileEntity removed = this.affectedTileEntities.remove(pos);
+        final TileEntity removed = this.affectedTileEntities.remove(pos.toLong());
         if (removed != null && removed != tileEntity) {
             System.err.println("Removed a tile entity that wasn't expected to be removed: " + removed);
             return false;
@@ -449,15 +522,16 @@ public boolean succeededInAdding(final BlockPos pos, final TileEntity tileEntity
     }
 
     void pushTile(final BlockPos pos, final TileEntity tile) {
-        this.affectedTileEntities.put(pos, tile);
+        final long key = pos.toLong();
+        this.affectedTileEntities.put(key, tile);
         if (tile == null) {
-            markRemovedTile(pos);
+            markRemovedTile(key);
         } else {
-            unmarkRemoval(pos);
+            unmarkRemoval(key);
         }
     }
 
-    private void markRemovedTile(final BlockPos pos) {
+    private void markRemovedTile(final long pos) {
         final boolean added = this.markedRemoved.add(pos);
         if (added) {
             // We want the tile entity to be null at the position, without being able to retrieve it
@@ -480,18 +554,25 @@ public WorldServerBridge getWorld() {
 
     public void addToPrinter(final PrettyPrinter printer) {
         printer.add(" BlockStates");
-        this.processed.forEach((pos, state) -> printer.add("  %s : %s", pos, state));
+        for (final Long2ObjectMap.Entry<IBlockState> entry : this.processed.long2ObjectEntrySet()) {
+            printer.add("  %s : %s", BlockPos.fromLong(entry.getLongKey()), entry.getValue());
+        }
         printer.add()
             .add(" MarkedRemoved");
-        this.markedRemoved.forEach(pos -> printer.add("  - %s", pos));
+        for (final LongIterator iterator = this.markedRemoved.iterator(); iterator.hasNext(); ) {
+            printer.add("  - %s", BlockPos.fromLong(iterator.nextLong()));
+        }
         printer.add()
             .add(" Affected Tiles");
-        this.affectedTileEntities.forEach((pos, tileEntity) -> printer.add("  - %s : %s", pos, tileEntity == null ? "null" : ((TileEntityBridge) tileEntity).bridge$getPrettyPrinterString()));
+        for (final Long2ObjectMap.Entry<TileEntity> entry : this.affectedTileEntities.long2ObjectEntrySet()) {
+            final TileEntity tileEntity = entry.getValue();
+            printer.add("  - %s : %s", BlockPos.fromLong(entry.getLongKey()), tileEntity == null ? "null" : ((TileEntityBridge) tileEntity).bridge$getPrettyPrinterString());
+        }
         printer.add()
             .add(" QueuedTiles");
-        this.queuedTiles.forEach((pos, tileEntity) -> printer.add("  - %s : %s", pos, tileEntity == null ? "null" : ((TileEntityBridge) tileEntity).bridge$getPrettyPrinterString()));
+        addTiles(printer, this.queuedTiles, "  - %s : %s");
         printer.add().add(" QueuedRemovals");
-        this.queuedRemovals.forEach(((pos, tileEntity) -> printer.add("  - %s: %s", pos, tileEntity == null ? "null" :  ((TileEntityBridge) tileEntity).bridge$getPrettyPrinterString())));
+        addTiles(printer, this.queuedRemovals, "  - %s: %s");
     }
 
     @Override
@@ -544,8 +625,8 @@ public TileEntity getQueuedTileForRemoval(final BlockPos pos) {
         if (this.queuedRemovals.isEmpty()) {
             return null;
         }
-        final List<TileEntity> tiles = this.queuedRemovals.get(pos);
-        if (tiles.isEmpty()) {
+        final List<TileEntity> tiles = this.queuedRemovals.get(pos.toLong());
+        if (tiles == null || tiles.isEmpty()) {
             return null;
         }
         // We always want to return the first tile that was queued, because when it's actually processed
@@ -576,10 +657,10 @@ public static final class Proxy implements AutoCloseable {
 
         private final SpongeProxyBlockAccess proxyAccess;
         @Nullable Exception stack_debug;
-        @Nullable private LinkedHashMap<BlockPos, IBlockState> processed;
-        @Nullable private Set<BlockPos> newBlocks;
-        @Nullable private Set<BlockPos> markedRemovedTiles;
-        @Nullable private LinkedHashMap<BlockPos, TileEntity> removedTiles;
+        // Taken from the proxy access when first needed and handed back once this proxy is popped
+        @Nullable private Long2ObjectLinkedOpenHashMap<IBlockState> processed;
+        @Nullable private LongOpenHashSet newBlocks;
+        @Nullable private LongOpenHashSet markedRemovedTiles;
 
         Proxy(final SpongeProxyBlockAccess spongeProxyBlockAccess) {
             this.proxyAccess = spongeProxyBlockAccess;
@@ -590,6 +671,20 @@ public void close() {
             this.proxyAccess.popProxy(this);
         }
 
+        void release() {
+            if (this.processed != null) {
+                this.proxyAccess.releaseStates(this.processed);
+                this.processed = null;
+            }
+            if (this.newBlocks != null) {
+                this.proxyAccess.releasePositions(this.newBlocks);
+                this.newBlocks = null;
+            }
+            if (this.markedRemovedTiles != null) {
+                this.proxyAccess.releasePositions(this.markedRemovedTiles);
+                this.markedRemovedTiles = null;
+            }
+        }
 
         boolean hasNew() {
             return this.newBlocks != null && !this.newBlocks.isEmpty();
@@ -599,40 +694,36 @@ boolean hasStored() {
             return this.processed != null && !this.processed.isEmpty();
         }
 
-        void markNew(final BlockPos pos) {
+        void markNew(final long pos) {
             if (this.newBlocks == null) {
-                this.newBlocks = new HashSet<>();
+                this.newBlocks = this.proxyAccess.takePositions();
             }
             this.newBlocks.add(pos);
         }
 
-        boolean isNew(final BlockPos pos) {
+        boolean isNew(final long pos) {
             return this.newBlocks != null && this.newBlocks.contains(pos);
         }
 
-        boolean isStored(final BlockPos pos) {
+        boolean isStored(final long pos) {
             return this.processed != null && this.processed.containsKey(pos);
         }
 
 
-        void store(final BlockPos pos, final IBlockState state) {
+        void store(final long pos, final IBlockState state) {
             if (this.processed == null) {
-                this.processed = new LinkedHashMap<>();
+                this.processed = this.proxyAccess.takeStates();
             }
             this.processed.put(pos, state);
         }
 
-        boolean isMarkedForRemoval(final BlockPos pos) {
+        boolean isMarkedForRemoval(final long pos) {
             return this.markedRemovedTiles != null && this.markedRemovedTiles.contains(pos);
         }
 
-        public boolean isStoredRemoval(final BlockPos pos) {
-            return this.removedTiles != null && this.removedTiles.containsKey(pos);
-        }
-
-        void storeMarkedRemoval(final BlockPos pos) {
+        void storeMarkedRemoval(final long pos) {
             if (this.markedRemovedTiles == null) {
-                this.markedRemovedTiles = new HashSet<>();
+                this.markedRemovedTiles = this.proxyAccess.takePositions();
             }
             this.markedRemovedTiles.add(pos);
         }
@@ -641,7 +732,7 @@ boolean hasRemovals() {
             return this.markedRemovedTiles != null && !this.markedRemovedTiles.isEmpty();
         }
 
-        void unmarkRemoval(final BlockPos pos) {
+        void unmarkRemoval(final long pos) {
             this.markedRemovedTiles.remove(pos);
         }
     }
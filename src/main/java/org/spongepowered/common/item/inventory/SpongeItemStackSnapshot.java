@@ -209,7 +209,7 @@ public DataContainer toContainer() {
             container.set(Constants.Sponge.DATA_MANIPULATORS, DataUtil.getSerializedImmutableManipulatorList(this.manipulators));
         }
         if (this.compound != null) {
-            container.set(Constants.Sponge.UNSAFE_NBT, NbtTranslator.getInstance().translateFrom(this.compound));
+            container.set(Constants.Sponge.UNSAFE_NBT, NbtTranslator.getInstance().translateLazily(this.compound));
         }
         return container;
     }
@@ -36,10 +36,13 @@
 import org.spongepowered.asm.mixin.Final;
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.Shadow;
+import org.spongepowered.common.SpongeImpl;
 import org.spongepowered.common.bridge.world.chunk.storage.AnvilChunkLoaderBridge;
+import org.spongepowered.common.world.storage.MappedChunkDataStream;
 import org.spongepowered.common.world.storage.SpongeChunkDataStream;
 import org.spongepowered.common.world.storage.WorldStorageUtil;
 
+import java.nio.file.Path;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 
@@ -56,7 +59,11 @@ public ChunkDataStream getGeneratedChunks() {
         if (!(this.chunkLoader instanceof AnvilChunkLoaderBridge)) {
             throw new UnsupportedOperationException("unknown chunkLoader");
         }
-        return new SpongeChunkDataStream(((AnvilChunkLoaderBridge) this.chunkLoader).bridge$getWorldDir());
+        final Path worldDir = ((AnvilChunkLoaderBridge) this.chunkLoader).bridge$getWorldDir();
+        if (SpongeImpl.getGlobalConfigAdapter().getConfig().getWorld().isMappedChunkDataStream()) {
+            return new MappedChunkDataStream(worldDir);
+        }
+        return new SpongeChunkDataStream(worldDir);
     }
 
     @Override
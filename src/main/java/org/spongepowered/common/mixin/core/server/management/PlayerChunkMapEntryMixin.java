@@ -31,13 +31,17 @@
 import net.minecraft.server.management.PlayerChunkMapEntry;
 import net.minecraft.util.math.ChunkPos;
 import net.minecraft.world.chunk.Chunk;
+import net.minecraft.world.gen.ChunkProviderServer;
 import org.spongepowered.asm.mixin.Final;
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.Shadow;
 import org.spongepowered.asm.mixin.injection.At;
 import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.Redirect;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+import org.spongepowered.common.SpongeImpl;
 import org.spongepowered.common.bridge.server.management.PlayerChunkMapEntryBridge;
+import org.spongepowered.common.bridge.world.chunk.ChunkProviderServerBridge;
 
 import java.util.List;
 
@@ -69,6 +73,40 @@ public abstract class PlayerChunkMapEntryMixin implements PlayerChunkMapEntryBri
         }
     }
 
+    @Redirect(method = "providePlayerChunk",
+        at = @At(value = "INVOKE", target = "Lnet/minecraft/world/gen/ChunkProviderServer;provideChunk(II)Lnet/minecraft/world/chunk/Chunk;"),
+        require = 0)
+    @Nullable
+    private Chunk impl$provideChunkAsync(final ChunkProviderServer provider, final int x, final int z) {
+        return this.impl$getChunk(provider, x, z, true);
+    }
+
+    @Redirect(method = "providePlayerChunk",
+        at = @At(value = "INVOKE", target = "Lnet/minecraft/world/gen/ChunkProviderServer;loadChunk(II)Lnet/minecraft/world/chunk/Chunk;"),
+        require = 0)
+    @Nullable
+    private Chunk impl$loadChunkAsync(final ChunkProviderServer provider, final int x, final int z) {
+        return this.impl$getChunk(provider, x, z, false);
+    }
+
+    /**
+     * Returns the chunk if it's loaded, otherwise starts loading it off the
+     * main thread. The player chunk map asks again every tick until the
+     * chunk is there.
+     */
+    @Nullable
+    private Chunk impl$getChunk(final ChunkProviderServer provider, final int x, final int z, final boolean generate) {
+        if (!SpongeImpl.getGlobalConfigAdapter().getConfig().getWorld().isAsyncPlayerChunkLoading()) {
+            return generate ? provider.provideChunk(x, z) : provider.loadChunk(x, z);
+        }
+        final Chunk chunk = provider.getLoadedChunk(x, z);
+        if (chunk != null) {
+            return chunk;
+        }
+        ((ChunkProviderServerBridge) provider).bridge$loadChunkAsync(x, z, generate);
+        return null;
+    }
+
     @Override
     public void bridge$markBiomesForUpdate() {
         this.impl$updateBiomes = true;
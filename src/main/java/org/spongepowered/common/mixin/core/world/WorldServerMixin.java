@@ -259,7 +259,7 @@ private void onSetWorld(final WorldProvider worldProvider, final World worldIn)
         // Mods such as FuturePack replace worldInfo with a custom one for separate world time.
         // This change is not needed as all worlds use separate save handlers.
         this.worldInfo = info;
-        this.impl$timings = new WorldTimingsHandler((WorldServer) (Object) this);
+        this.impl$timings = new WorldTimingsHandler((WorldServer) (Object) this, dimensionId);
         this.impl$dimensionId = dimensionId;
         this.prevWeather = ((org.spongepowered.api.world.World) this).getWeather();
         this.impl$weatherStartTime = this.worldInfo.getWorldTotalTime();
@@ -837,6 +837,7 @@ public void updateEntities() {
         TrackingUtil.tickWorldProvider(this);
         // Sponge end
         super.updateEntities();
+        this.impl$timings.stopTick(); // Sponge - the world tick ends with the entity updates
     }
 
     // This ticks pending updates to blocks, Requires mixin for NextTickListEntry so we use the correct tracking
@@ -2355,6 +2356,11 @@ public void markChunkDirty(final BlockPos pos, final TileEntity unusedTileEntity
         TimingHistory.tileEntityTicks += this.loadedTileEntityList.size();
     }
 
+    @Inject(method = "tick", at = @At("HEAD"))
+    private void impl$startWorldTickDuration(final CallbackInfo ci) {
+        this.impl$timings.startTick();
+    }
+
     @Inject(method = "tick",
         at = @At(value = "INVOKE_STRING",
             target = "Lnet/minecraft/profiler/Profiler;endStartSection(Ljava/lang/String;)V",
@@ -29,6 +29,8 @@
 import com.flowpowered.math.vector.Vector3i;
 import com.google.common.base.MoreObjects;
 import com.google.common.base.Predicate;
+import it.unimi.dsi.fastutil.ints.Int2LongMap;
+import it.unimi.dsi.fastutil.shorts.Short2LongMap;
 import net.minecraft.block.Block;
 import net.minecraft.block.material.Material;
 import net.minecraft.block.state.IBlockState;
@@ -97,7 +99,6 @@
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
-import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -660,10 +661,10 @@ private SpongeBlockSnapshot createSpongeBlockSnapshot(
     public void bridge$addTrackedBlockPosition(final Block block, final BlockPos pos, final User user, final PlayerTracker.Type trackerType) { }
 
     @Override
-    public Map<Integer, PlayerTracker> bridge$getTrackedIntPlayerPositions() { return Collections.emptyMap(); }
+    public Int2LongMap bridge$getTrackedIntPlayerPositions() { return PlayerTracker.EMPTY_INT_POSITIONS; }
 
     @Override
-    public Map<Short, PlayerTracker> bridge$getTrackedShortPlayerPositions() { return Collections.emptyMap(); }
+    public Short2LongMap bridge$getTrackedShortPlayerPositions() { return PlayerTracker.EMPTY_SHORT_POSITIONS; }
 
     @Override
     public Optional<User> bridge$getBlockOwner(final BlockPos pos) { return Optional.empty(); }
@@ -684,10 +685,10 @@ private SpongeBlockSnapshot createSpongeBlockSnapshot(
     public void bridge$setBlockCreator(final BlockPos pos, @Nullable final UUID uuid) { }
 
     @Override
-    public void bridge$setTrackedIntPlayerPositions(final Map<Integer, PlayerTracker> trackedPositions) { }
+    public void bridge$setTrackedIntPlayerPositions(final Int2LongMap trackedPositions) { }
 
     @Override
-    public void bridge$setTrackedShortPlayerPositions(final Map<Short, PlayerTracker> trackedPositions) { }
+    public void bridge$setTrackedShortPlayerPositions(final Short2LongMap trackedPositions) { }
 
     // Continuing the rest of the implementation
 
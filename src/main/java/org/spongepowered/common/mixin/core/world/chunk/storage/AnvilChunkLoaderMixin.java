@@ -25,6 +25,10 @@
 package org.spongepowered.common.mixin.core.world.chunk.storage;
 
 import com.flowpowered.math.vector.Vector3d;
+import it.unimi.dsi.fastutil.ints.Int2LongMap;
+import it.unimi.dsi.fastutil.ints.Int2LongOpenHashMap;
+import it.unimi.dsi.fastutil.shorts.Short2LongMap;
+import it.unimi.dsi.fastutil.shorts.Short2LongOpenHashMap;
 import net.minecraft.entity.Entity;
 import net.minecraft.entity.EntityList;
 import net.minecraft.entity.item.EntityMinecart;
@@ -35,6 +39,7 @@
 import net.minecraft.world.World;
 import net.minecraft.world.chunk.Chunk;
 import net.minecraft.world.chunk.storage.AnvilChunkLoader;
+import net.minecraft.world.chunk.storage.RegionFile;
 import net.minecraft.world.chunk.storage.RegionFileCache;
 import net.minecraft.world.storage.ThreadedFileIOBase;
 import org.apache.logging.log4j.Logger;
@@ -63,6 +68,7 @@
 import org.spongepowered.common.bridge.world.WorldBridge;
 import org.spongepowered.common.bridge.world.chunk.ChunkBridge;
 import org.spongepowered.common.bridge.world.chunk.storage.AnvilChunkLoaderBridge;
+import org.spongepowered.common.config.category.GlobalWorldCategory;
 import org.spongepowered.common.entity.PlayerTracker;
 import org.spongepowered.common.event.ShouldFire;
 import org.spongepowered.common.registry.type.entity.EntityTypeRegistryModule;
@@ -70,21 +76,38 @@
 import org.spongepowered.common.util.QueuedChunk;
 import org.spongepowered.common.util.VecHelper;
 import org.spongepowered.common.util.WorldChunkPos;
+import org.spongepowered.common.world.storage.ChunkSaveExecutor;
 
 import java.io.File;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Collections;
-import java.util.HashMap;
+import java.util.Comparator;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
 
 @Mixin(AnvilChunkLoader.class)
 public abstract class AnvilChunkLoaderMixin implements AnvilChunkLoaderBridge {
 
+    private static final Comparator<QueuedChunk> REGION_ORDER = Comparator
+            .<QueuedChunk>comparingInt(chunk -> chunk.coords.x >> 5)
+            .thenComparingInt(chunk -> chunk.coords.z >> 5);
+
     private ConcurrentLinkedQueue<QueuedChunk> impl$queue = new ConcurrentLinkedQueue<>();
     private final Object impl$lock = new Object();
+    // Only one thread may write chunks of this loader at a time, otherwise an
+    // older copy of a chunk could be written after a newer one
+    private final Object impl$writeLock = new Object();
+    private final AtomicInteger impl$queuedChunks = new AtomicInteger();
+    // The queued and written saves, by the position of the chunk within its region file
+    private final AtomicLongArray impl$saveCounts = new AtomicLongArray(32 * 32);
 
     @Shadow @Final private static Logger LOGGER;
     @Shadow @Final private Map<ChunkPos, NBTTagCompound> chunksToSave;
@@ -105,25 +128,21 @@ public abstract class AnvilChunkLoaderMixin implements AnvilChunkLoaderBridge {
             trackedNbt.setTag(Constants.Sponge.SPONGE_BLOCK_POS_TABLE, positions);
             compound.setTag(Constants.Sponge.SPONGE_DATA, trackedNbt);
 
-            for (final Map.Entry<Short, PlayerTracker> mapEntry : chunk.bridge$getTrackedShortPlayerPositions().entrySet()) {
-                final Short pos = mapEntry.getKey();
-                final int ownerUniqueIdIndex = mapEntry.getValue().ownerIndex;
-                final int notifierUniqueIdIndex = mapEntry.getValue().notifierIndex;
+            for (final Short2LongMap.Entry mapEntry : chunk.bridge$getTrackedShortPlayerPositions().short2LongEntrySet()) {
+                final long tracked = mapEntry.getLongValue();
                 final NBTTagCompound valueNbt = new NBTTagCompound();
-                valueNbt.setInteger("owner", ownerUniqueIdIndex);
-                valueNbt.setInteger("notifier", notifierUniqueIdIndex);
-                valueNbt.setShort("pos", pos);
+                valueNbt.setInteger("owner", PlayerTracker.getOwnerIndex(tracked));
+                valueNbt.setInteger("notifier", PlayerTracker.getNotifierIndex(tracked));
+                valueNbt.setShort("pos", mapEntry.getShortKey());
                 positions.appendTag(valueNbt);
             }
 
-            for (final Map.Entry<Integer, PlayerTracker> mapEntry : chunk.bridge$getTrackedIntPlayerPositions().entrySet()) {
-                final Integer pos = mapEntry.getKey();
-                final int ownerUniqueIdIndex = mapEntry.getValue().ownerIndex;
-                final int notifierUniqueIdIndex = mapEntry.getValue().notifierIndex;
+            for (final Int2LongMap.Entry mapEntry : chunk.bridge$getTrackedIntPlayerPositions().int2LongEntrySet()) {
+                final long tracked = mapEntry.getLongValue();
                 final NBTTagCompound valueNbt = new NBTTagCompound();
-                valueNbt.setInteger("owner", ownerUniqueIdIndex);
-                valueNbt.setInteger("notifier", notifierUniqueIdIndex);
-                valueNbt.setInteger("ipos", pos);
+                valueNbt.setInteger("owner", PlayerTracker.getOwnerIndex(tracked));
+                valueNbt.setInteger("notifier", PlayerTracker.getNotifierIndex(tracked));
+                valueNbt.setInteger("ipos", mapEntry.getIntKey());
                 positions.appendTag(valueNbt);
             }
         }
@@ -133,28 +152,30 @@ public abstract class AnvilChunkLoaderMixin implements AnvilChunkLoaderBridge {
     private void onReadChunkFromNBT(final World worldIn, final NBTTagCompound compound, final CallbackInfoReturnable<net.minecraft.world.chunk.Chunk> ci, final int chunkX,
       final int chunkZ, final net.minecraft.world.chunk.Chunk chunkIn) {
         if (compound.hasKey(Constants.Sponge.SPONGE_DATA)) {
-            final Map<Integer, PlayerTracker> trackedIntPlayerPositions = new HashMap<>();
-            final Map<Short, PlayerTracker> trackedShortPlayerPositions = new HashMap<>();
             final NBTTagList positions = compound.getCompoundTag(Constants.Sponge.SPONGE_DATA).getTagList(Constants.Sponge.SPONGE_BLOCK_POS_TABLE, 10);
+            // Nearly all tracked positions are below y 256 and stored by their short key
+            final Int2LongMap trackedIntPlayerPositions = new Int2LongOpenHashMap(0);
+            final Short2LongMap trackedShortPlayerPositions = new Short2LongOpenHashMap(positions.tagCount());
             final ChunkBridge chunk = (ChunkBridge) chunkIn;
             for (int i = 0; i < positions.tagCount(); i++) {
                 final NBTTagCompound valueNbt = positions.getCompoundTagAt(i);
                 final boolean isShortPos = valueNbt.hasKey("pos");
-                final PlayerTracker tracker = new PlayerTracker();
+                int ownerIndex = -1;
+                int notifierIndex = -1;
                 if (valueNbt.hasKey("owner")) {
-                    tracker.ownerIndex = valueNbt.getInteger("owner");
+                    ownerIndex = valueNbt.getInteger("owner");
                 } else if (valueNbt.hasKey("uuid")) { // Migrate old data, remove in future
-                    tracker.ownerIndex = valueNbt.getInteger("uuid");
+                    ownerIndex = valueNbt.getInteger("uuid");
                 }
                 if (valueNbt.hasKey("notifier")) {
-                    tracker.notifierIndex = valueNbt.getInteger("notifier");
+                    notifierIndex = valueNbt.getInteger("notifier");
                 }
 
-                if (tracker.notifierIndex != -1 || tracker.ownerIndex != -1) {
+                if (notifierIndex != -1 || ownerIndex != -1) {
                     if (isShortPos) {
-                        trackedShortPlayerPositions.put(valueNbt.getShort("pos"), tracker);
+                        trackedShortPlayerPositions.put(valueNbt.getShort("pos"), PlayerTracker.pack(ownerIndex, notifierIndex));
                     } else {
-                        trackedIntPlayerPositions.put(valueNbt.getInteger("ipos"), tracker);
+                        trackedIntPlayerPositions.put(valueNbt.getInteger("ipos"), PlayerTracker.pack(ownerIndex, notifierIndex));
                     }
                 }
             }
@@ -237,10 +258,45 @@ private void onReadChunkFromNBT(final World worldIn, final NBTTagCompound compou
     protected void addChunkToPending(final ChunkPos pos, final NBTTagCompound compound) {
         synchronized (this.impl$lock) {
             this.chunksToSave.put(pos, compound);
+            this.impl$saveCounts.incrementAndGet(impl$regionIndex(pos.x, pos.z));
         }
         this.impl$queue.add(new QueuedChunk(pos, compound));
+        this.impl$queuedChunks.incrementAndGet();
+        ChunkSaveExecutor.onQueued();
 
         ThreadedFileIOBase.getThreadedIOInstance().queueIO((AnvilChunkLoader) (Object) this);
+
+        // Sponge - Apply backpressure by waiting for the io thread while too many chunks of this world are queued
+        final GlobalWorldCategory worldCategory = SpongeImpl.getGlobalConfigAdapter().getConfig().getWorld();
+        final int maxQueued = worldCategory.getMaxQueuedChunkSaves();
+        if (worldCategory.getChunkSaveThreads() > 0 && maxQueued > 0 && this.impl$queuedChunks.get() > maxQueued) {
+            this.impl$awaitQueuedChunks(maxQueued);
+        }
+    }
+
+    private void impl$awaitQueuedChunks(final int maxQueued) {
+        synchronized (this.impl$queuedChunks) {
+            while (this.impl$queuedChunks.get() > maxQueued) {
+                try {
+                    // Timed, so a missed wake up only costs a few milliseconds
+                    this.impl$queuedChunks.wait(10);
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private void impl$onDequeued() {
+        this.impl$queuedChunks.decrementAndGet();
+        ChunkSaveExecutor.onDequeued();
+    }
+
+    private void impl$notifyDequeued() {
+        synchronized (this.impl$queuedChunks) {
+            this.impl$queuedChunks.notifyAll();
+        }
     }
 
     /**
@@ -250,58 +306,126 @@ protected void addChunkToPending(final ChunkPos pos, final NBTTagCompound compou
      */
     @Overwrite
     public boolean writeNextIO() {
-        final QueuedChunk chunk = this.impl$queue.poll();
-        if (chunk == null) {
+        // Sponge - The io thread and a flush on the server thread may both get here
+        synchronized (this.impl$writeLock) {
+            final GlobalWorldCategory worldCategory = SpongeImpl.getGlobalConfigAdapter().getConfig().getWorld();
+            if (worldCategory.getChunkSaveThreads() > 0) {
+                return this.impl$writeNextBatch(worldCategory.getChunkSaveThreads(), worldCategory.getChunkSaveBatchSize());
+            }
+
+            final QueuedChunk chunk = this.impl$queue.poll();
+            if (chunk == null) {
+                if (this.flushing) {
+                    LOGGER.info("ThreadedAnvilChunkStorage ({}): All chunks are saved", new Object[] {this.chunkSaveLocation.getName()});
+                }
+
+                return false;
+            }
+            this.impl$onDequeued();
+            if (chunk.compound != null) {
+                this.impl$writeChunkData(chunk.coords, chunk.compound);
+                ChunkSaveExecutor.onWritten(0);
+            }
+            this.impl$removeFromPending(chunk);
+            this.impl$notifyDequeued();
+            return true;
+        }
+    }
+
+    /**
+     * Takes a batch of chunks from the queue, compresses them in parallel and
+     * writes them sorted by region file, so each region file is visited once
+     * per batch. Only called while holding the write lock.
+     */
+    private boolean impl$writeNextBatch(final int threads, final int batchSize) {
+        final List<QueuedChunk> batch = new ArrayList<>(Math.min(batchSize, 64));
+        QueuedChunk queued;
+        while (batch.size() < batchSize && (queued = this.impl$queue.poll()) != null) {
+            this.impl$onDequeued();
+            batch.add(queued);
+        }
+        if (batch.isEmpty()) {
             if (this.flushing) {
                 LOGGER.info("ThreadedAnvilChunkStorage ({}): All chunks are saved", new Object[] {this.chunkSaveLocation.getName()});
             }
 
             return false;
-        } else {
-            final ChunkPos chunkpos = chunk.coords;
-            boolean lvt_3_1_;
+        }
 
-            try {
-                // this.field_193415_c.add(chunkpos);
-                final NBTTagCompound nbttagcompound = chunk.compound;
-
-                if (nbttagcompound != null) {
-                    int attempts = 0;
-                    Exception laste = null;
-                    while (attempts++ < 5) {
-                        try {
-                            this.writeChunkData(chunkpos, nbttagcompound);
-                            laste = null;
-                            break;
-                        } catch (final Exception exception) {
-                            // LOGGER.error((String)"Failed to save chunk",
-                            // (Throwable)exception);
-                            laste = exception;
-                        }
-                        try {
-                            Thread.sleep(10);
-                        } catch (final InterruptedException e) {
-                            e.printStackTrace();
-                        }
-                    }
-                    if (laste != null) {
-                        laste.printStackTrace();
-                    }
-                }
+        // The sort is stable, so a newer copy of the same chunk is still written last
+        batch.sort(REGION_ORDER);
+        final List<CompletableFuture<byte[]>> compressed = new ArrayList<>(batch.size());
+        for (final QueuedChunk chunk : batch) {
+            compressed.add(chunk.compound == null ? null : impl$compress(chunk.compound, threads));
+        }
 
-                synchronized (this.impl$lock) {
-                    if (this.chunksToSave.get(chunkpos) == nbttagcompound) {
-                        this.chunksToSave.remove(chunkpos);
-                    }
+        for (int i = 0; i < batch.size(); i++) {
+            final QueuedChunk chunk = batch.get(i);
+            final CompletableFuture<byte[]> future = compressed.get(i);
+            if (future != null) {
+                final ChunkPos pos = chunk.coords;
+                try {
+                    final byte[] data = future.join();
+                    final RegionFile region = RegionFileCache.createOrLoadRegionFile(this.chunkSaveLocation, pos.x, pos.z);
+                    ((RegionFileAccessor) region).accessor$write(pos.x & 31, pos.z & 31, data, data.length);
+                    ChunkSaveExecutor.onWritten(data.length);
+                    this.impl$postSaveChunkEvent(pos);
+                } catch (final Exception e) {
+                    // Fall back to the regular write, which retries on failures
+                    this.impl$writeChunkData(pos, chunk.compound);
+                    ChunkSaveExecutor.onWritten(0);
                 }
-                // Sponge - This will not equal if a newer version is still
-                // pending
-                lvt_3_1_ = true;
-            } finally {
-                // this.field_193415_c.remove(chunkpos);
             }
+            this.impl$removeFromPending(chunk);
+        }
+        this.impl$notifyDequeued();
+        return true;
+    }
 
-            return lvt_3_1_;
+    private static CompletableFuture<byte[]> impl$compress(final NBTTagCompound compound, final int threads) {
+        try {
+            return ChunkSaveExecutor.compress(compound, threads);
+        } catch (final RejectedExecutionException e) {
+            // The pool was shut down because the thread count changed, the
+            // chunk is then written by the regular write below
+            final CompletableFuture<byte[]> future = new CompletableFuture<>();
+            future.completeExceptionally(e);
+            return future;
+        }
+    }
+
+    private void impl$writeChunkData(final ChunkPos pos, final NBTTagCompound compound) {
+        int attempts = 0;
+        Exception laste = null;
+        while (attempts++ < 5) {
+            try {
+                this.writeChunkData(pos, compound);
+                laste = null;
+                break;
+            } catch (final Exception exception) {
+                // LOGGER.error((String)"Failed to save chunk",
+                // (Throwable)exception);
+                laste = exception;
+            }
+            try {
+                Thread.sleep(10);
+            } catch (final InterruptedException e) {
+                e.printStackTrace();
+            }
+        }
+        if (laste != null) {
+            laste.printStackTrace();
+        }
+    }
+
+    private void impl$removeFromPending(final QueuedChunk chunk) {
+        synchronized (this.impl$lock) {
+            // Sponge - This will not equal if a newer version is still
+            // pending
+            if (this.chunksToSave.get(chunk.coords) == chunk.compound) {
+                this.chunksToSave.remove(chunk.coords);
+            }
+            this.impl$saveCounts.incrementAndGet(impl$regionIndex(chunk.coords.x, chunk.coords.z));
         }
     }
 
@@ -310,6 +434,20 @@ public boolean writeNextIO() {
         return this.chunkSaveLocation.toPath();
     }
 
+    @Override
+    public long bridge$getSaveCount(final int x, final int z) {
+        return this.impl$saveCounts.get(impl$regionIndex(x, z));
+    }
+
+    private static int impl$regionIndex(final int x, final int z) {
+        return (x & 31) | (z & 31) << 5;
+    }
+
+    @Override
+    public boolean bridge$isSavePending(final int x, final int z) {
+        return this.chunksToSave.containsKey(new ChunkPos(x, z));
+    }
+
     @Redirect(method = "saveChunk", at = @At(value = "INVOKE", target = "Lnet/minecraft/world/chunk/storage/AnvilChunkLoader;addChunkToPending"
             + "(Lnet/minecraft/util/math/ChunkPos;Lnet/minecraft/nbt/NBTTagCompound;)V"))
     private void impl$useWorldChunkPosWhenQueuing(final AnvilChunkLoader anvilChunkLoader, final ChunkPos pos, final NBTTagCompound compound,
@@ -319,6 +457,10 @@ public boolean writeNextIO() {
 
     @Inject(method = "writeChunkData", at = @At("RETURN"))
     private void impl$callSaveChunkEventPost(final ChunkPos pos, final NBTTagCompound compound, final CallbackInfo ci) {
+        this.impl$postSaveChunkEvent(pos);
+    }
+
+    private void impl$postSaveChunkEvent(final ChunkPos pos) {
         if (ShouldFire.SAVE_CHUNK_EVENT_POST) {
             final Cause cause = Cause.of(EventContext.empty(), Collections.singleton(SpongeImpl.getServer()));
             final Optional<UUID> worldUUID;
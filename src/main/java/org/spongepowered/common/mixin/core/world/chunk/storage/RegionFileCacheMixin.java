@@ -31,6 +31,7 @@
 import org.spongepowered.asm.mixin.Shadow;
 import org.spongepowered.asm.mixin.injection.At;
 import org.spongepowered.asm.mixin.injection.Redirect;
+import org.spongepowered.common.world.storage.AsyncChunkLoader;
 
 import java.io.DataInputStream;
 import java.io.File;
@@ -49,6 +50,11 @@ public abstract class RegionFileCacheMixin {
     @Overwrite
     public static DataInputStream getChunkInputStream(File worldDir, int chunkX, int chunkZ) {
         // Sponge start
+        // Serve chunks that were read ahead by the async chunk loader
+        final DataInputStream prefetched = AsyncChunkLoader.getPrefetched(worldDir, chunkX, chunkZ);
+        if (prefetched != null) {
+            return prefetched;
+        }
         // Use getRegionFileIfExists instead of createOrLoadRegionFile
         RegionFile regionfile = getRegionFileIfExists(worldDir, chunkX, chunkZ);
         if (regionfile == null) {
@@ -66,6 +66,7 @@
 import org.spongepowered.common.util.CachedLong2ObjectMap;
 import org.spongepowered.common.util.Constants;
 import org.spongepowered.common.world.SpongeEmptyChunk;
+import org.spongepowered.common.world.storage.AsyncChunkLoader;
 import org.spongepowered.common.world.storage.WorldStorageUtil;
 
 import java.io.ByteArrayOutputStream;
@@ -83,6 +84,7 @@ public abstract class ChunkProviderServerMixin implements ChunkProviderServerBri
     private boolean impl$forceChunkRequests = false;
     private long impl$chunkUnloadDelay = Constants.World.DEFAULT_CHUNK_UNLOAD_DELAY;
     private int impl$maxChunkUnloads = Constants.World.MAX_CHUNK_UNLOADS;
+    private AsyncChunkLoader impl$asyncChunkLoader;
 
     @Shadow @Final private WorldServer world;
     @Shadow @Final private IChunkLoader chunkLoader;
@@ -98,6 +100,7 @@ public abstract class ChunkProviderServerMixin implements ChunkProviderServerBri
     @Inject(method = "<init>", at = @At("RETURN"))
     private void impl$setUpCommonFields(
         final WorldServer worldObjIn, final IChunkLoader chunkLoaderIn, final IChunkGenerator chunkGeneratorIn, final CallbackInfo ci) {
+        this.impl$asyncChunkLoader = new AsyncChunkLoader((ChunkProviderServer) (Object) this);
         if (((WorldBridge) worldObjIn).bridge$isFake()) {
             return;
         }
@@ -115,6 +118,16 @@ public abstract class ChunkProviderServerMixin implements ChunkProviderServerBri
         return WorldStorageUtil.doesChunkExistSync(this.world, this.chunkLoader, chunkCoords);
     }
 
+    @Override
+    public IChunkLoader bridge$getChunkLoader() {
+        return this.chunkLoader;
+    }
+
+    @Override
+    public CompletableFuture<Optional<Chunk>> bridge$loadChunkAsync(final int x, final int z, final boolean generate) {
+        return this.impl$asyncChunkLoader.load(x, z, generate);
+    }
+
     /**
      * @author blood - October 25th, 2016
      * @reason Removes usage of droppedChunksSet in favor of unloaded flag.
@@ -53,6 +53,7 @@
 import org.spongepowered.common.event.tracking.PhaseTracker;
 import org.spongepowered.common.util.Constants;
 import org.spongepowered.common.world.WorldManager;
+import org.spongepowered.common.world.WorldPrefetch;
 import org.spongepowered.common.world.storage.SpongePlayerDataHandler;
 
 import java.io.File;
@@ -437,9 +438,11 @@ private String modifyMinecraftExceptionOutputIfIOException(final String message)
     }
 
     private boolean impl$loadSpongeDatFile(final WorldInfo info, final File file, boolean isCurrent) {
+        // Parsed ahead if the world is loaded at startup
+        final NBTTagCompound prefetched = WorldPrefetch.takeLevelData(file);
         final NBTTagCompound compound;
         try (final FileInputStream stream = new FileInputStream(file)) {
-            compound = CompressedStreamTools.readCompressed(stream);
+            compound = prefetched != null ? prefetched : CompressedStreamTools.readCompressed(stream);
         } catch (Exception ex) {
             PrettyPrinter errorPrinter = new PrettyPrinter()
                     .add("Unable to load level data from world [%s] for file [%s]!", info.getWorldName(), file.getName())
@@ -0,0 +1,191 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.mixin.plugin.entityactivation;
+
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongSet;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+
+/**
+ * A grid of the bounding boxes of the players in a world, bucketed by the
+ * chunk they are in. It's built once per tick so activation checks only
+ * have to look at the players in the chunks around a candidate, instead
+ * of sweeping the area around every player.
+ */
+public final class ActivationGrid {
+
+    private static final int BOX_SIZE = 6;
+
+    private final Long2ObjectOpenHashMap<IntArrayList> cells = new Long2ObjectOpenHashMap<>();
+    private final ArrayDeque<IntArrayList> freeCells = new ArrayDeque<>();
+    private double[] boxes = new double[BOX_SIZE * 16];
+    private int size;
+    // The largest distance of a box edge from the center the box is bucketed by
+    private double margin;
+
+    public void clear() {
+        for (final IntArrayList cell : this.cells.values()) {
+            cell.clear();
+            this.freeCells.add(cell);
+        }
+        this.cells.clear();
+        this.size = 0;
+        this.margin = 0;
+    }
+
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    public void add(final double minX, final double minY, final double minZ, final double maxX, final double maxY, final double maxZ) {
+        final int index = this.size++;
+        if (index * BOX_SIZE == this.boxes.length) {
+            this.boxes = Arrays.copyOf(this.boxes, this.boxes.length * 2);
+        }
+        final int offset = index * BOX_SIZE;
+        this.boxes[offset] = minX;
+        this.boxes[offset + 1] = minY;
+        this.boxes[offset + 2] = minZ;
+        this.boxes[offset + 3] = maxX;
+        this.boxes[offset + 4] = maxY;
+        this.boxes[offset + 5] = maxZ;
+
+        final double centerX = (minX + maxX) / 2;
+        final double centerZ = (minZ + maxZ) / 2;
+        this.margin = Math.max(this.margin, Math.max(maxX - centerX, maxZ - centerZ));
+        final long key = key(floor(centerX) >> 4, floor(centerZ) >> 4);
+        IntArrayList cell = this.cells.get(key);
+        if (cell == null) {
+            cell = this.freeCells.isEmpty() ? new IntArrayList() : this.freeCells.poll();
+            this.cells.put(key, cell);
+        }
+        cell.add(index);
+    }
+
+    /**
+     * Adds the chunks within the given range of any box. Each chunk is only
+     * added once, however many boxes it is in range of.
+     *
+     * @param range The horizontal range, in blocks
+     * @param chunks The set to add the packed chunk positions to
+     */
+    public void collectChunks(final int range, final LongSet chunks) {
+        for (int index = 0; index < this.size; index++) {
+            final int offset = index * BOX_SIZE;
+            final int minX = floor((this.boxes[offset] - range) / 16.0D);
+            final int maxX = floor((this.boxes[offset + 3] + range) / 16.0D);
+            final int minZ = floor((this.boxes[offset + 2] - range) / 16.0D);
+            final int maxZ = floor((this.boxes[offset + 5] + range) / 16.0D);
+            for (int x = minX; x <= maxX; x++) {
+                for (int z = minZ; z <= maxZ; z++) {
+                    chunks.add(key(x, z));
+                }
+            }
+        }
+    }
+
+    /**
+     * Gets whether any box, grown by the range horizontally and by the
+     * vertical range vertically, intersects the given box.
+     *
+     * @param range The horizontal range
+     * @param verticalRange The vertical range
+     * @return Whether any box is in range
+     */
+    public boolean isInRange(final double minX, final double minY, final double minZ, final double maxX, final double maxY, final double maxZ,
+            final int range, final int verticalRange) {
+        final double reach = range + this.margin;
+        final int cellMinX = floor(minX - reach) >> 4;
+        final int cellMaxX = floor(maxX + reach) >> 4;
+        final int cellMinZ = floor(minZ - reach) >> 4;
+        final int cellMaxZ = floor(maxZ + reach) >> 4;
+        for (int x = cellMinX; x <= cellMaxX; x++) {
+            for (int z = cellMinZ; z <= cellMaxZ; z++) {
+                final IntArrayList cell = this.cells.get(key(x, z));
+                if (cell == null) {
+                    continue;
+                }
+                for (int i = 0; i < cell.size(); i++) {
+                    final int offset = cell.getInt(i) * BOX_SIZE;
+                    // Same comparisons as AxisAlignedBB#intersects on the grown box
+                    if (this.boxes[offset] - range < maxX && this.boxes[offset + 3] + range > minX
+                            && this.boxes[offset + 1] - verticalRange < maxY && this.boxes[offset + 4] + verticalRange > minY
+                            && this.boxes[offset + 2] - range < maxZ && this.boxes[offset + 5] + range > minZ) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Gets whether the closest point of any box is within the given
+     * distance of a point.
+     *
+     * @param range The distance
+     * @return Whether any box is within the distance
+     */
+    public boolean isWithinDistance(final double x, final double y, final double z, final int range) {
+        final double reach = range + this.margin;
+        final int cellMinX = floor(x - reach) >> 4;
+        final int cellMaxX = floor(x + reach) >> 4;
+        final int cellMinZ = floor(z - reach) >> 4;
+        final int cellMaxZ = floor(z + reach) >> 4;
+        final double rangeSquared = (double) range * range;
+        for (int cellX = cellMinX; cellX <= cellMaxX; cellX++) {
+            for (int cellZ = cellMinZ; cellZ <= cellMaxZ; cellZ++) {
+                final IntArrayList cell = this.cells.get(key(cellX, cellZ));
+                if (cell == null) {
+                    continue;
+                }
+                for (int i = 0; i < cell.size(); i++) {
+                    final int offset = cell.getInt(i) * BOX_SIZE;
+                    final double dx = Math.max(0, Math.max(this.boxes[offset] - x, x - this.boxes[offset + 3]));
+                    final double dy = Math.max(0, Math.max(this.boxes[offset + 1] - y, y - this.boxes[offset + 4]));
+                    final double dz = Math.max(0, Math.max(this.boxes[offset + 2] - z, z - this.boxes[offset + 5]));
+                    if (dx * dx + dy * dy + dz * dz <= rangeSquared) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    private static int floor(final double value) {
+        final int i = (int) value;
+        return value < i ? i - 1 : i;
+    }
+
+    // Same packing as ChunkPos#asLong
+    private static long key(final int x, final int z) {
+        return (long) x & 4294967295L | ((long) z & 4294967295L) << 32;
+    }
+
+}
@@ -28,6 +28,8 @@
 
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Maps;
+import it.unimi.dsi.fastutil.longs.LongIterator;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
 import net.minecraft.entity.Entity;
 import net.minecraft.entity.EntityLiving;
 import net.minecraft.entity.EntityLivingBase;
@@ -51,7 +53,6 @@
 import net.minecraft.entity.projectile.EntityFireball;
 import net.minecraft.entity.projectile.EntityThrowable;
 import net.minecraft.util.math.AxisAlignedBB;
-import net.minecraft.util.math.MathHelper;
 import net.minecraft.world.World;
 import net.minecraft.world.WorldServer;
 import net.minecraft.world.chunk.Chunk;
@@ -90,14 +91,12 @@ public class EntityActivationRange {
             .put((byte) 5, "misc")
             .build();
 
-    static AxisAlignedBB maxBB = new AxisAlignedBB(0, 0, 0, 0, 0, 0);
-    static AxisAlignedBB miscBB = new AxisAlignedBB(0, 0, 0, 0, 0, 0);
-    static AxisAlignedBB creatureBB = new AxisAlignedBB(0, 0, 0, 0, 0, 0);
-    static AxisAlignedBB monsterBB = new AxisAlignedBB(0, 0, 0, 0, 0, 0);
-    static AxisAlignedBB aquaticBB = new AxisAlignedBB(0, 0, 0, 0, 0, 0);
-    static AxisAlignedBB ambientBB = new AxisAlignedBB(0, 0, 0, 0, 0, 0);
-    static AxisAlignedBB tileEntityBB = new AxisAlignedBB(0, 0, 0, 0, 0, 0);
+    private static final int CHUNKS_RETAINED = 4096;
+
     static Map<Byte, Integer> maxActivationRanges = Maps.newHashMap();
+    // Only used on the main thread, reused across worlds and ticks
+    private static final ActivationGrid playerGrid = new ActivationGrid();
+    private static final LongOpenHashSet activationChunks = new LongOpenHashSet();
 
     /**
      * Initializes an entities type on construction to specify what group this
@@ -218,56 +217,60 @@ public static void growBb(final AxisAlignedBB target, final AxisAlignedBB source
      * Find what entities are in range of the players in the world and set
      * active if in range.
      *
+     * <p>The players are put into an {@link ActivationGrid} once, and every
+     * chunk in range of at least one player is then visited once, no matter
+     * how many players overlap it.</p>
+     *
      * @param world The world to perform activation checks in
      */
     public static void activateEntities(final World world) {
-        if (((WorldBridge) world).bridge$isFake()) {
+        if (((WorldBridge) world).bridge$isFake() || world.playerEntities.isEmpty()) {
             return;
         }
 
-        for (final EntityPlayer player : world.playerEntities) {
-
-            int maxRange = 0;
-            for (final Integer range : maxActivationRanges.values()) {
-                if (range > maxRange) {
-                    maxRange = range;
-                }
+        int maxRange = 0;
+        for (final Integer range : maxActivationRanges.values()) {
+            if (range > maxRange) {
+                maxRange = range;
             }
+        }
+        maxRange = Math.min((((org.spongepowered.api.world.World) world).getViewDistance() << 4) - 8, maxRange);
 
-            maxRange = Math.min((((org.spongepowered.api.world.World) world).getViewDistance() << 4) - 8, maxRange);
-            ((ActivationCapability) player).activation$setActivatedTick(SpongeImpl.getServer().getTickCounter());
-            growBb(maxBB, player.getEntityBoundingBox(), maxRange, 256, maxRange);
-
-            final int i = MathHelper.floor(maxBB.minX / 16.0D);
-            final int j = MathHelper.floor(maxBB.maxX / 16.0D);
-            final int k = MathHelper.floor(maxBB.minZ / 16.0D);
-            final int l = MathHelper.floor(maxBB.maxZ / 16.0D);
-
-            for (int i1 = i; i1 <= j; ++i1) {
-                for (int j1 = k; j1 <= l; ++j1) {
-                    final WorldServer worldserver = (WorldServer) world;
-                    final Chunk chunk = ((ChunkProviderBridge) worldserver.getChunkProvider()).bridge$getLoadedChunkWithoutMarkingActive(i1, j1);
-                    if (chunk != null) {
-                        activateChunkEntities(player, chunk);
-                    }
-                }
+        final long currentTick = SpongeImpl.getServer().getTickCounter();
+        playerGrid.clear();
+        for (final EntityPlayer player : world.playerEntities) {
+            ((ActivationCapability) player).activation$setActivatedTick(currentTick);
+            final AxisAlignedBB bb = player.getEntityBoundingBox();
+            playerGrid.add(bb.minX, bb.minY, bb.minZ, bb.maxX, bb.maxY, bb.maxZ);
+        }
+
+        activationChunks.clear();
+        playerGrid.collectChunks(maxRange, activationChunks);
+        final ChunkProviderBridge chunkProvider = (ChunkProviderBridge) ((WorldServer) world).getChunkProvider();
+        final LongIterator iterator = activationChunks.iterator();
+        while (iterator.hasNext()) {
+            final long key = iterator.nextLong();
+            final Chunk chunk = chunkProvider.bridge$getLoadedChunkWithoutMarkingActive((int) key, (int) (key >> 32));
+            if (chunk != null) {
+                activateChunkEntities(chunk, currentTick);
             }
         }
+        activationChunks.trim(CHUNKS_RETAINED);
     }
 
     /**
      * Checks for the activation state of all entities in this chunk.
      *
      * @param chunk Chunk to check for activation
+     * @param currentTick The current tick
      */
-    private static void activateChunkEntities(final EntityPlayer player, final Chunk chunk) {
+    private static void activateChunkEntities(final Chunk chunk, final long currentTick) {
         for (int i = 0; i < chunk.getEntityLists().length; ++i) {
 
             for (final Object o : chunk.getEntityLists()[i]) {
                 final Entity entity = (Entity) o;
                 final EntityType type = ((org.spongepowered.api.entity.Entity) entity).getType();
                 final ActivationCapability spongeEntity = (ActivationCapability) entity;
-                final long currentTick = SpongeImpl.getServer().getTickCounter();
                 if (!((EntityBridge) entity).bridge$shouldTick()) {
                     continue;
                 }
@@ -287,48 +290,12 @@ private static void activateChunkEntities(final EntityPlayer player, final Chunk
                         spongeEntity.activation$setActivatedTick(currentTick);
                         continue;
                     }
-                    // check for entity type overrides
-                    final byte activationType = spongeEntity.activation$getActivationType();
-                    final int bbActivationRange = spongeEntity.activation$getActivationRange();
-
-                    if (activationType == 5) {
-                        growBb(miscBB, player.getEntityBoundingBox(), bbActivationRange, 256, bbActivationRange);
-                    } else if (activationType == 4) {
-                        growBb(ambientBB, player.getEntityBoundingBox(), bbActivationRange, 256, bbActivationRange);
-                    } else if (activationType == 3) {
-                        growBb(aquaticBB, player.getEntityBoundingBox(), bbActivationRange, 256, bbActivationRange);
-                    } else if (activationType == 2) {
-                        growBb(creatureBB, player.getEntityBoundingBox(), bbActivationRange, 256, bbActivationRange);
-                    } else {
-                        growBb(monsterBB, player.getEntityBoundingBox(), bbActivationRange, 256, bbActivationRange);
-                    }
 
-                    switch (spongeEntity.activation$getActivationType()) {
-                        case 1:
-                            if (monsterBB.intersects(entity.getEntityBoundingBox())) {
-                                spongeEntity.activation$setActivatedTick(currentTick);
-                            }
-                            break;
-                        case 2:
-                            if (creatureBB.intersects(entity.getEntityBoundingBox())) {
-                                spongeEntity.activation$setActivatedTick(currentTick);
-                            }
-                            break;
-                        case 3:
-                            if (aquaticBB.intersects(entity.getEntityBoundingBox())) {
-                                spongeEntity.activation$setActivatedTick(currentTick);
-                            }
-                            break;
-                        case 4:
-                            if (ambientBB.intersects(entity.getEntityBoundingBox())) {
-                                spongeEntity.activation$setActivatedTick(currentTick);
-                            }
-                            break;
-                        case 5:
-                        default:
-                            if (miscBB.intersects(entity.getEntityBoundingBox())) {
-                                spongeEntity.activation$setActivatedTick(currentTick);
-                            }
+                    // The range already accounts for the activation type and any entity type overrides
+                    final int bbActivationRange = spongeEntity.activation$getActivationRange();
+                    final AxisAlignedBB bb = entity.getEntityBoundingBox();
+                    if (playerGrid.isInRange(bb.minX, bb.minY, bb.minZ, bb.maxX, bb.maxY, bb.maxZ, bbActivationRange, 256)) {
+                        spongeEntity.activation$setActivatedTick(currentTick);
                     }
                 }
             }
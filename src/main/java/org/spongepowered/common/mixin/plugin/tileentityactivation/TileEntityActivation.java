@@ -24,9 +24,7 @@
  */
 package org.spongepowered.common.mixin.plugin.tileentityactivation;
 
-import com.flowpowered.math.vector.Vector3i;
 import net.minecraft.entity.player.EntityPlayer;
-import net.minecraft.entity.player.EntityPlayerMP;
 import net.minecraft.server.management.PlayerChunkMap;
 import net.minecraft.server.management.PlayerChunkMapEntry;
 import net.minecraft.tileentity.TileEntity;
@@ -49,10 +47,10 @@
 import org.spongepowered.common.data.type.SpongeTileEntityType;
 import org.spongepowered.common.mixin.core.server.management.PlayerChunkMapAccessor;
 import org.spongepowered.common.mixin.core.server.management.PlayerChunkMapEntryAccessor;
+import org.spongepowered.common.mixin.plugin.entityactivation.ActivationGrid;
 import org.spongepowered.common.mixin.plugin.entityactivation.interfaces.ActivationCapability;
-import org.spongepowered.common.util.VecHelper;
+import org.spongepowered.common.mixin.plugin.tileentityactivation.interfaces.TileEntityTickSchedulerHolder;
 
-import java.util.List;
 import java.util.Map;
 
 public class TileEntityActivation {
@@ -131,24 +129,57 @@ public static void initializeTileEntityActivationState(final TileEntity tileEnti
     * @param world The world to perform activation checks in
     */
     public static void activateTileEntities(final WorldServer world) {
+        final TileEntityActivationCategory tileEntityActCat = ((WorldInfoBridge) world.getWorldInfo()).bridge$getConfigAdapter().getConfig().getTileEntityActivationRange();
+        final TileEntityTickScheduler scheduler = ((TileEntityTickSchedulerHolder) world).tileActivation$getTickScheduler();
+        final ActivationGrid playerGrid = scheduler.getPlayerGrid();
+        playerGrid.clear();
+        for (final EntityPlayer player : world.playerEntities) {
+            final BlockPos pos = player.getPosition();
+            playerGrid.add(pos.getX(), pos.getY(), pos.getZ(), pos.getX(), pos.getY(), pos.getZ());
+        }
+
+        // Chunks without a player in range of any tileentity are skipped entirely
+        final int chunkRange = getMaxActivationRange(tileEntityActCat) + 1;
         final PlayerChunkMap playerChunkMap = world.getPlayerChunkMap();
         for (final PlayerChunkMapEntry playerChunkMapEntry : ((PlayerChunkMapAccessor) playerChunkMap).accessor$getEntries()) {
             final Chunk chunk = ((PlayerChunkMapEntryAccessor) playerChunkMapEntry).accessor$getChunk();
             if (chunk == null || chunk.unloadQueued || ((ChunkBridge) chunk).bridge$isPersistedChunk()) {
                 continue;
             }
-            final List<EntityPlayerMP> players = ((PlayerChunkMapEntryAccessor) playerChunkMapEntry).accessor$getPlayers();
-            activateChunkTileEntities(players, chunk);
+            final int minX = chunk.x << 4;
+            final int minZ = chunk.z << 4;
+            if (!playerGrid.isInRange(minX, 0, minZ, minX + 16, 256, minZ + 16, chunkRange, chunkRange)) {
+                continue;
+            }
+            activateChunkTileEntities(playerGrid, chunk);
+        }
+        scheduler.startTick(tileEntityActCat.getTickBudget());
+    }
+
+    private static int getMaxActivationRange(final TileEntityActivationCategory tileEntityActCat) {
+        int range = tileEntityActCat.getDefaultBlockRange();
+        for (final TileEntityActivationModCategory tileEntityActModCat : tileEntityActCat.getModList().values()) {
+            final Integer defaultModActivationRange = tileEntityActModCat.getDefaultBlockRange();
+            if (defaultModActivationRange != null) {
+                range = Math.max(range, defaultModActivationRange);
+            }
+            for (final Integer tileEntityActivationRange : tileEntityActModCat.getTileEntityRangeList().values()) {
+                if (tileEntityActivationRange != null) {
+                    range = Math.max(range, tileEntityActivationRange);
+                }
+            }
         }
+        return range;
     }
 
 
     /**
      * Checks for the activation state of all tileentities in this chunk.
      *
+     * @param playerGrid The grid of player positions
      * @param chunk Chunk to check for activation
      */
-    private static void activateChunkTileEntities(final List<EntityPlayerMP> players, final Chunk chunk) {
+    private static void activateChunkTileEntities(final ActivationGrid playerGrid, final Chunk chunk) {
         final long currentTick = SpongeImpl.getServer().getTickCounter();
         for (final Map.Entry<BlockPos, TileEntity> mapEntry : chunk.getTileEntityMap().entrySet()) {
             final TileEntity tileEntity = mapEntry.getValue();
@@ -162,7 +193,6 @@ private static void activateChunkTileEntities(final List<EntityPlayerMP> players
                 continue;
             }
 
-            final Vector3i tilePos = VecHelper.toVector3i(tileEntity.getPos());
             if (currentTick > ((ActivationCapability) tileEntity).activation$getActivatedTick()) {
                 // check if activation cache needs to be updated
                 if (spongeTileEntity.activation$requiresActivationCacheRefresh()) {
@@ -175,15 +205,10 @@ private static void activateChunkTileEntities(final List<EntityPlayerMP> players
                     continue;
                 }
 
+                final BlockPos pos = tileEntity.getPos();
                 final int activationRange = ((ActivationCapability) tileEntity).activation$getActivationRange();
-                final int bbActivationRange = activationRange * activationRange;
-                for (EntityPlayerMP player : players) {
-                    final Vector3i playerPos = VecHelper.toVector3i(player.getPosition());
-                    final int blockDistance = tilePos.distanceSquared(playerPos);
-                    if (blockDistance <= bbActivationRange) {
-                        ((ActivationCapability) tileEntity).activation$setActivatedTick(currentTick);
-                        break;
-                    }
+                if (playerGrid.isWithinDistance(pos.getX(), pos.getY(), pos.getZ(), activationRange)) {
+                    ((ActivationCapability) tileEntity).activation$setActivatedTick(currentTick);
                 }
             }
         }
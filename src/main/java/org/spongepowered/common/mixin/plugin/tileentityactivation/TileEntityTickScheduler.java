@@ -0,0 +1,124 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.mixin.plugin.tileentityactivation;
+
+import it.unimi.dsi.fastutil.objects.ReferenceOpenHashSet;
+import net.minecraft.tileentity.TileEntity;
+import org.spongepowered.common.mixin.plugin.entityactivation.ActivationGrid;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * The per world tileentity tick state. Holds the grid of players used by
+ * the activation pass, and spreads the ticking of active tileentities
+ * over ticks once the configured tick budget is used up.
+ *
+ * <p>Tileentities that are deferred are carried over to the next tick,
+ * where enough of the budget is reserved for them that they tick before
+ * any other tileentity is deferred. This means a tileentity is never
+ * deferred twice in a row.</p>
+ */
+public final class TileEntityTickScheduler {
+
+    private final ActivationGrid playerGrid = new ActivationGrid();
+    private final LongSupplier clock;
+    private ReferenceOpenHashSet<TileEntity> carried = new ReferenceOpenHashSet<>();
+    private ReferenceOpenHashSet<TileEntity> deferred = new ReferenceOpenHashSet<>();
+    private long budget;
+    private long startTime;
+    private long lastTime;
+    private int ticked;
+    private long averageTickTime;
+
+    public TileEntityTickScheduler() {
+        this(System::nanoTime);
+    }
+
+    /**
+     * Creates a scheduler that reads the time in nanoseconds
+     * from the given clock.
+     *
+     * @param clock The clock
+     */
+    TileEntityTickScheduler(final LongSupplier clock) {
+        this.clock = clock;
+    }
+
+    ActivationGrid getPlayerGrid() {
+        return this.playerGrid;
+    }
+
+    /**
+     * Starts the tileentity ticks of a world tick.
+     *
+     * @param budgetMillis The tick budget in milliseconds, or 0 if unlimited
+     */
+    void startTick(final int budgetMillis) {
+        if (this.ticked > 0) {
+            this.averageTickTime = (this.lastTime - this.startTime) / this.ticked;
+        }
+        final ReferenceOpenHashSet<TileEntity> carried = this.deferred;
+        this.deferred = this.carried;
+        this.deferred.clear();
+        this.carried = carried;
+        this.budget = TimeUnit.MILLISECONDS.toNanos(Math.max(0, budgetMillis));
+        if (this.budget == 0) {
+            this.carried.clear();
+        }
+        this.ticked = 0;
+        this.startTime = this.lastTime = this.clock.getAsLong();
+    }
+
+    int getCarriedCount() {
+        return this.carried.size();
+    }
+
+    /**
+     * Gets whether the active tileentity may tick now, or has to be
+     * deferred to the next tick.
+     *
+     * @param tileEntity The active tileentity
+     * @return Whether the tileentity may tick
+     */
+    public boolean shouldTick(final TileEntity tileEntity) {
+        if (this.budget == 0) {
+            return true;
+        }
+        final long now = this.clock.getAsLong();
+        this.lastTime = now;
+        if (!this.carried.isEmpty() && this.carried.remove(tileEntity)) {
+            this.ticked++;
+            return true;
+        }
+        if (now - this.startTime + this.carried.size() * this.averageTickTime > this.budget) {
+            this.deferred.add(tileEntity);
+            return false;
+        }
+        this.ticked++;
+        return true;
+    }
+
+}
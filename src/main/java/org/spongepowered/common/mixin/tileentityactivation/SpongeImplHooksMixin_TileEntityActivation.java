@@ -26,18 +26,20 @@
 
 import net.minecraft.tileentity.TileEntity;
 import net.minecraft.util.ITickable;
+import net.minecraft.world.World;
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.Overwrite;
 import org.spongepowered.common.SpongeImplHooks;
 import org.spongepowered.common.mixin.plugin.entityactivation.interfaces.ActivationCapability;
 import org.spongepowered.common.mixin.plugin.tileentityactivation.TileEntityActivation;
+import org.spongepowered.common.mixin.plugin.tileentityactivation.interfaces.TileEntityTickSchedulerHolder;
 
 @Mixin(value = SpongeImplHooks.class)
 public class SpongeImplHooksMixin_TileEntityActivation {
 
     /**
      * @author blood - unknown
-     * @reason TIleEntityActivation check.
+     * @reason TIleEntityActivation check, and the per world tick budget.
      * @param tickable The tile to tick
      * @return True if the tile should tick, false if not
      */
@@ -51,6 +53,10 @@ public static boolean shouldTickTile(final ITickable tickable) {
             ((ActivationCapability) tileEntity).activation$inactiveTick();
             return false;
         }
+        final World world = tileEntity.getWorld();
+        if (world instanceof TileEntityTickSchedulerHolder) {
+            return ((TileEntityTickSchedulerHolder) world).tileActivation$getTickScheduler().shouldTick(tileEntity);
+        }
         return true;
     }
 
@@ -29,9 +29,18 @@
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
 import org.spongepowered.common.mixin.core.world.WorldMixin;
 import org.spongepowered.common.mixin.plugin.tileentityactivation.TileEntityActivation;
+import org.spongepowered.common.mixin.plugin.tileentityactivation.TileEntityTickScheduler;
+import org.spongepowered.common.mixin.plugin.tileentityactivation.interfaces.TileEntityTickSchedulerHolder;
 
 @Mixin(WorldServer.class)
-public abstract class WorldServerMixin_TileEntityActivation extends WorldMixin {
+public abstract class WorldServerMixin_TileEntityActivation extends WorldMixin implements TileEntityTickSchedulerHolder {
+
+    private final TileEntityTickScheduler tileActivationImpl$tickScheduler = new TileEntityTickScheduler();
+
+    @Override
+    public TileEntityTickScheduler tileActivation$getTickScheduler() {
+        return this.tileActivationImpl$tickScheduler;
+    }
 
     @Override
     protected void impl$tileActivationStart(final CallbackInfo callbackInfo) {
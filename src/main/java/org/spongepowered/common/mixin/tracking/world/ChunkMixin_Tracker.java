@@ -24,6 +24,10 @@
  */
 package org.spongepowered.common.mixin.tracking.world;
 
+import it.unimi.dsi.fastutil.ints.Int2LongMap;
+import it.unimi.dsi.fastutil.ints.Int2LongOpenHashMap;
+import it.unimi.dsi.fastutil.shorts.Short2LongMap;
+import it.unimi.dsi.fastutil.shorts.Short2LongOpenHashMap;
 import net.minecraft.block.Block;
 import net.minecraft.block.ITileEntityProvider;
 import net.minecraft.entity.player.EntityPlayer;
@@ -60,7 +64,6 @@
 import org.spongepowered.common.util.SpongeHooks;
 import org.spongepowered.common.util.SpongeUsernameCache;
 
-import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
@@ -78,14 +81,17 @@ public abstract class ChunkMixin_Tracker implements ChunkBridge {
 
 
     @Nullable private UserStorageService trackerImpl$userStorageService;
-    private Map<Integer, PlayerTracker> trackerImpl$trackedIntBlockPositions = new HashMap<>();
-    private Map<Short, PlayerTracker> trackerImpl$trackedShortBlockPositions = new HashMap<>();
+    // Values are the owner and notifier indexes packed by PlayerTracker, missing positions return PlayerTracker.NONE
+    private Int2LongMap trackerImpl$trackedIntBlockPositions = new Int2LongOpenHashMap(0);
+    private Short2LongMap trackerImpl$trackedShortBlockPositions = new Short2LongOpenHashMap(0);
 
     @Inject(method = "<init>(Lnet/minecraft/world/World;II)V", at = @At("RETURN"))
     private void tracker$setUpUserService(@Nullable final World worldIn, final int x, final int z, final CallbackInfo ci) {
         this.trackerImpl$userStorageService = worldIn != null && ((WorldBridge) worldIn).bridge$isFake()
                                   ? null
                                   : SpongeImpl.getGame().getServiceManager().provideUnchecked(UserStorageService.class);
+        this.trackerImpl$trackedIntBlockPositions.defaultReturnValue(PlayerTracker.NONE);
+        this.trackerImpl$trackedShortBlockPositions.defaultReturnValue(PlayerTracker.NONE);
 
     }
 
@@ -135,42 +141,69 @@ public abstract class ChunkMixin_Tracker implements ChunkBridge {
 
         final WorldInfoBridge worldInfo = (WorldInfoBridge) this.world.getWorldInfo();
         final int indexForUniqueId = worldInfo.bridge$getIndexForUniqueId(user.getUniqueId());
+        final long tracked = this.tracker$getStored(pos);
+        if (tracked != PlayerTracker.NONE) {
+            if (trackerType == PlayerTracker.Type.OWNER) {
+                this.tracker$store(pos, PlayerTracker.pack(indexForUniqueId, indexForUniqueId));
+            } else {
+                this.tracker$store(pos, PlayerTracker.withNotifier(tracked, indexForUniqueId));
+            }
+        } else if (trackerType == PlayerTracker.Type.OWNER) {
+            this.tracker$store(pos, PlayerTracker.pack(indexForUniqueId, -1));
+        } else {
+            this.tracker$store(pos, PlayerTracker.pack(-1, indexForUniqueId));
+        }
+    }
+
+    /**
+     * Gets the packed tracking value stored for the position, from the
+     * map that {@link #tracker$store} would place the position in.
+     */
+    private long tracker$getStored(final BlockPos pos) {
         if (pos.getY() <= 255) {
-            final short blockPos = Constants.Sponge.blockPosToShort(pos);
-            final PlayerTracker playerTracker = this.trackerImpl$trackedShortBlockPositions.get(blockPos);
-            if (playerTracker != null) {
-                if (trackerType == PlayerTracker.Type.OWNER) {
-                    playerTracker.ownerIndex = indexForUniqueId;
-                    playerTracker.notifierIndex = indexForUniqueId;
-                } else {
-                    playerTracker.notifierIndex = indexForUniqueId;
-                }
+            return this.trackerImpl$trackedShortBlockPositions.get(Constants.Sponge.blockPosToShort(pos));
+        }
+        return this.trackerImpl$trackedIntBlockPositions.get(Constants.Sponge.blockPosToInt(pos));
+    }
+
+    private void tracker$store(final BlockPos pos, final long tracked) {
+        if (pos.getY() <= 255) {
+            final short key = Constants.Sponge.blockPosToShort(pos);
+            if (tracked == PlayerTracker.NONE) {
+                this.trackerImpl$trackedShortBlockPositions.remove(key);
             } else {
-                this.trackerImpl$trackedShortBlockPositions.put(blockPos, new PlayerTracker(indexForUniqueId, trackerType));
+                this.trackerImpl$trackedShortBlockPositions.put(key, tracked);
             }
         } else {
-            final int blockPos = Constants.Sponge.blockPosToInt(pos);
-            final PlayerTracker playerTracker = this.trackerImpl$trackedIntBlockPositions.get(blockPos);
-            if (playerTracker != null) {
-                if (trackerType == PlayerTracker.Type.OWNER) {
-                    playerTracker.ownerIndex = indexForUniqueId;
-                    playerTracker.notifierIndex = indexForUniqueId;
-                } else {
-                    playerTracker.notifierIndex = indexForUniqueId;
-                }
+            final int key = Constants.Sponge.blockPosToInt(pos);
+            if (tracked == PlayerTracker.NONE) {
+                this.trackerImpl$trackedIntBlockPositions.remove(key);
             } else {
-                this.trackerImpl$trackedIntBlockPositions.put(blockPos, new PlayerTracker(indexForUniqueId, trackerType));
+                this.trackerImpl$trackedIntBlockPositions.put(key, tracked);
             }
         }
     }
 
+    /**
+     * Gets the owner or notifier index tracked for the position, or -1 if
+     * the position isn't tracked. This neither boxes the keys nor allocates
+     * on the miss path.
+     */
+    private int tracker$getTrackedIndex(final BlockPos pos, final PlayerTracker.Type type) {
+        long tracked = this.trackerImpl$trackedIntBlockPositions.get(Constants.Sponge.blockPosToInt(pos));
+        if (tracked == PlayerTracker.NONE) {
+            tracked = this.trackerImpl$trackedShortBlockPositions.get(Constants.Sponge.blockPosToShort(pos));
+        }
+        return PlayerTracker.getIndex(tracked, type);
+    }
+
     @Override
-    public Map<Integer, PlayerTracker> bridge$getTrackedIntPlayerPositions() {
+    public Int2LongMap bridge$getTrackedIntPlayerPositions() {
         return this.trackerImpl$trackedIntBlockPositions;
     }
 
     @Override
-    public Map<Short, PlayerTracker> bridge$getTrackedShortPlayerPositions() {
+    public Short2LongMap bridge$getTrackedShortPlayerPositions() {
         return this.trackerImpl$trackedShortBlockPositions;
     }
 
@@ -179,21 +212,7 @@ public abstract class ChunkMixin_Tracker implements ChunkBridge {
         if (((WorldBridge) this.world).bridge$isFake()) {
             return Optional.empty();
         }
-        final int intKey = Constants.Sponge.blockPosToInt(pos);
-        final PlayerTracker intTracker = this.trackerImpl$trackedIntBlockPositions.get(intKey);
-        if (intTracker != null) {
-            final int notifierIndex = intTracker.ownerIndex;
-            return this.tracker$getValidatedUser(intKey, notifierIndex);
-        } else {
-            final short shortKey = Constants.Sponge.blockPosToShort(pos);
-            final PlayerTracker shortTracker = this.trackerImpl$trackedShortBlockPositions.get(shortKey);
-            if (shortTracker != null) {
-                final int notifierIndex = shortTracker.ownerIndex;
-                return this.tracker$getValidatedUser(shortKey, notifierIndex);
-            }
-        }
-
-        return Optional.empty();
+        return this.tracker$getValidatedUser(pos, this.tracker$getTrackedIndex(pos, PlayerTracker.Type.OWNER));
     }
 
     @Override
@@ -201,21 +220,7 @@ public abstract class ChunkMixin_Tracker implements ChunkBridge {
         if (((WorldBridge) this.world).bridge$isFake()) {
             return Optional.empty();
         }
-        final int key = Constants.Sponge.blockPosToInt(pos);
-        final PlayerTracker intTracker = this.trackerImpl$trackedIntBlockPositions.get(key);
-        if (intTracker != null) {
-            final int ownerIndex = intTracker.ownerIndex;
-            return this.tracker$getValidatedUUID(key, ownerIndex);
-        } else {
-            final short shortKey = Constants.Sponge.blockPosToShort(pos);
-            final PlayerTracker shortTracker = this.trackerImpl$trackedShortBlockPositions.get(shortKey);
-            if (shortTracker != null) {
-                final int ownerIndex = shortTracker.ownerIndex;
-                return this.tracker$getValidatedUUID(shortKey, ownerIndex);
-            }
-        }
-
-        return Optional.empty();
+        return this.tracker$getValidatedUUID(pos, this.tracker$getTrackedIndex(pos, PlayerTracker.Type.OWNER));
     }
 
     @Override
@@ -223,19 +228,7 @@ public abstract class ChunkMixin_Tracker implements ChunkBridge {
         if (((WorldBridge) this.world).bridge$isFake()) {
             return Optional.empty();
         }
-        final int intKey = Constants.Sponge.blockPosToInt(pos);
-        final PlayerTracker intTracker = this.trackerImpl$trackedIntBlockPositions.get(intKey);
-        if (intTracker != null) {
-            return this.tracker$getValidatedUser(intKey, intTracker.notifierIndex);
-        } else {
-            final short shortKey = Constants.Sponge.blockPosToShort(pos);
-            final PlayerTracker shortTracker = this.trackerImpl$trackedShortBlockPositions.get(shortKey);
-            if (shortTracker != null) {
-                return this.tracker$getValidatedUser(shortKey, shortTracker.notifierIndex);
-            }
-        }
-
-        return Optional.empty();
+        return this.tracker$getValidatedUser(pos, this.tracker$getTrackedIndex(pos, PlayerTracker.Type.NOTIFIER));
     }
 
     @Override
@@ -243,23 +236,11 @@ public abstract class ChunkMixin_Tracker implements ChunkBridge {
         if (((WorldBridge) this.world).bridge$isFake()) {
             return Optional.empty();
         }
-        final int key = Constants.Sponge.blockPosToInt(pos);
-        final PlayerTracker intTracker = this.trackerImpl$trackedIntBlockPositions.get(key);
-        if (intTracker != null) {
-            return this.tracker$getValidatedUUID(key, intTracker.notifierIndex);
-        } else {
-            final short shortKey = Constants.Sponge.blockPosToShort(pos);
-            final PlayerTracker shortTracker = this.trackerImpl$trackedShortBlockPositions.get(shortKey);
-            if (shortTracker != null) {
-                return this.tracker$getValidatedUUID(shortKey, shortTracker.notifierIndex);
-            }
-        }
-
-        return Optional.empty();
+        return this.tracker$getValidatedUUID(pos, this.tracker$getTrackedIndex(pos, PlayerTracker.Type.NOTIFIER));
     }
 
-    private Optional<User> tracker$getValidatedUser(final int key, final int ownerIndex) {
-        final Optional<UUID> uuid = this.tracker$getValidatedUUID(key, ownerIndex);
+    private Optional<User> tracker$getValidatedUser(final BlockPos pos, final int index) {
+        final Optional<UUID> uuid = this.tracker$getValidatedUUID(pos, index);
         if (uuid.isPresent()) {
             final UUID userUniqueId = uuid.get();
             // get player if online
@@ -273,12 +254,16 @@ public abstract class ChunkMixin_Tracker implements ChunkBridge {
         return Optional.empty();
     }
 
-    private Optional<UUID> tracker$getValidatedUUID(final int key, final int ownerIndex) {
-        final UUID uuid = (((WorldInfoBridge) this.world.getWorldInfo()).bridge$getUniqueIdForIndex(ownerIndex)).orElse(null);
+    private Optional<UUID> tracker$getValidatedUUID(final BlockPos pos, final int index) {
+        if (index == -1) {
+            return Optional.empty();
+        }
+        final UUID uuid = (((WorldInfoBridge) this.world.getWorldInfo()).bridge$getUniqueIdForIndex(index)).orElse(null);
         if (uuid != null) {
             // Verify id is valid and not invalid
             if (SpongeImpl.getGlobalConfigAdapter().getConfig().getWorld().getInvalidLookupUuids().contains(uuid)) {
-                this.trackerImpl$trackedIntBlockPositions.remove(key);
+                this.trackerImpl$trackedIntBlockPositions.remove(Constants.Sponge.blockPosToInt(pos));
+                this.trackerImpl$trackedShortBlockPositions.remove(Constants.Sponge.blockPosToShort(pos));
                 return Optional.empty();
             }
             // player is not online, get or create user from storage
@@ -311,27 +296,8 @@ public abstract class ChunkMixin_Tracker implements ChunkBridge {
         if (((WorldBridge) this.world).bridge$isFake()) {
             return;
         }
-        if (pos.getY() <= 255) {
-            final short blockPos = Constants.Sponge.blockPosToShort(pos);
-            final PlayerTracker shortTracker = this.trackerImpl$trackedShortBlockPositions.get(blockPos);
-            if (shortTracker != null) {
-                shortTracker.notifierIndex = uuid == null ? -1 : ((WorldInfoBridge) this.world.getWorldInfo()).bridge$getIndexForUniqueId(uuid);
-            } else {
-                this.trackerImpl$trackedShortBlockPositions.put(blockPos,
-                        new PlayerTracker(uuid == null ? -1 : ((WorldInfoBridge) this.world.getWorldInfo()).bridge$getIndexForUniqueId(uuid),
-                                PlayerTracker.Type.NOTIFIER));
-            }
-        } else {
-            final int blockPos = Constants.Sponge.blockPosToInt(pos);
-            final PlayerTracker intTracker = this.trackerImpl$trackedIntBlockPositions.get(blockPos);
-            if (intTracker != null) {
-                intTracker.notifierIndex = uuid == null ? -1 : ((WorldInfoBridge) this.world.getWorldInfo()).bridge$getIndexForUniqueId(uuid);
-            } else {
-                this.trackerImpl$trackedIntBlockPositions.put(blockPos,
-                        new PlayerTracker(uuid == null ? -1 : ((WorldInfoBridge) this.world.getWorldInfo()).bridge$getIndexForUniqueId(uuid),
-                                PlayerTracker.Type.NOTIFIER));
-            }
-        }
+        final int index = uuid == null ? -1 : ((WorldInfoBridge) this.world.getWorldInfo()).bridge$getIndexForUniqueId(uuid);
+        this.tracker$store(pos, PlayerTracker.withNotifier(this.tracker$getStored(pos), index));
     }
 
     // Special setter used by API
@@ -340,34 +306,19 @@ public abstract class ChunkMixin_Tracker implements ChunkBridge {
         if (((WorldBridge) this.world).bridge$isFake()) {
             return;
         }
-        if (pos.getY() <= 255) {
-            final short blockPos = Constants.Sponge.blockPosToShort(pos);
-            final PlayerTracker shortTracker = this.trackerImpl$trackedShortBlockPositions.get(blockPos);
-            if (shortTracker != null) {
-                shortTracker.ownerIndex = uuid == null ? -1 : ((WorldInfoBridge) this.world.getWorldInfo()).bridge$getIndexForUniqueId(uuid);
-            } else {
-                this.trackerImpl$trackedShortBlockPositions.put(blockPos, new PlayerTracker(uuid == null ? -1 : ((WorldInfoBridge) this.world.getWorldInfo())
-                        .bridge$getIndexForUniqueId(uuid), PlayerTracker.Type.OWNER));
-            }
-        } else {
-            final int blockPos = Constants.Sponge.blockPosToInt(pos);
-            final PlayerTracker intTracker = this.trackerImpl$trackedIntBlockPositions.get(blockPos);
-            if (intTracker != null) {
-                intTracker.ownerIndex = uuid == null ? -1 : ((WorldInfoBridge) this.world.getWorldInfo()).bridge$getIndexForUniqueId(uuid);
-            } else {
-                this.trackerImpl$trackedIntBlockPositions.put(blockPos, new PlayerTracker(uuid == null ? -1 : ((WorldInfoBridge) this.world.getWorldInfo())
-                        .bridge$getIndexForUniqueId(uuid), PlayerTracker.Type.OWNER));
-            }
-        }
+        final int index = uuid == null ? -1 : ((WorldInfoBridge) this.world.getWorldInfo()).bridge$getIndexForUniqueId(uuid);
+        this.tracker$store(pos, PlayerTracker.withOwner(this.tracker$getStored(pos), index));
     }
 
     @Override
-    public void bridge$setTrackedIntPlayerPositions(final Map<Integer, PlayerTracker> trackedPositions) {
+    public void bridge$setTrackedIntPlayerPositions(final Int2LongMap trackedPositions) {
+        trackedPositions.defaultReturnValue(PlayerTracker.NONE);
         this.trackerImpl$trackedIntBlockPositions = trackedPositions;
     }
 
     @Override
-    public void bridge$setTrackedShortPlayerPositions(final Map<Short, PlayerTracker> trackedPositions) {
+    public void bridge$setTrackedShortPlayerPositions(final Short2LongMap trackedPositions) {
+        trackedPositions.defaultReturnValue(PlayerTracker.NONE);
         this.trackerImpl$trackedShortBlockPositions = trackedPositions;
     }
 
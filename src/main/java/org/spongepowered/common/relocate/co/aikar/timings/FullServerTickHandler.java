@@ -25,6 +25,10 @@
 package org.spongepowered.common.relocate.co.aikar.timings;
 
 import co.aikar.timings.Timings;
+import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.event.tracking.PhaseTracker;
+import org.spongepowered.common.util.metric.LatencyHistogram;
+import org.spongepowered.common.util.metric.SamplingProfiler;
 
 public class FullServerTickHandler extends TimingHandler {
 
@@ -32,6 +36,9 @@ public class FullServerTickHandler extends TimingHandler {
     final TimingData minuteData;
     double avgFreeMemory = -1D;
     double avgUsedMemory = -1D;
+    // Tick duration, recorded regardless of whether timings are enabled
+    public final LatencyHistogram tickDuration = new LatencyHistogram();
+    private long tickStart;
 
     FullServerTickHandler() {
         super(IDENTITY);
@@ -42,6 +49,8 @@ public class FullServerTickHandler extends TimingHandler {
 
     @Override
     public TimingHandler startTiming() {
+        this.tickStart = System.nanoTime();
+        SamplingProfiler.onTickStart();
         if (TimingsManager.needsFullReset) {
             TimingsManager.resetTimings();
         } else if (TimingsManager.needsRecheckEnabled) {
@@ -53,6 +62,13 @@ public TimingHandler startTiming() {
 
     @Override
     public void stopTiming() {
+        if (this.tickStart != 0) {
+            final long duration = System.nanoTime() - this.tickStart;
+            this.tickStart = 0;
+            this.tickDuration.record(duration);
+            SamplingProfiler.onTickEnd(duration);
+            PhaseTracker.SERVER.getPhaseTimings().completeTick(SpongeImpl.getServer().getTickCounter(), duration);
+        }
         super.stopTiming();
         if (!this.enabled) {
             return;
@@ -59,6 +59,8 @@ public void init() {
         final TimingsCategory category = SpongeImpl.getGlobalConfigAdapter().getConfig().getTimings();
         TimingsManager.privacy = category.isServerNamePrivate();
         TimingsManager.hiddenConfigs.addAll(category.getHiddenConfigEntries());
+        TimingsManager.localExport = category.isLocalExport();
+        TimingsManager.exportViewer = category.isExportViewer();
         setVerboseTimingsEnabled(category.isVerbose());
         setTimingsEnabled(this.moduleEnabled && category.isEnabled());
         setHistoryInterval(category.getHistoryInterval());
@@ -176,12 +178,26 @@ public void generateReport(CommandSource sender) {
         if (sender == null) {
             sender = SpongeImpl.getGame().getServer().getConsole();
         }
-        TimingsExport.requestingReport.add(MessageChannel.fixed(sender));
+        generateReport(MessageChannel.fixed(sender));
     }
 
     @Override
     public void generateReport(MessageChannel channel) {
-        TimingsExport.requestingReport.add(channel);
+        if (TimingsManager.localExport) {
+            TimingsExport.requestingExport.add(channel);
+        } else {
+            TimingsExport.requestingReport.add(channel);
+        }
+    }
+
+    /**
+     * Requests a report that is written to the timings directory of the
+     * server instead of being uploaded, regardless of the configuration.
+     *
+     * @param sender The source to notify once the report was written
+     */
+    public static void generateExport(CommandSource sender) {
+        TimingsExport.requestingExport.add(MessageChannel.fixed(sender));
     }
 
     public static long getCost() {
@@ -24,9 +24,9 @@
  */
 package org.spongepowered.common.relocate.co.aikar.timings;
 
-import org.spongepowered.common.relocate.co.aikar.util.JSONUtil;
-import com.google.gson.JsonArray;
+import com.google.gson.stream.JsonWriter;
 
+import java.io.IOException;
 import java.util.function.Function;
 
 /**
@@ -93,17 +93,24 @@ protected TimingData clone() {
         return new TimingData(this);
     }
 
-    public JsonArray export() {
-        JsonArray array = JSONUtil.arrayOf(
-                this.id,
-                this.count,
-                this.totalTime);
+    void write(JsonWriter writer) throws IOException {
+        writer.beginArray();
+        writeValues(writer);
+        writer.endArray();
+    }
+
+    /**
+     * Writes the values of this record without enclosing them in an array,
+     * so that a {@link TimingHistoryEntry} can append its children.
+     */
+    void writeValues(JsonWriter writer) throws IOException {
+        writer.value(this.id)
+                .value(this.count)
+                .value(this.totalTime);
         if (this.lagCount > 0) {
-            array.addAll(JSONUtil.arrayOf(
-                    this.lagCount,
-                    this.lagTotalTime));
+            writer.value(this.lagCount)
+                    .value(this.lagTotalTime);
         }
-        return array;
     }
 
     boolean hasData() {
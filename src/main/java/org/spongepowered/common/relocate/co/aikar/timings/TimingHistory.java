@@ -30,8 +30,8 @@
 import org.spongepowered.common.relocate.co.aikar.util.MRUMapCache;
 import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
-import com.google.gson.JsonArray;
 import com.google.gson.JsonObject;
+import com.google.gson.stream.JsonWriter;
 import org.spongepowered.api.block.tileentity.TileEntity;
 import org.spongepowered.api.block.tileentity.TileEntityType;
 import org.spongepowered.api.entity.Entity;
@@ -40,6 +40,7 @@
 import org.spongepowered.api.entity.living.player.Player;
 import org.spongepowered.common.SpongeImpl;
 
+import java.io.IOException;
 import java.lang.management.ManagementFactory;
 import java.util.Collection;
 import java.util.Map;
@@ -205,16 +206,27 @@ public static void resetTicks(boolean fullReset) {
         activatedEntityTicks = 0;
     }
 
-    JsonObject export() {
-        return JSONUtil.objectBuilder()
-                .add("s", this.startTime)
-                .add("e", this.endTime)
-                .add("tk", this.totalTicks)
-                .add("tm", this.totalTime)
-                .add("w", this.worlds)
-                .add("h", JSONUtil.mapArray(this.entries, (entry) -> entry.data.count == 0 ? null : entry.export()))
-                .add("mp", JSONUtil.mapArray(this.minuteReports, MinuteReport::export))
-                .build();
+    void write(JsonWriter writer) throws IOException {
+        writer.beginObject()
+                .name("s").value(this.startTime)
+                .name("e").value(this.endTime)
+                .name("tk").value(this.totalTicks)
+                .name("tm").value(this.totalTime);
+        writer.name("w");
+        JSONUtil.write(this.worlds, writer);
+        writer.name("h").beginArray();
+        for (TimingHistoryEntry entry : this.entries) {
+            if (entry.data.count != 0) {
+                entry.write(writer);
+            }
+        }
+        writer.endArray();
+        writer.name("mp").beginArray();
+        for (MinuteReport minuteReport : this.minuteReports) {
+            minuteReport.write(writer);
+        }
+        writer.endArray();
+        writer.endObject();
     }
 
     static class MinuteReport {
@@ -229,20 +241,23 @@ static class MinuteReport {
         final double freeMemory = TimingsManager.FULL_SERVER_TICK.avgFreeMemory;
         final double loadAvg = ManagementFactory.getOperatingSystemMXBean().getSystemLoadAverage();
 
-        public JsonArray export() {
-            return JSONUtil.arrayOf(
-                    this.time,
-                    Math.round(this.tps * 100D) / 100D,
-                    Math.round(this.pingRecord.avg * 100D) / 100D,
-                    this.fst.export(),
-                    JSONUtil.arrayOf(this.ticksRecord.timed,
-                            this.ticksRecord.player,
-                            this.ticksRecord.entity,
-                            this.ticksRecord.activatedEntity,
-                            this.ticksRecord.tileEntity),
-                    this.usedMemory,
-                    this.freeMemory,
-                    this.loadAvg);
+        void write(JsonWriter writer) throws IOException {
+            writer.beginArray()
+                    .value(this.time)
+                    .value(Math.round(this.tps * 100D) / 100D)
+                    .value(Math.round(this.pingRecord.avg * 100D) / 100D);
+            this.fst.write(writer);
+            writer.beginArray()
+                    .value(this.ticksRecord.timed)
+                    .value(this.ticksRecord.player)
+                    .value(this.ticksRecord.entity)
+                    .value(this.ticksRecord.activatedEntity)
+                    .value(this.ticksRecord.tileEntity)
+                    .endArray();
+            writer.value(this.usedMemory)
+                    .value(this.freeMemory)
+                    .value(this.loadAvg)
+                    .endArray();
         }
     }
 
@@ -29,11 +29,14 @@
 import org.spongepowered.common.relocate.co.aikar.util.JSONUtil;
 import org.spongepowered.common.relocate.co.aikar.util.JSONUtil.JsonObjectBuilder;
 import com.google.common.base.Joiner;
+import com.google.common.cache.CacheStats;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Sets;
+import com.google.common.io.ByteStreams;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
+import com.google.gson.stream.JsonWriter;
 import ninja.leaping.configurate.ConfigurationNode;
 import org.spongepowered.api.Platform;
 import org.spongepowered.api.Sponge;
@@ -47,16 +50,29 @@
 import org.spongepowered.api.text.channel.MessageReceiver;
 import org.spongepowered.api.text.format.TextColors;
 import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.data.ImmutableDataCachingUtil;
+import org.spongepowered.common.scheduler.PluginFairExecutor;
+import org.spongepowered.common.util.metric.LatencyHistogram;
+import org.spongepowered.common.world.storage.ChunkSaveExecutor;
 
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
 import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.lang.management.ManagementFactory;
 import java.lang.management.RuntimeMXBean;
 import java.net.HttpURLConnection;
 import java.net.InetAddress;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
 import java.util.List;
 import java.util.Map.Entry;
 import java.util.Set;
@@ -68,18 +84,22 @@ class TimingsExport extends Thread {
     private static final Joiner AUTHOR_LIST_JOINER = Joiner.on(", ");
     private static final Joiner RUNTIME_FLAG_JOINER = Joiner.on(" ");
     private static final Joiner CONFIG_PATH_JOINER = Joiner.on(".");
+    private static final String VIEWER_DATA_MARKER = "/*TIMINGS_DATA*/";
 
     private final TimingsReportListener listeners;
     private final JsonObject out;
     private final TimingHistory[] history;
+    private final boolean local;
     private static long lastReport = 0;
     final static List<MessageChannel> requestingReport = Lists.newArrayList();
+    final static List<MessageChannel> requestingExport = Lists.newArrayList();
 
-    TimingsExport(TimingsReportListener listeners, JsonObject out, TimingHistory[] history) {
-        super("Timings paste thread");
+    TimingsExport(TimingsReportListener listeners, JsonObject out, TimingHistory[] history, boolean local) {
+        super(local ? "Timings export thread" : "Timings paste thread");
         this.listeners = listeners;
         this.out = out;
         this.history = history;
+        this.local = local;
     }
 
     private static String getServerName() {
@@ -91,27 +111,40 @@ private static String getServerName() {
      *
      */
     static void reportTimings() {
-        if (requestingReport.isEmpty()) {
+        if (requestingReport.isEmpty() && requestingExport.isEmpty()) {
             return;
         }
-        TimingsReportListener listeners = new TimingsReportListener(requestingReport);
+        TimingsReportListener uploadListeners = requestingReport.isEmpty() ? null : new TimingsReportListener(requestingReport);
+        TimingsReportListener exportListeners = requestingExport.isEmpty() ? null : new TimingsReportListener(requestingExport);
 
         requestingReport.clear();
+        requestingExport.clear();
         long now = System.currentTimeMillis();
         final long lastReportDiff = now - lastReport;
-        if (lastReportDiff < 60000) {
-            listeners.send(Text.of(TextColors.RED, "Please wait at least 1 minute in between Timings reports. (" + (int)((60000 - lastReportDiff) / 1000) + " seconds)"));
-            listeners.done();
-            return;
+        if (uploadListeners != null && lastReportDiff < 60000) {
+            uploadListeners.send(Text.of(TextColors.RED, "Please wait at least 1 minute in between Timings reports. (" + (int)((60000 - lastReportDiff) / 1000) + " seconds)"));
+            uploadListeners.done();
+            uploadListeners = null;
         }
         final long lastStartDiff = now - TimingsManager.timingStart;
         if (lastStartDiff < 180000) {
-            listeners.send(Text.of(TextColors.RED, "Please wait at least 3 minutes before generating a Timings report. Unlike Timings v1, v2 benefits from longer timings and is not as useful with short timings. (" + (int)((180000 - lastStartDiff) / 1000) + " seconds)"));
-            listeners.done();
+            for (TimingsReportListener listeners : new TimingsReportListener[] {uploadListeners, exportListeners}) {
+                if (listeners != null) {
+                    listeners.send(Text.of(TextColors.RED, "Please wait at least 3 minutes before generating a Timings report. Unlike Timings v1, v2 benefits from longer timings and is not as useful with short timings. (" + (int)((180000 - lastStartDiff) / 1000) + " seconds)"));
+                    listeners.done();
+                }
+            }
+            return;
+        }
+        if (uploadListeners != null) {
+            uploadListeners.send(Text.of(TextColors.GREEN, "Preparing Timings Report..."));
+            lastReport = now;
+        } else if (exportListeners == null) {
             return;
         }
-        listeners.send(Text.of(TextColors.GREEN, "Preparing Timings Report..."));
-        lastReport = now;
+        if (exportListeners != null) {
+            exportListeners.send(Text.of(TextColors.GREEN, "Preparing Timings Export..."));
+        }
 
         Platform platform = SpongeImpl.getGame().getPlatform();
         JsonObjectBuilder builder = JSONUtil.objectBuilder()
@@ -201,12 +234,66 @@ static void reportTimings() {
             ).build();
         }));
 
+        // Information about the asynchronous tasks of plugins
+
+        final PluginFairExecutor asyncExecutor = SpongeImpl.getScheduler().getAsyncExecutor();
+        builder.add("scheduler", JSONUtil.objectBuilder()
+                .add("activethreads", asyncExecutor.getActiveThreads())
+                .add("poolsize", asyncExecutor.getPoolSize())
+                .add("largestpoolsize", asyncExecutor.getLargestPoolSize())
+                .add("queued", asyncExecutor.getQueuedTasks())
+                .add("plugins", JSONUtil.mapArrayToObject(asyncExecutor.getStats(), (stats) -> {
+                    return JSONUtil.singleObjectPair(stats.getPlugin().getId(), JSONUtil.objectBuilder()
+                            .add("queued", stats.getQueuedTasks())
+                            .add("running", stats.getRunningTasks())
+                            .add("completed", stats.getCompletedTasks())
+                            .add("rejected", stats.getRejectedTasks())
+                            .add("wait", exportLatency(stats.getQueueLatency()))
+                            .add("run", exportLatency(stats.getExecutionTime()))
+                            .build());
+                })));
+
+        // Information about the chunk save queues
+
+        builder.add("chunksaving", JSONUtil.objectBuilder()
+                .add("queued", ChunkSaveExecutor.getQueuedChunks())
+                .add("written", ChunkSaveExecutor.getWrittenChunks())
+                .add("byteswritten", ChunkSaveExecutor.getWrittenBytes()));
+
+        // Information about the immutable data caches
+
+        builder.add("datacache", JSONUtil.objectBuilder()
+                .add("manipulators", exportCacheStats(ImmutableDataCachingUtil.getManipulatorCacheStats(),
+                        ImmutableDataCachingUtil.getManipulatorCacheSize()))
+                .add("values", exportCacheStats(ImmutableDataCachingUtil.getValueCacheStats(), ImmutableDataCachingUtil.getValueCacheSize())));
+
         // Information on the users Config
 
         builder.add("config", JSONUtil.objectBuilder()
                 .add("sponge", serializeConfigNode(SpongeImpl.getGlobalConfigAdapter().getRootNode())));
 
-        new TimingsExport(listeners, builder.build(), history).start();
+        final JsonObject out = builder.build();
+        if (uploadListeners != null) {
+            new TimingsExport(uploadListeners, out, history, false).start();
+        }
+        if (exportListeners != null) {
+            new TimingsExport(exportListeners, out, history, true).start();
+        }
+    }
+
+    private static JsonObject exportCacheStats(CacheStats stats, long size) {
+        return JSONUtil.objectBuilder()
+                .add("size", size)
+                .add("hits", stats.hitCount())
+                .add("misses", stats.missCount())
+                .add("evictions", stats.evictionCount())
+                .build();
+    }
+
+    private static JsonArray exportLatency(LatencyHistogram histogram) {
+        // count, mean, p50, p90, p99, max in nanoseconds
+        return JSONUtil.arrayOf(histogram.getCount(), histogram.getMean(), histogram.getValueAtPercentile(50),
+                histogram.getValueAtPercentile(90), histogram.getValueAtPercentile(99), histogram.getMax());
     }
 
     static long getCost() {
@@ -285,10 +372,109 @@ public synchronized void start() {
         }
     }
 
+    /**
+     * Streams the report into the given writer. The history frames are
+     * written one element at a time so the potentially large data section
+     * is never materialized as a json tree.
+     */
+    private void writeReport(JsonWriter writer) throws IOException {
+        writer.beginObject();
+        for (Entry<String, JsonElement> entry : this.out.entrySet()) {
+            writer.name(entry.getKey());
+            JSONUtil.write(entry.getValue(), writer);
+        }
+        writer.name("data").beginArray();
+        for (TimingHistory timingHistory : this.history) {
+            timingHistory.write(writer);
+        }
+        writer.endArray();
+        writer.endObject();
+    }
+
+    private static OutputStream compress(OutputStream out) throws IOException {
+        return new GZIPOutputStream(out) {
+
+            {
+                this.def.setLevel(7);
+            }
+        };
+    }
+
+    private static JsonWriter createWriter(Writer out) {
+        final JsonWriter writer = new JsonWriter(out);
+        // Escape html characters so the same output can be embedded in the viewer,
+        // and stay lenient for NaN values like the tree based serializer did
+        writer.setHtmlSafe(true);
+        writer.setLenient(true);
+        writer.setSerializeNulls(true);
+        return writer;
+    }
+
     @Override
     public void run() {
-        this.out.add("data", JSONUtil.mapArray(this.history, TimingHistory::export));
+        if (this.local) {
+            export();
+        } else {
+            upload();
+        }
+    }
+
+    private void export() {
+        String location = null;
+        try {
+            final String name = "timings-" + DateTimeFormatter.ofPattern("yyyy-MM-dd_HH.mm.ss").format(LocalDateTime.now());
+            final File directory = new File(new File("."), "timings");
+            directory.mkdirs();
+            final File jsonFile = new File(directory, name + ".json.gz");
+            final File viewerFile = TimingsManager.exportViewer ? new File(directory, name + ".html") : null;
+            final String[] viewer = viewerFile == null ? null : loadViewer();
+
+            try (OutputStream json = compress(new BufferedOutputStream(new FileOutputStream(jsonFile)));
+                 Writer html = viewer == null ? null : new BufferedWriter(new OutputStreamWriter(new FileOutputStream(viewerFile), StandardCharsets.UTF_8))) {
+                final Writer jsonWriter = new OutputStreamWriter(json, StandardCharsets.UTF_8);
+                if (html == null) {
+                    writeReport(createWriter(jsonWriter));
+                } else {
+                    html.write(viewer[0]);
+                    writeReport(createWriter(new TeeWriter(jsonWriter, html)));
+                    html.write(viewer[1]);
+                }
+                jsonWriter.flush();
+            }
+
+            location = (viewerFile != null ? viewerFile : jsonFile).getCanonicalFile().toURI().toString();
+            this.listeners.send(Text.of(TextColors.GREEN, "Timings report written to ", TextColors.YELLOW, jsonFile.getPath()));
+            if (viewerFile != null) {
+                this.listeners.send(Text.of(TextColors.GREEN, "Open ", TextColors.YELLOW, viewerFile.getPath(),
+                        TextColors.GREEN, " in a browser to view the report"));
+            }
+        } catch (IOException ex) {
+            this.listeners.send(Text.of(TextColors.RED, "Error exporting timings, check your logs for more information"));
+            SpongeImpl.getLogger().error("Could not export timings", ex);
+        } finally {
+            this.listeners.done(location);
+        }
+    }
 
+    /**
+     * Loads the viewer template, split around the location where the
+     * report data is inserted.
+     */
+    private static String[] loadViewer() throws IOException {
+        try (InputStream in = TimingsExport.class.getResourceAsStream("viewer.html")) {
+            if (in == null) {
+                throw new IOException("Missing timings viewer template");
+            }
+            final String template = new String(ByteStreams.toByteArray(in), StandardCharsets.UTF_8);
+            final int index = template.indexOf(VIEWER_DATA_MARKER);
+            if (index == -1) {
+                throw new IOException("Invalid timings viewer template");
+            }
+            return new String[] {template.substring(0, index), template.substring(index + VIEWER_DATA_MARKER.length())};
+        }
+    }
+
+    private void upload() {
         String response = null;
         String timingsURL = null;
         try {
@@ -307,15 +493,11 @@ public void run() {
             con.setRequestMethod("POST");
             con.setInstanceFollowRedirects(false);
 
-            OutputStream request = new GZIPOutputStream(con.getOutputStream()) {
-
-                {
-                    this.def.setLevel(7);
-                }
-            };
+            OutputStream request = compress(con.getOutputStream());
 
-            request.write(JSONUtil.toString(this.out).getBytes("UTF-8"));
-            request.close();
+            try (Writer writer = new OutputStreamWriter(request, StandardCharsets.UTF_8)) {
+                writeReport(createWriter(writer));
+            }
 
             response = getResponse(con);
 
@@ -369,4 +551,42 @@ private String getResponse(HttpURLConnection con) throws IOException {
             }
         }
     }
+
+    /**
+     * Writes the same characters to two writers at once, so the compressed
+     * report and the viewer are produced in a single pass.
+     */
+    private static final class TeeWriter extends Writer {
+
+        private final Writer first;
+        private final Writer second;
+
+        TeeWriter(Writer first, Writer second) {
+            this.first = first;
+            this.second = second;
+        }
+
+        @Override
+        public void write(char[] cbuf, int off, int len) throws IOException {
+            this.first.write(cbuf, off, len);
+            this.second.write(cbuf, off, len);
+        }
+
+        @Override
+        public void write(String str, int off, int len) throws IOException {
+            this.first.write(str, off, len);
+            this.second.write(str, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            this.first.flush();
+            this.second.flush();
+        }
+
+        @Override
+        public void close() {
+            // The underlying writers are closed by their owners
+        }
+    }
 }
@@ -53,6 +53,8 @@ public final class TimingsManager {
     public static final Timing PLUGIN_GROUP_HANDLER = SpongeTimingsFactory.ofSafe("Plugins");
     public static List<String> hiddenConfigs = new ArrayList<>();
     public static boolean privacy = false;
+    public static boolean localExport = false;
+    public static boolean exportViewer = true;
 
     static final Collection<TimingHandler> HANDLERS = new ArrayDeque<>();
     static final ArrayDeque<TimingHistory.MinuteReport> MINUTE_REPORTS = new ArrayDeque<>();
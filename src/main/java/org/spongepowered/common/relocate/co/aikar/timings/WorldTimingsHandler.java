@@ -26,12 +26,21 @@
 
 import co.aikar.timings.Timing;
 import net.minecraft.world.World;
+import org.spongepowered.common.util.metric.LatencyHistogram;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Set of timers per world, to track world specific Timings.
  */
 public class WorldTimingsHandler {
 
+    // The handlers of the loaded worlds, by dimension id
+    private static final Map<Integer, WorldTimingsHandler> ACTIVE = new ConcurrentHashMap<>();
+
     public final Timing mobSpawn;
     public final Timing doChunkUnload;
     public final Timing doPortalForcer;
@@ -76,8 +85,16 @@ public class WorldTimingsHandler {
     // Chunk population
     public final Timing chunkPopulate;
 
-    public WorldTimingsHandler(World world) {
-        String name = world.getWorldInfo().getWorldName() + " - ";
+    // Tick duration, recorded regardless of whether timings are enabled
+    public final String worldName;
+    public final int dimensionId;
+    public final LatencyHistogram tickDuration = new LatencyHistogram();
+    private long tickStart;
+
+    public WorldTimingsHandler(World world, int dimensionId) {
+        this.worldName = world.getWorldInfo().getWorldName();
+        this.dimensionId = dimensionId;
+        String name = this.worldName + " - ";
 
         this.mobSpawn = SpongeTimingsFactory.ofSafe(name + "mobSpawn");
         this.doChunkUnload = SpongeTimingsFactory.ofSafe(name + "doChunkUnload");
@@ -121,4 +138,37 @@ public WorldTimingsHandler(World world) {
 
         this.chunkPopulate = SpongeTimingsFactory.ofSafe(name + "chunkPopulate");
     }
+
+    /**
+     * Gets the handlers of all worlds that are currently loaded, safe to
+     * be called from any thread.
+     *
+     * @return The handlers of the loaded worlds
+     */
+    public static Collection<WorldTimingsHandler> getActive() {
+        return Collections.unmodifiableCollection(ACTIVE.values());
+    }
+
+    public void startTick() {
+        this.tickStart = System.nanoTime();
+    }
+
+    public void stopTick() {
+        if (this.tickStart != 0) {
+            this.tickDuration.record(System.nanoTime() - this.tickStart);
+            this.tickStart = 0;
+        }
+    }
+
+    /**
+     * Registers the handler once its world is loaded, replacing the handler
+     * of a previous world with the same dimension id.
+     */
+    public void register() {
+        ACTIVE.put(this.dimensionId, this);
+    }
+
+    public void unregister() {
+        ACTIVE.remove(this.dimensionId, this);
+    }
 }
@@ -30,8 +30,11 @@
 import com.google.gson.GsonBuilder;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
+import com.google.gson.JsonIOException;
 import com.google.gson.JsonObject;
+import com.google.gson.stream.JsonWriter;
 
+import java.io.IOException;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -121,6 +124,17 @@ public static String toString(JsonElement element) {
         return gson.toJson(element);
     }
 
+    public static void write(JsonElement element, JsonWriter writer) throws IOException {
+        try {
+            gson.toJson(element, writer);
+        } catch (JsonIOException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
     public static JsonElement toJsonElement(Object value) {
         return gson.toJsonTree(value);
     }
@@ -28,8 +28,7 @@
 import org.spongepowered.common.SpongeImpl;
 
 import java.util.Set;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.locks.Condition;
@@ -38,6 +37,8 @@
 
 public class AsyncScheduler extends SchedulerBase {
 
+    // The timing wheel uses units of 2^20 nanoseconds, roughly a millisecond
+    private static final int WHEEL_RESOLUTION_SHIFT = 20;
     // Adjustable timeout for pending Tasks
     private long minimumTimeout = Long.MAX_VALUE;
     private long lastProcessingTimestamp;
@@ -45,8 +46,11 @@ public class AsyncScheduler extends SchedulerBase {
     private final Lock lock = new ReentrantLock();
     private final Condition condition = this.lock.newCondition();
     private final AtomicBoolean stateChanged = new AtomicBoolean(false);
-    // The dynamic thread pooling executor of asynchronous tasks.
-    private final ExecutorService executor = Executors.newCachedThreadPool();
+    // The thread pooling executor of asynchronous tasks, with a queue per plugin.
+    private final PluginFairExecutor executor =
+        PluginFairExecutor.create(SpongeImpl.getGlobalConfigAdapter().getConfig().getScheduler().getAsyncExecutor());
+    // The origin of the timing wheel time
+    private final long wheelEpoch = System.nanoTime();
 
     AsyncScheduler() {
         super(ScheduledTask.TaskSynchronicity.ASYNCHRONOUS);
@@ -57,7 +61,7 @@ public class AsyncScheduler extends SchedulerBase {
         thread.start();
     }
 
-    ExecutorService getExecutor() {
+    PluginFairExecutor getExecutor() {
         return this.executor;
     }
 
@@ -72,6 +76,15 @@ private void mainLoop() {
     private void recalibrateMinimumTimeout() {
         this.lock.lock();
         try {
+            if (this.timingWheel != null) {
+                final long next = this.timingWheel.nextEventTime();
+                if (next == Long.MAX_VALUE) {
+                    this.minimumTimeout = Long.MAX_VALUE;
+                } else {
+                    this.minimumTimeout = Math.max(0L, this.wheelEpoch + (next << WHEEL_RESOLUTION_SHIFT) - System.nanoTime());
+                }
+                return;
+            }
             Set<Task> tasks = this.getScheduledTasks();
             this.minimumTimeout = Long.MAX_VALUE;
             long now = System.nanoTime();
@@ -111,6 +124,17 @@ private void recalibrateMinimumTimeout() {
         }
     }
 
+    @Override
+    protected long getWheelTime() {
+        return (System.nanoTime() - this.wheelEpoch) >> WHEEL_RESOLUTION_SHIFT;
+    }
+
+    @Override
+    protected long getWheelDeadline(ScheduledTask task) {
+        // Round up, so the task is never processed before it's due
+        return (task.nextExecutionTimestamp() - this.wheelEpoch + (1L << WHEEL_RESOLUTION_SHIFT) - 1) >> WHEEL_RESOLUTION_SHIFT;
+    }
+
     @Override
     protected void preTick() {
         this.lock.lock();
@@ -142,7 +166,33 @@ protected void finallyPostTick() {
 
     @Override
     protected void executeTaskRunnable(ScheduledTask task, Runnable runnable) {
-        this.executor.submit(runnable);
+        boolean queued;
+        try {
+            queued = this.executor.execute(task.getOwner(), runnable);
+        } catch (RejectedExecutionException e) {
+            // A full queue is already reported once by the executor until it drains
+            SpongeImpl.getLogger().debug("The Scheduler could not run the task {} owned by {}: {}", task.getName(), task.getOwner(),
+                e.getMessage());
+            queued = false;
+        }
+        if (!queued) {
+            this.onTaskRejected(task);
+        }
+    }
+
+    /**
+     * Called when the executor refused to run the task. Repeating tasks are
+     * retried on their next cycle, other tasks are dropped.
+     *
+     * @param task The rejected task
+     */
+    private void onTaskRejected(ScheduledTask task) {
+        if (task.period > 0L) {
+            task.setState(ScheduledTask.ScheduledTaskState.RUNNING);
+            task.setTimestamp(this.getTimestamp(task));
+        } else {
+            task.setState(ScheduledTask.ScheduledTaskState.CANCELED);
+        }
     }
 
     @Override
@@ -160,6 +210,9 @@ protected void addTask(ScheduledTask task) {
     @Override
     protected void onTaskCompletion(ScheduledTask task) {
         if (task.getState() == ScheduledTask.ScheduledTaskState.RUNNING) {
+            if (task.period > 0L) {
+                this.rescheduleTask(task);
+            }
             this.lock.lock();
             try {
                 this.stateChanged.set(true);
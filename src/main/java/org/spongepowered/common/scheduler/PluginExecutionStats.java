@@ -0,0 +1,122 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.scheduler;
+
+import org.spongepowered.api.plugin.PluginContainer;
+import org.spongepowered.common.util.metric.LatencyHistogram;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Statistics about the asynchronous tasks of a single plugin.
+ */
+public final class PluginExecutionStats {
+
+    private final PluginContainer plugin;
+    final AtomicInteger queued = new AtomicInteger();
+    final AtomicInteger running = new AtomicInteger();
+    final LongAdder completed = new LongAdder();
+    final LongAdder rejected = new LongAdder();
+    final LatencyHistogram queueLatency = new LatencyHistogram();
+    final LatencyHistogram executionTime = new LatencyHistogram();
+
+    PluginExecutionStats(PluginContainer plugin) {
+        this.plugin = plugin;
+    }
+
+    public PluginContainer getPlugin() {
+        return this.plugin;
+    }
+
+    /**
+     * Gets the amount of tasks that are waiting for a thread.
+     *
+     * @return The queue depth
+     */
+    public int getQueuedTasks() {
+        return this.queued.get();
+    }
+
+    /**
+     * Gets the amount of tasks that are currently running.
+     *
+     * @return The running tasks
+     */
+    public int getRunningTasks() {
+        return this.running.get();
+    }
+
+    public long getCompletedTasks() {
+        return this.completed.sum();
+    }
+
+    public long getRejectedTasks() {
+        return this.rejected.sum();
+    }
+
+    /**
+     * Gets the histogram of the nanoseconds tasks waited between being
+     * submitted and being started.
+     *
+     * @return The queue latency histogram
+     */
+    public LatencyHistogram getQueueLatency() {
+        return this.queueLatency;
+    }
+
+    /**
+     * Gets the histogram of the nanoseconds tasks took to run.
+     *
+     * @return The execution time histogram
+     */
+    public LatencyHistogram getExecutionTime() {
+        return this.executionTime;
+    }
+
+    void run(Runnable task, long submitted) {
+        final long start = System.nanoTime();
+        this.queueLatency.record(start - submitted);
+        this.running.incrementAndGet();
+        try {
+            task.run();
+        } finally {
+            this.running.decrementAndGet();
+            this.completed.increment();
+            this.executionTime.record(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Resets the recorded histograms and counters.
+     */
+    public void reset() {
+        this.completed.reset();
+        this.rejected.reset();
+        this.queueLatency.reset();
+        this.executionTime.reset();
+    }
+
+}
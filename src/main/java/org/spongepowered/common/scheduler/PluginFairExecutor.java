@@ -0,0 +1,354 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.scheduler;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.spongepowered.api.plugin.PluginContainer;
+import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.config.category.AsyncExecutorCategory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The executor of asynchronous plugin tasks. Every plugin has its own queue
+ * of pending tasks and the worker threads serve the plugins with pending
+ * tasks in a round-robin fashion, a plugin that floods the executor with
+ * tasks only delays its own tasks.
+ *
+ * <p>Tasks that are submitted without an owner are internal tasks of Sponge
+ * and are attributed to Sponge.</p>
+ */
+public final class PluginFairExecutor extends AbstractExecutorService {
+
+    private final ExecutorService workers;
+    private final boolean virtual;
+    private final int maxThreads;
+    private final int queueCapacity;
+    private final AsyncExecutorCategory.RejectionPolicy rejectionPolicy;
+    private final Map<PluginContainer, PluginQueue> queues = new ConcurrentHashMap<>();
+    // The queues that have pending tasks, every queue is present at most once
+    private final Queue<PluginQueue> ready = new ConcurrentLinkedQueue<>();
+    // The amount of pumps that are running or waiting for a worker thread
+    private final AtomicInteger pumps = new AtomicInteger();
+    private final AtomicInteger largestPumps = new AtomicInteger();
+    private final Runnable pump = this::pump;
+
+    static PluginFairExecutor create(AsyncExecutorCategory config) {
+        final int maxThreads = config.isBounded() ? Math.max(1, config.getMaxThreads()) : Integer.MAX_VALUE;
+        final int queueCapacity = config.isBounded() ? Math.max(1, config.getPluginQueueCapacity()) : Integer.MAX_VALUE;
+        final AsyncExecutorCategory.RejectionPolicy rejectionPolicy = config.isBounded()
+            ? config.getRejectionPolicy() : AsyncExecutorCategory.RejectionPolicy.ABORT;
+        if (config.useVirtualThreads()) {
+            final ExecutorService workers = VirtualThreads.newVirtualThreadPerTaskExecutor();
+            if (workers != null) {
+                // Every pump gets its own virtual thread, the maximum only limits the concurrency
+                return new PluginFairExecutor(workers, true, maxThreads, queueCapacity, rejectionPolicy);
+            }
+            SpongeImpl.getLogger().warn("Virtual threads are not supported by this JVM (Java {}), asynchronous tasks will use platform threads.",
+                System.getProperty("java.version"));
+        }
+        final ThreadPoolExecutor workers;
+        if (config.isBounded()) {
+            workers = new ThreadPoolExecutor(maxThreads, maxThreads, config.getKeepAliveSeconds(), TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), new ThreadFactoryBuilder().setNameFormat("Sponge Async Task Thread #%d").build());
+            workers.allowCoreThreadTimeOut(true);
+        } else {
+            // Equivalent to a cached thread pool, every task gets its own thread if none is idle
+            workers = new ThreadPoolExecutor(0, Integer.MAX_VALUE, 60L, TimeUnit.SECONDS, new SynchronousQueue<>(),
+                new ThreadFactoryBuilder().setNameFormat("Sponge Async Task Thread #%d").build());
+        }
+        return new PluginFairExecutor(workers, false, maxThreads, queueCapacity, rejectionPolicy);
+    }
+
+    PluginFairExecutor(ExecutorService workers, boolean virtual, int maxThreads, int queueCapacity,
+        AsyncExecutorCategory.RejectionPolicy rejectionPolicy) {
+        this.workers = workers;
+        this.virtual = virtual;
+        this.maxThreads = maxThreads;
+        this.queueCapacity = queueCapacity;
+        this.rejectionPolicy = rejectionPolicy;
+    }
+
+    /**
+     * Executes the task on behalf of the given plugin.
+     *
+     * <p>Tasks beyond the queue capacity of the plugin are never run by the
+     * calling thread, that would be the scheduler thread which would hold up
+     * the tasks of every other plugin.</p>
+     *
+     * @param plugin The plugin that owns the task
+     * @param task The task to execute
+     * @return Whether the task was queued, false if it was discarded
+     * @throws RejectedExecutionException If the task was rejected
+     */
+    public boolean execute(PluginContainer plugin, Runnable task) {
+        return this.execute(plugin, task, true);
+    }
+
+    /**
+     * Executes an internal task of Sponge. These tasks are served together
+     * with the scheduled tasks of Sponge, but aren't limited by the queue
+     * capacity because the callers of the internal tasks wait for them.
+     *
+     * @param command The task to execute
+     */
+    @Override
+    public void execute(Runnable command) {
+        this.execute(SpongeImpl.getPlugin(), command, false);
+    }
+
+    private boolean execute(PluginContainer plugin, Runnable task, boolean bounded) {
+        final PluginQueue queue = this.queues.computeIfAbsent(plugin, PluginQueue::new);
+        if (bounded && !queue.reserve(this.queueCapacity)) {
+            queue.stats.rejected.increment();
+            if (queue.full.compareAndSet(false, true)) {
+                SpongeImpl.getLogger().warn("The asynchronous task queue of {} is full ({} tasks), new tasks are {} until it drains.",
+                    plugin.getId(), this.queueCapacity, this.rejectionPolicy == AsyncExecutorCategory.RejectionPolicy.DISCARD
+                        ? "discarded" : "rejected");
+            }
+            if (this.rejectionPolicy == AsyncExecutorCategory.RejectionPolicy.DISCARD) {
+                return false;
+            }
+            throw new RejectedExecutionException("The asynchronous task queue of " + plugin.getId() + " is full ("
+                + this.queueCapacity + " tasks)");
+        }
+        if (!bounded) {
+            queue.pending.incrementAndGet();
+        }
+        queue.tasks.add(new QueuedTask(task, System.nanoTime()));
+        if (queue.stats.queued.getAndIncrement() == 0) {
+            this.ready.add(queue);
+        }
+        if (this.tryStartPump()) {
+            try {
+                this.workers.execute(this.pump);
+            } catch (RejectedExecutionException e) {
+                this.pumps.decrementAndGet();
+                throw e;
+            }
+        }
+        return true;
+    }
+
+    private boolean tryStartPump() {
+        int count;
+        do {
+            count = this.pumps.get();
+            if (count >= this.maxThreads) {
+                return false;
+            }
+        } while (!this.pumps.compareAndSet(count, count + 1));
+        int largest;
+        while (count + 1 > (largest = this.largestPumps.get())) {
+            if (this.largestPumps.compareAndSet(largest, count + 1)) {
+                break;
+            }
+        }
+        return true;
+    }
+
+    private void pump() {
+        while (true) {
+            final PluginQueue queue = this.ready.poll();
+            if (queue == null) {
+                this.pumps.decrementAndGet();
+                // A task may have been added after the poll while this pump
+                // was still counted, so it's up to this pump to serve it.
+                if (this.ready.isEmpty() || !this.tryStartPump()) {
+                    return;
+                }
+                continue;
+            }
+            final QueuedTask task = queue.tasks.poll();
+            if (queue.pending.decrementAndGet() < this.queueCapacity) {
+                queue.full.set(false);
+            }
+            if (queue.stats.queued.decrementAndGet() > 0) {
+                // Back of the line, other plugins go first
+                this.ready.add(queue);
+            }
+            try {
+                queue.stats.run(task.task, task.submitted);
+            } catch (Throwable t) {
+                SpongeImpl.getLogger().error("An asynchronous task owned by {} threw an exception", queue.stats.getPlugin().getId(), t);
+            }
+        }
+    }
+
+    /**
+     * Gets the statistics of all plugins that submitted tasks.
+     *
+     * @return The statistics per plugin
+     */
+    public Collection<PluginExecutionStats> getStats() {
+        final List<PluginExecutionStats> stats = new ArrayList<>(this.queues.size());
+        for (PluginQueue queue : this.queues.values()) {
+            stats.add(queue.stats);
+        }
+        return Collections.unmodifiableList(stats);
+    }
+
+    /**
+     * Gets whether the tasks are run on virtual threads.
+     *
+     * @return Whether virtual threads are used
+     */
+    public boolean usesVirtualThreads() {
+        return this.virtual;
+    }
+
+    public int getActiveThreads() {
+        if (this.workers instanceof ThreadPoolExecutor) {
+            return ((ThreadPoolExecutor) this.workers).getActiveCount();
+        }
+        return this.pumps.get();
+    }
+
+    public int getPoolSize() {
+        if (this.workers instanceof ThreadPoolExecutor) {
+            return ((ThreadPoolExecutor) this.workers).getPoolSize();
+        }
+        return this.pumps.get();
+    }
+
+    public int getLargestPoolSize() {
+        if (this.workers instanceof ThreadPoolExecutor) {
+            return ((ThreadPoolExecutor) this.workers).getLargestPoolSize();
+        }
+        return this.largestPumps.get();
+    }
+
+    /**
+     * Gets the maximum amount of threads, or {@link Integer#MAX_VALUE} if
+     * the pool isn't bounded.
+     *
+     * @return The maximum amount of threads
+     */
+    public int getMaxThreads() {
+        return this.maxThreads;
+    }
+
+    /**
+     * Gets the amount of tasks of all plugins that are waiting for a thread.
+     *
+     * @return The queue depth
+     */
+    public int getQueuedTasks() {
+        int queued = 0;
+        for (PluginQueue queue : this.queues.values()) {
+            queued += queue.stats.getQueuedTasks();
+        }
+        return queued;
+    }
+
+    @Override
+    public void shutdown() {
+        this.workers.shutdown();
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        final List<Runnable> pending = new ArrayList<>();
+        this.ready.clear();
+        for (PluginQueue queue : this.queues.values()) {
+            QueuedTask task;
+            while ((task = queue.tasks.poll()) != null) {
+                queue.stats.queued.decrementAndGet();
+                queue.pending.decrementAndGet();
+                pending.add(task.task);
+            }
+        }
+        this.workers.shutdownNow();
+        return pending;
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return this.workers.isShutdown();
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return this.workers.isTerminated();
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        return this.workers.awaitTermination(timeout, unit);
+    }
+
+    private static final class PluginQueue {
+
+        final Queue<QueuedTask> tasks = new ConcurrentLinkedQueue<>();
+        // The tasks that were accepted and haven't been started, reserved
+        // before they are added so the capacity is never exceeded
+        final AtomicInteger pending = new AtomicInteger();
+        // Whether the overflow of the queue was reported
+        final AtomicBoolean full = new AtomicBoolean();
+        final PluginExecutionStats stats;
+
+        PluginQueue(PluginContainer plugin) {
+            this.stats = new PluginExecutionStats(plugin);
+        }
+
+        boolean reserve(int capacity) {
+            int count;
+            do {
+                count = this.pending.get();
+                if (count >= capacity) {
+                    return false;
+                }
+            } while (!this.pending.compareAndSet(count, count + 1));
+            return true;
+        }
+    }
+
+    private static final class QueuedTask {
+
+        final Runnable task;
+        final long submitted;
+
+        QueuedTask(Runnable task, long submitted) {
+            this.task = task;
+            this.submitted = submitted;
+        }
+    }
+}
@@ -36,6 +36,8 @@
 import java.util.function.Consumer;
 import java.util.concurrent.TimeUnit;
 
+import javax.annotation.Nullable;
+
 /**
  * An internal representation of a {@link Task} created by a plugin.
  */
@@ -58,6 +60,10 @@ public class ScheduledTask implements Task {
     private final TaskSynchronicity syncType;
     private final String stringRepresentation;
     private Timing taskTimer;
+    // The scheduler this task was submitted to
+    @Nullable volatile SchedulerBase scheduler;
+    // The node of this task in the timing wheel of the scheduler, if used
+    final TimingWheel.Entry<ScheduledTask> wheelEntry = new TimingWheel.Entry<>(this);
 
     // Internal Task state. Not for user-service use.
     public enum ScheduledTaskState {
@@ -141,6 +147,9 @@ public boolean cancel() {
             success = true;
         }
         this.setState(ScheduledTask.ScheduledTaskState.CANCELED);
+        if (this.scheduler != null) {
+            this.scheduler.onTaskCancelled(this);
+        }
         return success;
     }
 
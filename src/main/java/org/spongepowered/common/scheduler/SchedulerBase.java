@@ -37,8 +37,10 @@
 
 import java.util.Map;
 import java.util.Optional;
+import java.util.Queue;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
 import javax.annotation.Nullable;
 
@@ -48,9 +50,17 @@ abstract class SchedulerBase {
     private final Map<UUID, ScheduledTask> taskMap = Maps.newConcurrentMap();
     private long sequenceNumber = 0L;
     private final String taskNameFmt;
+    // The timing wheel of all pending tasks, only touched by the ticking thread.
+    // Null if the legacy scanning of the task map is used.
+    @Nullable protected final TimingWheel<ScheduledTask> timingWheel;
+    // Tasks that were added, cancelled or completed from any thread and need
+    // to be (re)placed in the timing wheel on the next tick.
+    private final Queue<ScheduledTask> wheelUpdates = new ConcurrentLinkedQueue<>();
 
     protected SchedulerBase(ScheduledTask.TaskSynchronicity type) {
         this.taskNameFmt = "%s-" + (type == ScheduledTask.TaskSynchronicity.SYNCHRONOUS ? "S" : "A") + "-%d";
+        this.timingWheel = SpongeImpl.getGlobalConfigAdapter().getConfig().getScheduler().useTimingWheel()
+                ? new TimingWheel<>(0L) : null;
     }
 
     protected String nextName(PluginContainer plugin) {
@@ -80,7 +90,11 @@ protected long getTimestamp(ScheduledTask task) {
      */
     protected void addTask(ScheduledTask task) {
         task.setTimestamp(this.getTimestamp(task));
+        task.scheduler = this;
         this.taskMap.put(task.getUniqueId(), task);
+        if (this.timingWheel != null) {
+            this.wheelUpdates.add(task);
+        }
     }
 
     /**
@@ -103,13 +117,62 @@ protected Set<Task> getScheduledTasks() {
     }
 
     /**
-     * Process all tasks in the map.
+     * Called when the task is cancelled, from any thread.
+     *
+     * @param task The cancelled task
+     */
+    void onTaskCancelled(ScheduledTask task) {
+        if (this.timingWheel != null) {
+            // Removed right away, the wheel entry is unlinked on the next tick
+            this.removeTask(task);
+            this.wheelUpdates.add(task);
+        }
+    }
+
+    /**
+     * Requests the task to be placed back into the timing wheel on the next
+     * tick, used by tasks that completed on a different thread.
+     *
+     * @param task The task to reschedule
+     */
+    protected void rescheduleTask(ScheduledTask task) {
+        if (this.timingWheel != null) {
+            this.wheelUpdates.add(task);
+        }
+    }
+
+    /**
+     * Gets the current time of the timing wheel, in wheel units. Wheel time
+     * starts at zero and never decreases.
+     *
+     * @return The current wheel time
+     */
+    protected abstract long getWheelTime();
+
+    /**
+     * Gets the time of the timing wheel, in wheel units, at which the task
+     * should be processed next. This may be earlier than the real execution
+     * time, the task will be rescheduled if it isn't due yet.
+     *
+     * @param task The task
+     * @return The wheel deadline of the task
+     */
+    protected abstract long getWheelDeadline(ScheduledTask task);
+
+    /**
+     * Process all tasks in the map, or only the due tasks in the timing wheel
+     * if it's enabled.
      */
     protected final void runTick() {
         this.preTick();
         TimingsManager.PLUGIN_SCHEDULER_HANDLER.startTimingIfSync();
         try {
-            this.taskMap.values().forEach(this::processTask);
+            if (this.timingWheel != null) {
+                this.processWheelUpdates(this.timingWheel);
+                this.timingWheel.advance(this.getWheelTime(), this::processWheelTask);
+            } else {
+                this.taskMap.values().forEach(this::processTask);
+            }
             this.postTick();
         } finally {
             this.finallyPostTick();
@@ -179,6 +242,48 @@ protected void processTask(ScheduledTask task) {
         }
     }
 
+    private void processWheelUpdates(TimingWheel<ScheduledTask> wheel) {
+        ScheduledTask task;
+        while ((task = this.wheelUpdates.poll()) != null) {
+            final ScheduledTask.ScheduledTaskState state = task.getState();
+            if (state == ScheduledTask.ScheduledTaskState.CANCELED) {
+                wheel.cancel(task.wheelEntry);
+            } else if (state != ScheduledTask.ScheduledTaskState.EXECUTING) {
+                wheel.schedule(task.wheelEntry, this.getWheelDeadline(task));
+            }
+        }
+    }
+
+    /**
+     * Processes a task that is due according to the timing wheel, and places
+     * it back into the wheel if it will run again.
+     *
+     * @param task The task to process
+     */
+    private void processWheelTask(ScheduledTask task) {
+        if (task.getState() == ScheduledTask.ScheduledTaskState.CANCELED) {
+            this.removeTask(task);
+            return;
+        }
+        // Still executing, the task will be rescheduled once it completes
+        if (task.getState() == ScheduledTask.ScheduledTaskState.EXECUTING) {
+            return;
+        }
+        if (task.nextExecutionTimestamp() <= this.getTimestamp(task)) {
+            task.setState(ScheduledTask.ScheduledTaskState.SWITCHING);
+            task.setTimestamp(this.getTimestamp(task));
+            startTask(task);
+            if (task.period == 0L) {
+                this.removeTask(task);
+                return;
+            }
+        }
+        final ScheduledTask.ScheduledTaskState state = task.getState();
+        if (state != ScheduledTask.ScheduledTaskState.CANCELED && state != ScheduledTask.ScheduledTaskState.EXECUTING) {
+            this.timingWheel.schedule(task.wheelEntry, this.getWheelDeadline(task));
+        }
+    }
+
     /**
      * Begin the execution of a task. Exceptions are caught and logged.
      *
@@ -198,6 +198,16 @@ public void tickSyncScheduler() {
         }
     }
 
+    /**
+     * Gets the executor that runs the asynchronous tasks, which
+     * exposes statistics about the tasks of each plugin.
+     *
+     * @return The asynchronous executor
+     */
+    public PluginFairExecutor getAsyncExecutor() {
+        return this.asyncScheduler.getExecutor();
+    }
+
     public <T> CompletableFuture<T> submitAsyncTask(Callable<T> callable) {
         return Functional.asyncFailableFuture(callable, this.asyncScheduler.getExecutor());
     }
@@ -65,6 +65,23 @@ protected long getTimestamp(ScheduledTask task) {
         return 0L;
     }
 
+    @Override
+    protected long getWheelTime() {
+        return this.counter;
+    }
+
+    @Override
+    protected long getWheelDeadline(ScheduledTask task) {
+        final boolean isTicks = task.getState() == ScheduledTask.ScheduledTaskState.WAITING ? task.delayIsTicks : task.intervalIsTicks;
+        if (isTicks) {
+            return task.nextExecutionTimestamp();
+        }
+        // The length of a tick isn't known ahead of time, ticks take longer under lag and
+        // catch up ticks run back to back. So real time tasks are checked again every
+        // tick, and rescheduled if they aren't due yet.
+        return this.counter + 1;
+    }
+
     @Override
     protected void executeTaskRunnable(ScheduledTask task, Runnable runnable) {
         try (BasicPluginContext context = createContext(task)) {
@@ -0,0 +1,266 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.scheduler;
+
+import java.util.function.Consumer;
+
+import javax.annotation.Nullable;
+
+/**
+ * A hierarchical timing wheel that keeps track of pending entries by the
+ * unit of time at which they become due.
+ *
+ * <p>Every level consists of 64 slots, a slot on level {@code n} spans
+ * {@code 64^n} units of time. Entries are placed on the level of the highest
+ * differing slot between their deadline and the current time, and are
+ * cascaded down to lower levels as the wheel advances, so advancing the wheel
+ * only touches entries that are due (or about to become due), and empty
+ * stretches of time are skipped using the per level occupancy masks.</p>
+ *
+ * <p>Units are opaque to the wheel, ticks for the synchronous scheduler and
+ * (scaled) nanoseconds for the asynchronous scheduler. This class is not
+ * thread safe, all access must happen on the thread that advances it.</p>
+ *
+ * @param <T> The type of the scheduled values
+ */
+final class TimingWheel<T> {
+
+    private static final int WHEEL_BITS = 6;
+    private static final int WHEEL_SIZE = 1 << WHEEL_BITS;
+    private static final int WHEEL_MASK = WHEEL_SIZE - 1;
+    private static final int LEVELS = 6;
+    // The bits of the current time that are covered by all the levels of the wheel
+    private static final long SPAN_MASK = (1L << (WHEEL_BITS * LEVELS)) - 1;
+
+    @SuppressWarnings("unchecked")
+    private final Entry<T>[] slots = new Entry[WHEEL_SIZE * LEVELS];
+    private final long[] occupied = new long[LEVELS];
+    // The next unit of time that hasn't been processed yet
+    private long current;
+    private int size;
+
+    TimingWheel(long start) {
+        this.current = start;
+    }
+
+    /**
+     * Gets the next unit of time that will be processed by
+     * {@link #advance(long, Consumer)}.
+     *
+     * @return The current time of the wheel
+     */
+    long getCurrent() {
+        return this.current;
+    }
+
+    /**
+     * Gets the amount of entries that are scheduled in this wheel.
+     *
+     * @return The amount of entries
+     */
+    int size() {
+        return this.size;
+    }
+
+    /**
+     * Schedules the entry at the given deadline, if the entry was already
+     * scheduled, it will be moved to the new deadline. Deadlines that lie in
+     * the past will be processed on the next advance of the wheel.
+     *
+     * <p>Deadlines beyond the range of the wheel are clamped, the entry will
+     * be passed to the consumer early, which is expected to reschedule it.</p>
+     *
+     * @param entry The entry to schedule
+     * @param deadline The unit of time at which the entry becomes due
+     */
+    void schedule(Entry<T> entry, long deadline) {
+        if (entry.slot != -1) {
+            this.unlink(entry);
+        }
+        if (deadline < this.current) {
+            deadline = this.current;
+        } else if (deadline > (this.current | SPAN_MASK)) {
+            deadline = this.current | SPAN_MASK;
+        }
+        final long diff = deadline ^ this.current;
+        final int level = diff == 0 ? 0 : (63 - Long.numberOfLeadingZeros(diff)) / WHEEL_BITS;
+        final int index = (int) (deadline >>> (level * WHEEL_BITS)) & WHEEL_MASK;
+        final int slot = level * WHEEL_SIZE + index;
+        entry.deadline = deadline;
+        entry.slot = slot;
+        entry.prev = null;
+        entry.next = this.slots[slot];
+        if (entry.next != null) {
+            entry.next.prev = entry;
+        }
+        this.slots[slot] = entry;
+        this.occupied[level] |= 1L << index;
+        this.size++;
+    }
+
+    /**
+     * Removes the entry from the wheel, if it's scheduled.
+     *
+     * @param entry The entry to remove
+     * @return Whether the entry was scheduled
+     */
+    boolean cancel(Entry<T> entry) {
+        if (entry.slot == -1) {
+            return false;
+        }
+        this.unlink(entry);
+        return true;
+    }
+
+    private void unlink(Entry<T> entry) {
+        final int slot = entry.slot;
+        if (entry.prev != null) {
+            entry.prev.next = entry.next;
+        } else {
+            this.slots[slot] = entry.next;
+            if (entry.next == null) {
+                this.occupied[slot / WHEEL_SIZE] &= ~(1L << (slot & WHEEL_MASK));
+            }
+        }
+        if (entry.next != null) {
+            entry.next.prev = entry.prev;
+        }
+        entry.prev = null;
+        entry.next = null;
+        entry.slot = -1;
+        this.size--;
+    }
+
+    /**
+     * Gets the earliest unit of time at which the wheel has work to do, this is
+     * a lower bound of the earliest deadline of all the scheduled entries.
+     *
+     * @return The next unit of time with work, or {@link Long#MAX_VALUE} if
+     *     the wheel is empty
+     */
+    long nextEventTime() {
+        if (this.size == 0) {
+            return Long.MAX_VALUE;
+        }
+        long next = Long.MAX_VALUE;
+        for (int level = 0; level < LEVELS; level++) {
+            final int shift = level * WHEEL_BITS;
+            final int index = (int) (this.current >>> shift) & WHEEL_MASK;
+            // Slots before the current one are empty within the current window,
+            // the current slot of a higher level can only be occupied if the
+            // current time lies at its start and it wasn't cascaded yet.
+            final long mask = this.occupied[level] & (-1L << index);
+            if (mask != 0) {
+                final long window = (this.current >>> shift) & ~((long) WHEEL_MASK);
+                next = Math.min(next, Math.max(this.current, (window + Long.numberOfTrailingZeros(mask)) << shift));
+            }
+        }
+        return next;
+    }
+
+    /**
+     * Advances the wheel up to and including the given unit of time, every
+     * entry that became due will be removed from the wheel and passed to the
+     * consumer. The consumer is free to schedule or cancel entries.
+     *
+     * @param now The current unit of time
+     * @param consumer The consumer of the due values
+     */
+    void advance(long now, Consumer<T> consumer) {
+        while (this.current <= now) {
+            final long next = this.nextEventTime();
+            if (next > now) {
+                this.current = now + 1;
+                return;
+            }
+            this.current = next;
+            this.cascade();
+            final int index = (int) this.current & WHEEL_MASK;
+            Entry<T> entry = this.slots[index];
+            this.slots[index] = null;
+            this.occupied[0] &= ~(1L << index);
+            this.current++;
+            while (entry != null) {
+                final Entry<T> nextEntry = entry.next;
+                entry.prev = null;
+                entry.next = null;
+                entry.slot = -1;
+                this.size--;
+                consumer.accept(entry.value);
+                entry = nextEntry;
+            }
+        }
+    }
+
+    private void cascade() {
+        // Find the highest level whose slot starts at the current time,
+        // entries move down one level at a time, so the highest level
+        // needs to be cascaded first.
+        int level = 0;
+        while (level < LEVELS - 1 && (this.current & ((1L << ((level + 1) * WHEEL_BITS)) - 1)) == 0) {
+            level++;
+        }
+        for (; level > 0; level--) {
+            final int index = (int) (this.current >>> (level * WHEEL_BITS)) & WHEEL_MASK;
+            final int slot = level * WHEEL_SIZE + index;
+            Entry<T> entry = this.slots[slot];
+            if (entry == null) {
+                continue;
+            }
+            this.slots[slot] = null;
+            this.occupied[level] &= ~(1L << index);
+            while (entry != null) {
+                final Entry<T> nextEntry = entry.next;
+                entry.slot = -1;
+                this.size--;
+                this.schedule(entry, entry.deadline);
+                entry = nextEntry;
+            }
+        }
+    }
+
+    /**
+     * A node of the timing wheel, every value should own exactly one entry
+     * so it can be rescheduled and cancelled in constant time.
+     *
+     * @param <T> The type of the value
+     */
+    static final class Entry<T> {
+
+        final T value;
+        @Nullable Entry<T> prev;
+        @Nullable Entry<T> next;
+        long deadline;
+        int slot = -1;
+
+        Entry(T value) {
+            this.value = value;
+        }
+
+        boolean isScheduled() {
+            return this.slot != -1;
+        }
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.scheduler;
+
+import org.spongepowered.common.SpongeImpl;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+import javax.annotation.Nullable;
+
+/**
+ * Access to virtual threads, which are only available when running on
+ * Java 21 or newer. Everything is looked up reflectively, so this class can
+ * be loaded on any JVM.
+ */
+final class VirtualThreads {
+
+    @Nullable private static final Method NEW_THREAD_PER_TASK_EXECUTOR;
+    @Nullable private static final ThreadFactory FACTORY;
+
+    static {
+        Method newThreadPerTaskExecutor = null;
+        ThreadFactory factory = null;
+        try {
+            final Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+            final Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            builderClass.getMethod("name", String.class, long.class).invoke(builder, "Sponge Async Task Virtual Thread #", 0L);
+            factory = (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+            newThreadPerTaskExecutor = Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class);
+            // Virtual threads may still be a preview feature that isn't enabled
+            factory.newThread(() -> { });
+        } catch (Throwable t) {
+            newThreadPerTaskExecutor = null;
+            factory = null;
+        }
+        NEW_THREAD_PER_TASK_EXECUTOR = newThreadPerTaskExecutor;
+        FACTORY = factory;
+    }
+
+    private VirtualThreads() {
+    }
+
+    /**
+     * Gets whether the running JVM supports virtual threads.
+     *
+     * @return Whether virtual threads are supported
+     */
+    static boolean isSupported() {
+        return NEW_THREAD_PER_TASK_EXECUTOR != null;
+    }
+
+    /**
+     * Creates an executor that starts a new virtual thread for every task.
+     *
+     * @return The executor, or null if virtual threads aren't supported
+     */
+    @Nullable
+    static ExecutorService newVirtualThreadPerTaskExecutor() {
+        if (NEW_THREAD_PER_TASK_EXECUTOR == null) {
+            return null;
+        }
+        try {
+            return (ExecutorService) NEW_THREAD_PER_TASK_EXECUTOR.invoke(null, FACTORY);
+        } catch (ReflectiveOperationException e) {
+            SpongeImpl.getLogger().error("Could not create a virtual thread executor", e);
+            return null;
+        }
+    }
+
+}
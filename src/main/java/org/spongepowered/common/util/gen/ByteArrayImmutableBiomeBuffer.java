@@ -70,6 +70,10 @@ public BiomeType getBiome(int x, int y, int z) {
         return biomeType == null ? BiomeTypes.OCEAN : biomeType;
     }
 
+    public Palette<BiomeType> getPalette() {
+        return this.palette;
+    }
+
     @Override
     public ImmutableBiomeVolume getBiomeView(Vector3i newMin, Vector3i newMax) {
         checkRange(newMin.getX(), newMin.getY(), newMin.getZ());
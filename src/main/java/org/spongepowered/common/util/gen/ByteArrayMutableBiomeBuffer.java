@@ -89,6 +89,10 @@ public BiomeType getBiome(int x, int y, int z) {
         return this.palette.get(biomeId & 255).orElse(BiomeTypes.OCEAN);
     }
 
+    public Palette<BiomeType> getPalette() {
+        return this.palette;
+    }
+
     /**
      * Gets the internal byte array, and prevents further of it through this
      * object uses until {@link #reuse(Vector3i)} is called.
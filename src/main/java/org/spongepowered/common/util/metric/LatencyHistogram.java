@@ -0,0 +1,153 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.util.metric;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A thread safe, fixed size histogram of (nanosecond) durations.
+ *
+ * <p>Values are stored in logarithmic buckets with 32 linear sub buckets
+ * each, so every recorded value is accurate up to roughly 3% while the
+ * histogram takes a constant amount of memory. Recording never allocates.</p>
+ */
+public final class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int SUB_BUCKET_MASK = SUB_BUCKET_COUNT - 1;
+    // Values above 2^45 nanoseconds (over 9 hours) are clamped
+    private static final long MAX_TRACKABLE_VALUE = (1L << 45) - 1;
+    private static final int BUCKET_COUNT = bucketIndex(MAX_TRACKABLE_VALUE) + 1;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+    private final LongAdder totalCount = new LongAdder();
+    private final LongAdder totalValue = new LongAdder();
+    private final AtomicLong maxValue = new AtomicLong();
+
+    private static int bucketIndex(long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+        final int exponent = 63 - Long.numberOfLeadingZeros(value);
+        final int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & SUB_BUCKET_MASK;
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKET_COUNT + subBucket;
+    }
+
+    private static long highestValueInBucket(int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+        final int shift = index / SUB_BUCKET_COUNT - 1;
+        final long lowest = (long) (SUB_BUCKET_COUNT + (index & SUB_BUCKET_MASK)) << shift;
+        return lowest + (1L << shift) - 1;
+    }
+
+    /**
+     * Records the given value, negative values are recorded as zero.
+     *
+     * @param value The value to record
+     */
+    public void record(long value) {
+        if (value < 0) {
+            value = 0;
+        } else if (value > MAX_TRACKABLE_VALUE) {
+            value = MAX_TRACKABLE_VALUE;
+        }
+        this.counts.incrementAndGet(bucketIndex(value));
+        this.totalCount.increment();
+        this.totalValue.add(value);
+        long max;
+        while (value > (max = this.maxValue.get())) {
+            if (this.maxValue.compareAndSet(max, value)) {
+                break;
+            }
+        }
+    }
+
+    public long getCount() {
+        return this.totalCount.sum();
+    }
+
+    public long getMax() {
+        return this.maxValue.get();
+    }
+
+    public long getSum() {
+        return this.totalValue.sum();
+    }
+
+    public long getMean() {
+        final long count = this.totalCount.sum();
+        return count == 0 ? 0 : this.totalValue.sum() / count;
+    }
+
+    /**
+     * Gets the value below which the given percentage of the recorded values
+     * fall, the value is rounded up to the upper bound of its bucket.
+     *
+     * @param percentile The percentile, between 0 and 100
+     * @return The value at the percentile, or 0 if nothing was recorded
+     */
+    public long getValueAtPercentile(double percentile) {
+        checkArgument(percentile >= 0 && percentile <= 100, "Percentile must be between 0 and 100");
+        long count = 0;
+        final long[] counts = new long[BUCKET_COUNT];
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts[i] = this.counts.get(i);
+            count += counts[i];
+        }
+        if (count == 0) {
+            return 0;
+        }
+        final long target = Math.max(1, (long) Math.ceil(percentile / 100.0 * count));
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += counts[i];
+            if (seen >= target) {
+                return Math.min(highestValueInBucket(i), this.maxValue.get());
+            }
+        }
+        return this.maxValue.get();
+    }
+
+    /**
+     * Clears all the recorded values. Values that are recorded concurrently
+     * may be partially lost.
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            this.counts.set(i, 0);
+        }
+        this.totalCount.reset();
+        this.totalValue.reset();
+        this.maxValue.set(0);
+    }
+
+}
@@ -0,0 +1,350 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.util.metric;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
+
+import org.spongepowered.common.SpongeImpl;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+import javax.annotation.Nullable;
+
+/**
+ * Periodically samples the stack of a thread, usually the server thread, and
+ * aggregates the samples into a call tree which is written to disk as
+ * collapsed stacks, one line per unique stack followed by its sample count.
+ * The file can be turned into a flame graph by the common flame graph tools
+ * without any upload.
+ *
+ * <p>Samples are grouped per tick, the ticks are bounded by
+ * {@link #onTickStart()} and {@link #onTickEnd(long)} which the full server
+ * tick timing calls. Samples taken between two ticks, while the server waits
+ * for the next tick, are discarded. If a slow tick threshold is set, only the
+ * samples of ticks that took at least that long are kept, which narrows the
+ * profile down to lag spikes. Stacks are sampled through
+ * {@link Thread#getStackTrace()}, so they are biased towards safepoints.</p>
+ *
+ * <p>Only one profiler can run at a time.</p>
+ */
+public final class SamplingProfiler {
+
+    private static final AtomicReference<SamplingProfiler> active = new AtomicReference<>();
+
+    /**
+     * Gets the currently running profiler, if any.
+     *
+     * @return The running profiler
+     */
+    public static Optional<SamplingProfiler> getActive() {
+        return Optional.ofNullable(active.get());
+    }
+
+    /**
+     * Called by the target thread when a tick starts.
+     */
+    public static void onTickStart() {
+        final SamplingProfiler profiler = active.get();
+        if (profiler != null) {
+            profiler.tickStart = System.nanoTime();
+            profiler.tick++;
+            profiler.ticking = true;
+        }
+    }
+
+    /**
+     * Called by the target thread when a tick ends.
+     *
+     * @param duration The nanoseconds the tick took
+     */
+    public static void onTickEnd(long duration) {
+        final SamplingProfiler profiler = active.get();
+        if (profiler != null && profiler.ticking) {
+            profiler.ticking = false;
+            profiler.completedTicks.add(new CompletedTick(profiler.tick, duration));
+        }
+    }
+
+    /**
+     * Starts a new profiler.
+     *
+     * @param target The thread to sample, which has to call the tick hooks
+     * @param duration The duration to profile for
+     * @param interval The interval between two samples
+     * @param slowTickThreshold The minimum duration of the ticks to keep the
+     *     samples of, or zero to keep all samples
+     * @param output The file to write the collapsed stacks to
+     * @param callback Called from the profiler thread once the file was written,
+     *     or writing failed
+     * @return The started profiler
+     * @throws IllegalStateException If a profiler is already running
+     */
+    public static SamplingProfiler start(Thread target, long duration, long interval, long slowTickThreshold,
+            TimeUnit unit, Path output, Consumer<SamplingProfiler> callback) {
+        final SamplingProfiler profiler = new SamplingProfiler(target, unit.toNanos(duration), unit.toNanos(interval),
+                unit.toNanos(slowTickThreshold), output, callback);
+        checkState(active.compareAndSet(null, profiler), "A profiler is already running");
+        profiler.thread.start();
+        return profiler;
+    }
+
+    private final Thread target;
+    private final long durationNanos;
+    private final long intervalNanos;
+    private final long slowTickNanos;
+    private final Path output;
+    private final Consumer<SamplingProfiler> callback;
+    private final Thread thread;
+    private final Node root = new Node();
+
+    // The samples of the ticks which haven't completed yet
+    private final Map<Integer, List<StackTraceElement[]>> tickSamples = new HashMap<>();
+    // Written by the target thread, which is the only writer
+    private final Queue<CompletedTick> completedTicks = new ConcurrentLinkedQueue<>();
+    private volatile int tick;
+    private volatile boolean ticking;
+    private volatile long tickStart;
+
+    private volatile boolean stopped;
+    private volatile long startTime;
+    private volatile long samples;
+    private volatile long keptSamples;
+    private volatile int ticks;
+    private volatile int keptTicks;
+    @Nullable private volatile IOException error;
+
+    private SamplingProfiler(Thread target, long durationNanos, long intervalNanos, long slowTickNanos, Path output,
+            Consumer<SamplingProfiler> callback) {
+        checkArgument(durationNanos > 0, "The duration must be positive");
+        checkArgument(intervalNanos > 0, "The interval must be positive");
+        checkArgument(slowTickNanos >= 0, "The slow tick threshold cannot be negative");
+        this.target = checkNotNull(target, "target");
+        this.durationNanos = durationNanos;
+        this.intervalNanos = intervalNanos;
+        this.slowTickNanos = slowTickNanos;
+        this.output = checkNotNull(output, "output");
+        this.callback = checkNotNull(callback, "callback");
+        this.thread = new Thread(this::run, "Sponge Sampling Profiler");
+        this.thread.setDaemon(true);
+    }
+
+    /**
+     * Stops the profiler early, the samples taken so far are still written.
+     */
+    public void stop() {
+        this.stopped = true;
+        LockSupport.unpark(this.thread);
+    }
+
+    public Path getOutput() {
+        return this.output;
+    }
+
+    public long getElapsedMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - this.startTime);
+    }
+
+    public long getDurationMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(this.durationNanos);
+    }
+
+    public long getSamples() {
+        return this.samples;
+    }
+
+    public long getKeptSamples() {
+        return this.keptSamples;
+    }
+
+    public int getTicks() {
+        return this.ticks;
+    }
+
+    public int getKeptTicks() {
+        return this.keptTicks;
+    }
+
+    /**
+     * Gets the error that occurred while writing the output, if any.
+     *
+     * @return The error
+     */
+    public Optional<IOException> getError() {
+        return Optional.ofNullable(this.error);
+    }
+
+    private void run() {
+        try {
+            this.startTime = System.nanoTime();
+            final long end = this.startTime + this.durationNanos;
+            long next = this.startTime;
+            while (!this.stopped && this.target.isAlive()) {
+                this.finishTicks();
+                final long now = System.nanoTime();
+                if (now - end >= 0) {
+                    break;
+                }
+                if (now - next < 0) {
+                    LockSupport.parkNanos(next - now);
+                    continue;
+                }
+                next = now + this.intervalNanos;
+                this.sample();
+            }
+            active.compareAndSet(this, null);
+            this.finishTicks();
+            // A tick that is still running is kept if it's already slow
+            final int tick = this.tick;
+            final long tickStart = this.tickStart;
+            if (this.ticking && tick == this.tick) {
+                this.finishTick(tick, System.nanoTime() - tickStart);
+            }
+            this.write();
+        } catch (IOException e) {
+            this.error = e;
+        } finally {
+            active.compareAndSet(this, null);
+        }
+        try {
+            this.callback.accept(this);
+        } catch (Throwable t) {
+            SpongeImpl.getLogger().error("Failed to complete the sampling profiler", t);
+        }
+    }
+
+    private void sample() {
+        final int tick = this.tick;
+        if (!this.ticking) {
+            return;
+        }
+        final StackTraceElement[] stack = this.target.getStackTrace();
+        // Only keep the sample if the tick didn't end while it was taken
+        if (stack.length > 0 && this.ticking && tick == this.tick) {
+            this.tickSamples.computeIfAbsent(tick, k -> new ArrayList<>()).add(stack);
+            this.samples++;
+        }
+    }
+
+    private void finishTicks() {
+        CompletedTick completed;
+        while ((completed = this.completedTicks.poll()) != null) {
+            this.finishTick(completed.tick, completed.duration);
+        }
+    }
+
+    private void finishTick(int tick, long duration) {
+        final List<StackTraceElement[]> samples = this.tickSamples.remove(tick);
+        this.ticks++;
+        if (duration < this.slowTickNanos) {
+            return;
+        }
+        this.keptTicks++;
+        if (samples != null) {
+            for (StackTraceElement[] stack : samples) {
+                this.root.add(stack);
+            }
+            this.keptSamples += samples.size();
+        }
+    }
+
+    private void write() throws IOException {
+        final Path parent = this.output.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        try (BufferedWriter writer = Files.newBufferedWriter(this.output, StandardCharsets.UTF_8)) {
+            final StringBuilder path = new StringBuilder(256);
+            for (Map.Entry<String, Node> entry : this.root.children.entrySet()) {
+                entry.getValue().write(writer, path, entry.getKey());
+            }
+        }
+    }
+
+    private static final class CompletedTick {
+
+        final int tick;
+        final long duration;
+
+        CompletedTick(int tick, long duration) {
+            this.tick = tick;
+            this.duration = duration;
+        }
+    }
+
+    /**
+     * A frame in the call tree, keyed by class and method name.
+     */
+    private static final class Node {
+
+        final Map<String, Node> children = new HashMap<>();
+        long self;
+
+        void add(StackTraceElement[] stack) {
+            // Stack traces start at the innermost frame
+            Node node = this;
+            for (int i = stack.length - 1; i >= 0; i--) {
+                final StackTraceElement element = stack[i];
+                node = node.children.computeIfAbsent(element.getClassName() + '.' + element.getMethodName(), k -> new Node());
+            }
+            node.self++;
+        }
+
+        void write(BufferedWriter writer, StringBuilder path, String frame) throws IOException {
+            final int length = path.length();
+            if (length > 0) {
+                path.append(';');
+            }
+            // Semicolons and spaces are the separators of the collapsed format
+            path.append(frame.replace(';', ':').replace(' ', '_'));
+            if (this.self > 0) {
+                writer.append(path).append(' ').append(Long.toString(this.self));
+                writer.newLine();
+            }
+            for (Map.Entry<String, Node> entry : this.children.entrySet()) {
+                entry.getValue().write(writer, path, entry.getKey());
+            }
+            path.setLength(length);
+        }
+
+    }
+
+}
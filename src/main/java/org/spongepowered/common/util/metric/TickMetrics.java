@@ -0,0 +1,225 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.util.metric;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.sun.net.httpserver.HttpServer;
+import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.config.category.TickMetricsCategory;
+import org.spongepowered.common.event.tracking.PhaseTimings;
+import org.spongepowered.common.event.tracking.PhaseTracker;
+import org.spongepowered.common.relocate.co.aikar.timings.TimingsManager;
+import org.spongepowered.common.relocate.co.aikar.timings.WorldTimingsHandler;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.Nullable;
+
+/**
+ * Exports the tick duration histograms of the server and its worlds, and the
+ * phases that slow ticks spent their time in, in the Prometheus text format.
+ */
+public final class TickMetrics {
+
+    private static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+    private static final double[] QUANTILES = {0.5, 0.99, 0.999};
+
+    @Nullable private static ScheduledExecutorService fileExecutor;
+    @Nullable private static HttpServer httpServer;
+
+    private TickMetrics() {
+    }
+
+    /**
+     * Configures the phase timings and starts the configured exporters.
+     */
+    public static synchronized void start() {
+        stop();
+        final TickMetricsCategory category = SpongeImpl.getGlobalConfigAdapter().getConfig().getTickMetrics();
+        PhaseTracker.SERVER.getPhaseTimings().configure(category.getSlowTickPhases(),
+                TimeUnit.MILLISECONDS.toNanos(category.getSlowTickThreshold()));
+
+        final String file = category.getPrometheusFile();
+        if (!file.isEmpty()) {
+            final Path path = Paths.get(file);
+            final int interval = Math.max(1, category.getPrometheusFileInterval());
+            fileExecutor = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder()
+                    .setNameFormat("Sponge Tick Metrics Writer")
+                    .setDaemon(true)
+                    .build());
+            fileExecutor.scheduleWithFixedDelay(() -> writeFile(path), interval, interval, TimeUnit.SECONDS);
+        }
+
+        final int port = category.getPrometheusPort();
+        if (port != 0) {
+            try {
+                final HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+                server.createContext("/metrics", exchange -> {
+                    try {
+                        final byte[] body = export().getBytes(StandardCharsets.UTF_8);
+                        exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+                        exchange.sendResponseHeaders(200, body.length);
+                        try (OutputStream out = exchange.getResponseBody()) {
+                            out.write(body);
+                        }
+                    } finally {
+                        exchange.close();
+                    }
+                });
+                server.setExecutor(null);
+                server.start();
+                httpServer = server;
+            } catch (IOException e) {
+                SpongeImpl.getLogger().error("Could not start the tick metrics endpoint on port {}", port, e);
+            }
+        }
+    }
+
+    public static synchronized void stop() {
+        if (fileExecutor != null) {
+            fileExecutor.shutdownNow();
+            fileExecutor = null;
+        }
+        if (httpServer != null) {
+            httpServer.stop(0);
+            httpServer = null;
+        }
+    }
+
+    private static void writeFile(Path path) {
+        try {
+            final Path parent = path.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            // Write to a temporary file first, so readers never see a partial file
+            final Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+            Files.write(temp, export().getBytes(StandardCharsets.UTF_8));
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            SpongeImpl.getLogger().warn("Could not write the tick metrics to {}", path, e);
+        }
+    }
+
+    /**
+     * Exports all the tick metrics in the Prometheus text format.
+     *
+     * @return The exported metrics
+     */
+    public static String export() {
+        final StringWriter writer = new StringWriter(1024);
+        try {
+            write(writer);
+        } catch (IOException e) {
+            // StringWriter doesn't throw
+            throw new AssertionError(e);
+        }
+        return writer.toString();
+    }
+
+    public static void write(Writer writer) throws IOException {
+        header(writer, "sponge_tick_duration_seconds", "summary", "The duration of full server ticks.");
+        summary(writer, "sponge_tick_duration_seconds", "", TimingsManager.FULL_SERVER_TICK.tickDuration);
+        header(writer, "sponge_tick_duration_max_seconds", "gauge", "The longest full server tick.");
+        sample(writer, "sponge_tick_duration_max_seconds", "", seconds(TimingsManager.FULL_SERVER_TICK.tickDuration.getMax()));
+
+        header(writer, "sponge_world_tick_duration_seconds", "summary", "The duration of world ticks, including the entity updates.");
+        for (WorldTimingsHandler handler : WorldTimingsHandler.getActive()) {
+            summary(writer, "sponge_world_tick_duration_seconds", worldLabels(handler), handler.tickDuration);
+        }
+        header(writer, "sponge_world_tick_duration_max_seconds", "gauge", "The longest world tick.");
+        for (WorldTimingsHandler handler : WorldTimingsHandler.getActive()) {
+            sample(writer, "sponge_world_tick_duration_max_seconds", "{" + worldLabels(handler) + "}",
+                    seconds(handler.tickDuration.getMax()));
+        }
+
+        final PhaseTimings phaseTimings = PhaseTracker.SERVER.getPhaseTimings();
+        if (!phaseTimings.isEnabled()) {
+            return;
+        }
+        header(writer, "sponge_slow_ticks_total", "counter", "The amount of ticks that exceeded the slow tick threshold.");
+        sample(writer, "sponge_slow_ticks_total", "", phaseTimings.getSlowTickCount());
+        final Map<String, long[]> totals = phaseTimings.getSlowTickTotals();
+        header(writer, "sponge_slow_tick_phase_seconds_total", "counter", "The time slow ticks spent in each cause tracker phase.");
+        for (Map.Entry<String, long[]> entry : totals.entrySet()) {
+            sample(writer, "sponge_slow_tick_phase_seconds_total", "{" + label("phase", entry.getKey()) + "}", seconds(entry.getValue()[0]));
+        }
+        header(writer, "sponge_slow_tick_phase_entries_total", "counter", "The amount of times each cause tracker phase was entered in slow ticks.");
+        for (Map.Entry<String, long[]> entry : totals.entrySet()) {
+            sample(writer, "sponge_slow_tick_phase_entries_total", "{" + label("phase", entry.getKey()) + "}", entry.getValue()[1]);
+        }
+    }
+
+    private static void header(Writer writer, String name, String type, String help) throws IOException {
+        writer.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        writer.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+    }
+
+    private static void summary(Writer writer, String name, String labels, LatencyHistogram histogram) throws IOException {
+        final String prefix = labels.isEmpty() ? "" : labels + ",";
+        for (double quantile : QUANTILES) {
+            sample(writer, name, "{" + prefix + "quantile=\"" + quantile + "\"}",
+                    seconds(histogram.getValueAtPercentile(quantile * 100)));
+        }
+        final String suffix = labels.isEmpty() ? "" : "{" + labels + "}";
+        sample(writer, name + "_sum", suffix, seconds(histogram.getSum()));
+        sample(writer, name + "_count", suffix, histogram.getCount());
+    }
+
+    private static void sample(Writer writer, String name, String labels, double value) throws IOException {
+        writer.append(name).append(labels).append(' ').append(String.format(Locale.ROOT, "%.9f", value)).append('\n');
+    }
+
+    private static void sample(Writer writer, String name, String labels, long value) throws IOException {
+        writer.append(name).append(labels).append(' ').append(Long.toString(value)).append('\n');
+    }
+
+    private static String worldLabels(WorldTimingsHandler handler) {
+        return label("world", handler.worldName) + "," + label("dimension", Integer.toString(handler.dimensionId));
+    }
+
+    private static String label(String name, String value) {
+        return name + "=\"" + value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n") + "\"";
+    }
+
+    private static double seconds(long nanos) {
+        return nanos / 1.0e9d;
+    }
+}
@@ -31,7 +31,9 @@
 import com.google.common.collect.BiMap;
 import com.google.common.collect.HashBiMap;
 import com.google.common.collect.MapMaker;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectMaps;
 import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
 import it.unimi.dsi.fastutil.ints.Int2ReferenceLinkedOpenHashMap;
 import it.unimi.dsi.fastutil.ints.Int2ReferenceMap;
@@ -118,6 +120,9 @@
 import java.util.UUID;
 import java.util.concurrent.Callable;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 import javax.annotation.Nullable;
 
@@ -575,6 +580,7 @@ public static boolean unloadWorld(final WorldServer worldServer, final boolean c
                 worldByDimensionId.remove(dimensionId);
                 weakWorldByWorld.remove(worldServer);
                 ((MinecraftServerBridge) server).bridge$removeWorldTickTimes(dimensionId);
+                ((WorldServerBridge) worldServer).bridge$getTimingsHandler().unregister();
                 reorderWorldsVanillaFirst();
             }
         }
@@ -725,7 +731,11 @@ public static void loadAllWorlds(final long defaultSeed, final WorldType default
 
         registerExistingSpongeDimensions(currentSavesDir);
 
-        for (final Int2ReferenceMap.Entry<DimensionType> entry: sortedDimensionMap().int2ReferenceEntrySet()) {
+        final Int2ReferenceMap<DimensionType> dimensions = sortedDimensionMap();
+        final Int2ObjectMap<CompletableFuture<WorldPrefetch>> prefetches = SpongeImpl.getGlobalConfigAdapter().getConfig().getWorld()
+            .isParallelWorldLoading() ? prefetchWorlds(server, dimensions) : Int2ObjectMaps.emptyMap();
+
+        for (final Int2ReferenceMap.Entry<DimensionType> entry: dimensions.int2ReferenceEntrySet()) {
 
             final int dimensionId = entry.getIntKey();
             final DimensionType dimensionType = entry.getValue();
@@ -749,6 +759,11 @@ public static void loadAllWorlds(final long defaultSeed, final WorldType default
             }
 
             final String worldFolderName = worldFolder.getFileName().toString();
+            final long loadStart = System.nanoTime();
+            final CompletableFuture<WorldPrefetch> prefetchFuture = prefetches.get(dimensionId);
+            final WorldPrefetch prefetch = prefetchFuture == null ? null : prefetchFuture.join();
+            // The level data that was parsed ahead is taken over by the save handler
+            WorldPrefetch.setCurrent(prefetch);
 
             // Step 2 - See if we are allowed to load it
             if (dimensionId != 0) {
@@ -839,14 +854,64 @@ public static void loadAllWorlds(final long defaultSeed, final WorldType default
             // Step 7 - Finally, we can create the world and tell it to load
             final WorldServer worldServer = createWorldFromProperties(dimensionId, saveHandler, worldInfo, worldSettings);
 
-            SpongeImpl.getLogger().info("Loading world [{}] ({}/{})", ((org.spongepowered.api.world.World) worldServer).getName(),
-                apiDimensionType.getId(), dimensionId);
+            final long loadMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - loadStart);
+            if (prefetch != null) {
+                SpongeImpl.getLogger().info("Loading world [{}] ({}/{}) took {} ms, prefetching it took {} ms",
+                    ((org.spongepowered.api.world.World) worldServer).getName(), apiDimensionType.getId(), dimensionId, loadMillis,
+                    prefetch.getMillis());
+            } else {
+                SpongeImpl.getLogger().info("Loading world [{}] ({}/{}) took {} ms", ((org.spongepowered.api.world.World) worldServer).getName(),
+                    apiDimensionType.getId(), dimensionId, loadMillis);
+            }
         }
+        WorldPrefetch.setCurrent(null);
 
         // Set the worlds on the Minecraft server
         reorderWorldsVanillaFirst();
     }
 
+    /**
+     * Starts the {@link WorldPrefetch} of every world that
+     * {@link #loadAllWorlds} is going to load, on a pool of worker threads.
+     * The main thread waits for the prefetch of a world right before loading
+     * it, so later worlds are prefetched while the first ones are created.
+     *
+     * @param server The server
+     * @param dimensions The dimensions to load, in load order
+     * @return The prefetches by dimension id
+     */
+    private static Int2ObjectMap<CompletableFuture<WorldPrefetch>> prefetchWorlds(final MinecraftServer server,
+        final Int2ReferenceMap<DimensionType> dimensions) {
+        final List<WorldPrefetch> prefetches = new ArrayList<>();
+        for (final Int2ReferenceMap.Entry<DimensionType> entry : dimensions.int2ReferenceEntrySet()) {
+            final int dimensionId = entry.getIntKey();
+            if ((dimensionId != 0 && !server.getAllowNether()) || getWorldByDimensionId(dimensionId).isPresent()) {
+                continue;
+            }
+            final Path worldFolder = getWorldFolder(entry.getValue(), dimensionId);
+            if (worldFolder != null) {
+                prefetches.add(new WorldPrefetch(dimensionId, worldFolder));
+            }
+        }
+        if (prefetches.isEmpty()) {
+            return Int2ObjectMaps.emptyMap();
+        }
+
+        final int threads = Math.min(prefetches.size(), SpongeImpl.getGlobalConfigAdapter().getConfig().getWorld().getWorldLoadingThreads());
+        SpongeImpl.getLogger().info("Prefetching {} worlds on {} threads", prefetches.size(), threads);
+        final ExecutorService executor = Executors.newFixedThreadPool(threads, new ThreadFactoryBuilder()
+            .setNameFormat("Sponge - World Loader #%d")
+            .setDaemon(true)
+            .build());
+        final Int2ObjectMap<CompletableFuture<WorldPrefetch>> futures = new Int2ObjectOpenHashMap<>(prefetches.size());
+        for (final WorldPrefetch prefetch : prefetches) {
+            futures.put(prefetch.getDimensionId(), CompletableFuture.supplyAsync(prefetch::run, executor));
+        }
+        // Already submitted prefetches still complete, the threads exit once they're done
+        executor.shutdown();
+        return futures;
+    }
+
     private static WorldInfo createWorldInfoFromSettings(final Path currentSaveRoot, final org.spongepowered.api.world.DimensionType dimensionType, final int
       dimensionId, final String worldFolderName, final WorldSettings worldSettings, final String generatorOptions) {
 
@@ -878,6 +943,7 @@ private static WorldServer createWorldFromProperties(
         WorldManager.reorderWorldsVanillaFirst();
 
         ((MinecraftServerBridge) server).bridge$putWorldTickTimes(dimensionId, new long[100]);
+        ((WorldServerBridge) worldServer).bridge$getTimingsHandler().register();
 
         worldServer.init();
 
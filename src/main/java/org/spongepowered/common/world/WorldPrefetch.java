@@ -0,0 +1,186 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world;
+
+import net.minecraft.nbt.CompressedStreamTools;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.world.chunk.storage.RegionFileCache;
+import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.util.Constants;
+
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.Nullable;
+
+/**
+ * The I/O bound parts of loading a world at startup, which are safe to run
+ * off the main thread while other worlds are being loaded. This reads and
+ * parses the level data, which the main thread then takes over when it
+ * loads the world info, and reads the region files of the spawn area so
+ * the main thread finds them in the region file cache and the OS page cache
+ * when it creates the world.
+ *
+ * <p>Anything that touches the configs or the world manager's state is left
+ * to the main thread.</p>
+ */
+public final class WorldPrefetch {
+
+    // The spawn area prepared by MinecraftServer#prepareSpawnArea spans 192 blocks around the spawn
+    private static final int SPAWN_CHUNK_RADIUS = 12;
+
+    // The prefetch of the world that is currently being loaded on the main thread.
+    @Nullable private static WorldPrefetch current;
+
+    /**
+     * Takes the level data that was parsed ahead from the given file, if the
+     * world of that file is being loaded right now. The data can only be
+     * taken once, later reads of the file go to disk again.
+     *
+     * @param file The level.dat, level.dat_old or level_sponge.dat file
+     * @return The parsed contents of the file, or null if there are none
+     */
+    @Nullable
+    public static NBTTagCompound takeLevelData(final File file) {
+        final WorldPrefetch prefetch = current;
+        if (prefetch == null) {
+            return null;
+        }
+        if (prefetch.level != null && isSameFile(prefetch.levelFile, file)) {
+            final NBTTagCompound level = prefetch.level;
+            prefetch.level = null;
+            return level;
+        }
+        if (prefetch.spongeLevel != null && isSameFile(prefetch.spongeLevelFile, file)) {
+            final NBTTagCompound spongeLevel = prefetch.spongeLevel;
+            prefetch.spongeLevel = null;
+            return spongeLevel;
+        }
+        return null;
+    }
+
+    /**
+     * Sets the prefetch of the world that the main thread loads next, the
+     * data of the previous world that wasn't taken is dropped.
+     *
+     * @param prefetch The prefetch, or null once all worlds are loaded
+     */
+    static void setCurrent(@Nullable final WorldPrefetch prefetch) {
+        current = prefetch;
+    }
+
+    private static boolean isSameFile(@Nullable final File a, final File b) {
+        return a != null && a.getAbsoluteFile().toPath().normalize().equals(b.getAbsoluteFile().toPath().normalize());
+    }
+
+    private final int dimensionId;
+    private final Path worldFolder;
+    @Nullable private File levelFile;
+    @Nullable private NBTTagCompound level;
+    @Nullable private File spongeLevelFile;
+    @Nullable private NBTTagCompound spongeLevel;
+    private long nanos;
+
+    WorldPrefetch(final int dimensionId, final Path worldFolder) {
+        this.dimensionId = dimensionId;
+        this.worldFolder = worldFolder;
+    }
+
+    WorldPrefetch run() {
+        final long start = System.nanoTime();
+        try {
+            this.readLevel();
+            final Path spongeLevelFile = this.worldFolder.resolve(Constants.Sponge.World.LEVEL_SPONGE_DAT);
+            this.spongeLevel = readCompressed(spongeLevelFile);
+            this.spongeLevelFile = spongeLevelFile.toFile();
+            if (this.level != null) {
+                this.readSpawnRegion(this.level.getCompoundTag("Data"));
+            }
+        } catch (Exception e) {
+            // The main thread will run into the same problem and report it properly
+            SpongeImpl.getLogger().debug("Failed to prefetch world [{}] ({})", this.worldFolder.getFileName(), this.dimensionId, e);
+        }
+        this.nanos = System.nanoTime() - start;
+        return this;
+    }
+
+    private void readLevel() {
+        for (final String name : new String[] {"level.dat", "level.dat_old"}) {
+            final Path file = this.worldFolder.resolve(name);
+            try {
+                this.level = readCompressed(file);
+            } catch (IOException e) {
+                // Try the backup just like SaveHandler#loadWorldInfo does
+                continue;
+            }
+            if (this.level != null) {
+                this.levelFile = file.toFile();
+                return;
+            }
+        }
+    }
+
+    @Nullable
+    private static NBTTagCompound readCompressed(final Path file) throws IOException {
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+        try (final InputStream stream = Files.newInputStream(file)) {
+            return CompressedStreamTools.readCompressed(stream);
+        }
+    }
+
+    private void readSpawnRegion(final NBTTagCompound data) throws IOException {
+        final File worldDirectory = this.worldFolder.toFile();
+        if (!new File(worldDirectory, "region").isDirectory()) {
+            return;
+        }
+        final int spawnChunkX = data.getInteger("SpawnX") >> 4;
+        final int spawnChunkZ = data.getInteger("SpawnZ") >> 4;
+        for (int x = spawnChunkX - SPAWN_CHUNK_RADIUS; x <= spawnChunkX + SPAWN_CHUNK_RADIUS; x++) {
+            for (int z = spawnChunkZ - SPAWN_CHUNK_RADIUS; z <= spawnChunkZ + SPAWN_CHUNK_RADIUS; z++) {
+                // Opening the stream caches the region file and reads the compressed chunk,
+                // the chunk itself is decompressed and deserialized by the main thread later.
+                final DataInputStream stream = RegionFileCache.getChunkInputStream(worldDirectory, x, z);
+                if (stream != null) {
+                    stream.close();
+                }
+            }
+        }
+    }
+
+    int getDimensionId() {
+        return this.dimensionId;
+    }
+
+    long getMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(this.nanos);
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.extent.worker;
+
+import com.flowpowered.math.vector.Vector3i;
+import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.config.category.ParallelVolumeWorkerCategory;
+
+import java.util.function.BiFunction;
+import java.util.stream.IntStream;
+
+/**
+ * Splits the work of a volume worker into parts aligned to chunk sections,
+ * which are run on the common fork join pool. Reductions of the sections
+ * are merged in order of the sections, z then y then x.
+ */
+final class ParallelVolumeWork {
+
+    interface SectionTask {
+
+        void run(int xMin, int yMin, int zMin, int xMax, int yMax, int zMax);
+
+    }
+
+    interface SectionReducer<T> {
+
+        T reduce(int xMin, int yMin, int zMin, int xMax, int yMax, int zMax, T identity);
+
+    }
+
+    static boolean isEnabled(final Vector3i min, final Vector3i max) {
+        final ParallelVolumeWorkerCategory category = SpongeImpl.getGlobalConfigAdapter().getConfig().getOptimizations()
+                .getParallelVolumeWorkerCategory();
+        if (!category.isEnabled()) {
+            return false;
+        }
+        final long volume = (long) (max.getX() - min.getX() + 1) * (max.getY() - min.getY() + 1) * (max.getZ() - min.getZ() + 1);
+        return volume >= category.getMinimumVolume();
+    }
+
+    static int getVolume(final int xMin, final int yMin, final int zMin, final int xMax, final int yMax, final int zMax) {
+        return (xMax - xMin + 1) * (yMax - yMin + 1) * (zMax - zMin + 1);
+    }
+
+    static void forEachSection(final Vector3i min, final Vector3i max, final SectionTask task) {
+        sections(min, max).forEach(section -> apply(min, max, section, (xMin, yMin, zMin, xMax, yMax, zMax) -> {
+            task.run(xMin, yMin, zMin, xMax, yMax, zMax);
+            return null;
+        }));
+    }
+
+    static <T> T reduce(final Vector3i min, final Vector3i max, final SectionReducer<T> reducer, final BiFunction<T, T, T> merge,
+            final T identity) {
+        return sections(min, max)
+                .mapToObj(section -> apply(min, max, section, (xMin, yMin, zMin, xMax, yMax, zMax) ->
+                        reducer.reduce(xMin, yMin, zMin, xMax, yMax, zMax, identity)))
+                .reduce(identity, merge::apply);
+    }
+
+    private static IntStream sections(final Vector3i min, final Vector3i max) {
+        final int sectionsX = (max.getX() >> 4) - (min.getX() >> 4) + 1;
+        final int sectionsY = (max.getY() >> 4) - (min.getY() >> 4) + 1;
+        final int sectionsZ = (max.getZ() >> 4) - (min.getZ() >> 4) + 1;
+        return IntStream.range(0, sectionsX * sectionsY * sectionsZ).parallel();
+    }
+
+    private static <T> T apply(final Vector3i min, final Vector3i max, final int section, final SectionFunction<T> function) {
+        final int sectionsX = (max.getX() >> 4) - (min.getX() >> 4) + 1;
+        final int sectionsY = (max.getY() >> 4) - (min.getY() >> 4) + 1;
+        final int sectionX = (min.getX() >> 4) + section % sectionsX;
+        final int sectionY = (min.getY() >> 4) + section / sectionsX % sectionsY;
+        final int sectionZ = (min.getZ() >> 4) + section / sectionsX / sectionsY;
+        return function.apply(
+                Math.max(min.getX(), sectionX << 4), Math.max(min.getY(), sectionY << 4), Math.max(min.getZ(), sectionZ << 4),
+                Math.min(max.getX(), (sectionX << 4) + 15), Math.min(max.getY(), (sectionY << 4) + 15), Math.min(max.getZ(), (sectionZ << 4) + 15));
+    }
+
+    private interface SectionFunction<T> {
+
+        T apply(int xMin, int yMin, int zMin, int xMax, int yMax, int zMax);
+
+    }
+
+    private ParallelVolumeWork() {
+    }
+
+}
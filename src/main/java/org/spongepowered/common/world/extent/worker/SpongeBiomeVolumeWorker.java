@@ -36,9 +36,17 @@
 import org.spongepowered.api.world.extent.worker.procedure.BiomeVolumeMerger;
 import org.spongepowered.api.world.extent.worker.procedure.BiomeVolumeReducer;
 import org.spongepowered.api.world.extent.worker.procedure.BiomeVolumeVisitor;
+import org.spongepowered.api.world.schematic.Palette;
+import org.spongepowered.common.util.gen.ByteArrayImmutableBiomeBuffer;
+import org.spongepowered.common.util.gen.ByteArrayMutableBiomeBuffer;
+import org.spongepowered.common.util.gen.ObjectArrayImmutableBiomeBuffer;
+import org.spongepowered.common.util.gen.ObjectArrayMutableBiomeBuffer;
+import org.spongepowered.common.world.schematic.GlobalPalette;
 
 import java.util.function.BiFunction;
 
+import javax.annotation.Nullable;
+
 /**
  *
  */
@@ -68,6 +76,21 @@ public void map(BiomeVolumeMapper mapper, MutableBiomeVolume destination) {
         final int xMax = unmodifiableArea.getBiomeMax().getX();
         final int yMax = unmodifiableArea.getBiomeMax().getY();
         final int zMax = unmodifiableArea.getBiomeMax().getZ();
+        if (canWriteInParallel(destination, this.volume)) {
+            ParallelVolumeWork.forEachSection(unmodifiableArea.getBiomeMin(), unmodifiableArea.getBiomeMax(), (x0, y0, z0, x1, y1, z1) -> {
+                final BiomeType[] biomes = new BiomeType[ParallelVolumeWork.getVolume(x0, y0, z0, x1, y1, z1)];
+                int index = 0;
+                for (int z = z0; z <= z1; z++) {
+                    for (int y = y0; y <= y1; y++) {
+                        for (int x = x0; x <= x1; x++) {
+                            biomes[index++] = mapper.map(unmodifiableArea, x, y, z);
+                        }
+                    }
+                }
+                setBiomes(destination, biomes, x0 + xOffset, y0 + yOffset, z0 + zOffset, x1 + xOffset, y1 + yOffset, z1 + zOffset);
+            });
+            return;
+        }
         for (int z = zMin; z <= zMax; z++) {
             for (int y = yMin; y <= yMax; y++) {
                 for (int x = xMin; x <= xMax; x++) {
@@ -96,6 +119,23 @@ public void merge(BiomeVolume second, BiomeVolumeMerger merger, MutableBiomeVolu
         final int yMax = firstUnmodifiableArea.getBiomeMax().getY();
         final int zMax = firstUnmodifiableArea.getBiomeMax().getZ();
         final UnmodifiableBiomeVolume secondUnmodifiableArea = second.getUnmodifiableBiomeView();
+        if (canWriteInParallel(destination, this.volume, second)) {
+            ParallelVolumeWork.forEachSection(firstUnmodifiableArea.getBiomeMin(), firstUnmodifiableArea.getBiomeMax(), (x0, y0, z0, x1, y1, z1) -> {
+                final BiomeType[] biomes = new BiomeType[ParallelVolumeWork.getVolume(x0, y0, z0, x1, y1, z1)];
+                int index = 0;
+                for (int z = z0; z <= z1; z++) {
+                    for (int y = y0; y <= y1; y++) {
+                        for (int x = x0; x <= x1; x++) {
+                            biomes[index++] = merger.merge(firstUnmodifiableArea, x, y, z, secondUnmodifiableArea, x + xOffsetSecond, y + yOffsetSecond,
+                                    z + zOffsetSecond);
+                        }
+                    }
+                }
+                setBiomes(destination, biomes, x0 + xOffsetDestination, y0 + yOffsetDestination, z0 + zOffsetDestination,
+                        x1 + xOffsetDestination, y1 + yOffsetDestination, z1 + zOffsetDestination);
+            });
+            return;
+        }
         for (int z = zMin; z <= zMax; z++) {
             for (int y = yMin; y <= yMax; y++) {
                 for (int x = xMin; x <= xMax; x++) {
@@ -115,6 +155,20 @@ public void iterate(BiomeVolumeVisitor<V> visitor) {
         final int xMax = this.volume.getBiomeMax().getX();
         final int yMax = this.volume.getBiomeMax().getY();
         final int zMax = this.volume.getBiomeMax().getZ();
+        // Visitors get the volume itself, so only immutable buffers can't be written to concurrently
+        if ((this.volume instanceof ByteArrayImmutableBiomeBuffer || this.volume instanceof ObjectArrayImmutableBiomeBuffer)
+                && ParallelVolumeWork.isEnabled(this.volume.getBiomeMin(), this.volume.getBiomeMax())) {
+            ParallelVolumeWork.forEachSection(this.volume.getBiomeMin(), this.volume.getBiomeMax(), (x0, y0, z0, x1, y1, z1) -> {
+                for (int z = z0; z <= z1; z++) {
+                    for (int y = y0; y <= y1; y++) {
+                        for (int x = x0; x <= x1; x++) {
+                            visitor.visit(this.volume, x, y, z);
+                        }
+                    }
+                }
+            });
+            return;
+        }
         for (int z = zMin; z <= zMax; z++) {
             for (int y = yMin; y <= yMax; y++) {
                 for (int x = xMin; x <= xMax; x++) {
@@ -133,6 +187,19 @@ public <T> T reduce(BiomeVolumeReducer<T> reducer, BiFunction<T, T, T> merge, T
         final int xMax = unmodifiableArea.getBiomeMax().getX();
         final int yMax = unmodifiableArea.getBiomeMax().getY();
         final int zMax = unmodifiableArea.getBiomeMax().getZ();
+        if (isDetached(this.volume) && ParallelVolumeWork.isEnabled(unmodifiableArea.getBiomeMin(), unmodifiableArea.getBiomeMax())) {
+            return ParallelVolumeWork.reduce(unmodifiableArea.getBiomeMin(), unmodifiableArea.getBiomeMax(), (x0, y0, z0, x1, y1, z1, sectionIdentity) -> {
+                T sectionReduction = sectionIdentity;
+                for (int z = z0; z <= z1; z++) {
+                    for (int y = y0; y <= y1; y++) {
+                        for (int x = x0; x <= x1; x++) {
+                            sectionReduction = reducer.reduce(unmodifiableArea, x, y, z, sectionReduction);
+                        }
+                    }
+                }
+                return sectionReduction;
+            }, merge, identity);
+        }
         T reduction = identity;
         for (int z = zMin; z <= zMax; z++) {
             for (int y = yMin; y <= yMax; y++) {
@@ -144,6 +211,62 @@ public <T> T reduce(BiomeVolumeReducer<T> reducer, BiFunction<T, T, T> merge, T
         return reduction;
     }
 
+    /**
+     * Gets whether the work can be split over threads. This is only the
+     * case for large enough volumes when the destination and the sources
+     * are distinct buffers, and when the destination doesn't assign into a
+     * palette the sources read from.
+     */
+    boolean canWriteInParallel(MutableBiomeVolume destination, BiomeVolume... sources) {
+        if (!(destination instanceof ByteArrayMutableBiomeBuffer || destination instanceof ObjectArrayMutableBiomeBuffer)) {
+            return false;
+        }
+        @Nullable final Palette<BiomeType> palette = getPalette(destination);
+        for (BiomeVolume source : sources) {
+            if (source == destination || !isDetached(source)
+                    || palette != null && palette != GlobalPalette.getBiomePalette() && palette == getPalette(source)) {
+                return false;
+            }
+        }
+        return ParallelVolumeWork.isEnabled(this.volume.getBiomeMin(), this.volume.getBiomeMax());
+    }
+
+    /**
+     * Gets the palette of a byte buffer. Immutable copies of a mutable
+     * buffer share its palette, so both kinds have to be checked.
+     */
+    @Nullable
+    private static Palette<BiomeType> getPalette(BiomeVolume volume) {
+        if (volume instanceof ByteArrayMutableBiomeBuffer) {
+            return ((ByteArrayMutableBiomeBuffer) volume).getPalette();
+        } else if (volume instanceof ByteArrayImmutableBiomeBuffer) {
+            return ((ByteArrayImmutableBiomeBuffer) volume).getPalette();
+        }
+        return null;
+    }
+
+    static boolean isDetached(BiomeVolume volume) {
+        return volume instanceof ByteArrayMutableBiomeBuffer || volume instanceof ByteArrayImmutableBiomeBuffer
+                || volume instanceof ObjectArrayMutableBiomeBuffer || volume instanceof ObjectArrayImmutableBiomeBuffer;
+    }
+
+    /**
+     * Sets the biomes of a section computed in parallel. Buffers can't be
+     * written to concurrently, because a write can assign into their palette.
+     */
+    static void setBiomes(MutableBiomeVolume destination, BiomeType[] biomes, int xMin, int yMin, int zMin, int xMax, int yMax, int zMax) {
+        synchronized (destination) {
+            int index = 0;
+            for (int z = zMin; z <= zMax; z++) {
+                for (int y = yMin; y <= yMax; y++) {
+                    for (int x = xMin; x <= xMax; x++) {
+                        destination.setBiome(x, y, z, biomes[index++]);
+                    }
+                }
+            }
+        }
+    }
+
     private Vector3i align(BiomeVolume other) {
         final Vector3i thisSize = this.volume.getBiomeSize();
         final Vector3i otherSize = other.getBiomeSize();
@@ -38,8 +38,13 @@
 import org.spongepowered.api.world.extent.worker.procedure.BlockVolumeMerger;
 import org.spongepowered.api.world.extent.worker.procedure.BlockVolumeReducer;
 import org.spongepowered.api.world.extent.worker.procedure.BlockVolumeVisitor;
+import org.spongepowered.api.world.schematic.Palette;
 import org.spongepowered.common.event.tracking.phase.plugin.BasicPluginContext;
 import org.spongepowered.common.event.tracking.phase.plugin.PluginPhase;
+import org.spongepowered.common.util.gen.AbstractBlockBuffer;
+import org.spongepowered.common.util.gen.ArrayImmutableBlockBuffer;
+import org.spongepowered.common.util.gen.ArrayMutableBlockBuffer;
+import org.spongepowered.common.world.schematic.GlobalPalette;
 
 import java.util.function.BiFunction;
 
@@ -73,6 +78,21 @@ public void map(BlockVolumeMapper mapper, MutableBlockVolume destination) {
         final int xMax = unmodifiableVolume.getBlockMax().getX();
         final int yMax = unmodifiableVolume.getBlockMax().getY();
         final int zMax = unmodifiableVolume.getBlockMax().getZ();
+        if (canWriteInParallel(destination, this.volume)) {
+            ParallelVolumeWork.forEachSection(unmodifiableVolume.getBlockMin(), unmodifiableVolume.getBlockMax(), (x0, y0, z0, x1, y1, z1) -> {
+                final BlockState[] blocks = new BlockState[ParallelVolumeWork.getVolume(x0, y0, z0, x1, y1, z1)];
+                int index = 0;
+                for (int z = z0; z <= z1; z++) {
+                    for (int y = y0; y <= y1; y++) {
+                        for (int x = x0; x <= x1; x++) {
+                            blocks[index++] = mapper.map(unmodifiableVolume, x, y, z);
+                        }
+                    }
+                }
+                setBlocks(destination, blocks, x0 + xOffset, y0 + yOffset, z0 + zOffset, x1 + xOffset, y1 + yOffset, z1 + zOffset);
+            });
+            return;
+        }
         // a single go, requiring only one event
         try (BasicPluginContext phaseState = PluginPhase.State.BLOCK_WORKER.createPhaseContext()
             .source(this)) {
@@ -107,6 +127,23 @@ public void merge(BlockVolume second, BlockVolumeMerger merger, MutableBlockVolu
         final int yMax = firstUnmodifiableVolume.getBlockMax().getY();
         final int zMax = firstUnmodifiableVolume.getBlockMax().getZ();
         final UnmodifiableBlockVolume secondUnmodifiableVolume = second.getUnmodifiableBlockView();
+        if (canWriteInParallel(destination, this.volume, second)) {
+            ParallelVolumeWork.forEachSection(firstUnmodifiableVolume.getBlockMin(), firstUnmodifiableVolume.getBlockMax(), (x0, y0, z0, x1, y1, z1) -> {
+                final BlockState[] blocks = new BlockState[ParallelVolumeWork.getVolume(x0, y0, z0, x1, y1, z1)];
+                int index = 0;
+                for (int z = z0; z <= z1; z++) {
+                    for (int y = y0; y <= y1; y++) {
+                        for (int x = x0; x <= x1; x++) {
+                            blocks[index++] = merger.merge(firstUnmodifiableVolume, x, y, z,
+                                secondUnmodifiableVolume, x + xOffsetSecond, y + yOffsetSecond, z + zOffsetSecond);
+                        }
+                    }
+                }
+                setBlocks(destination, blocks, x0 + xOffsetDestination, y0 + yOffsetDestination, z0 + zOffsetDestination,
+                    x1 + xOffsetDestination, y1 + yOffsetDestination, z1 + zOffsetDestination);
+            });
+            return;
+        }
         try (BasicPluginContext context = PluginPhase.State.BLOCK_WORKER.createPhaseContext()
             .source(this)) {
             context.buildAndSwitch();
@@ -130,6 +167,19 @@ public void iterate(BlockVolumeVisitor<V> visitor) {
         final int xMax = this.volume.getBlockMax().getX();
         final int yMax = this.volume.getBlockMax().getY();
         final int zMax = this.volume.getBlockMax().getZ();
+        // Visitors get the volume itself, so only immutable buffers can't be written to concurrently
+        if (this.volume instanceof ArrayImmutableBlockBuffer && ParallelVolumeWork.isEnabled(this.volume.getBlockMin(), this.volume.getBlockMax())) {
+            ParallelVolumeWork.forEachSection(this.volume.getBlockMin(), this.volume.getBlockMax(), (x0, y0, z0, x1, y1, z1) -> {
+                for (int z = z0; z <= z1; z++) {
+                    for (int y = y0; y <= y1; y++) {
+                        for (int x = x0; x <= x1; x++) {
+                            visitor.visit(this.volume, x, y, z);
+                        }
+                    }
+                }
+            });
+            return;
+        }
         try (CauseStackManager.StackFrame frame = Sponge.getCauseStackManager().pushCauseFrame();
             BasicPluginContext context = PluginPhase.State.BLOCK_WORKER.createPhaseContext()
                 .source(this)) {
@@ -153,6 +203,19 @@ public <T> T reduce(BlockVolumeReducer<T> reducer, BiFunction<T, T, T> merge, T
         final int xMax = unmodifiableVolume.getBlockMax().getX();
         final int yMax = unmodifiableVolume.getBlockMax().getY();
         final int zMax = unmodifiableVolume.getBlockMax().getZ();
+        if (isDetached(this.volume) && ParallelVolumeWork.isEnabled(unmodifiableVolume.getBlockMin(), unmodifiableVolume.getBlockMax())) {
+            return ParallelVolumeWork.reduce(unmodifiableVolume.getBlockMin(), unmodifiableVolume.getBlockMax(), (x0, y0, z0, x1, y1, z1, sectionIdentity) -> {
+                T sectionReduction = sectionIdentity;
+                for (int z = z0; z <= z1; z++) {
+                    for (int y = y0; y <= y1; y++) {
+                        for (int x = x0; x <= x1; x++) {
+                            sectionReduction = reducer.reduce(unmodifiableVolume, x, y, z, sectionReduction);
+                        }
+                    }
+                }
+                return sectionReduction;
+            }, merge, identity);
+        }
         T reduction = identity;
         for (int z = zMin; z <= zMax; z++) {
             for (int y = yMin; y <= yMax; y++) {
@@ -164,6 +227,48 @@ public <T> T reduce(BlockVolumeReducer<T> reducer, BiFunction<T, T, T> merge, T
         return reduction;
     }
 
+    /**
+     * Gets whether the work can be split over threads. This is only the
+     * case for large enough volumes when the destination and the sources
+     * are distinct buffers, which don't need any phase tracking, and when
+     * the destination doesn't assign into a palette the sources read from.
+     */
+    boolean canWriteInParallel(MutableBlockVolume destination, BlockVolume... sources) {
+        if (!(destination instanceof ArrayMutableBlockBuffer)) {
+            return false;
+        }
+        final Palette<BlockState> palette = ((ArrayMutableBlockBuffer) destination).getPalette();
+        for (BlockVolume source : sources) {
+            if (source == destination || !isDetached(source)
+                || palette != GlobalPalette.getBlockPalette() && palette == ((AbstractBlockBuffer) source).getPalette()) {
+                return false;
+            }
+        }
+        return ParallelVolumeWork.isEnabled(this.volume.getBlockMin(), this.volume.getBlockMax());
+    }
+
+    static boolean isDetached(BlockVolume volume) {
+        return volume instanceof ArrayMutableBlockBuffer || volume instanceof ArrayImmutableBlockBuffer;
+    }
+
+    /**
+     * Sets the blocks of a section computed in parallel. Buffers can't be
+     * written to concurrently, because a write can grow their palette and
+     * their packed storage.
+     */
+    static void setBlocks(MutableBlockVolume destination, BlockState[] blocks, int xMin, int yMin, int zMin, int xMax, int yMax, int zMax) {
+        synchronized (destination) {
+            int index = 0;
+            for (int z = zMin; z <= zMax; z++) {
+                for (int y = yMin; y <= yMax; y++) {
+                    for (int x = xMin; x <= xMax; x++) {
+                        destination.setBlock(x, y, z, blocks[index++]);
+                    }
+                }
+            }
+        }
+    }
+
     private Vector3i align(BlockVolume other) {
         final Vector3i thisSize = this.volume.getBlockSize();
         final Vector3i otherSize = other.getBlockSize();
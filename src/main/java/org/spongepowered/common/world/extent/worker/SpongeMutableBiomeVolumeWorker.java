@@ -46,6 +46,21 @@ public void fill(BiomeVolumeFiller filler) {
         final int xMax = this.volume.getBiomeMax().getX();
         final int yMax = this.volume.getBiomeMax().getY();
         final int zMax = this.volume.getBiomeMax().getZ();
+        if (canWriteInParallel(this.volume)) {
+            ParallelVolumeWork.forEachSection(this.volume.getBiomeMin(), this.volume.getBiomeMax(), (x0, y0, z0, x1, y1, z1) -> {
+                final BiomeType[] biomes = new BiomeType[ParallelVolumeWork.getVolume(x0, y0, z0, x1, y1, z1)];
+                int index = 0;
+                for (int z = z0; z <= z1; z++) {
+                    for (int y = y0; y <= y1; y++) {
+                        for (int x = x0; x <= x1; x++) {
+                            biomes[index++] = filler.produce(x, y, z);
+                        }
+                    }
+                }
+                setBiomes(this.volume, biomes, x0, y0, z0, x1, y1, z1);
+            });
+            return;
+        }
         for (int z = zMin; z <= zMax; z++) {
             for (int y = yMin; y <= yMax; y++) {
                 for (int x = xMin; x <= xMax; x++) {
@@ -46,6 +46,21 @@ public void fill(BlockVolumeFiller filler) {
         final int xMax = this.volume.getBlockMax().getX();
         final int yMax = this.volume.getBlockMax().getY();
         final int zMax = this.volume.getBlockMax().getZ();
+        if (canWriteInParallel(this.volume)) {
+            ParallelVolumeWork.forEachSection(this.volume.getBlockMin(), this.volume.getBlockMax(), (x0, y0, z0, x1, y1, z1) -> {
+                final BlockState[] blocks = new BlockState[ParallelVolumeWork.getVolume(x0, y0, z0, x1, y1, z1)];
+                int index = 0;
+                for (int z = z0; z <= z1; z++) {
+                    for (int y = y0; y <= y1; y++) {
+                        for (int x = x0; x <= x1; x++) {
+                            blocks[index++] = filler.produce(x, y, z);
+                        }
+                    }
+                }
+                setBlocks(this.volume, blocks, x0, y0, z0, x1, y1, z1);
+            });
+            return;
+        }
         for (int z = zMin; z <= zMax; z++) {
             for (int y = yMin; y <= yMax; y++) {
                 for (int x = xMin; x <= xMax; x++) {
@@ -0,0 +1,145 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.pregen;
+
+import com.flowpowered.math.vector.Vector3i;
+import net.minecraft.world.chunk.storage.RegionFile;
+import net.minecraft.world.chunk.storage.RegionFileCache;
+import org.spongepowered.common.SpongeImpl;
+
+import java.io.File;
+import java.util.BitSet;
+import java.util.concurrent.CompletableFuture;
+
+import javax.annotation.Nullable;
+
+/**
+ * A run of consecutive spiral steps of a {@link SpongeChunkPreGenerateTask}.
+ *
+ * <p>Whether the chunks of each step are already saved is looked up in the
+ * region file headers on an async thread, so the main thread only has to
+ * check the steps that the headers couldn't confirm.</p>
+ */
+final class ChunkPreGenerateBatch {
+
+    private final Vector3i[] positions;
+    private final int[] genCounts;
+    private int size;
+    private int index;
+    private int remainingChunks;
+    @Nullable private CompletableFuture<BitSet> saved;
+
+    ChunkPreGenerateBatch(int capacity) {
+        this.positions = new Vector3i[capacity];
+        this.genCounts = new int[capacity];
+    }
+
+    void add(Vector3i position, int genCount) {
+        this.positions[this.size] = position;
+        this.genCounts[this.size] = genCount;
+        this.size++;
+        this.remainingChunks += genCount;
+    }
+
+    boolean isFull() {
+        return this.size == this.positions.length;
+    }
+
+    void lookup(File worldDir) {
+        this.saved = SpongeImpl.getScheduler().<BitSet>submitAsyncTask(() -> this.lookupSaved(worldDir))
+                .exceptionally(throwable -> {
+                    SpongeImpl.getLogger().debug("Could not read the region headers in {}", worldDir, throwable);
+                    // Nothing is known to be saved, so every step falls back to the main thread check
+                    return new BitSet();
+                });
+    }
+
+    boolean isLookedUp() {
+        return this.saved != null && this.saved.isDone();
+    }
+
+    boolean hasNext() {
+        return this.index < this.size;
+    }
+
+    /**
+     * Gets whether all chunks of the next step were found in the region headers.
+     */
+    boolean isNextSaved() {
+        return this.saved != null && this.saved.join().get(this.index);
+    }
+
+    /**
+     * Gets whether all chunks of all remaining steps were found in the region headers.
+     */
+    boolean isRemainingSaved() {
+        return this.saved != null && this.saved.join().nextClearBit(this.index) >= this.size;
+    }
+
+    int getNextGenCount() {
+        return this.genCounts[this.index];
+    }
+
+    Vector3i next() {
+        this.remainingChunks -= this.genCounts[this.index];
+        return this.positions[this.index++];
+    }
+
+    /**
+     * Skips all remaining steps.
+     *
+     * @return The number of chunks that were skipped
+     */
+    int skipRemaining() {
+        final int skipped = this.remainingChunks;
+        this.index = this.size;
+        this.remainingChunks = 0;
+        return skipped;
+    }
+
+    int getRemainingChunks() {
+        return this.remainingChunks;
+    }
+
+    private BitSet lookupSaved(File worldDir) {
+        final BitSet saved = new BitSet(this.size);
+        for (int i = 0; i < this.size; i++) {
+            final int x = this.positions[i].getX();
+            final int z = this.positions[i].getZ();
+            // Each step covers the chunk and its neighbours at -x, -z and -x -z
+            if (isSaved(worldDir, x, z) && isSaved(worldDir, x - 1, z) && isSaved(worldDir, x, z - 1) && isSaved(worldDir, x - 1, z - 1)) {
+                saved.set(i);
+            }
+        }
+        return saved;
+    }
+
+    private static boolean isSaved(File worldDir, int chunkX, int chunkZ) {
+        // Doesn't create missing region files, unlike RegionFileCache#createOrLoadRegionFile
+        final RegionFile regionFile = RegionFileCache.getRegionFileIfExists(worldDir, chunkX, chunkZ);
+        return regionFile != null && regionFile.isChunkSaved(chunkX & 31, chunkZ & 31);
+    }
+
+}
@@ -45,11 +45,16 @@
 import org.spongepowered.api.world.storage.WorldProperties;
 import org.spongepowered.common.SpongeImpl;
 import org.spongepowered.common.bridge.world.chunk.ChunkProviderServerBridge;
+import org.spongepowered.common.bridge.world.chunk.storage.AnvilChunkLoaderBridge;
+import org.spongepowered.common.config.category.GlobalWorldCategory;
 import org.spongepowered.common.world.storage.SpongeChunkLayout;
 
+import java.io.File;
 import java.time.Duration;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
 import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
@@ -63,6 +68,7 @@ public class SpongeChunkPreGenerateTask implements ChunkPreGenerate, Consumer<Ta
 
     private static final int DEFAULT_TICK_INTERVAL = 4;
     private static final float DEFAULT_TICK_PERCENT = 0.8f;
+    private static final int BATCH_SIZE = 256;
 
     private static final Vector3i[] OFFSETS = {
             Vector3i.UNIT_Z.negate().mul(2),
@@ -88,6 +94,11 @@ public class SpongeChunkPreGenerateTask implements ChunkPreGenerate, Consumer<Ta
     // If null, no listeners have been assigned, so they don't need to be registered or unregistered.
     @Nullable private final EventListener<ChunkPreGenerationEvent> eventListener;
 
+    // If null, the task isn't pipelined and every position is checked on the main thread.
+    @Nullable private final File regionWorldDir;
+    private final int prefetchBatches;
+    private final Deque<ChunkPreGenerateBatch> batches = new ArrayDeque<>();
+
     private Vector3i currentPosition;
     private int currentGenCount;
     private int currentLayer;
@@ -123,6 +134,19 @@ private SpongeChunkPreGenerateTask(Object plugin,
             this.doesChunkExistCheck = v -> false;
         }
 
+        // The pipelined mode reads the region file headers ahead of the spiral, so
+        // positions that are already generated can be skipped without touching the
+        // chunk data on the main thread.
+        final GlobalWorldCategory worldCategory = SpongeImpl.getGlobalConfigAdapter().getConfig().getWorld();
+        if (worldCategory.isPipelinedChunkPreGeneration() && world.getWorldStorage() instanceof ChunkProviderServerBridge
+                && ((ChunkProviderServerBridge) world.getWorldStorage()).bridge$getChunkLoader() instanceof AnvilChunkLoaderBridge) {
+            this.regionWorldDir = ((AnvilChunkLoaderBridge) ((ChunkProviderServerBridge) world.getWorldStorage()).bridge$getChunkLoader())
+                    .bridge$getWorldDir().toFile();
+        } else {
+            this.regionWorldDir = null;
+        }
+        this.prefetchBatches = worldCategory.getChunkPreGenerationPrefetchBatches();
+
         this.chunkRadius = GenericMath.floor(diameter / 32);
         this.chunkCount = chunkCount;
         this.tickPercent = tickPercent;
@@ -185,6 +209,35 @@ public Duration getTotalTime() {
         return Duration.of((isCancelled() ? this.generationEndTime : System.currentTimeMillis()) - this.generationStartTime, ChronoUnit.MILLIS);
     }
 
+    /**
+     * Gets the average number of chunks that were processed per second since
+     * the task started, including the chunks that were skipped.
+     *
+     * @return The chunks per second
+     */
+    public double getChunksPerSecond() {
+        final long millis = getTotalTime().toMillis();
+        if (millis <= 0) {
+            return 0;
+        }
+        return (this.chunksGenerated + this.chunksSkipped) * 1000.0 / millis;
+    }
+
+    /**
+     * Gets the number of chunks whose existence is being or has been looked up
+     * ahead of the generator, but which haven't been processed yet. This is
+     * always zero if the task isn't pipelined.
+     *
+     * @return The queue depth in chunks
+     */
+    public int getQueueDepth() {
+        int depth = 0;
+        for (ChunkPreGenerateBatch batch : this.batches) {
+            depth += batch.getRemainingChunks();
+        }
+        return depth;
+    }
+
     @Override
     public boolean isCancelled() {
         if (this.isCancelled) {
@@ -207,6 +260,7 @@ public void cancel() {
                 Sponge.getEventManager().unregisterListeners(this.eventListener);
             }
             this.spongeTask.cancel();
+            this.batches.clear();
             this.isCancelled = true;
         }
     }
@@ -240,28 +294,43 @@ public void accept(Task task) {
         // Count how many chunks are generated during the tick
         int count = 0;
         int skipped = 0;
-        do {
-            final Vector3i position = nextChunkPosition();
-            final Vector3i pos1 = position.sub(Vector3i.UNIT_X);
-            final Vector3i pos2 = position.sub(Vector3i.UNIT_Z);
-            final Vector3i pos3 = pos2.sub(Vector3i.UNIT_X);
-
-            // We can only skip generation if all chunks are loaded.
-            if (!areAllChunksLoaded(position, pos1, pos2, pos3)) {
-
-                // At least one chunk isn't generated, so to populate, we need to load them all.
-                this.world.loadChunk(position, true);
-                this.world.loadChunk(pos1, true);
-                this.world.loadChunk(pos2, true);
-                this.world.loadChunk(pos3, true);
-
-                count += this.currentGenCount;
-            } else {
-
-                // Skipped them, log this.
-                skipped += this.currentGenCount;
+        if (this.regionWorldDir == null) {
+            do {
+                final Vector3i position = nextChunkPosition();
+                if (generateIfMissing(position)) {
+                    count += this.currentGenCount;
+                } else {
+                    // Skipped them, log this.
+                    skipped += this.currentGenCount;
+                }
+            } while (hasNextChunkPosition() && checkChunkCount(count) && checkTickTime(System.currentTimeMillis() - stepStartTime));
+        } else {
+            fillPipeline();
+            ChunkPreGenerateBatch batch;
+            // Only work on batches whose lookup is done, the main thread never waits on the region headers.
+            while ((batch = this.batches.peek()) != null && batch.isLookedUp()) {
+                if (batch.isRemainingSaved()) {
+                    // Everything left in this batch is already generated, skip it in one go.
+                    skipped += batch.skipRemaining();
+                }
+                while (batch.hasNext() && checkChunkCount(count) && checkTickTime(System.currentTimeMillis() - stepStartTime)) {
+                    final int genCount = batch.getNextGenCount();
+                    final boolean saved = batch.isNextSaved();
+                    final Vector3i position = batch.next();
+                    // The headers can't see chunks that are still queued for saving, so missing ones are checked again.
+                    if (!saved && generateIfMissing(position)) {
+                        count += genCount;
+                    } else {
+                        skipped += genCount;
+                    }
+                }
+                if (batch.hasNext()) {
+                    break;
+                }
+                this.batches.poll();
+                fillPipeline();
             }
-        } while (hasNextChunkPosition() && checkChunkCount(count) && checkTickTime(System.currentTimeMillis() - stepStartTime));
+        }
 
         this.chunksGenerated += count;
         this.chunksSkipped += skipped;
@@ -282,7 +351,7 @@ public void accept(Task task) {
             return;
         }
 
-        if (!hasNextChunkPosition()) {
+        if (!hasNextChunkPosition() && this.batches.isEmpty()) {
             // Generation has completed.
             Sponge.getEventManager().post(SpongeEventFactory.createChunkPreGenerationEventComplete(
                     this.cause,
@@ -296,6 +365,42 @@ public void accept(Task task) {
         }
     }
 
+    /**
+     * Generates the chunks of a spiral step, unless all of them exist already.
+     *
+     * @param position The position of the step
+     * @return True if the chunks had to be generated
+     */
+    private boolean generateIfMissing(Vector3i position) {
+        final Vector3i pos1 = position.sub(Vector3i.UNIT_X);
+        final Vector3i pos2 = position.sub(Vector3i.UNIT_Z);
+        final Vector3i pos3 = pos2.sub(Vector3i.UNIT_X);
+
+        // We can only skip generation if all chunks are loaded.
+        if (areAllChunksLoaded(position, pos1, pos2, pos3)) {
+            return false;
+        }
+
+        // At least one chunk isn't generated, so to populate, we need to load them all.
+        this.world.loadChunk(position, true);
+        this.world.loadChunk(pos1, true);
+        this.world.loadChunk(pos2, true);
+        this.world.loadChunk(pos3, true);
+        return true;
+    }
+
+    private void fillPipeline() {
+        while (this.batches.size() < this.prefetchBatches && hasNextChunkPosition()) {
+            final ChunkPreGenerateBatch batch = new ChunkPreGenerateBatch(BATCH_SIZE);
+            while (!batch.isFull() && hasNextChunkPosition()) {
+                final Vector3i position = nextChunkPosition();
+                batch.add(position, this.currentGenCount);
+            }
+            batch.lookup(this.regionWorldDir);
+            this.batches.add(batch);
+        }
+    }
+
     private boolean areAllChunksLoaded(Vector3i chunk1, Vector3i chunk2, Vector3i chunk3, Vector3i chunk4) {
         return this.doesChunkExistCheck.test(chunk1) && this.doesChunkExistCheck.test(chunk2) &&
                 this.doesChunkExistCheck.test(chunk3) && this.doesChunkExistCheck.test(chunk4);
@@ -315,6 +420,7 @@ private void cancelTask(Task task) {
         }
 
         this.isCancelled = true;
+        this.batches.clear();
         unregisterListener();
     }
 
@@ -0,0 +1,216 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.storage;
+
+import com.google.common.io.ByteStreams;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraft.world.chunk.storage.IChunkLoader;
+import net.minecraft.world.chunk.storage.RegionFileCache;
+import net.minecraft.world.gen.ChunkProviderServer;
+import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.bridge.world.chunk.ChunkProviderServerBridge;
+import org.spongepowered.common.bridge.world.chunk.storage.AnvilChunkLoaderBridge;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+
+import javax.annotation.Nullable;
+
+/**
+ * Loads the chunks of a {@link ChunkProviderServer} without blocking the
+ * main thread on disk reads.
+ *
+ * <p>The chunk data is read and decompressed on the async scheduler. The
+ * chunk is then loaded through the regular load path on the main thread,
+ * where {@link RegionFileCache#getChunkInputStream} is served from the data
+ * that was read ahead. Concurrent requests for the same chunk share one
+ * load.</p>
+ */
+public final class AsyncChunkLoader {
+
+    // The data of the chunks that are currently being loaded on the main thread, by world directory.
+    private static final ConcurrentMap<File, PrefetchedChunk> PREFETCHED = new ConcurrentHashMap<>();
+
+    /**
+     * Gets the chunk data that was read ahead for the given chunk, if that
+     * chunk is being loaded right now.
+     *
+     * @param worldDir The directory of the world
+     * @param x The chunk x
+     * @param z The chunk z
+     * @return The decompressed chunk data, or null if there is none
+     */
+    @Nullable
+    public static DataInputStream getPrefetched(File worldDir, int x, int z) {
+        final PrefetchedChunk chunk = PREFETCHED.get(worldDir);
+        if (chunk == null || chunk.x != x || chunk.z != z) {
+            return null;
+        }
+        return new DataInputStream(new ByteArrayInputStream(chunk.data));
+    }
+
+    private final ChunkProviderServer provider;
+    private final Executor mainThread;
+    private final Executor reader;
+    private final Long2ObjectMap<PendingLoad> pending = new Long2ObjectOpenHashMap<>();
+
+    public AsyncChunkLoader(ChunkProviderServer provider) {
+        this(provider, task -> SpongeImpl.getScheduler().callSync(task), task -> SpongeImpl.getScheduler().getAsyncExecutor().execute(task));
+    }
+
+    AsyncChunkLoader(ChunkProviderServer provider, Executor mainThread, Executor reader) {
+        this.provider = provider;
+        this.mainThread = mainThread;
+        this.reader = reader;
+    }
+
+    /**
+     * Loads the chunk at the given position. The returned future is always
+     * completed on the main thread, once the chunk is loaded.
+     *
+     * @param x The chunk x
+     * @param z The chunk z
+     * @param generate Whether to generate the chunk if it doesn't exist
+     * @return The future of the chunk, empty if it doesn't exist and wasn't generated
+     */
+    public CompletableFuture<Optional<Chunk>> load(int x, int z, boolean generate) {
+        final long key = ChunkPos.asLong(x, z);
+        final PendingLoad load;
+        synchronized (this.pending) {
+            final PendingLoad existing = this.pending.get(key);
+            if (existing != null) {
+                existing.generate |= generate;
+                return existing.future;
+            }
+            load = new PendingLoad(generate);
+            this.pending.put(key, load);
+        }
+
+        final IChunkLoader chunkLoader = ((ChunkProviderServerBridge) this.provider).bridge$getChunkLoader();
+        if (!(chunkLoader instanceof AnvilChunkLoaderBridge)) {
+            // Nothing can be read ahead, so just load it on the main thread
+            this.mainThread.execute(() -> this.complete(key, x, z, null));
+            return load.future;
+        }
+
+        final AnvilChunkLoaderBridge anvilChunkLoader = (AnvilChunkLoaderBridge) chunkLoader;
+        final File worldDir = anvilChunkLoader.bridge$getWorldDir().toFile();
+        final long saveCount = anvilChunkLoader.bridge$getSaveCount(x, z);
+        if (anvilChunkLoader.bridge$isSavePending(x, z)) {
+            // The data on disk is about to be replaced, the regular load path reads the pending save
+            this.mainThread.execute(() -> this.complete(key, x, z, null));
+            return load.future;
+        }
+        this.reader.execute(() -> {
+            byte[] read = null;
+            try {
+                read = readChunk(worldDir, x, z);
+            } catch (IOException | RuntimeException e) {
+                // The regular load path reads it again and reports the error
+            }
+            final byte[] data = read;
+            this.mainThread.execute(() -> {
+                // If a save of this chunk was queued or written in the meantime the data may be
+                // outdated, the regular load path reads it again. The same happens if the read failed.
+                final boolean upToDate = data != null && anvilChunkLoader.bridge$getSaveCount(x, z) == saveCount
+                        && !anvilChunkLoader.bridge$isSavePending(x, z);
+                this.complete(key, x, z, upToDate ? new PrefetchedChunk(worldDir, x, z, data) : null);
+            });
+        });
+        return load.future;
+    }
+
+    private void complete(long key, int x, int z, @Nullable PrefetchedChunk data) {
+        final PendingLoad load;
+        synchronized (this.pending) {
+            load = this.pending.remove(key);
+        }
+        try {
+            Chunk chunk = this.provider.getLoadedChunk(x, z);
+            if (chunk == null) {
+                if (data != null) {
+                    PREFETCHED.put(data.worldDir, data);
+                }
+                try {
+                    chunk = load.generate ? this.provider.provideChunk(x, z) : this.provider.loadChunk(x, z);
+                } finally {
+                    if (data != null) {
+                        PREFETCHED.remove(data.worldDir, data);
+                    }
+                }
+            }
+            load.future.complete(Optional.ofNullable(chunk));
+        } catch (Exception e) {
+            load.future.completeExceptionally(e);
+        }
+    }
+
+    @Nullable
+    private static byte[] readChunk(File worldDir, int x, int z) throws IOException {
+        final DataInputStream stream = RegionFileCache.getChunkInputStream(worldDir, x, z);
+        if (stream == null) {
+            return null;
+        }
+        try (DataInputStream in = stream) {
+            return ByteStreams.toByteArray(in);
+        }
+    }
+
+    private static final class PendingLoad {
+
+        final CompletableFuture<Optional<Chunk>> future = new CompletableFuture<>();
+        boolean generate;
+
+        PendingLoad(boolean generate) {
+            this.generate = generate;
+        }
+    }
+
+    private static final class PrefetchedChunk {
+
+        final File worldDir;
+        final int x;
+        final int z;
+        final byte[] data;
+
+        PrefetchedChunk(File worldDir, int x, int z, byte[] data) {
+            this.worldDir = worldDir;
+            this.x = x;
+            this.z = z;
+            this.data = data;
+        }
+    }
+
+}
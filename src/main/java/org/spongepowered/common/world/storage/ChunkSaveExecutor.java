@@ -0,0 +1,131 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.storage;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import net.minecraft.nbt.CompressedStreamTools;
+import net.minecraft.nbt.NBTTagCompound;
+import org.spongepowered.common.SpongeImpl;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.DeflaterOutputStream;
+
+import javax.annotation.Nullable;
+
+/**
+ * The shared pool that compresses chunks for the batched chunk save queue,
+ * along with the statistics of the save queues of all worlds.
+ */
+public final class ChunkSaveExecutor {
+
+    private static final AtomicInteger QUEUED_CHUNKS = new AtomicInteger();
+    private static final LongAdder WRITTEN_CHUNKS = new LongAdder();
+    private static final LongAdder WRITTEN_BYTES = new LongAdder();
+
+    @Nullable private static ExecutorService executor;
+    private static int threads;
+
+    private static synchronized ExecutorService getExecutor(int threads) {
+        if (executor == null || ChunkSaveExecutor.threads != threads) {
+            if (executor != null) {
+                executor.shutdown();
+            }
+            executor = Executors.newFixedThreadPool(threads, new ThreadFactoryBuilder()
+                    .setNameFormat("Sponge - Chunk Save #%d")
+                    .setDaemon(true)
+                    .build());
+            ChunkSaveExecutor.threads = threads;
+        }
+        return executor;
+    }
+
+    /**
+     * Serializes and compresses the chunk nbt on the pool, in the format
+     * that RegionFile#getChunkDataOutputStream writes.
+     *
+     * @param compound The chunk nbt
+     * @param threads The size of the pool
+     * @return The compressed chunk
+     */
+    public static CompletableFuture<byte[]> compress(NBTTagCompound compound, int threads) {
+        return CompletableFuture.supplyAsync(() -> {
+            final ByteArrayOutputStream bytes = new ByteArrayOutputStream(8192);
+            try (DataOutputStream out = new DataOutputStream(new DeflaterOutputStream(bytes))) {
+                CompressedStreamTools.write(compound, out);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return bytes.toByteArray();
+        }, getExecutor(threads));
+    }
+
+    public static void onQueued() {
+        QUEUED_CHUNKS.incrementAndGet();
+    }
+
+    public static void onDequeued() {
+        QUEUED_CHUNKS.decrementAndGet();
+    }
+
+    public static void onWritten(int bytes) {
+        WRITTEN_CHUNKS.increment();
+        WRITTEN_BYTES.add(bytes);
+    }
+
+    /**
+     * Gets the number of chunks waiting to be saved in all worlds.
+     *
+     * @return The queued chunks
+     */
+    public static int getQueuedChunks() {
+        return QUEUED_CHUNKS.get();
+    }
+
+    public static long getWrittenChunks() {
+        return WRITTEN_CHUNKS.sum();
+    }
+
+    /**
+     * Gets the number of compressed bytes written by the batched save
+     * queue. Chunks saved one by one aren't counted, their size isn't known.
+     *
+     * @return The written bytes
+     */
+    public static long getWrittenBytes() {
+        return WRITTEN_BYTES.sum();
+    }
+
+    private ChunkSaveExecutor() {
+    }
+
+}
@@ -0,0 +1,199 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.storage;
+
+import com.google.common.collect.Lists;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import net.minecraft.nbt.NBTTagCompound;
+import org.spongepowered.api.data.DataContainer;
+import org.spongepowered.api.world.storage.ChunkDataStream;
+import org.spongepowered.common.SpongeImpl;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import javax.annotation.Nullable;
+
+/**
+ * A {@link ChunkDataStream} that memory maps the region files and
+ * decompresses the chunks on a worker pool, a bounded number of chunks
+ * ahead of the consumer. Chunks are returned in the same order as by
+ * {@link SpongeChunkDataStream}.
+ */
+public class MappedChunkDataStream implements ChunkDataStream {
+
+    @Nullable private static ExecutorService executor;
+
+    private static synchronized ExecutorService getExecutor() {
+        if (executor == null) {
+            executor = Executors.newFixedThreadPool(SpongeImpl.getGlobalConfigAdapter().getConfig().getWorld().getChunkDataStreamThreads(),
+                    new ThreadFactoryBuilder()
+                            .setNameFormat("Sponge - Chunk Data Stream #%d")
+                            .setDaemon(true)
+                            .build());
+        }
+        return executor;
+    }
+
+    private final Path worldDir;
+    private final ExecutorService workers;
+    private final int readAhead;
+    private final Deque<CompletableFuture<DataContainer>> pending = new ArrayDeque<>();
+
+    @Nullable private List<Path> files;
+    private int fileIndex;
+    @Nullable private MappedRegionFile region;
+    private int chunkIndex;
+
+    public MappedChunkDataStream(Path worldDir) {
+        this(worldDir, getExecutor(), SpongeImpl.getGlobalConfigAdapter().getConfig().getWorld().getChunkDataStreamThreads() * 2);
+    }
+
+    MappedChunkDataStream(Path worldDir, ExecutorService workers, int readAhead) {
+        this.worldDir = worldDir;
+        this.workers = workers;
+        this.readAhead = readAhead;
+    }
+
+    private List<Path> getFiles() {
+        if (this.files == null) {
+            this.files = Lists.newArrayList(WorldStorageUtil.listRegionFiles(this.worldDir));
+        }
+        return this.files;
+    }
+
+    /**
+     * Moves to the next chunk that is stored in a region file, opening
+     * the next region file if the current one is exhausted.
+     *
+     * @return False if there are no more chunks
+     */
+    private boolean advance() {
+        while (true) {
+            if (this.region != null) {
+                final int next = this.region.nextChunk(this.chunkIndex);
+                if (next != -1) {
+                    this.chunkIndex = next;
+                    return true;
+                }
+                // Unmapped once the pending reads of the region are done
+                this.region.release();
+                this.region = null;
+            }
+            final List<Path> files = getFiles();
+            if (this.fileIndex >= files.size()) {
+                return false;
+            }
+            try {
+                this.region = MappedRegionFile.open(files.get(this.fileIndex++));
+                this.chunkIndex = 0;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    private void fill() {
+        while (this.pending.size() < this.readAhead && advance()) {
+            final MappedRegionFile region = this.region;
+            final int index = this.chunkIndex++;
+            final CompletableFuture<DataContainer> future = new CompletableFuture<>();
+            region.retain();
+            // Not CompletableFuture#supplyAsync, a read that was cancelled before it
+            // started must still release the region
+            this.workers.execute(() -> {
+                try {
+                    if (!future.isDone()) {
+                        final NBTTagCompound data = region.read(index);
+                        future.complete(data == null ? null : WorldStorageUtil.readChunkData(data));
+                    }
+                } catch (IOException e) {
+                    future.completeExceptionally(new UncheckedIOException(e));
+                } catch (Throwable t) {
+                    future.completeExceptionally(t);
+                } finally {
+                    region.release();
+                }
+            });
+            this.pending.add(future);
+        }
+    }
+
+    @Override
+    public DataContainer next() {
+        fill();
+        final CompletableFuture<DataContainer> next = this.pending.poll();
+        if (next == null) {
+            throw new NoSuchElementException();
+        }
+        return next.join();
+    }
+
+    @Override
+    public boolean hasNext() {
+        fill();
+        return !this.pending.isEmpty();
+    }
+
+    @Override
+    public int available() {
+        int count = this.pending.size();
+        if (this.region != null) {
+            count += this.region.countChunks(this.chunkIndex);
+        }
+        // Only the headers of the remaining files have to be read
+        final List<Path> files = getFiles();
+        for (int i = this.fileIndex; i < files.size(); i++) {
+            try {
+                count += MappedRegionFile.countChunks(files.get(i));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public void reset() {
+        this.pending.forEach(future -> future.cancel(false));
+        this.pending.clear();
+        this.files = null;
+        this.fileIndex = 0;
+        if (this.region != null) {
+            this.region.release();
+            this.region = null;
+        }
+        this.chunkIndex = 0;
+    }
+
+}
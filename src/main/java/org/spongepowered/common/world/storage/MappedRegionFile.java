@@ -0,0 +1,232 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.storage;
+
+import net.minecraft.nbt.CompressedStreamTools;
+import net.minecraft.nbt.NBTTagCompound;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+import javax.annotation.Nullable;
+
+/**
+ * A read only view of an anvil region file that is mapped into memory.
+ *
+ * <p>Unlike {@link net.minecraft.world.chunk.storage.RegionFile}, reading
+ * chunks is thread safe, so the chunks of one region can be decompressed
+ * in parallel.</p>
+ *
+ * <p>The mapping is reference counted, starting with the reference of the
+ * opener. Every reader retains the region while it reads, and the mapping
+ * is released as soon as the last reference is, rather than whenever the
+ * buffer happens to be collected.</p>
+ */
+final class MappedRegionFile {
+
+    static final int CHUNKS = 1024;
+    private static final int SECTOR_BYTES = 4096;
+    private static final int VERSION_GZIP = 1;
+    private static final int VERSION_DEFLATE = 2;
+
+    // Releases the memory of a mapped buffer, or null if that isn't supported by this JVM
+    @Nullable private static final Consumer<ByteBuffer> UNMAPPER = createUnmapper();
+
+    @Nullable
+    private static Consumer<ByteBuffer> createUnmapper() {
+        try {
+            // Java 9 and newer
+            final Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            final Method invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+            final Field field = unsafeClass.getDeclaredField("theUnsafe");
+            field.setAccessible(true);
+            final Object unsafe = field.get(null);
+            return buffer -> {
+                try {
+                    invokeCleaner.invoke(unsafe, buffer);
+                } catch (ReflectiveOperationException e) {
+                    throw new IllegalStateException(e);
+                }
+            };
+        } catch (ReflectiveOperationException e) {
+            // Fall through to Java 8
+        }
+        try {
+            final Method cleaner = Class.forName("sun.nio.ch.DirectBuffer").getMethod("cleaner");
+            final Method clean = Class.forName("sun.misc.Cleaner").getMethod("clean");
+            return buffer -> {
+                try {
+                    final Object bufferCleaner = cleaner.invoke(buffer);
+                    if (bufferCleaner != null) {
+                        clean.invoke(bufferCleaner);
+                    }
+                } catch (ReflectiveOperationException e) {
+                    throw new IllegalStateException(e);
+                }
+            };
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+
+    private final MappedByteBuffer buffer;
+    private final int[] offsets = new int[CHUNKS];
+    private final AtomicInteger references = new AtomicInteger(1);
+
+    private MappedRegionFile(MappedByteBuffer buffer) {
+        this.buffer = buffer;
+        // Files that were never written to can be smaller than the header
+        final IntBuffer header = buffer.asIntBuffer();
+        header.get(this.offsets, 0, Math.min(CHUNKS, header.remaining()));
+    }
+
+    static MappedRegionFile open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            // The mapping stays valid after the channel is closed
+            return new MappedRegionFile(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    void retain() {
+        this.references.incrementAndGet();
+    }
+
+    /**
+     * Releases a reference to the region, the last one unmaps it. The
+     * region can't be read afterwards.
+     */
+    void release() {
+        if (this.references.decrementAndGet() == 0 && UNMAPPER != null) {
+            try {
+                UNMAPPER.accept(this.buffer);
+            } catch (RuntimeException e) {
+                // Left to the garbage collector
+            }
+        }
+    }
+
+    /**
+     * Counts the chunks of a region file by only reading its header.
+     */
+    static int countChunks(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            final ByteBuffer header = ByteBuffer.allocate(SECTOR_BYTES);
+            while (header.hasRemaining() && channel.read(header) != -1) {
+                // Keep reading until the header is complete
+            }
+            header.flip();
+            int count = 0;
+            while (header.remaining() >= Integer.BYTES) {
+                if (header.getInt() != 0) {
+                    count++;
+                }
+            }
+            return count;
+        }
+    }
+
+    /**
+     * Gets the index of the first chunk at or after the given index
+     * that is stored in this region.
+     *
+     * @param index The index to start at
+     * @return The index, or -1 if there are no more chunks
+     */
+    int nextChunk(int index) {
+        for (int i = index; i < CHUNKS; i++) {
+            if (this.offsets[i] != 0) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    int countChunks(int index) {
+        int count = 0;
+        for (int i = index; i < CHUNKS; i++) {
+            if (this.offsets[i] != 0) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Reads and decompresses the chunk at the given index. The same checks
+     * as in RegionFile#getChunkDataInputStream are applied, so any chunk that
+     * would be skipped by vanilla is also skipped here.
+     *
+     * @param index The index of the chunk, x + z * 32
+     * @return The chunk nbt, or null if the chunk is missing or malformed
+     * @throws IOException If the chunk couldn't be decompressed
+     */
+    @Nullable
+    NBTTagCompound read(int index) throws IOException {
+        final int offset = this.offsets[index];
+        final long start = (long) (offset >>> 8) * SECTOR_BYTES;
+        final int sectors = offset & 0xFF;
+        if (offset == 0 || start + Integer.BYTES + 1 > this.buffer.capacity()) {
+            return null;
+        }
+        // Use a duplicate, the position of the shared buffer must not be touched by the workers
+        final ByteBuffer view = this.buffer.duplicate();
+        view.position((int) start);
+        final int length = view.getInt();
+        if (length <= 0 || length > sectors * SECTOR_BYTES || length > view.remaining()) {
+            return null;
+        }
+        final int version = view.get();
+        final byte[] data = new byte[length - 1];
+        view.get(data);
+
+        final InputStream in;
+        if (version == VERSION_GZIP) {
+            in = new GZIPInputStream(new ByteArrayInputStream(data));
+        } else if (version == VERSION_DEFLATE) {
+            in = new InflaterInputStream(new ByteArrayInputStream(data));
+        } else {
+            return null;
+        }
+        try (DataInputStream stream = new DataInputStream(new BufferedInputStream(in))) {
+            return CompressedStreamTools.read(stream);
+        }
+    }
+
+}
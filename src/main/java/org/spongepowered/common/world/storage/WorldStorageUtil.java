@@ -52,6 +52,8 @@
 import java.util.concurrent.CompletableFuture;
 import java.util.function.Function;
 
+import javax.annotation.Nullable;
+
 public class WorldStorageUtil {
 
     public static CompletableFuture<Boolean> doesChunkExist(WorldServer world, IChunkLoader chunkLoader, Vector3i chunkCoords) {
@@ -86,12 +88,16 @@ public static CompletableFuture<Optional<DataContainer>> getChunkData(WorldServe
         });
     }
 
-    public static DataContainer readDataFromRegion(DataInputStream stream) throws IOException {
+    @Nullable
+    public static DataContainer readDataFromRegion(@Nullable DataInputStream stream) throws IOException {
         if (stream == null) {
             return null;
         }
-        NBTTagCompound data = CompressedStreamTools.read(stream);
+        return readChunkData(CompressedStreamTools.read(stream));
+    }
 
+    @Nullable
+    public static DataContainer readChunkData(NBTTagCompound data) {
         // Checks are based on AnvilChunkLoader#checkedReadChunkFromNBT
 
         if (!data.hasKey(Constants.Chunk.CHUNK_DATA_LEVEL, Constants.NBT.TAG_COMPOUND)) {
@@ -101,7 +107,7 @@ public static DataContainer readDataFromRegion(DataInputStream stream) throws IO
         if (!level.hasKey(Constants.Chunk.CHUNK_DATA_SECTIONS, Constants.NBT.TAG_LIST)) {
             return null;
         }
-        return NbtTranslator.getInstance().translateFrom(level);
+        return NbtTranslator.getInstance().translateLazily(level);
     }
 
     public static Iterable<Path> listRegionFiles(Path worldDir) {
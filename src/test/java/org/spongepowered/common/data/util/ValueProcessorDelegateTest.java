@@ -0,0 +1,68 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.data.util;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.google.common.collect.ImmutableList;
+import org.junit.Assert;
+import org.junit.Test;
+import org.spongepowered.api.data.key.Key;
+import org.spongepowered.api.data.value.ValueContainer;
+import org.spongepowered.api.data.value.mutable.Value;
+import org.spongepowered.common.data.ValueProcessor;
+
+import java.util.Optional;
+
+public class ValueProcessorDelegateTest {
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testSkipsProcessorsForUnsupportedClasses() {
+        final ValueContainer<?> container = mock(ValueContainer.class);
+        final ValueProcessor<Integer, Value<Integer>> unsupported = mock(ValueProcessor.class);
+        when(unsupported.canSupport(any())).thenReturn(false);
+        final ValueProcessor<Integer, Value<Integer>> supported = mock(ValueProcessor.class);
+        when(supported.canSupport(any())).thenReturn(true);
+        when(supported.supports(container)).thenReturn(true);
+        when(supported.getValueFromContainer(container)).thenReturn(Optional.of(5));
+
+        final ValueProcessorDelegate<Integer, Value<Integer>> delegate =
+                new ValueProcessorDelegate<>(mock(Key.class), ImmutableList.of(unsupported, supported));
+        Assert.assertEquals(Optional.of(5), delegate.getValueFromContainer(container));
+        Assert.assertEquals(Optional.of(5), delegate.getValueFromContainer(container));
+
+        verify(unsupported, never()).supports(container);
+        // The classes are only resolved once
+        verify(unsupported, times(1)).canSupport(container.getClass());
+        verify(supported, times(2)).supports(container);
+    }
+
+}
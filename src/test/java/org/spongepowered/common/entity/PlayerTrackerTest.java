@@ -0,0 +1,78 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.entity;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class PlayerTrackerTest {
+
+    @Test
+    public void testPackUnpack() {
+        final long tracked = PlayerTracker.pack(7, 42);
+        assertEquals(7, PlayerTracker.getOwnerIndex(tracked));
+        assertEquals(42, PlayerTracker.getNotifierIndex(tracked));
+        assertEquals(7, PlayerTracker.getIndex(tracked, PlayerTracker.Type.OWNER));
+        assertEquals(42, PlayerTracker.getIndex(tracked, PlayerTracker.Type.NOTIFIER));
+    }
+
+    @Test
+    public void testMissingIndexes() {
+        assertEquals(-1, PlayerTracker.getOwnerIndex(PlayerTracker.NONE));
+        assertEquals(-1, PlayerTracker.getNotifierIndex(PlayerTracker.NONE));
+        final long ownerOnly = PlayerTracker.pack(3, -1);
+        assertEquals(3, PlayerTracker.getOwnerIndex(ownerOnly));
+        assertEquals(-1, PlayerTracker.getNotifierIndex(ownerOnly));
+        final long notifierOnly = PlayerTracker.pack(-1, Integer.MAX_VALUE);
+        assertEquals(-1, PlayerTracker.getOwnerIndex(notifierOnly));
+        assertEquals(Integer.MAX_VALUE, PlayerTracker.getNotifierIndex(notifierOnly));
+    }
+
+    @Test
+    public void testUpdates() {
+        long tracked = PlayerTracker.withNotifier(PlayerTracker.NONE, 5);
+        assertEquals(PlayerTracker.pack(-1, 5), tracked);
+        tracked = PlayerTracker.withOwner(tracked, 9);
+        assertEquals(PlayerTracker.pack(9, 5), tracked);
+        // Clearing both indexes results in an untracked position again
+        assertEquals(PlayerTracker.NONE, PlayerTracker.withNotifier(PlayerTracker.withOwner(tracked, -1), -1));
+    }
+
+    @Test
+    public void testEmptyPositions() {
+        assertTrue(PlayerTracker.EMPTY_INT_POSITIONS.isEmpty());
+        assertTrue(PlayerTracker.EMPTY_SHORT_POSITIONS.isEmpty());
+        assertEquals(PlayerTracker.NONE, PlayerTracker.EMPTY_INT_POSITIONS.get(12345));
+        assertEquals(PlayerTracker.NONE, PlayerTracker.EMPTY_SHORT_POSITIONS.get((short) 123));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testEmptyPositionsUnmodifiable() {
+        PlayerTracker.EMPTY_INT_POSITIONS.put(1, PlayerTracker.pack(1, 1));
+    }
+
+}
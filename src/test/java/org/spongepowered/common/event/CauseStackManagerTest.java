@@ -29,6 +29,7 @@
 import org.junit.runner.RunWith;
 import org.mockito.Mockito;
 import org.spongepowered.api.entity.living.player.User;
+import org.spongepowered.api.event.cause.Cause;
 import org.spongepowered.api.event.cause.EventContextKeys;
 import org.spongepowered.common.SpongeImpl;
 import org.spongepowered.lwts.runner.LaunchWrapperTestRunner;
@@ -90,4 +91,38 @@ public void testPoppingFrameRemovesFrameContexts() throws Exception {
         Assert.assertFalse(causeStackManager.getContext(EventContextKeys.OWNER).isPresent());
     }
 
+    @Test
+    public void testPoppingFrameRestoresChangedContexts() throws Exception {
+        final SpongeCauseStackManager causeStackManager = SpongeImpl.getCauseStackManager();
+
+        User user = Mockito.mock(User.class);
+        User user2 = Mockito.mock(User.class);
+        User user3 = Mockito.mock(User.class);
+
+        SpongeCauseStackManager.StackFrame frame1 = causeStackManager.pushCauseFrame();
+        causeStackManager.pushCause(1);
+        causeStackManager.addContext(EventContextKeys.OWNER, user);
+        final Cause cause = causeStackManager.getCurrentCause();
+
+        // Change the same key multiple times and remove another one within a single frame
+        SpongeCauseStackManager.StackFrame frame = causeStackManager.pushCauseFrame();
+        causeStackManager.addContext(EventContextKeys.OWNER, user2);
+        causeStackManager.addContext(EventContextKeys.NOTIFIER, user3);
+        causeStackManager.addContext(EventContextKeys.OWNER, user3);
+        causeStackManager.removeContext(EventContextKeys.NOTIFIER);
+
+        Assert.assertEquals(user3, causeStackManager.getContext(EventContextKeys.OWNER).get());
+        Assert.assertFalse(causeStackManager.getContext(EventContextKeys.NOTIFIER).isPresent());
+        Assert.assertEquals(user3, causeStackManager.getCurrentCause().getContext().get(EventContextKeys.OWNER).get());
+
+        causeStackManager.popCauseFrame(frame);
+        Assert.assertEquals(user, causeStackManager.getContext(EventContextKeys.OWNER).get());
+        Assert.assertFalse(causeStackManager.getContext(EventContextKeys.NOTIFIER).isPresent());
+        // The cause from before the frame was pushed is valid again
+        Assert.assertEquals(cause, causeStackManager.getCurrentCause());
+
+        causeStackManager.popCauseFrame(frame1);
+        Assert.assertFalse(causeStackManager.getContext(EventContextKeys.OWNER).isPresent());
+    }
+
 }
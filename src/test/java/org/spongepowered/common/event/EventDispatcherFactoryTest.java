@@ -0,0 +1,99 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.event;
+
+import static org.mockito.Mockito.mock;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.spongepowered.api.event.EventListener;
+import org.spongepowered.api.event.Order;
+import org.spongepowered.api.plugin.PluginContainer;
+import org.spongepowered.common.event.filter.FilterFactory;
+import org.spongepowered.common.event.gen.DefineableClassLoader;
+import org.spongepowered.common.event.listener.IncludeExcludeListener;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class EventDispatcherFactoryTest {
+
+    private final DefineableClassLoader classLoader = new DefineableClassLoader(getClass().getClassLoader());
+    private final AnnotatedEventListener.Factory handlerFactory = new ClassEventListenerFactory("org.spongepowered.common.event.listener",
+            new FilterFactory("org.spongepowered.common.event.filters", this.classLoader), this.classLoader);
+    private final EventDispatcherFactory dispatcherFactory = new EventDispatcherFactory("org.spongepowered.common.event.dispatcher");
+    private final PluginContainer plugin = mock(PluginContainer.class);
+    private final EventType<EventFilterTest.TestEvent> eventType = new EventType<>(EventFilterTest.TestEvent.class);
+
+    @Test
+    public void testGeneratedDispatcher() throws Exception {
+        final IncludeExcludeListener listener = new IncludeExcludeListener();
+        final List<String> calls = new ArrayList<>();
+        final EventListener<EventFilterTest.TestEvent> first = event -> calls.add("first");
+        final EventListener<EventFilterTest.TestEvent> last = event -> calls.add("last");
+
+        final List<RegisteredListener<?>> listeners = new ArrayList<>();
+        listeners.add(this.register(first));
+        listeners.add(this.register(this.handlerFactory.create(listener, IncludeExcludeListener.class.getMethod("includeListener",
+                EventFilterTest.TestEvent.class))));
+        listeners.add(this.register(this.handlerFactory.create(listener, IncludeExcludeListener.class.getMethod("excludeListener",
+                EventFilterTest.TestEvent.class))));
+        listeners.add(this.register(last));
+
+        final EventDispatcher dispatcher = this.dispatcherFactory.create(this.eventType, listeners);
+        Assert.assertNotNull("No dispatcher was generated!", dispatcher);
+        Assert.assertNotEquals("The default dispatcher was used!", EventDispatcher.class, dispatcher.getClass());
+        Assert.assertEquals(4, dispatcher.size());
+
+        dispatcher.dispatch(new EventFilterTest.SubEvent(EventFilterTest.TEST_CAUSE));
+        Assert.assertEquals("Listeners were not called in order!", 2, calls.size());
+        Assert.assertEquals("first", calls.get(0));
+        Assert.assertEquals("last", calls.get(1));
+        Assert.assertTrue("Listener annotated with @Include was not called!", listener.includeListenerCalled);
+        Assert.assertFalse("Listener annotated with @Exclude was called!", listener.exlcudeListenerCalled);
+
+        dispatcher.invoke(3, new EventFilterTest.SubEvent(EventFilterTest.TEST_CAUSE));
+        Assert.assertEquals("last", calls.get(2));
+    }
+
+    @Test
+    public void testNoListeners() throws Exception {
+        Assert.assertNull(this.dispatcherFactory.create(this.eventType, new ArrayList<>()));
+    }
+
+    @Test(expected = ArrayIndexOutOfBoundsException.class)
+    public void testInvalidIndex() throws Exception {
+        final List<RegisteredListener<?>> listeners = new ArrayList<>();
+        listeners.add(this.register(event -> { }));
+        final EventDispatcher dispatcher = this.dispatcherFactory.create(this.eventType, listeners);
+        Assert.assertNotNull(dispatcher);
+        dispatcher.invoke(1, new EventFilterTest.SubEvent(EventFilterTest.TEST_CAUSE));
+    }
+
+    private RegisteredListener<EventFilterTest.TestEvent> register(EventListener<? super EventFilterTest.TestEvent> listener) {
+        return new RegisteredListener<>(this.plugin, this.eventType, Order.DEFAULT, listener, false);
+    }
+
+}
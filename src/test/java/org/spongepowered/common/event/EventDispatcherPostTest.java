@@ -0,0 +1,92 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.event;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.spongepowered.api.Sponge;
+import org.spongepowered.api.event.EventListener;
+import org.spongepowered.api.event.Order;
+import org.spongepowered.api.event.cause.Cause;
+import org.spongepowered.api.plugin.PluginContainer;
+import org.spongepowered.lwts.runner.LaunchWrapperTestRunner;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@RunWith(LaunchWrapperTestRunner.class)
+public class EventDispatcherPostTest {
+
+    private final EventDispatcherFactory dispatcherFactory = new EventDispatcherFactory("org.spongepowered.common.event.dispatcher");
+    private final EventType<EventFilterTest.TestEvent> eventType = new EventType<>(EventFilterTest.TestEvent.class);
+
+    @Test
+    public void testGeneratedPost() throws Exception {
+        this.testPost(true);
+    }
+
+    @Test
+    public void testDefaultPost() throws Exception {
+        this.testPost(false);
+    }
+
+    private void testPost(boolean generated) throws Exception {
+        final PluginContainer first = this.plugin("first");
+        final PluginContainer last = this.plugin("last");
+        final List<Cause> causes = new ArrayList<>();
+        final EventListener<EventFilterTest.TestEvent> record = event -> causes.add(Sponge.getCauseStackManager().getCurrentCause());
+        final EventListener<EventFilterTest.TestEvent> fail = event -> {
+            throw new IllegalStateException("Expected by the test");
+        };
+
+        final List<RegisteredListener<?>> listeners = new ArrayList<>();
+        listeners.add(new RegisteredListener<>(first, this.eventType, Order.DEFAULT, record, false));
+        listeners.add(new RegisteredListener<>(first, this.eventType, Order.DEFAULT, fail, false));
+        listeners.add(new RegisteredListener<>(last, this.eventType, Order.DEFAULT, record, false));
+        final EventDispatcher dispatcher = generated ? this.dispatcherFactory.create(this.eventType, listeners) : new EventDispatcher(listeners);
+        Assert.assertNotNull(dispatcher);
+
+        final int depth = Sponge.getCauseStackManager().getCurrentCause().all().size();
+        dispatcher.post(new EventFilterTest.SubEvent(EventFilterTest.TEST_CAUSE));
+
+        Assert.assertEquals("A failing listener stopped the following listeners!", 2, causes.size());
+        Assert.assertTrue("The listener wasn't called with its plugin as the cause!", causes.get(0).contains(first));
+        Assert.assertFalse("The cause frame of a previous listener wasn't popped!", causes.get(1).contains(first));
+        Assert.assertTrue("The listener wasn't called with its plugin as the cause!", causes.get(1).contains(last));
+        Assert.assertEquals("The cause frames of the listeners weren't popped!", depth,
+                Sponge.getCauseStackManager().getCurrentCause().all().size());
+    }
+
+    private PluginContainer plugin(String id) {
+        final PluginContainer plugin = mock(PluginContainer.class);
+        when(plugin.getId()).thenReturn(id);
+        return plugin;
+    }
+
+}
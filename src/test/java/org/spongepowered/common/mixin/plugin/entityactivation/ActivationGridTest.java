@@ -0,0 +1,121 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.mixin.plugin.entityactivation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import org.junit.Test;
+
+import java.util.Random;
+
+public class ActivationGridTest {
+
+    @Test
+    public void testRangeAcrossChunks() {
+        final ActivationGrid grid = new ActivationGrid();
+        grid.add(15.7, 64, 15.7, 16.3, 65.8, 16.3);
+        // The player is bucketed in chunk 1, 1 but reaches into chunk 0, 0
+        assertTrue(grid.isInRange(0, 64, 0, 0.6, 65.8, 0.6, 16, 256));
+        assertFalse(grid.isInRange(-1.0, 64, 0, -0.4, 65.8, 0.6, 16, 256));
+        assertFalse(grid.isInRange(0, 400, 0, 0.6, 401.8, 0.6, 16, 256));
+    }
+
+    @Test
+    public void testMatchesPerPlayerChecks() {
+        final Random random = new Random(42);
+        final ActivationGrid grid = new ActivationGrid();
+        final double[][] players = new double[50][];
+        for (int i = 0; i < players.length; i++) {
+            final double x = random.nextGaussian() * 64;
+            final double z = random.nextGaussian() * 64;
+            players[i] = new double[] {x - 0.3, 64, z - 0.3, x + 0.3, 65.8, z + 0.3};
+            grid.add(players[i][0], players[i][1], players[i][2], players[i][3], players[i][4], players[i][5]);
+        }
+        for (int i = 0; i < 5000; i++) {
+            final double x = random.nextDouble() * 512 - 256;
+            final double y = random.nextDouble() * 256;
+            final double z = random.nextDouble() * 512 - 256;
+            final int range = random.nextBoolean() ? 32 : 16;
+            boolean expected = false;
+            for (final double[] player : players) {
+                if (player[0] - range < x + 0.3 && player[3] + range > x - 0.3
+                        && player[1] - 256 < y + 1.8 && player[4] + 256 > y
+                        && player[2] - range < z + 0.3 && player[5] + range > z - 0.3) {
+                    expected = true;
+                    break;
+                }
+            }
+            assertEquals(expected, grid.isInRange(x - 0.3, y, z - 0.3, x + 0.3, y + 1.8, z + 0.3, range, 256));
+        }
+    }
+
+    @Test
+    public void testOverlappingPlayersShareChunks() {
+        final ActivationGrid grid = new ActivationGrid();
+        final LongOpenHashSet chunks = new LongOpenHashSet();
+        grid.add(7.7, 64, 7.7, 8.3, 65.8, 8.3);
+        grid.collectChunks(32, chunks);
+        final int single = chunks.size();
+        grid.add(8.7, 64, 8.7, 9.3, 65.8, 9.3);
+        grid.collectChunks(32, chunks);
+        assertEquals(single, chunks.size());
+
+        grid.clear();
+        assertTrue(grid.isEmpty());
+        assertFalse(grid.isInRange(8, 64, 8, 8.6, 65.8, 8.6, 32, 256));
+    }
+
+    @Test
+    public void testDistanceMatchesBlockDistance() {
+        final Random random = new Random(7);
+        final ActivationGrid grid = new ActivationGrid();
+        final int[][] players = new int[20][];
+        for (int i = 0; i < players.length; i++) {
+            players[i] = new int[] {random.nextInt(256) - 128, random.nextInt(256), random.nextInt(256) - 128};
+            grid.add(players[i][0], players[i][1], players[i][2], players[i][0], players[i][1], players[i][2]);
+        }
+        for (int i = 0; i < 5000; i++) {
+            final int x = random.nextInt(384) - 192;
+            final int y = random.nextInt(256);
+            final int z = random.nextInt(384) - 192;
+            final int range = random.nextBoolean() ? 64 : 16;
+            boolean expected = false;
+            for (final int[] player : players) {
+                final int dx = player[0] - x;
+                final int dy = player[1] - y;
+                final int dz = player[2] - z;
+                if (dx * dx + dy * dy + dz * dz <= range * range) {
+                    expected = true;
+                    break;
+                }
+            }
+            assertEquals(expected, grid.isWithinDistance(x, y, z, range));
+        }
+    }
+
+}
@@ -0,0 +1,120 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.mixin.plugin.tileentityactivation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import net.minecraft.tileentity.TileEntity;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+public class TileEntityTickSchedulerTest {
+
+    private long time;
+
+    private TileEntityTickScheduler createScheduler() {
+        return new TileEntityTickScheduler(() -> this.time);
+    }
+
+    private void advance(final long millis) {
+        this.time += TimeUnit.MILLISECONDS.toNanos(millis);
+    }
+
+    @Test
+    public void testBudgetExhaustion() {
+        final TileEntityTickScheduler scheduler = createScheduler();
+        final TileEntity first = mock(TileEntity.class);
+        final TileEntity second = mock(TileEntity.class);
+        final TileEntity third = mock(TileEntity.class);
+
+        scheduler.startTick(5);
+        assertTrue(scheduler.shouldTick(first));
+        advance(3);
+        assertTrue(scheduler.shouldTick(second));
+        advance(3);
+        // 6ms of the 5ms budget are used up
+        assertFalse(scheduler.shouldTick(third));
+        assertFalse(scheduler.shouldTick(first));
+
+        scheduler.startTick(5);
+        assertEquals(2, scheduler.getCarriedCount());
+    }
+
+    @Test
+    public void testCarriedTicksFirst() {
+        final TileEntityTickScheduler scheduler = createScheduler();
+        final TileEntity first = mock(TileEntity.class);
+        final TileEntity second = mock(TileEntity.class);
+
+        scheduler.startTick(1);
+        assertTrue(scheduler.shouldTick(first));
+        advance(2);
+        assertFalse(scheduler.shouldTick(second));
+
+        advance(10);
+        scheduler.startTick(1);
+        // The reserve for the carried tileentity exceeds the budget, so
+        // the other one is deferred before the carried one comes up
+        assertFalse(scheduler.shouldTick(first));
+        advance(5);
+        assertTrue(scheduler.shouldTick(second));
+
+        advance(10);
+        scheduler.startTick(1);
+        // Deferred last tick, so it ticks even though the budget is used up
+        advance(5);
+        assertTrue(scheduler.shouldTick(first));
+        assertFalse(scheduler.shouldTick(second));
+    }
+
+    @Test
+    public void testNoBudgetClearsCarried() {
+        final TileEntityTickScheduler scheduler = createScheduler();
+        final TileEntity first = mock(TileEntity.class);
+        final TileEntity second = mock(TileEntity.class);
+
+        scheduler.startTick(1);
+        assertTrue(scheduler.shouldTick(first));
+        advance(2);
+        assertFalse(scheduler.shouldTick(second));
+
+        scheduler.startTick(0);
+        assertEquals(0, scheduler.getCarriedCount());
+        advance(100);
+        assertTrue(scheduler.shouldTick(first));
+        assertTrue(scheduler.shouldTick(second));
+
+        scheduler.startTick(1);
+        assertEquals(0, scheduler.getCarriedCount());
+        advance(2);
+        // Nothing is carried over from the unlimited tick
+        assertFalse(scheduler.shouldTick(second));
+    }
+
+}
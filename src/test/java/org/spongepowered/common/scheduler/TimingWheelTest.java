@@ -0,0 +1,106 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.scheduler;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class TimingWheelTest {
+
+    @Test
+    public void testDueEntries() {
+        TimingWheel<Long> wheel = new TimingWheel<>(0L);
+        List<Long> fired = new ArrayList<>();
+        for (long deadline : new long[] {0L, 5L, 63L, 64L, 100L, 4096L, 300000L}) {
+            wheel.schedule(new TimingWheel.Entry<>(deadline), deadline);
+        }
+        assertEquals(7, wheel.size());
+        wheel.advance(63L, fired::add);
+        assertEquals(3, fired.size());
+        assertEquals(4, wheel.size());
+        wheel.advance(99L, fired::add);
+        assertEquals(4, fired.size());
+        wheel.advance(300000L, value -> {
+            assertTrue(value <= 300000L);
+            fired.add(value);
+        });
+        assertEquals(7, fired.size());
+        assertEquals(0, wheel.size());
+        assertEquals(Long.MAX_VALUE, wheel.nextEventTime());
+    }
+
+    @Test
+    public void testCancel() {
+        TimingWheel<String> wheel = new TimingWheel<>(10L);
+        TimingWheel.Entry<String> first = new TimingWheel.Entry<>("first");
+        TimingWheel.Entry<String> second = new TimingWheel.Entry<>("second");
+        wheel.schedule(first, 20L);
+        wheel.schedule(second, 5000L);
+        assertTrue(wheel.cancel(first));
+        assertFalse(wheel.cancel(first));
+        assertFalse(first.isScheduled());
+        List<String> fired = new ArrayList<>();
+        wheel.advance(10000L, fired::add);
+        assertEquals(1, fired.size());
+        assertEquals("second", fired.get(0));
+    }
+
+    @Test
+    public void testReschedule() {
+        TimingWheel<String> wheel = new TimingWheel<>(0L);
+        TimingWheel.Entry<String> entry = new TimingWheel.Entry<>("task");
+        wheel.schedule(entry, 1000L);
+        wheel.schedule(entry, 10L);
+        assertEquals(1, wheel.size());
+        assertEquals(10L, wheel.nextEventTime());
+        List<String> fired = new ArrayList<>();
+        // Entries rescheduled by the consumer aren't processed twice in the same unit
+        wheel.advance(10L, value -> {
+            fired.add(value);
+            wheel.schedule(entry, 0L);
+        });
+        assertEquals(1, fired.size());
+        assertEquals(11L, wheel.nextEventTime());
+    }
+
+    @Test
+    public void testNextEventTime() {
+        TimingWheel<String> wheel = new TimingWheel<>(0L);
+        wheel.schedule(new TimingWheel.Entry<>("task"), 200L);
+        assertTrue(wheel.nextEventTime() <= 200L);
+        wheel.advance(150L, value -> {
+            throw new AssertionError();
+        });
+        assertTrue(wheel.nextEventTime() <= 200L);
+        assertTrue(wheel.nextEventTime() >= 151L);
+    }
+
+}
@@ -0,0 +1,146 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.util.persistence.data;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import net.minecraft.nbt.CompressedStreamTools;
+import net.minecraft.nbt.NBTTagCompound;
+import org.junit.Test;
+import org.spongepowered.api.data.DataContainer;
+import org.spongepowered.api.data.DataQuery;
+import org.spongepowered.api.data.DataView;
+import org.spongepowered.common.data.persistence.DataStreamReader;
+import org.spongepowered.common.data.persistence.DataStreamToken;
+import org.spongepowered.common.data.persistence.DataStreamWriter;
+import org.spongepowered.common.data.persistence.DataViewStreamReader;
+import org.spongepowered.common.data.persistence.DataViewStreamWriter;
+import org.spongepowered.common.data.persistence.JsonDataFormat;
+import org.spongepowered.common.data.persistence.NbtDataFormat;
+import org.spongepowered.common.data.persistence.NbtStreamReader;
+import org.spongepowered.common.data.persistence.NbtStreamWriter;
+import org.spongepowered.common.data.persistence.NbtTranslator;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
+public class DataStreamTest {
+
+    private static DataContainer createContainer() {
+        final DataContainer entity = DataContainer.createNew(DataView.SafetyMode.NO_DATA_CLONED)
+                .set(DataQuery.of("Id"), "minecraft:pig")
+                .set(DataQuery.of("Motion"), Arrays.asList(0.0D, 0.5D, 0.0D));
+        return DataContainer.createNew(DataView.SafetyMode.NO_DATA_CLONED)
+                .set(DataQuery.of("foo"), "bar")
+                .set(DataQuery.of("enabled"), true)
+                .set(DataQuery.of("nested", "value"), (short) 3)
+                .set(DataQuery.of("Entities"), Arrays.asList(entity, entity));
+    }
+
+    private static byte[] writeNbt(final DataView view) throws IOException {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try (DataStreamWriter writer = new NbtStreamWriter(new DataOutputStream(output))) {
+            writer.writeView(view);
+        }
+        return output.toByteArray();
+    }
+
+    @Test
+    public void testNbtStreamMatchesTranslator() throws IOException {
+        final DataContainer container = createContainer();
+        final byte[] bytes = writeNbt(container);
+
+        final NBTTagCompound compound = CompressedStreamTools.read(new DataInputStream(new ByteArrayInputStream(bytes)));
+        assertEquals(NbtTranslator.getInstance().translateData(container), compound);
+        try (DataStreamReader reader = new NbtStreamReader(new DataInputStream(new ByteArrayInputStream(bytes)))) {
+            assertEquals(container, reader.nextView());
+        }
+    }
+
+    @Test
+    public void testStreamEntriesWithoutTree() throws IOException {
+        final DataContainer container = createContainer().set(DataQuery.of("BlockData"), new byte[] {1, 2, 3});
+        try (DataStreamReader reader = new NbtStreamReader(new DataInputStream(new ByteArrayInputStream(writeNbt(container))))) {
+            int entities = 0;
+            reader.beginView();
+            while (reader.hasNext()) {
+                final String name = reader.nextName();
+                if (name.equals("Entities")) {
+                    reader.beginList();
+                    while (reader.hasNext()) {
+                        assertEquals("minecraft:pig", reader.nextView().getString(DataQuery.of("Id")).get());
+                        entities++;
+                    }
+                    reader.endList();
+                } else if (name.equals("BlockData")) {
+                    assertArrayEquals(new byte[] {1, 2, 3}, (byte[]) reader.nextValue());
+                } else {
+                    reader.skipValue();
+                }
+            }
+            reader.endView();
+            assertEquals(2, entities);
+            assertEquals(DataStreamToken.END_DOCUMENT, reader.peek());
+        }
+    }
+
+    @Test
+    public void testNbtFormatFailsBeforeWriting() throws IOException {
+        final DataContainer container = createContainer().set(DataQuery.of("Mixed"), Arrays.asList(1, "two"));
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try {
+            new NbtDataFormat("nbt").writeTo(output, container);
+            fail("Mixed lists can't be written to NBT");
+        } catch (IllegalArgumentException e) {
+            assertEquals(0, output.size());
+        }
+    }
+
+    @Test
+    public void testTreeAndJsonStreams() throws IOException {
+        final DataContainer container = createContainer();
+        final DataContainer copy = DataContainer.createNew(DataView.SafetyMode.NO_DATA_CLONED);
+        try (DataStreamWriter writer = new DataViewStreamWriter(copy)) {
+            writer.write(new DataViewStreamReader(container).nextView());
+        }
+        assertEquals(container, copy);
+
+        final JsonDataFormat json = new JsonDataFormat();
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try (DataStreamWriter writer = json.createWriter(output)) {
+            writer.writeView(container);
+        }
+        try (DataStreamReader reader = json.createReader(new ByteArrayInputStream(output.toByteArray()))) {
+            assertEquals(json.read(json.write(container)), reader.nextView());
+        }
+    }
+
+}
@@ -37,7 +37,14 @@
 import org.spongepowered.api.data.persistence.DataBuilder;
 import org.spongepowered.common.data.persistence.NbtTranslator;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 public class NBTTranslationTest {
 
@@ -63,4 +70,56 @@ public void testDotContainerKeys() {
         assertEquals(container, translatedContainer);
     }
 
+    @Test
+    public void testLazyTranslation() {
+        final DataContainer container = DataContainer.createNew(DataView.SafetyMode.NO_DATA_CLONED)
+                .set(DataQuery.of("foo"), "bar")
+                .set(DataQuery.of("enabled"), true)
+                .set(DataQuery.of("nested", "value"), 3)
+                .set(DataQuery.of("list"), Arrays.asList(1L, 2L));
+        final NBTTagCompound compound = NbtTranslator.getInstance().translateData(container);
+        assertEquals(NbtTranslator.getInstance().translateFrom(compound), NbtTranslator.getInstance().translateLazily(compound));
+
+        // Copies share the compound, but writes never reach it
+        final DataView lazy = NbtTranslator.getInstance().translateLazily(compound);
+        final DataView copy = DataContainer.createNew().set(DataQuery.of("copy"), lazy);
+        lazy.set(DataQuery.of("nested", "value"), 4);
+        assertEquals(Optional.of(3), copy.getInt(DataQuery.of("copy", "nested", "value")));
+        assertEquals(3, compound.getCompoundTag("nested").getInteger("value"));
+    }
+
+    @Test
+    public void testConcurrentLazyReads() throws Exception {
+        final NBTTagCompound compound = new NBTTagCompound();
+        final NBTTagCompound nested = new NBTTagCompound();
+        for (int i = 0; i < 1000; i++) {
+            compound.setInteger("key" + i, i);
+            nested.setInteger("key" + i, i);
+        }
+        compound.setTag("nested", nested);
+
+        final int threads = 8;
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            for (int run = 0; run < 50; run++) {
+                final DataView lazy = NbtTranslator.getInstance().translateLazily(compound);
+                final CountDownLatch start = new CountDownLatch(1);
+                final List<Future<Integer>> results = new ArrayList<>();
+                for (int i = 0; i < threads; i++) {
+                    results.add(executor.submit(() -> {
+                        start.await();
+                        assertEquals(Optional.of(999), lazy.getInt(DataQuery.of("nested", "key999")));
+                        return lazy.getKeys(true).size();
+                    }));
+                }
+                start.countDown();
+                for (Future<Integer> result : results) {
+                    assertEquals(2001, (int) result.get());
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
 }
@@ -0,0 +1,83 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.extent.worker;
+
+import static org.junit.Assert.assertEquals;
+
+import com.flowpowered.math.vector.Vector3i;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+public class ParallelVolumeWorkTest {
+
+    private static final Vector3i MIN = new Vector3i(-20, 3, 5);
+    private static final Vector3i MAX = new Vector3i(40, 35, 17);
+
+    private static int index(final int x, final int y, final int z) {
+        return ((z - MIN.getZ()) * (MAX.getY() - MIN.getY() + 1) + y - MIN.getY()) * (MAX.getX() - MIN.getX() + 1) + x - MIN.getX();
+    }
+
+    @Test
+    public void testSectionsCoverVolumeOnce() {
+        final AtomicIntegerArray visits = new AtomicIntegerArray(ParallelVolumeWork.getVolume(
+                MIN.getX(), MIN.getY(), MIN.getZ(), MAX.getX(), MAX.getY(), MAX.getZ()));
+        ParallelVolumeWork.forEachSection(MIN, MAX, (xMin, yMin, zMin, xMax, yMax, zMax) -> {
+            assertEquals(xMin >> 4, xMax >> 4);
+            assertEquals(yMin >> 4, yMax >> 4);
+            assertEquals(zMin >> 4, zMax >> 4);
+            for (int z = zMin; z <= zMax; z++) {
+                for (int y = yMin; y <= yMax; y++) {
+                    for (int x = xMin; x <= xMax; x++) {
+                        visits.incrementAndGet(index(x, y, z));
+                    }
+                }
+            }
+        });
+        for (int i = 0; i < visits.length(); i++) {
+            assertEquals(1, visits.get(i));
+        }
+    }
+
+    @Test
+    public void testReductionsMergeInSectionOrder() {
+        final List<Integer> sections = ParallelVolumeWork.reduce(MIN, MAX,
+                (xMin, yMin, zMin, xMax, yMax, zMax, identity) -> Collections.singletonList(index(xMin, yMin, zMin)),
+                (first, second) -> {
+                    final List<Integer> merged = new ArrayList<>(first);
+                    merged.addAll(second);
+                    return merged;
+                }, Collections.emptyList());
+        final List<Integer> sorted = new ArrayList<>(sections);
+        Collections.sort(sorted);
+        assertEquals(sorted, sections);
+        // 5 sections along x, 3 along y and 2 along z
+        assertEquals(30, sections.size());
+    }
+
+}
@@ -0,0 +1,66 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.extent.worker;
+
+import static org.junit.Assert.assertFalse;
+import static org.mockito.Mockito.mock;
+
+import com.flowpowered.math.vector.Vector3i;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.spongepowered.api.world.biome.BiomeType;
+import org.spongepowered.api.world.extent.ImmutableBiomeVolume;
+import org.spongepowered.api.world.schematic.Palette;
+import org.spongepowered.common.util.gen.ByteArrayMutableBiomeBuffer;
+import org.spongepowered.lwts.runner.LaunchWrapperTestRunner;
+
+@RunWith(LaunchWrapperTestRunner.class)
+public class SpongeBiomeVolumeWorkerTest {
+
+    private static final Vector3i START = new Vector3i(-32, 0, -32);
+    private static final Vector3i SIZE = new Vector3i(64, 1, 64);
+
+    private static ByteArrayMutableBiomeBuffer createBuffer(final Palette<BiomeType> palette) {
+        return new ByteArrayMutableBiomeBuffer(palette, START, SIZE);
+    }
+
+    @Test
+    public void testSharedPaletteIsWrittenSerially() {
+        @SuppressWarnings("unchecked") final Palette<BiomeType> palette = mock(Palette.class);
+        final ByteArrayMutableBiomeBuffer destination = createBuffer(palette);
+        final ByteArrayMutableBiomeBuffer source = createBuffer(palette);
+        assertFalse(new SpongeBiomeVolumeWorker<>(source).canWriteInParallel(destination, source));
+    }
+
+    @Test
+    public void testImmutableCopyIsWrittenSerially() {
+        @SuppressWarnings("unchecked") final Palette<BiomeType> palette = mock(Palette.class);
+        final ByteArrayMutableBiomeBuffer destination = createBuffer(palette);
+        // The copy shares the palette that the destination assigns into
+        final ImmutableBiomeVolume copy = destination.getImmutableBiomeCopy();
+        assertFalse(new SpongeBiomeVolumeWorker<>(copy).canWriteInParallel(destination, copy));
+    }
+
+}
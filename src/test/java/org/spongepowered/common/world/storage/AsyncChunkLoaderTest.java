@@ -0,0 +1,173 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.storage;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+import net.minecraft.nbt.CompressedStreamTools;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraft.world.chunk.storage.IChunkLoader;
+import net.minecraft.world.chunk.storage.RegionFile;
+import net.minecraft.world.chunk.storage.RegionFileCache;
+import net.minecraft.world.gen.ChunkProviderServer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.spongepowered.common.bridge.world.chunk.ChunkProviderServerBridge;
+import org.spongepowered.common.bridge.world.chunk.storage.AnvilChunkLoaderBridge;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+
+public class AsyncChunkLoaderTest {
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    private final Queue<Runnable> mainThread = new ArrayDeque<>();
+    private final Queue<Runnable> reader = new ArrayDeque<>();
+    // The chunk data that was served to the regular load path, null if it read from disk
+    private final List<NBTTagCompound> served = new ArrayList<>();
+
+    private File worldDir;
+    private ChunkProviderServer provider;
+    private AnvilChunkLoaderBridge chunkLoader;
+    private Chunk chunk;
+    private AsyncChunkLoader loader;
+
+    @Before
+    public void setup() throws IOException {
+        this.worldDir = this.folder.getRoot();
+        final NBTTagCompound level = new NBTTagCompound();
+        level.setInteger("xPos", 1);
+        level.setInteger("zPos", 2);
+        final NBTTagCompound compound = new NBTTagCompound();
+        compound.setTag("Level", level);
+        final File regions = new File(this.worldDir, "region");
+        assertTrue(regions.mkdirs());
+        final RegionFile region = new RegionFile(new File(regions, "r.0.0.mca"));
+        try (DataOutputStream out = region.getChunkDataOutputStream(1, 2)) {
+            CompressedStreamTools.write(compound, out);
+        }
+        region.close();
+
+        this.chunkLoader = mock(AnvilChunkLoaderBridge.class, withSettings().extraInterfaces(IChunkLoader.class));
+        when(this.chunkLoader.bridge$getWorldDir()).thenReturn(this.worldDir.toPath());
+        this.provider = mock(ChunkProviderServer.class, withSettings().extraInterfaces(ChunkProviderServerBridge.class));
+        when(((ChunkProviderServerBridge) this.provider).bridge$getChunkLoader()).thenReturn((IChunkLoader) this.chunkLoader);
+        this.chunk = mock(Chunk.class);
+        when(this.provider.loadChunk(1, 2)).then(invocation -> {
+            final DataInputStream prefetched = AsyncChunkLoader.getPrefetched(this.worldDir, 1, 2);
+            this.served.add(prefetched == null ? null : CompressedStreamTools.read(prefetched));
+            return this.chunk;
+        });
+        this.loader = new AsyncChunkLoader(this.provider, this.mainThread::add, this.reader::add);
+    }
+
+    @After
+    public void tearDown() {
+        RegionFileCache.clearRegionFileReferences();
+    }
+
+    @Test
+    public void testPrefetchedDataIsServed() {
+        final CompletableFuture<Optional<Chunk>> future = this.loader.load(1, 2, false);
+        final CompletableFuture<Optional<Chunk>> shared = this.loader.load(1, 2, false);
+        assertSame("Requests for the same chunk don't share a load!", future, shared);
+        this.runAll();
+
+        assertTrue(future.isDone());
+        assertSame(this.chunk, future.join().orElse(null));
+        verify(this.provider, times(1)).loadChunk(1, 2);
+        assertEquals(1, this.served.size());
+        assertNotNull("The data that was read ahead wasn't served!", this.served.get(0));
+        assertEquals(1, this.served.get(0).getCompoundTag("Level").getInteger("xPos"));
+        assertNull("The data that was read ahead is still served after the load!", AsyncChunkLoader.getPrefetched(this.worldDir, 1, 2));
+    }
+
+    @Test
+    public void testPendingSaveIsNotReadAhead() {
+        when(this.chunkLoader.bridge$isSavePending(1, 2)).thenReturn(true);
+        final CompletableFuture<Optional<Chunk>> future = this.loader.load(1, 2, false);
+        assertTrue("A chunk that is pending save was read ahead!", this.reader.isEmpty());
+        this.runAll();
+
+        assertSame(this.chunk, future.join().orElse(null));
+        assertEquals(1, this.served.size());
+        assertNull(this.served.get(0));
+    }
+
+    @Test
+    public void testSaveDuringReadDropsPrefetchedData() {
+        final CompletableFuture<Optional<Chunk>> future = this.loader.load(1, 2, false);
+        // The chunk is queued and written while it is being read
+        this.reader.poll().run();
+        when(this.chunkLoader.bridge$getSaveCount(1, 2)).thenReturn(2L);
+        this.runAll();
+
+        assertSame(this.chunk, future.join().orElse(null));
+        assertEquals(1, this.served.size());
+        assertNull("Data that a save may have outdated was served!", this.served.get(0));
+    }
+
+    @Test
+    public void testLoadedChunkIsNotLoadedAgain() {
+        when(this.provider.getLoadedChunk(1, 2)).thenReturn(this.chunk);
+        final CompletableFuture<Optional<Chunk>> future = this.loader.load(1, 2, false);
+        this.runAll();
+
+        assertSame(this.chunk, future.join().orElse(null));
+        assertTrue(this.served.isEmpty());
+        verify(this.provider, times(0)).loadChunk(1, 2);
+    }
+
+    private void runAll() {
+        Runnable task;
+        while ((task = this.reader.poll()) != null || (task = this.mainThread.poll()) != null) {
+            task.run();
+        }
+    }
+
+}
@@ -0,0 +1,104 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.storage;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import net.minecraft.nbt.CompressedStreamTools;
+import net.minecraft.nbt.NBTTagCompound;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.DeflaterOutputStream;
+
+public class MappedChunkDataStreamTest {
+
+    private static final int SECTOR_BYTES = 4096;
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testMalformedChunksYieldNull() throws IOException {
+        final ByteBuffer region = ByteBuffer.allocate(SECTOR_BYTES * 6);
+        // A length that doesn't fit in the sectors of the chunk
+        region.putInt(0, 2 << 8 | 1);
+        region.putInt(SECTOR_BYTES * 2, SECTOR_BYTES * 3);
+        // An unknown compression version
+        region.putInt(Integer.BYTES, 3 << 8 | 1);
+        region.putInt(SECTOR_BYTES * 3, 2);
+        region.put(SECTOR_BYTES * 3 + Integer.BYTES, (byte) 3);
+        // A sector past the end of the file
+        region.putInt(Integer.BYTES * 2, 64 << 8 | 1);
+        // A well formed chunk without any level data
+        final byte[] chunk = deflate(new NBTTagCompound());
+        region.putInt(Integer.BYTES * 3, 4 << 8 | 1);
+        region.putInt(SECTOR_BYTES * 4, chunk.length + 1);
+        region.put(SECTOR_BYTES * 4 + Integer.BYTES, (byte) 2);
+        region.position(SECTOR_BYTES * 4 + Integer.BYTES + 1);
+        region.put(chunk);
+
+        final Path worldDir = this.folder.getRoot().toPath();
+        Files.createDirectories(worldDir.resolve("region"));
+        Files.write(worldDir.resolve("region").resolve("r.0.0.mca"), region.array());
+
+        final ExecutorService workers = Executors.newFixedThreadPool(2);
+        try {
+            final MappedChunkDataStream stream = new MappedChunkDataStream(worldDir, workers, 4);
+            assertEquals(4, stream.available());
+            for (int i = 0; i < 4; i++) {
+                assertTrue(stream.hasNext());
+                assertNull(stream.next());
+            }
+            assertFalse(stream.hasNext());
+
+            stream.reset();
+            assertEquals(4, stream.available());
+        } finally {
+            workers.shutdown();
+        }
+    }
+
+    private static byte[] deflate(NBTTagCompound compound) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(new DeflaterOutputStream(bytes))) {
+            CompressedStreamTools.write(compound, out);
+        }
+        return bytes.toByteArray();
+    }
+
+}